@@ -0,0 +1,88 @@
+package com.assessment.platform.config;
+
+import com.assessment.platform.metrics.DomainMetrics;
+import io.micrometer.core.instrument.Gauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Polls the replica's replication status and decides whether read-only transactions may use it.
+ * A server that is not replicating at all (a second local schema, say) counts as zero lag.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final long maxLagSeconds;
+    private final ObjectProvider<DomainMetrics> metrics;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile String unusableReason = "unchecked";
+    private boolean gaugeRegistered;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagSeconds, ObjectProvider<DomainMetrics> metrics) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Null when reads may go to the replica, otherwise the reason tag for falling back to the primary.
+     */
+    public String unusableReason() {
+        return unusableReason;
+    }
+
+    public void markUnavailable(SQLException cause) {
+        if (unusableReason == null) {
+            log.warn("Replica connection failed, reads fall back to the primary until the next check: {}",
+                    cause.getMessage());
+        }
+        unusableReason = ReplicaRoutingDataSource.UNAVAILABLE;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        registerGauge();
+        String previous = unusableReason;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                lagSeconds = 0;
+                unusableReason = null;
+            } else {
+                long behind = rs.getLong("Seconds_Behind_Source");
+                // NULL means the SQL or IO thread is not running
+                boolean stopped = rs.wasNull();
+                lagSeconds = stopped ? Double.NaN : behind;
+                unusableReason = stopped || behind > maxLagSeconds ? ReplicaRoutingDataSource.LAG : null;
+            }
+        } catch (SQLException e) {
+            lagSeconds = Double.NaN;
+            unusableReason = ReplicaRoutingDataSource.UNAVAILABLE;
+        }
+
+        if (previous != null && unusableReason == null) {
+            log.info("Replica usable again (lag {}s), routing read-only transactions to it", lagSeconds);
+        } else if (unusableReason != null && !unusableReason.equals(previous)) {
+            log.warn("Replica not usable ({}, lag {}s, max {}s), reads go to the primary",
+                    unusableReason, lagSeconds, maxLagSeconds);
+        }
+    }
+
+    private void registerGauge() {
+        if (!gaugeRegistered) {
+            Gauge.builder("assessment.datasource.replica.lag.seconds", this, monitor -> monitor.lagSeconds)
+                    .register(metrics.getObject().registry());
+            gaugeRegistered = true;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.assessment.platform.config;
+
+import com.assessment.platform.metrics.DomainMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only service transactions to the replica and everything else to the
+ * primary. Spring Data finders called on their own are read-only transactions too, but they stay on
+ * the primary: login and OTP checks must see a user registered a moment ago.
+ *
+ * Only correct behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is set
+ * after the connection handle is requested, so the physical connection must be fetched later.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    static final String WRITE = "write";
+    static final String PINNED = "pinned";
+    static final String READ = "read";
+    static final String LAG = "lag";
+    static final String UNAVAILABLE = "unavailable";
+
+    // Transaction names are the declaring class and method of the outermost @Transactional
+    private static final String SERVICE_PACKAGE = "com.assessment.platform.service.";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ObjectProvider<DomainMetrics> metrics;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, ObjectProvider<DomainMetrics> metrics) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.metrics = metrics;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isReadOnlyServiceTransaction() && lagMonitor.unusableReason() == null
+                ? REPLICA
+                : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!isReadOnlyServiceTransaction()) {
+            return route(primary, PRIMARY,
+                    TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? PINNED : WRITE);
+        }
+        String unusable = lagMonitor.unusableReason();
+        if (unusable != null) {
+            return route(primary, PRIMARY, unusable);
+        }
+        try {
+            return route(replica, REPLICA, READ);
+        } catch (SQLException e) {
+            lagMonitor.markUnavailable(e);
+            return route(primary, PRIMARY, UNAVAILABLE);
+        }
+    }
+
+    private static boolean isReadOnlyServiceTransaction() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && name != null && name.startsWith(SERVICE_PACKAGE);
+    }
+
+    private Connection route(DataSource target, String targetName, String reason) throws SQLException {
+        Connection connection = target.getConnection();
+        metrics.getObject().increment("assessment.datasource.route", "target", targetName, "reason", reason);
+        return connection;
+    }
+}
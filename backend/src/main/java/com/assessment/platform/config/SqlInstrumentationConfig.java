@@ -0,0 +1,32 @@
+package com.assessment.platform.config;
+
+import com.assessment.platform.metrics.SqlBudgetProperties;
+import com.assessment.platform.metrics.SqlLoadListener;
+import com.assessment.platform.metrics.SqlStatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Hooks the per-request SQL counters into Hibernate: a statement inspector for every prepared
+ * statement and event listeners for entity and collection loads.
+ */
+@Configuration
+public class SqlInstrumentationConfig {
+
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlInstrumentation(SqlBudgetProperties properties) {
+        SqlLoadListener loadListener = new SqlLoadListener();
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    new SqlStatementInspector(properties.getRepeatThreshold()));
+            hibernateProperties.put(INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(loadListener));
+        };
+    }
+}
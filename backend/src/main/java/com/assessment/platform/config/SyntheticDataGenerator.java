@@ -0,0 +1,403 @@
+package com.assessment.platform.config;
+
+import com.assessment.platform.entity.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads a production-sized dataset for profiling and benchmark runs (profile "synthetic").
+ *
+ * Runs after DataSeeder and reuses its teams and admin. Rows are written with JDBC batch inserts
+ * and explicit ids starting after the current maximum, so nothing goes through Hibernate. Every
+ * test draws from its own random stream derived from the seed: the same seed on the same starting
+ * database produces the same rows (timestamps are relative to the time of the run).
+ */
+@Component
+@Profile("synthetic")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String EMAIL_DOMAIN = "@synthetic.test";
+    private static final String PASSWORD = "password123";
+    private static final long STREAM_SPACING = 0x9E3779B97F4A7C15L;
+
+    // Candidate roles and how common they are; TL/TR accounts are rare
+    private static final Role[] ROLES = {Role.TRAINEE, Role.INTERN, Role.PPO, Role.TL, Role.TR};
+    private static final double[] ROLE_WEIGHTS = {0.60, 0.25, 0.10, 0.03, 0.02};
+    private static final Role[] TEST_ROLES = {Role.TRAINEE, Role.INTERN, Role.PPO};
+    private static final double[] TEST_ROLE_WEIGHTS = {0.65, 0.25, 0.10};
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aisha", "Arjun", "Diya", "Ishaan", "Kavya", "Meera", "Neha", "Rahul", "Riya",
+            "Rohan", "Saanvi", "Sahil", "Sara", "Tanvi", "Vihaan", "Yash", "Zoya", "Omar", "Priya"
+    };
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Verma", "Khan", "Iyer", "Patel", "Reddy", "Singh", "Gupta", "Nair", "Das",
+            "Mehta", "Joshi", "Kapoor", "Bose", "Hussain", "Rao", "Pillai", "Chopra", "Malik", "Sen"
+    };
+    private static final String[] TOPICS = {
+            "Java collections", "Spring Boot", "JPA and Hibernate", "SQL joins", "REST design",
+            "Git workflows", "Docker", "Kubernetes", "React hooks", "Python pandas", "Linux shell",
+            "Data structures", "Concurrency", "Security basics", "System design"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${app.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${app.synthetic.users:100000}")
+    private int userCount;
+
+    @Value("${app.synthetic.tests:5000}")
+    private int testCount;
+
+    @Value("${app.synthetic.min-questions:10}")
+    private int minQuestions;
+
+    @Value("${app.synthetic.max-questions:30}")
+    private int maxQuestions;
+
+    @Value("${app.synthetic.options-per-question:4}")
+    private int optionsPerQuestion;
+
+    @Value("${app.synthetic.submissions-per-test:200}")
+    private int submissionsPerTest;
+
+    @Value("${app.synthetic.released-ratio:0.2}")
+    private double releasedRatio;
+
+    @Value("${app.synthetic.batch-size:5000}")
+    private int batchSize;
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE ?", Integer.class, "%" + EMAIL_DOMAIN);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic dataset already present ({} users), skipping generation", existing);
+            return;
+        }
+
+        List<Long> teamIds = jdbcTemplate.queryForList("SELECT id FROM teams ORDER BY id", Long.class);
+        Long adminId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM users WHERE role = ?", Long.class, Role.ADMIN.name());
+        if (teamIds.isEmpty() || adminId == null) {
+            log.warn("Synthetic data needs the seeded teams and admin; skipping generation");
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        log.info("Generating synthetic dataset: {} users, {} tests, up to {} submissions per test (seed {})",
+                userCount, testCount, submissionsPerTest, seed);
+
+        Batches batches = new Batches(nextId("users"), nextId("tests"), nextId("questions"),
+                nextId("options"), nextId("submissions"), nextId("answers"));
+        long[][] candidatePools = generateUsers(batches, teamIds);
+        generateTests(batches, teamIds, adminId, candidatePools);
+        batches.flush();
+
+        log.info("Synthetic dataset generated in {} s: {} users, {} tests, {} questions, {} options, {} submissions, {} answers",
+                (System.currentTimeMillis() - started) / 1000,
+                batches.users.written, batches.tests.written, batches.questions.written,
+                batches.options.written, batches.submissions.written, batches.answers.written);
+    }
+
+    /**
+     * Inserts all users and returns their ids grouped by (team index, role) for test assignment.
+     */
+    private long[][] generateUsers(Batches batches, List<Long> teamIds) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Teams are uneven in size: weights 1, 1/2, 1/3, ...
+        double[] teamWeights = new double[teamIds.size()];
+        for (int t = 0; t < teamWeights.length; t++) {
+            teamWeights[t] = 1.0 / (t + 1);
+        }
+
+        long[][] pools = new long[teamIds.size() * ROLES.length][];
+        int[] poolSizes = new int[pools.length];
+        for (int p = 0; p < pools.length; p++) {
+            pools[p] = new long[64];
+        }
+
+        for (int i = 0; i < userCount; i++) {
+            long id = batches.userIds++;
+            int team = pickWeighted(random, teamWeights);
+            int role = pickWeighted(random, ROLE_WEIGHTS);
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+            batches.users.add(id, name, "user" + id + EMAIL_DOMAIN, passwordHash, teamIds.get(team),
+                    ROLES[role].name(), null, null, false, null,
+                    Timestamp.valueOf(now.minusMinutes(random.nextLong(365L * 24 * 60))));
+
+            int pool = team * ROLES.length + role;
+            if (poolSizes[pool] == pools[pool].length) {
+                pools[pool] = Arrays.copyOf(pools[pool], poolSizes[pool] * 2);
+            }
+            pools[pool][poolSizes[pool]++] = id;
+            batches.flushIfFull();
+        }
+
+        for (int p = 0; p < pools.length; p++) {
+            pools[p] = Arrays.copyOf(pools[p], poolSizes[p]);
+        }
+        return pools;
+    }
+
+    private void generateTests(Batches batches, List<Long> teamIds, long adminId, long[][] candidatePools) {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int t = 0; t < testCount; t++) {
+            SplittableRandom random = new SplittableRandom(seed + (t + 1) * STREAM_SPACING);
+            long testId = batches.testIds++;
+            int team = random.nextInt(teamIds.size());
+            Role role = TEST_ROLES[pickWeighted(random, TEST_ROLE_WEIGHTS)];
+            String topic = TOPICS[random.nextInt(TOPICS.length)];
+            LocalDateTime createdAt = now.minusMinutes(random.nextLong(365L * 24 * 60));
+            boolean released = random.nextDouble() < releasedRatio;
+            int questionCount = minQuestions + random.nextInt(maxQuestions - minQuestions + 1);
+
+            // Questions: about one in five has two correct options
+            long[] questionIds = new long[questionCount];
+            long[][] optionIds = new long[questionCount][optionsPerQuestion];
+            boolean[][] correct = new boolean[questionCount][optionsPerQuestion];
+            for (int q = 0; q < questionCount; q++) {
+                questionIds[q] = batches.questionIds++;
+                int first = random.nextInt(optionsPerQuestion);
+                correct[q][first] = true;
+                if (random.nextInt(5) == 0) {
+                    correct[q][(first + 1) % optionsPerQuestion] = true;
+                }
+                for (int o = 0; o < optionsPerQuestion; o++) {
+                    optionIds[q][o] = batches.optionIds++;
+                }
+            }
+
+            // Each candidate has a stable ability, so scores follow a spread rather than a flat 50%
+            long[] pool = candidatePools[team * ROLES.length + Arrays.asList(ROLES).indexOf(role)];
+            int[] picked = sample(random, pool.length, Math.min(submissionsPerTest, pool.length));
+            int passed = 0;
+            double percentTotal = 0;
+            List<Object[]> submissionRows = new ArrayList<>(picked.length);
+            List<Object[]> answerRows = new ArrayList<>();
+
+            for (int index : picked) {
+                long userId = pool[index];
+                double ability = 0.35 + 0.6 * new SplittableRandom(seed ^ userId).nextDouble();
+                long submissionId = batches.submissionIds++;
+                LocalDateTime start = createdAt.plusMinutes(30 + random.nextInt(7 * 24 * 60));
+                if (start.isAfter(now)) {
+                    start = now.minusMinutes(60 + random.nextInt(60));
+                }
+                int score = 0;
+
+                for (int q = 0; q < questionCount; q++) {
+                    double roll = random.nextDouble();
+                    if (roll < 0.03) {
+                        answerRows.add(new Object[]{batches.answerIds++, submissionId, questionIds[q], null});
+                        continue;
+                    }
+                    if (roll < ability) {
+                        score++;
+                        for (int o = 0; o < optionsPerQuestion; o++) {
+                            if (correct[q][o]) {
+                                answerRows.add(new Object[]{batches.answerIds++, submissionId, questionIds[q], optionIds[q][o]});
+                            }
+                        }
+                    } else {
+                        int wrong = random.nextInt(optionsPerQuestion);
+                        while (correct[q][wrong] && countTrue(correct[q]) == 1) {
+                            wrong = random.nextInt(optionsPerQuestion);
+                        }
+                        answerRows.add(new Object[]{batches.answerIds++, submissionId, questionIds[q], optionIds[q][wrong]});
+                    }
+                }
+
+                double percent = score * 100.0 / questionCount;
+                percentTotal += percent;
+                if (percent >= 60) {
+                    passed++;
+                }
+                submissionRows.add(new Object[]{submissionId, userId, testId,
+                        Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(10 + random.nextInt(50))),
+                        score, questionCount});
+            }
+
+            int total = picked.length;
+            batches.tests.add(testId,
+                    topic + " assessment #" + (t + 1),
+                    released ? null : "Synthetic " + topic + " test for " + role.name().toLowerCase() + "s",
+                    15 + 15 * random.nextInt(6),
+                    role.name(), teamIds.get(team), adminId, released,
+                    released ? total : null,
+                    released && total > 0 ? percentTotal / total : null,
+                    released && total > 0 ? passed * 100.0 / total : null,
+                    Timestamp.valueOf(createdAt));
+
+            // Released tests look like AdminService.releaseResults left them: no questions or answers
+            if (!released) {
+                for (int q = 0; q < questionCount; q++) {
+                    batches.questions.add(questionIds[q], testId,
+                            "Q" + (q + 1) + ". Which statement about " + topic + " is correct? (variant " + random.nextInt(1000) + ")");
+                    for (int o = 0; o < optionsPerQuestion; o++) {
+                        batches.options.add(optionIds[q][o], questionIds[q],
+                                "Option " + (char) ('A' + o) + ": " + topic + " fact " + random.nextInt(10_000),
+                                correct[q][o]);
+                    }
+                }
+            }
+            for (Object[] row : submissionRows) {
+                batches.submissions.add(row);
+            }
+            if (!released) {
+                for (Object[] row : answerRows) {
+                    batches.answers.add(row);
+                }
+            }
+            batches.flushIfFull();
+
+            if ((t + 1) % 500 == 0) {
+                log.info("Synthetic data: {}/{} tests, {} answers so far", t + 1, testCount,
+                        batches.answers.written + batches.answers.rows.size());
+            }
+        }
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private static int pickWeighted(SplittableRandom random, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double roll = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // Floyd's algorithm: k distinct indexes out of n without materializing the range
+    private static int[] sample(SplittableRandom random, int n, int k) {
+        Set<Integer> chosen = new HashSet<>(k * 2);
+        for (int j = n - k; j < n; j++) {
+            int candidate = random.nextInt(j + 1);
+            chosen.add(chosen.contains(candidate) ? j : candidate);
+        }
+        return chosen.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static int countTrue(boolean[] values) {
+        int count = 0;
+        for (boolean value : values) {
+            if (value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Pending rows per table. Flushing always goes parent-first so foreign keys are satisfied.
+     */
+    private final class Batches {
+
+        private final TableBatch users = new TableBatch("INSERT INTO users (id, name, email, password, team_id, role, "
+                + "team_lead_name, description, using2fa, two_factor_secret, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        private final TableBatch tests = new TableBatch("INSERT INTO tests (id, title, description, time_limit_minutes, "
+                + "assigned_role, assigned_team_id, created_by, results_released, total_submissions, average_score_percent, "
+                + "pass_rate_percent, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        private final TableBatch questions = new TableBatch("INSERT INTO questions (id, test_id, question_text) VALUES (?, ?, ?)");
+        private final TableBatch options = new TableBatch("INSERT INTO options (id, question_id, option_text, is_correct) VALUES (?, ?, ?, ?)");
+        private final TableBatch submissions = new TableBatch("INSERT INTO submissions (id, user_id, test_id, start_time, "
+                + "end_time, score, total_marks) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        private final TableBatch answers = new TableBatch("INSERT INTO answers (id, submission_id, question_id, selected_option_id) VALUES (?, ?, ?, ?)");
+
+        private long userIds;
+        private long testIds;
+        private long questionIds;
+        private long optionIds;
+        private long submissionIds;
+        private long answerIds;
+
+        private Batches(long userIds, long testIds, long questionIds, long optionIds, long submissionIds, long answerIds) {
+            this.userIds = userIds;
+            this.testIds = testIds;
+            this.questionIds = questionIds;
+            this.optionIds = optionIds;
+            this.submissionIds = submissionIds;
+            this.answerIds = answerIds;
+        }
+
+        private void flushIfFull() {
+            if (users.rows.size() >= batchSize || tests.rows.size() >= batchSize || questions.rows.size() >= batchSize
+                    || options.rows.size() >= batchSize || submissions.rows.size() >= batchSize
+                    || answers.rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            users.flush();
+            tests.flush();
+            questions.flush();
+            options.flush();
+            submissions.flush();
+            answers.flush();
+        }
+    }
+
+    private final class TableBatch {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+        private long written;
+
+        private TableBatch(String sql) {
+            this.sql = sql;
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+            written += rows.size();
+            rows.clear();
+        }
+    }
+}
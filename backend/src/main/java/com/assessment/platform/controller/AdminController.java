@@ -1,27 +1,47 @@
 package com.assessment.platform.controller;
 
+import com.assessment.platform.dto.request.BankQuestionRequest;
 import com.assessment.platform.dto.request.ChangeRoleRequest;
 import com.assessment.platform.dto.request.CreateTestRequest;
+import com.assessment.platform.dto.request.UpdateAnswerKeyRequest;
 import com.assessment.platform.dto.request.AiQuestionRequest;
 import com.assessment.platform.dto.response.*;
 import com.assessment.platform.service.AdminService;
 import com.assessment.platform.service.AiQuestionService;
+import com.assessment.platform.service.LiveSubmissionFeed;
+import com.assessment.platform.service.QuestionBankService;
+import com.assessment.platform.service.RegradeService;
+import com.assessment.platform.service.SubmissionExporter;
+import com.assessment.platform.service.TestPackageService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
 public class AdminController {
 
+    private static final long AI_STREAM_TIMEOUT_MS = 150_000L;
+
     private final AdminService adminService;
     private final AiQuestionService aiQuestionService;
+    private final LiveSubmissionFeed liveSubmissionFeed;
+    private final RegradeService regradeService;
+    private final SubmissionExporter submissionExporter;
+    private final TestPackageService testPackageService;
+    private final QuestionBankService questionBankService;
 
     @PostMapping("/tests")
     public ResponseEntity<ApiResponse<TestResponse>> createTest(@Valid @RequestBody CreateTestRequest request) {
@@ -29,6 +49,39 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Test created successfully", response));
     }
 
+    /**
+     * Creates a test from a JSONL test package. On any bad line nothing is saved and every
+     * error is returned with its line number.
+     */
+    @PostMapping(value = "/tests/import", consumes = {TestPackageService.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<TestPackageImportResponse>> importTestPackage(
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) String role,
+            InputStream body) {
+        TestPackageImportResponse report = adminService.importTestPackage(body, teamId, role);
+        if (!report.getErrors().isEmpty()) {
+            return ResponseEntity.badRequest().body(ApiResponse.<TestPackageImportResponse>builder()
+                    .success(false)
+                    .message("The package has " + report.getErrors().size() + " invalid lines; nothing was imported")
+                    .data(report)
+                    .build());
+        }
+        return ResponseEntity.ok(ApiResponse.success(
+                "Test imported with " + report.getQuestions() + " questions", report));
+    }
+
+    @GetMapping("/tests/{id}/package")
+    public ResponseEntity<StreamingResponseBody> exportTestPackage(@PathVariable Long id) {
+        adminService.checkTestPackageExport(id);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(TestPackageService.MEDIA_TYPE));
+        headers.setContentDispositionFormData("attachment", "test-" + id + ".jsonl");
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(out -> testPackageService.exportPackage(id, out));
+    }
+
     @GetMapping("/tests")
     public ResponseEntity<ApiResponse<List<TestResponse>>> getAllTests() {
         List<TestResponse> tests = adminService.getAllTests();
@@ -41,6 +94,54 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(submissions));
     }
 
+    @GetMapping(value = "/tests/{id}/submissions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSubmissions(
+            @PathVariable Long id,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return liveSubmissionFeed.subscribe(id, lastEventId);
+    }
+
+    @PutMapping("/tests/{id}/questions/{questionId}/answer-key")
+    public ResponseEntity<ApiResponse<RegradeJobResponse>> updateAnswerKey(
+            @PathVariable Long id,
+            @PathVariable Long questionId,
+            @Valid @RequestBody UpdateAnswerKeyRequest request) {
+        RegradeJobResponse job = adminService.updateAnswerKey(id, questionId, request);
+        return ResponseEntity.accepted().body(ApiResponse.success("Answer key updated, re-grading submissions", job));
+    }
+
+    @PostMapping("/tests/{id}/regrade")
+    public ResponseEntity<ApiResponse<RegradeJobResponse>> regrade(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(ApiResponse.success("Re-grading submissions", adminService.regrade(id)));
+    }
+
+    @GetMapping("/regrade-jobs/{jobId}")
+    public ResponseEntity<ApiResponse<RegradeJobResponse>> getRegradeJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(ApiResponse.success(regradeService.getJob(jobId)));
+    }
+
+    @GetMapping("/tests/{id}/proctoring")
+    public ResponseEntity<ApiResponse<List<ProctoringSummaryResponse>>> getProctoringSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(adminService.getProctoringSummary(id)));
+    }
+
+    @GetMapping("/submissions/{id}/proctoring")
+    public ResponseEntity<ApiResponse<List<ProctoringEventResponse>>> getProctoringTrail(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(adminService.getProctoringTrail(id)));
+    }
+
+    @GetMapping("/tests/{id}/collusion")
+    public ResponseEntity<ApiResponse<CollusionReportResponse>> getCollusionReport(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(adminService.getCollusionReport(id, limit)));
+    }
+
+    @GetMapping("/presence")
+    public ResponseEntity<ApiResponse<PresenceResponse>> getPresence() {
+        return ResponseEntity.ok(ApiResponse.success(adminService.getPresence()));
+    }
+
     @PostMapping("/tests/{id}/release")
     public ResponseEntity<ApiResponse<Void>> releaseResults(@PathVariable Long id) {
         adminService.releaseResults(id);
@@ -55,6 +156,56 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Role updated successfully", response));
     }
 
+    @PostMapping(value = "/users/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<UserImportResponse>> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        UserImportResponse report = adminService.importUsers(contentType, body);
+        return ResponseEntity.ok(ApiResponse.success(
+                report.getCreated() + " of " + report.getTotalRows() + " users imported", report));
+    }
+
+    /**
+     * Bank questions containing every word of q (the last one as a prefix) and carrying every
+     * tag, newest first.
+     */
+    @GetMapping("/question-bank")
+    public ResponseEntity<ApiResponse<QuestionBankSearchResponse>> searchQuestionBank(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) String teamType,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(
+                questionBankService.search(q, tags, difficulty, teamType, limit)));
+    }
+
+    @GetMapping("/question-bank/tags")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> getQuestionBankTags() {
+        return ResponseEntity.ok(ApiResponse.success(questionBankService.tagCounts()));
+    }
+
+    @PostMapping("/question-bank")
+    public ResponseEntity<ApiResponse<BankQuestionResponse>> createBankQuestion(
+            @Valid @RequestBody BankQuestionRequest request) {
+        BankQuestionResponse response = adminService.createBankQuestion(request);
+        return ResponseEntity.ok(ApiResponse.success("Question added to the bank", response));
+    }
+
+    @PutMapping("/question-bank/{id}")
+    public ResponseEntity<ApiResponse<BankQuestionResponse>> updateBankQuestion(
+            @PathVariable Long id,
+            @Valid @RequestBody BankQuestionRequest request) {
+        BankQuestionResponse response = questionBankService.update(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Bank question updated", response));
+    }
+
+    @DeleteMapping("/question-bank/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteBankQuestion(@PathVariable Long id) {
+        questionBankService.delete(id);
+        return ResponseEntity.ok(ApiResponse.success("Bank question deleted", null));
+    }
+
     @GetMapping("/users")
     public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
         List<UserResponse> users = adminService.getAllUsers();
@@ -74,6 +225,37 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("AI questions generated", response));
     }
 
+    @PostMapping(value = "/ai-questions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAiQuestions(@Valid @RequestBody AiQuestionRequest request) {
+        aiQuestionService.ensureConfigured();
+        SseEmitter emitter = new SseEmitter(AI_STREAM_TIMEOUT_MS);
+        aiQuestionService.streamQuestions(request, emitter);
+        return emitter;
+    }
+
+    /**
+     * Per-answer detail of every submission of a test, or of submissions finished in [from, to),
+     * as NDJSON, optionally gzipped.
+     */
+    @GetMapping("/exports/submissions")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(
+            @RequestParam(required = false) Long testId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        SubmissionExporter.ExportQuery query = adminService.prepareSubmissionExport(testId, from, to);
+        String filename = (testId != null
+                ? "submissions-test-" + testId
+                : "submissions-" + from.toLocalDate() + "-" + to.toLocalDate()) + (gzip ? ".ndjson.gz" : ".ndjson");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("application/x-ndjson"));
+        headers.setContentDispositionFormData("attachment", filename);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(out -> submissionExporter.export(query, out, gzip));
+    }
+
     @GetMapping("/tests/{id}/scores-csv")
     public ResponseEntity<byte[]> downloadScoresCSV(@PathVariable Long id) {
         byte[] csvContent = adminService.generateScoresCSV(id);
@@ -1,9 +1,14 @@
 package com.assessment.platform.controller;
 
+import com.assessment.platform.dto.request.AnswerRequest;
+import com.assessment.platform.dto.request.ProctoringEventBatchRequest;
+import com.assessment.platform.dto.request.SaveProgressRequest;
 import com.assessment.platform.dto.request.SubmitTestRequest;
+import com.assessment.platform.dto.response.AdaptiveStepResponse;
 import com.assessment.platform.dto.response.ApiResponse;
 import com.assessment.platform.dto.response.SubmissionResponse;
 import com.assessment.platform.dto.response.TestResponse;
+import com.assessment.platform.dto.response.TestSessionResponse;
 import com.assessment.platform.service.TestService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +36,42 @@ public class TestController {
         return ResponseEntity.ok(ApiResponse.success(test));
     }
 
+    @PutMapping("/{id}/progress")
+    public ResponseEntity<ApiResponse<TestSessionResponse>> saveProgress(
+            @PathVariable Long id,
+            @Valid @RequestBody SaveProgressRequest request) {
+        TestSessionResponse session = testService.saveProgress(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Progress saved", session));
+    }
+
+    @PostMapping("/{id}/heartbeat")
+    public ResponseEntity<ApiResponse<Void>> heartbeat(@PathVariable Long id) {
+        testService.heartbeat(id);
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+
+    @PostMapping("/{id}/proctoring-events")
+    public ResponseEntity<ApiResponse<Void>> recordProctoringEvents(
+            @PathVariable Long id,
+            @Valid @RequestBody ProctoringEventBatchRequest request) {
+        testService.recordProctoringEvents(id, request);
+        return ResponseEntity.accepted().body(ApiResponse.success(null));
+    }
+
+    @GetMapping("/{id}/next-question")
+    public ResponseEntity<ApiResponse<AdaptiveStepResponse>> nextQuestion(@PathVariable Long id) {
+        AdaptiveStepResponse step = testService.nextQuestion(id);
+        return ResponseEntity.ok(ApiResponse.success(step));
+    }
+
+    @PostMapping("/{id}/answer")
+    public ResponseEntity<ApiResponse<AdaptiveStepResponse>> answerQuestion(
+            @PathVariable Long id,
+            @Valid @RequestBody AnswerRequest request) {
+        AdaptiveStepResponse step = testService.answerAdaptive(id, request);
+        return ResponseEntity.ok(ApiResponse.success(step.isFinished() ? "Test submitted successfully" : "Answer saved", step));
+    }
+
     @PostMapping("/{id}/submit")
     public ResponseEntity<ApiResponse<SubmissionResponse>> submitTest(
             @PathVariable Long id,
@@ -14,4 +14,7 @@ public class AnswerRequest {
     // For single-correct questions: list with one option ID
     // For multi-correct questions: list with multiple option IDs
     private List<Long> selectedOptionIds;
+
+    // Tests with a draw size hide option ids: options are answered by their 0-based position as shown
+    private List<Integer> selectedPositions;
 }
@@ -0,0 +1,30 @@
+package com.assessment.platform.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BankQuestionRequest {
+
+    @NotBlank(message = "Question text is required")
+    private String questionText;
+
+    @NotEmpty(message = "Options are required")
+    @Valid
+    private List<OptionRequest> options;
+
+    // EASY / MEDIUM / HARD
+    private String difficulty;
+
+    // DEV / DATA / DEVOPS
+    private String teamType;
+
+    @Size(max = 20, message = "At most 20 tags per question")
+    private List<@NotBlank(message = "Tags cannot be blank") @Size(max = 50, message = "Tags can be at most 50 characters") String> tags = new ArrayList<>();
+}
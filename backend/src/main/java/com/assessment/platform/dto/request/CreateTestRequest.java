@@ -1,12 +1,15 @@
 package com.assessment.platform.dto.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -21,6 +24,21 @@ public class CreateTestRequest {
     @Positive(message = "Time limit must be positive")
     private Integer timeLimitMinutes;
 
+    private LocalDateTime availableFrom;
+
+    private LocalDateTime availableUntil;
+
+    @PositiveOrZero(message = "Admission jitter cannot be negative")
+    @Max(value = 600, message = "Admission jitter can be at most 600 seconds")
+    private Integer admissionJitterSeconds;
+
+    // Draw this many questions per candidate, shuffled; null serves every question in order
+    @Positive(message = "Draw size must be positive")
+    private Integer drawSize;
+
+    // Pick each question by the answers so far; needs drawSize (the maximum length) and IRT parameters
+    private Boolean adaptive;
+
     @NotBlank(message = "Assigned role is required")
     private String assignedRole;
 
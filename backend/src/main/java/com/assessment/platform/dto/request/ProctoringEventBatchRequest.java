@@ -0,0 +1,16 @@
+package com.assessment.platform.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ProctoringEventBatchRequest {
+
+    @NotEmpty(message = "Events are required")
+    @Size(max = 200, message = "At most 200 events per batch")
+    private List<@Valid ProctoringEventRequest> events;
+}
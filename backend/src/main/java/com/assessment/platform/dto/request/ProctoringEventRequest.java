@@ -0,0 +1,20 @@
+package com.assessment.platform.dto.request;
+
+import com.assessment.platform.entity.ProctoringEventType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ProctoringEventRequest {
+
+    @NotNull(message = "Event type is required")
+    private ProctoringEventType type;
+
+    // Epoch millis on the candidate's clock
+    @NotNull(message = "Event time is required")
+    private Long at;
+
+    @Size(max = 255, message = "Event detail must be at most 255 characters")
+    private String detail;
+}
@@ -1,8 +1,7 @@
 package com.assessment.platform.dto.request;
 
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 import java.util.List;
@@ -10,10 +9,18 @@ import java.util.List;
 @Data
 public class QuestionRequest {
 
-    @NotBlank(message = "Question text is required")
+    // When set, the question and its options are copied from the question bank and the fields
+    // below are ignored; otherwise both are required
+    private Long bankQuestionId;
+
     private String questionText;
 
-    @NotEmpty(message = "Options are required")
     @Valid
     private List<OptionRequest> options;
+
+    // Item parameters for adaptive tests: difficulty on the ability scale, discrimination defaults to 1
+    @Positive(message = "Discrimination must be positive")
+    private Double irtDiscrimination;
+
+    private Double irtDifficulty;
 }
@@ -0,0 +1,14 @@
+package com.assessment.platform.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SaveProgressRequest {
+
+    @NotNull(message = "Answers are required")
+    private List<@Valid AnswerRequest> answers;
+}
@@ -1,7 +1,6 @@
 package com.assessment.platform.dto.request;
 
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.util.List;
@@ -9,7 +8,7 @@ import java.util.List;
 @Data
 public class SubmitTestRequest {
 
-    @NotNull(message = "Start time is required")
+    // Ignored: the start time is taken from the server-side session
     private String startTime;
 
     @NotEmpty(message = "Answers are required")
@@ -0,0 +1,13 @@
+package com.assessment.platform.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UpdateAnswerKeyRequest {
+
+    @NotEmpty(message = "At least one correct option is required")
+    private List<Long> correctOptionIds;
+}
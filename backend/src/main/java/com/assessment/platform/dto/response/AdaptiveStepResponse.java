@@ -0,0 +1,24 @@
+package com.assessment.platform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AdaptiveStepResponse {
+
+    // The question to answer next; null once the test is finished
+    private QuestionResponse question;
+    private int answered;
+    private int maxQuestions;
+    private boolean finished;
+    private Long remainingSeconds;
+    // Set when this step finished the test
+    private SubmissionResponse submission;
+}
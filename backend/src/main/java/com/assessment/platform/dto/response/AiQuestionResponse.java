@@ -1,5 +1,6 @@
 package com.assessment.platform.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,6 +16,9 @@ public class AiQuestionResponse {
 
     private List<AiQuestionItem> questions;
 
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<DuplicateQuestionResponse> duplicates;
+
     @Data
     @Builder
     @NoArgsConstructor
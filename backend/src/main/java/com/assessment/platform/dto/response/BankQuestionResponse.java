@@ -0,0 +1,24 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BankQuestionResponse {
+
+    private Long id;
+    private String questionText;
+    private String difficulty;
+    private String teamType;
+    private List<String> tags;
+    private List<OptionResponse> options;
+    private LocalDateTime updatedAt;
+}
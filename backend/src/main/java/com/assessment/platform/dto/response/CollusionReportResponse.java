@@ -0,0 +1,41 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollusionReportResponse {
+
+    private Long testId;
+    private int submissionsAnalysed;
+    // Pairs scored exactly after LSH bucketing, out of n(n-1)/2
+    private long candidatePairs;
+    private List<SuspiciousPair> pairs;
+
+    @Data
+    @AllArgsConstructor
+    public static class SuspiciousPair {
+        private Candidate first;
+        private Candidate second;
+        private int sharedCorrect;
+        private int sharedWrong;
+        private double similarity;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Candidate {
+        private Long submissionId;
+        private Long userId;
+        private String userName;
+        private String userEmail;
+        private Integer score;
+    }
+}
@@ -0,0 +1,18 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateQuestionResponse {
+
+    private int questionIndex; // position of the flagged question in the request/response
+    private Long matchedQuestionId;
+    private Long matchedTestId;
+    private double similarity;
+}
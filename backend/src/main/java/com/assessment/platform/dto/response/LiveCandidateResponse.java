@@ -0,0 +1,31 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One candidate's row on the live submissions dashboard.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveCandidateResponse {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String SUBMITTED = "SUBMITTED";
+
+    private Long userId;
+    private String userName;
+    private String userEmail;
+    private String status;
+    private LocalDateTime startTime;
+    private LocalDateTime deadline;
+    private LocalDateTime endTime;
+    private Integer score;
+    private Integer totalMarks;
+}
@@ -0,0 +1,37 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceResponse {
+
+    private LocalDateTime asOf;
+    private int totalActive;
+    private List<TestPresence> tests;
+    private List<TeamPresence> teams;
+
+    @Data
+    @AllArgsConstructor
+    public static class TestPresence {
+        private Long testId;
+        private String testTitle;
+        private int activeCandidates;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class TeamPresence {
+        private Long teamId;
+        private String teamName;
+        private int activeCandidates;
+    }
+}
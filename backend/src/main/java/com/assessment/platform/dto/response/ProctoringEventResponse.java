@@ -0,0 +1,17 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProctoringEventResponse {
+
+    private String type;
+    private LocalDateTime occurredAt;
+    private String detail;
+}
@@ -0,0 +1,26 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProctoringSummaryResponse {
+
+    private Long userId;
+    private String userName;
+    private String userEmail;
+    // Null while the candidate has not submitted
+    private Long submissionId;
+    private long totalEvents;
+    private Map<String, Long> eventCounts;
+    private LocalDateTime firstEventAt;
+    private LocalDateTime lastEventAt;
+}
@@ -0,0 +1,19 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionBankSearchResponse {
+
+    // Every match, of which the newest limit are returned
+    private int total;
+    private List<BankQuestionResponse> questions;
+}
@@ -1,5 +1,6 @@
 package com.assessment.platform.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,4 +18,9 @@ public class QuestionResponse {
     private String questionText;
     private List<OptionResponse> options;
     private boolean multiCorrect; // true if question has multiple correct answers
+    // Admin views of adaptive tests only
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double irtDiscrimination;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double irtDifficulty;
 }
@@ -0,0 +1,27 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegradeJobResponse {
+
+    private Long id;
+    private Long testId;
+    private String status;
+    private int total;
+    private int processed;
+    private int scoreUp;
+    private int scoreDown;
+    private int unchanged;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -1,5 +1,6 @@
 package com.assessment.platform.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,5 +25,9 @@ public class SubmissionResponse {
     private LocalDateTime endTime;
     private Integer score;
     private Integer totalMarks;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double ability;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double abilityStandardError;
     private List<AnswerResponse> answers;
 }
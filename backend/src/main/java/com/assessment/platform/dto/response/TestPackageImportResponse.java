@@ -0,0 +1,29 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestPackageImportResponse {
+
+    // Null when the package had errors; nothing is saved then
+    private Long testId;
+    private String title;
+    private int questions;
+    private int options;
+    private List<LineError> errors;
+
+    @Data
+    @AllArgsConstructor
+    public static class LineError {
+        private int line;
+        private String message;
+    }
+}
@@ -1,5 +1,6 @@
 package com.assessment.platform.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,7 +10,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TestResponse {
@@ -18,6 +19,11 @@ public class TestResponse {
     private String title;
     private String description;
     private Integer timeLimitMinutes;
+    private LocalDateTime availableFrom;
+    private LocalDateTime availableUntil;
+    private Integer admissionJitterSeconds;
+    private Integer drawSize;
+    private boolean adaptive;
     private String assignedRole;
     private Long assignedTeamId;
     private String assignedTeamName;
@@ -26,4 +32,8 @@ public class TestResponse {
     private List<QuestionResponse> questions;
     private boolean alreadySubmitted;
     private LocalDateTime createdAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private TestSessionResponse session;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<DuplicateQuestionResponse> duplicateWarnings;
 }
@@ -0,0 +1,24 @@
+package com.assessment.platform.dto.response;
+
+import com.assessment.platform.dto.request.AnswerRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestSessionResponse {
+
+    private LocalDateTime startedAt;
+    private LocalDateTime deadline;
+    // Authoritative time left; the client counts down from this instead of its own clock
+    private long remainingSeconds;
+    private LocalDateTime lastSavedAt;
+    private List<AnswerRequest> savedAnswers;
+}
@@ -0,0 +1,36 @@
+package com.assessment.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String FAILED = "FAILED";
+
+    private int totalRows;
+    private int created;
+    private int rejected;
+    private List<RowResult> rows;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowResult {
+        // 1-based, not counting the CSV header
+        private int row;
+        private String email;
+        private String status;
+        // Why the row was not imported; null when CREATED
+        private String message;
+    }
+}
@@ -0,0 +1,28 @@
+package com.assessment.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "bank_options")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BankOption {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bank_question_id", nullable = false)
+    private BankQuestion bankQuestion;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String optionText;
+
+    @Column(nullable = false)
+    private boolean isCorrect;
+}
@@ -0,0 +1,61 @@
+package com.assessment.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Entity
+@Table(name = "bank_questions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BankQuestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String questionText;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private Difficulty difficulty;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private TeamType teamType;
+
+    // Free-form, lower-case tags such as the tech stack ("java", "spring-boot")
+    @ElementCollection
+    @CollectionTable(name = "bank_question_tags", joinColumns = @JoinColumn(name = "bank_question_id"))
+    @Column(name = "tag", nullable = false, length = 50)
+    @Builder.Default
+    private Set<String> tags = new HashSet<>();
+
+    @OneToMany(mappedBy = "bankQuestion", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @Builder.Default
+    private List<BankOption> options = new ArrayList<>();
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by", nullable = false)
+    private User createdBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Bumped on every change, including deletion; nodes poll it to refresh their search index
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private boolean deleted;
+}
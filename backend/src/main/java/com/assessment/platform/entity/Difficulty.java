@@ -0,0 +1,7 @@
+package com.assessment.platform.entity;
+
+public enum Difficulty {
+    EASY,
+    MEDIUM,
+    HARD
+}
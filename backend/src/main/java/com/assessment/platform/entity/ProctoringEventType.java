@@ -0,0 +1,9 @@
+package com.assessment.platform.entity;
+
+public enum ProctoringEventType {
+    TAB_SWITCH,
+    FOCUS_LOST,
+    COPY,
+    PASTE,
+    FULLSCREEN_EXIT
+}
@@ -26,6 +26,15 @@ public class Question {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String questionText;
 
+    // The bank question this one was copied from, if any
+    @Column(name = "bank_question_id")
+    private Long bankQuestionId;
+
+    // Two-parameter logistic item parameters, used by adaptive tests
+    private Double irtDiscrimination;
+
+    private Double irtDifficulty;
+
     @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Option> options = new ArrayList<>();
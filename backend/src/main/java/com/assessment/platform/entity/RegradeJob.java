@@ -0,0 +1,48 @@
+package com.assessment.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "regrade_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RegradeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "test_id", nullable = false)
+    private Long testId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RegradeJobStatus status;
+
+    // Submissions to re-grade, and how many are done so far
+    private int total;
+
+    private int processed;
+
+    private int scoreUp;
+
+    private int scoreDown;
+
+    private int unchanged;
+
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+}
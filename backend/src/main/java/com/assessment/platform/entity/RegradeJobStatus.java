@@ -0,0 +1,7 @@
+package com.assessment.platform.entity;
+
+public enum RegradeJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
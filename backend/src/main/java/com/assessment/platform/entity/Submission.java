@@ -39,6 +39,11 @@ public class Submission {
 
     private Integer totalMarks;
 
+    // Adaptive tests only: the final ability estimate and its standard error
+    private Double ability;
+
+    private Double abilityStandardError;
+
     @OneToMany(mappedBy = "submission", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Answer> answers = new ArrayList<>();
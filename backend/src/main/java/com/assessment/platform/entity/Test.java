@@ -51,6 +51,24 @@ public class Test {
 
     private Double passRatePercent;
 
+    // Optional exam window; a test without one can be started any time until results are released
+    private LocalDateTime availableFrom;
+
+    private LocalDateTime availableUntil;
+
+    private Integer admissionJitterSeconds;
+
+    // Questions each candidate gets from the pool; null means every candidate gets the whole test
+    private Integer drawSize;
+
+    // Each answer picks the next question from the calibrated pool; drawSize is then the maximum length
+    @Column(nullable = false)
+    private boolean adaptive;
+
+    // Bumped by every answer-key correction; nodes compare it with their cached key before grading
+    @Column(nullable = false)
+    private int answerKeyVersion;
+
     @OneToMany(mappedBy = "test", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Question> questions = new ArrayList<>();
@@ -0,0 +1,50 @@
+package com.assessment.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "test_sessions", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "test_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TestSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "test_id", nullable = false)
+    private Test test;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime deadline;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TestSessionStatus status;
+
+    // JSON list of AnswerRequest, as last autosaved by the client
+    @Column(columnDefinition = "TEXT")
+    private String savedAnswers;
+
+    private LocalDateTime lastSavedAt;
+
+    // JSON of an adaptive test's progress: the question awaiting an answer, the answers and the posterior
+    @Column(columnDefinition = "TEXT")
+    private String adaptiveState;
+}
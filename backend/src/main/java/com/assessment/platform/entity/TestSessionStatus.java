@@ -0,0 +1,8 @@
+package com.assessment.platform.entity;
+
+public enum TestSessionStatus {
+    ACTIVE,
+    SUBMITTED,
+    AUTO_SUBMITTED,
+    EXPIRED
+}
@@ -0,0 +1,21 @@
+package com.assessment.platform.exception;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The test is open, but this candidate's admission slot in the jitter window has not come yet.
+ */
+@Getter
+public class AdmissionDeferredException extends RuntimeException {
+
+    private final LocalDateTime admitAt;
+    private final long retryAfterSeconds;
+
+    public AdmissionDeferredException(LocalDateTime admitAt, long retryAfterSeconds) {
+        super("The test is opening. You will be admitted in " + retryAfterSeconds + " seconds");
+        this.admitAt = admitAt;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
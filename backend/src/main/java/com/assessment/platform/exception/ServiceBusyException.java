@@ -0,0 +1,17 @@
+package com.assessment.platform.exception;
+
+import lombok.Getter;
+
+/**
+ * The request is fine but the server cannot take it right now; the client should retry later.
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
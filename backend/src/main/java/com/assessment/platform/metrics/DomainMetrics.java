@@ -0,0 +1,71 @@
+package com.assessment.platform.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Thin facade over the MeterRegistry for domain meters. Every timer and summary publishes a
+ * percentile histogram; tags must stay low-cardinality (outcome, type, mode — never ids or emails).
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainMetrics {
+
+    public static final String OUTCOME = "outcome";
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+
+    private final MeterRegistry registry;
+
+    public Timer timer(String name, String... tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public <T> T time(String name, Supplier<T> action, String... tags) {
+        return timer(name, tags).record(action);
+    }
+
+    public void time(String name, Runnable action, String... tags) {
+        timer(name, tags).record(action);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public long stop(Timer.Sample sample, String name, String... tags) {
+        return sample.stop(timer(name, tags));
+    }
+
+    public void record(String name, double amount, String... tags) {
+        DistributionSummary.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(amount);
+    }
+
+    public void increment(String name, String... tags) {
+        increment(name, 1, tags);
+    }
+
+    public void increment(String name, double amount, String... tags) {
+        Counter.builder(name)
+                .tags(tags)
+                .register(registry)
+                .increment(amount);
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+}
@@ -0,0 +1,70 @@
+package com.assessment.platform.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the X-SQL-* headers and enforces strict budgets. This runs just before the body is written,
+ * which is the last point the headers can still be set and the service work is already done.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class SqlBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ENTITY_LOADS_HEADER = "X-SQL-Entity-Loads";
+    public static final String COLLECTION_LOADS_HEADER = "X-SQL-Collection-Loads";
+    public static final String REPEATED_HEADER = "X-SQL-Repeated";
+    public static final String BUDGET_HEADER = "X-SQL-Budget";
+
+    // Set before failing a request so the error response itself is not checked again
+    private static final String CHECKED = SqlBudgetAdvice.class.getName() + ".CHECKED";
+
+    private final SqlBudgetProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isHeaders() || properties.isStrict();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        String endpoint = SqlBudgetFilter.endpoint(httpRequest);
+        int budget = endpoint == null ? 0 : properties.budgetFor(endpoint);
+
+        if (properties.isHeaders()) {
+            HttpHeaders headers = response.getHeaders();
+            headers.set(STATEMENTS_HEADER, String.valueOf(stats.statements()));
+            headers.set(ENTITY_LOADS_HEADER, String.valueOf(stats.entityLoads()));
+            headers.set(COLLECTION_LOADS_HEADER, String.valueOf(stats.collectionLoads()));
+            headers.set(REPEATED_HEADER, String.valueOf(stats.repeatedStatements().size()));
+            if (budget > 0) {
+                headers.set(BUDGET_HEADER, String.valueOf(budget));
+            }
+        }
+
+        if (properties.isStrict() && budget > 0 && stats.statements() > budget
+                && httpRequest.getAttribute(CHECKED) == null) {
+            httpRequest.setAttribute(CHECKED, Boolean.TRUE);
+            throw new IllegalStateException(endpoint + " ran " + stats.statements()
+                    + " SQL statements, budget is " + budget);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,76 @@
+package com.assessment.platform.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens the per-request SQL counters before anything else runs (the JWT filter's user lookup
+ * counts too), then records them per endpoint and warns when an endpoint goes over its budget.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlBudgetProperties properties;
+    private final DomainMetrics metrics;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        String uri = uri(request);
+        if (uri == null) {
+            return;
+        }
+        String[] tags = {"method", request.getMethod(), "uri", uri};
+        metrics.record("assessment.sql.statements", stats.statements(), tags);
+        metrics.record("assessment.sql.entity.loads", stats.entityLoads(), tags);
+        metrics.record("assessment.sql.collection.loads", stats.collectionLoads(), tags);
+        for (SqlRequestStats.RepeatedStatement repeated : stats.repeatedStatements()) {
+            metrics.increment("assessment.sql.repeated", "caller", repeated.caller());
+        }
+
+        int budget = properties.budgetFor(endpoint(request));
+        if (budget > 0 && stats.statements() > budget) {
+            metrics.increment("assessment.sql.budget.exceeded", tags);
+            log.warn("{} ran {} SQL statements, budget is {} ({} entity loads, {} collection loads)",
+                    endpoint(request), stats.statements(), budget, stats.entityLoads(), stats.collectionLoads());
+        }
+    }
+
+    /**
+     * "METHOD /mapped/{pattern}", the key used for budgets; null before a handler has been matched.
+     */
+    static String endpoint(HttpServletRequest request) {
+        String uri = uri(request);
+        return uri == null ? null : request.getMethod() + " " + uri;
+    }
+
+    private static String uri(HttpServletRequest request) {
+        return (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,36 @@
+package com.assessment.platform.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings under app.sql-budget. Endpoint budgets are keyed by "METHOD /path/{pattern}", exactly as
+ * the route is mapped, e.g. "[GET /api/tests/{id}]" in YAML.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.sql-budget")
+public class SqlBudgetProperties {
+
+    /** Add X-SQL-* response headers (meant for dev and load tests). */
+    private boolean headers = false;
+
+    /** Fail over-budget requests with a 500 instead of logging a warning. */
+    private boolean strict = false;
+
+    /** Budget for endpoints without their own entry; 0 disables the check for them. */
+    private int defaultStatements = 0;
+
+    /** Warn once the same SQL string has run this many times within a single request. */
+    private int repeatThreshold = 3;
+
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultStatements);
+    }
+}
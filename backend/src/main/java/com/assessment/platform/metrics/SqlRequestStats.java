@@ -0,0 +1,77 @@
+package com.assessment.platform.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL activity of the HTTP request running on the current thread. Opened and closed by
+ * {@link SqlBudgetFilter}; work outside a request (async tasks, startup runners) is not counted.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private final List<RepeatedStatement> repeated = new ArrayList<>();
+    private int statements;
+    private int entityLoads;
+    private int collectionLoads;
+
+    public record RepeatedStatement(String sql, String caller) {
+    }
+
+    private SqlRequestStats() {
+    }
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Counts one prepared statement and returns how many times this exact SQL has now run in the request.
+     */
+    int statement(String sql) {
+        statements++;
+        return executions.merge(sql, 1, Integer::sum);
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void collectionLoaded() {
+        collectionLoads++;
+    }
+
+    void repeated(String sql, String caller) {
+        repeated.add(new RepeatedStatement(sql, caller));
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int entityLoads() {
+        return entityLoads;
+    }
+
+    public int collectionLoads() {
+        return collectionLoads;
+    }
+
+    public List<RepeatedStatement> repeatedStatements() {
+        return repeated;
+    }
+}
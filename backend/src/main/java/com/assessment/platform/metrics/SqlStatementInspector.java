@@ -0,0 +1,42 @@
+package com.assessment.platform.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares against the current request and flags the same SQL
+ * string running over and over, which is what an N+1 looks like from here. The warning names the
+ * first service method on the stack, since that is where the loop lives.
+ */
+@Slf4j
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final String SERVICE_PACKAGE = "com.assessment.platform.service.";
+
+    private final int repeatThreshold;
+
+    public SqlStatementInspector(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null && stats.statement(sql) == repeatThreshold) {
+            String caller = callingServiceMethod();
+            stats.repeated(sql, caller);
+            log.warn("Same SQL ran {} times in one request from {}: {}", repeatThreshold, caller, sql);
+        }
+        return sql;
+    }
+
+    // Only walked when the threshold is hit, so the common path stays a map lookup
+    private static String callingServiceMethod() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(SERVICE_PACKAGE.length()) + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+}
@@ -2,6 +2,9 @@ package com.assessment.platform.repository;
 
 import com.assessment.platform.entity.Answer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +14,7 @@ public interface AnswerRepository extends JpaRepository<Answer, Long> {
 
     List<Answer> findBySubmissionId(Long submissionId);
 
-    void deleteBySubmissionId(Long submissionId);
+    @Modifying
+    @Query("DELETE FROM Answer a WHERE a.submission.id IN (SELECT s.id FROM Submission s WHERE s.test.id = :testId)")
+    int deleteByTestId(@Param("testId") Long testId);
 }
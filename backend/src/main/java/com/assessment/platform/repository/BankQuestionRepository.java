@@ -0,0 +1,21 @@
+package com.assessment.platform.repository;
+
+import com.assessment.platform.entity.BankQuestion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BankQuestionRepository extends JpaRepository<BankQuestion, Long> {
+
+    @Query("SELECT DISTINCT b FROM BankQuestion b LEFT JOIN FETCH b.options WHERE b.id IN :ids AND b.deleted = false")
+    List<BankQuestion> findActiveByIdInWithOptions(@Param("ids") Collection<Long> ids);
+
+    // Second query for the tags, so options and tags are not fetched as one cartesian product
+    @Query("SELECT DISTINCT b FROM BankQuestion b LEFT JOIN FETCH b.tags WHERE b IN :questions")
+    List<BankQuestion> fetchTags(@Param("questions") Collection<BankQuestion> questions);
+}
@@ -0,0 +1,57 @@
+package com.assessment.platform.repository;
+
+import com.assessment.platform.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Lease timestamps all come from the database clock, so nodes with skewed clocks still agree on
+ * when a lease has expired.
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO job_leases (name, owner, fencing_token, acquired_at, heartbeat_at, expires_at) "
+            + "VALUES (:name, :owner, 1, CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6), "
+            + "TIMESTAMPADD(MICROSECOND, :ttlMicros, CURRENT_TIMESTAMP(6)))", nativeQuery = true)
+    int insertLease(@Param("name") String name, @Param("owner") String owner, @Param("ttlMicros") long ttlMicros);
+
+    @Modifying
+    @Query(value = "UPDATE job_leases SET owner = :owner, fencing_token = fencing_token + 1, "
+            + "acquired_at = CURRENT_TIMESTAMP(6), heartbeat_at = CURRENT_TIMESTAMP(6), "
+            + "expires_at = TIMESTAMPADD(MICROSECOND, :ttlMicros, CURRENT_TIMESTAMP(6)) "
+            + "WHERE name = :name AND expires_at < CURRENT_TIMESTAMP(6)", nativeQuery = true)
+    int takeOverExpired(@Param("name") String name, @Param("owner") String owner, @Param("ttlMicros") long ttlMicros);
+
+    @Query(value = "SELECT fencing_token FROM job_leases WHERE name = :name AND owner = :owner", nativeQuery = true)
+    long findFencingToken(@Param("name") String name, @Param("owner") String owner);
+
+    @Modifying
+    @Query(value = "UPDATE job_leases SET heartbeat_at = CURRENT_TIMESTAMP(6), "
+            + "expires_at = TIMESTAMPADD(MICROSECOND, :ttlMicros, CURRENT_TIMESTAMP(6)) "
+            + "WHERE name = :name AND owner = :owner AND fencing_token = :token "
+            + "AND expires_at >= CURRENT_TIMESTAMP(6)", nativeQuery = true)
+    int extend(@Param("name") String name, @Param("owner") String owner, @Param("token") long token,
+               @Param("ttlMicros") long ttlMicros);
+
+    // Run in the guarded transaction: the row lock it takes holds off any takeover until that commits
+    @Modifying
+    @Query(value = "UPDATE job_leases SET heartbeat_at = CURRENT_TIMESTAMP(6) "
+            + "WHERE name = :name AND owner = :owner AND fencing_token = :token "
+            + "AND expires_at >= CURRENT_TIMESTAMP(6)", nativeQuery = true)
+    int fence(@Param("name") String name, @Param("owner") String owner, @Param("token") long token);
+
+    @Modifying
+    @Query(value = "UPDATE job_leases SET expires_at = TIMESTAMPADD(MICROSECOND, -1, CURRENT_TIMESTAMP(6)) "
+            + "WHERE name = :name AND owner = :owner AND fencing_token = :token", nativeQuery = true)
+    int expire(@Param("name") String name, @Param("owner") String owner, @Param("token") long token);
+
+    @Modifying
+    @Query(value = "DELETE FROM job_leases WHERE expires_at < TIMESTAMPADD(DAY, -:days, CURRENT_TIMESTAMP(6))",
+            nativeQuery = true)
+    int deleteExpiredBefore(@Param("days") int days);
+}
@@ -2,6 +2,7 @@ package com.assessment.platform.repository;
 
 import com.assessment.platform.entity.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +16,18 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByTestId(Long testId);
 
     void deleteByTestId(Long testId);
+
+    @Query("SELECT q FROM Question q LEFT JOIN FETCH q.options WHERE q.test.id = :testId ORDER BY q.id")
+    List<Question> findByTestIdWithOptions(@Param("testId") Long testId);
+
+    // Bulk deletes for release; the answers referencing these rows must already be gone
+    @Modifying
+    @Query("DELETE FROM Option o WHERE o.question.id IN (SELECT q.id FROM Question q WHERE q.test.id = :testId)")
+    int deleteOptionsByTestId(@Param("testId") Long testId);
+
+    @Modifying
+    @Query("DELETE FROM Question q WHERE q.test.id = :testId")
+    int deleteAllByTestId(@Param("testId") Long testId);
     
     @Query("SELECT q FROM Question q LEFT JOIN FETCH q.options WHERE q.id = :id")
     Optional<Question> findByIdWithOptions(@Param("id") Long id);
@@ -0,0 +1,48 @@
+package com.assessment.platform.repository;
+
+import com.assessment.platform.entity.RegradeJob;
+import com.assessment.platform.entity.RegradeJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RegradeJobRepository extends JpaRepository<RegradeJob, Long> {
+
+    boolean existsByTestIdAndStatus(Long testId, RegradeJobStatus status);
+
+    Optional<RegradeJob> findFirstByTestIdOrderByIdDesc(Long testId);
+
+    @Modifying
+    @Query("DELETE FROM RegradeJob j WHERE j.testId = :testId")
+    int deleteByTestId(@Param("testId") Long testId);
+
+    // Increments rather than overwrites: chunks of one job commit in parallel
+    @Modifying
+    @Query("UPDATE RegradeJob j SET j.processed = j.processed + :processed, j.scoreUp = j.scoreUp + :up, "
+            + "j.scoreDown = j.scoreDown + :down, j.unchanged = j.unchanged + :unchanged, j.updatedAt = :now "
+            + "WHERE j.id = :id")
+    int addProgress(@Param("id") Long id, @Param("processed") int processed, @Param("up") int up,
+                    @Param("down") int down, @Param("unchanged") int unchanged, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RegradeJob j SET j.total = :total, j.updatedAt = :now WHERE j.id = :id")
+    int setTotal(@Param("id") Long id, @Param("total") int total, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RegradeJob j SET j.status = :status, j.error = :error, j.updatedAt = :now, j.finishedAt = :now "
+            + "WHERE j.id = :id AND j.status = com.assessment.platform.entity.RegradeJobStatus.RUNNING")
+    int finish(@Param("id") Long id, @Param("status") RegradeJobStatus status, @Param("error") String error,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RegradeJob j SET j.status = com.assessment.platform.entity.RegradeJobStatus.FAILED, "
+            + "j.error = :error, j.finishedAt = :now "
+            + "WHERE j.status = com.assessment.platform.entity.RegradeJobStatus.RUNNING AND j.updatedAt < :cutoff")
+    int failStale(@Param("cutoff") LocalDateTime cutoff, @Param("error") String error, @Param("now") LocalDateTime now);
+}
@@ -2,8 +2,12 @@ package com.assessment.platform.repository;
 
 import com.assessment.platform.entity.Submission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,5 +20,14 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
 
     List<Submission> findByTestId(Long testId);
 
+    @Query("SELECT s FROM Submission s JOIN FETCH s.user WHERE s.test.id = :testId")
+    List<Submission> findByTestIdWithUser(@Param("testId") Long testId);
+
     List<Submission> findByUserId(Long userId);
+
+    @Query("SELECT s FROM Submission s JOIN FETCH s.user WHERE s.test.id = :testId AND s.endTime > :since")
+    List<Submission> findByTestIdEndedAfterWithUser(@Param("testId") Long testId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT s FROM Submission s JOIN FETCH s.user WHERE s.id IN :ids")
+    List<Submission> findByIdInWithUser(@Param("ids") Collection<Long> ids);
 }
@@ -2,9 +2,14 @@ package com.assessment.platform.repository;
 
 import com.assessment.platform.entity.Role;
 import com.assessment.platform.entity.Test;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +21,20 @@ public interface TestRepository extends JpaRepository<Test, Long> {
     List<Test> findByAssignedTeamId(Long teamId);
 
     Optional<Test> findFirstByTitleIgnoreCase(String title);
+
+    boolean existsByIdAndResultsReleasedFalse(Long id);
+
+    // Shared lock held while grading: an answer-key correction waits for in-flight grading and vice versa
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT t FROM Test t WHERE t.id = :id")
+    Optional<Test> lockForGrading(@Param("id") Long id);
+
+    // Exclusive: a release waits for in-flight grading, and a second release waits and then sees it released
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Test t WHERE t.id = :id")
+    Optional<Test> lockForRelease(@Param("id") Long id);
+
+    @Query("SELECT t FROM Test t WHERE t.resultsReleased = false AND t.availableFrom IS NOT NULL "
+            + "AND t.availableFrom <= :horizon AND (t.availableUntil IS NULL OR t.availableUntil > :now)")
+    List<Test> findOpeningOrOpen(@Param("now") LocalDateTime now, @Param("horizon") LocalDateTime horizon);
 }
@@ -0,0 +1,68 @@
+package com.assessment.platform.repository;
+
+import com.assessment.platform.entity.TestSession;
+import com.assessment.platform.entity.TestSessionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TestSessionRepository extends JpaRepository<TestSession, Long> {
+
+    interface SessionDeadline {
+        Long getId();
+
+        LocalDateTime getDeadline();
+    }
+
+    Optional<TestSession> findByUserIdAndTestId(Long userId, Long testId);
+
+    boolean existsByUserIdAndTestIdAndStatus(Long userId, Long testId, TestSessionStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM TestSession s WHERE s.user.id = :userId AND s.test.id = :testId")
+    Optional<TestSession> lockByUserIdAndTestId(@Param("userId") Long userId, @Param("testId") Long testId);
+
+    // Exclusive: each adaptive step reads the session's state, updates it and writes it back
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TestSession s WHERE s.user.id = :userId AND s.test.id = :testId")
+    Optional<TestSession> lockForAdaptiveStep(@Param("userId") Long userId, @Param("testId") Long testId);
+
+    // A second fetch racing the first one must not fail on the unique key
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO test_sessions (user_id, test_id, started_at, deadline, status) "
+            + "VALUES (:userId, :testId, :startedAt, :deadline, 'ACTIVE')", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("testId") Long testId,
+                       @Param("startedAt") LocalDateTime startedAt, @Param("deadline") LocalDateTime deadline);
+
+    @Query("SELECT s.id AS id, s.deadline AS deadline FROM TestSession s WHERE s.status = :status")
+    List<SessionDeadline> findDeadlinesByStatus(@Param("status") TestSessionStatus status);
+
+    @Query("SELECT s FROM TestSession s JOIN FETCH s.user "
+            + "WHERE s.test.id = :testId AND s.status = :status AND s.startedAt > :since")
+    List<TestSession> findByTestIdStartedAfterWithUser(@Param("testId") Long testId,
+                                                       @Param("status") TestSessionStatus status,
+                                                       @Param("since") LocalDateTime since);
+
+    @Query("SELECT s.id FROM TestSession s WHERE s.status = :status AND s.deadline < :cutoff")
+    List<Long> findIdsByStatusAndDeadlineBefore(@Param("status") TestSessionStatus status,
+                                                @Param("cutoff") LocalDateTime cutoff);
+
+    // Whoever flips the status first submits; a manual submit and the auto-submit can race
+    @Modifying
+    @Query("UPDATE TestSession s SET s.status = :status WHERE s.id = :id "
+            + "AND s.status = com.assessment.platform.entity.TestSessionStatus.ACTIVE")
+    int close(@Param("id") Long id, @Param("status") TestSessionStatus status);
+
+    @Modifying
+    @Query("DELETE FROM TestSession s WHERE s.test.id = :testId")
+    int deleteByTestId(@Param("testId") Long testId);
+}
@@ -13,6 +13,7 @@ import java.util.List;
 public class CustomUserDetails implements UserDetails {
 
     private final Long id;
+    private final String name;
     private final String email;
     private final String password;
     private final String role;
@@ -21,6 +22,7 @@ public class CustomUserDetails implements UserDetails {
 
     public CustomUserDetails(User user) {
         this.id = user.getId();
+        this.name = user.getName();
         this.email = user.getEmail();
         this.password = user.getPassword();
         this.role = user.getRole().name();
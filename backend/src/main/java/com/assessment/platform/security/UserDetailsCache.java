@@ -0,0 +1,49 @@
+package com.assessment.platform.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of the user lookup behind every authenticated request. Entries expire after
+ * the TTL, or at an explicit time when pre-warmed for an exam; role changes evict on this node.
+ */
+@Component
+public class UserDetailsCache {
+
+    @Value("${app.user-cache.ttl-seconds:120}")
+    private long ttlSeconds;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(CustomUserDetails details, LocalDateTime expiresAt) {
+    }
+
+    public CustomUserDetails get(String email) {
+        Entry entry = entries.get(email);
+        if (entry == null || entry.expiresAt().isBefore(LocalDateTime.now())) {
+            return null;
+        }
+        return entry.details();
+    }
+
+    public CustomUserDetails put(CustomUserDetails details) {
+        return put(details, LocalDateTime.now().plusSeconds(ttlSeconds));
+    }
+
+    public CustomUserDetails put(CustomUserDetails details, LocalDateTime expiresAt) {
+        entries.put(details.getEmail(), new Entry(details, expiresAt));
+        return details;
+    }
+
+    public void evict(String email) {
+        entries.remove(email);
+    }
+
+    public void evictExpired(LocalDateTime now) {
+        entries.values().removeIf(entry -> entry.expiresAt().isBefore(now));
+    }
+}
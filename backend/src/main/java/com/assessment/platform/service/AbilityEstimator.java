@@ -0,0 +1,73 @@
+package com.assessment.platform.service;
+
+/**
+ * Expected a posteriori (EAP) ability estimates for adaptive tests. The posterior over ability is
+ * kept on a fixed grid from -4 to 4, starting from a standard normal prior. Each answer multiplies
+ * in its likelihood, one pass over the grid however many questions came before, so the estimate
+ * is updated incrementally rather than refitted. The estimate is the posterior mean and its
+ * standard error the posterior standard deviation.
+ */
+public final class AbilityEstimator {
+
+    static final double MIN_ABILITY = -4;
+    static final double MAX_ABILITY = 4;
+    static final int POINTS = 81;
+    private static final double STEP = (MAX_ABILITY - MIN_ABILITY) / (POINTS - 1);
+
+    public record Estimate(double ability, double standardError) {
+    }
+
+    private AbilityEstimator() {
+    }
+
+    /**
+     * Log of the prior density at each grid point, up to a constant.
+     */
+    public static double[] prior() {
+        double[] logPosterior = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            double ability = point(i);
+            logPosterior[i] = -ability * ability / 2;
+        }
+        return logPosterior;
+    }
+
+    /**
+     * Adds one answer to the log posterior, in place.
+     */
+    public static void update(double[] logPosterior, double discrimination, double difficulty, boolean correct) {
+        for (int i = 0; i < POINTS; i++) {
+            // log P = -log(1 + e^-x) and log(1 - P) = -log(1 + e^x), without overflow
+            double x = discrimination * (point(i) - difficulty);
+            logPosterior[i] -= softplus(correct ? -x : x);
+        }
+    }
+
+    public static Estimate estimate(double[] logPosterior) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : logPosterior) {
+            max = Math.max(max, value);
+        }
+        double total = 0;
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < POINTS; i++) {
+            double weight = Math.exp(logPosterior[i] - max);
+            double ability = point(i);
+            total += weight;
+            sum += weight * ability;
+            sumOfSquares += weight * ability * ability;
+        }
+        double mean = sum / total;
+        double variance = Math.max(0, sumOfSquares / total - mean * mean);
+        return new Estimate(mean, Math.sqrt(variance));
+    }
+
+    private static double point(int i) {
+        return MIN_ABILITY + i * STEP;
+    }
+
+    private static double softplus(double x) {
+        return x > 0 ? x + Math.log1p(Math.exp(-x)) : Math.log1p(Math.exp(x));
+    }
+}
@@ -0,0 +1,143 @@
+package com.assessment.platform.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The calibrated questions of an adaptive test, indexed for picking the most informative one at an
+ * ability estimate. Questions follow the two-parameter logistic model: a candidate of ability θ
+ * answers correctly with probability 1 / (1 + e^(-a(θ - b))), where a is the discrimination and
+ * b the difficulty, and the question's information at θ is a²·P·(1 - P).
+ *
+ * Information peaks where b = θ and falls off with |θ - b|, faster for larger a. So questions are
+ * split into strata of similar discrimination, each sorted by difficulty. Within a stratum the
+ * search starts at θ and walks outward, nearest difficulty first, until even the most
+ * discriminating question of the stratum could no longer beat the best found. Strata are visited
+ * from the most discriminating down and skipped once their peak information cannot win. Selection
+ * is a binary search plus a few steps per stratum. The pool never changes once built.
+ */
+public final class AdaptiveItemPool {
+
+    // Discriminations within a stratum differ by at most this factor
+    private static final double STRATUM_RATIO = 1.25;
+
+    private final Stratum[] strata;
+    private final Map<Long, double[]> parameters;
+
+    private static final class Stratum {
+        final double minDiscrimination;
+        final double maxDiscrimination;
+        final long[] ids;
+        final double[] discrimination;
+        final double[] difficulty;
+
+        Stratum(List<Item> items) {
+            items.sort(Comparator.comparingDouble(Item::difficulty).thenComparingLong(Item::id));
+            ids = new long[items.size()];
+            discrimination = new double[items.size()];
+            difficulty = new double[items.size()];
+            double min = Double.MAX_VALUE;
+            double max = 0;
+            for (int i = 0; i < items.size(); i++) {
+                Item item = items.get(i);
+                ids[i] = item.id();
+                discrimination[i] = item.discrimination();
+                difficulty[i] = item.difficulty();
+                min = Math.min(min, item.discrimination());
+                max = Math.max(max, item.discrimination());
+            }
+            minDiscrimination = min;
+            maxDiscrimination = max;
+        }
+    }
+
+    public record Item(long id, double discrimination, double difficulty) {
+    }
+
+    public AdaptiveItemPool(List<Item> items) {
+        Map<Integer, List<Item>> byStratum = new HashMap<>();
+        parameters = new HashMap<>(items.size() * 2);
+        for (Item item : items) {
+            if (!(item.discrimination() > 0)) {
+                throw new IllegalArgumentException("Discrimination of question " + item.id() + " must be positive");
+            }
+            int stratum = (int) Math.floor(Math.log(item.discrimination()) / Math.log(STRATUM_RATIO));
+            byStratum.computeIfAbsent(stratum, k -> new ArrayList<>()).add(item);
+            parameters.put(item.id(), new double[]{item.discrimination(), item.difficulty()});
+        }
+        strata = byStratum.values().stream()
+                .map(Stratum::new)
+                .sorted(Comparator.comparingDouble((Stratum s) -> s.maxDiscrimination).reversed())
+                .toArray(Stratum[]::new);
+    }
+
+    public int size() {
+        return parameters.size();
+    }
+
+    /**
+     * {@code {discrimination, difficulty}} of a question, or null if it is not in the pool.
+     */
+    public double[] parameters(long id) {
+        return parameters.get(id);
+    }
+
+    /**
+     * The question with the most information at {@code ability} that is not in {@code administered},
+     * or -1 when every question has been administered.
+     */
+    public long select(double ability, Set<Long> administered) {
+        double best = -1;
+        long bestId = -1;
+        for (Stratum stratum : strata) {
+            double peak = stratum.maxDiscrimination * stratum.maxDiscrimination / 4;
+            if (peak <= best) {
+                break; // strata are in descending order of peak information
+            }
+            double[] difficulty = stratum.difficulty;
+            int insertion = Arrays.binarySearch(difficulty, ability);
+            int right = insertion >= 0 ? insertion : -insertion - 1;
+            int left = right - 1;
+            while (left >= 0 || right < difficulty.length) {
+                // Nearest remaining difficulty on either side, so distances only grow
+                boolean takeLeft = right >= difficulty.length
+                        || left >= 0 && ability - difficulty[left] <= difficulty[right] - ability;
+                int i = takeLeft ? left-- : right++;
+                double distance = Math.abs(ability - difficulty[i]);
+                double bound = stratum.maxDiscrimination * stratum.maxDiscrimination
+                        * logisticVariance(stratum.minDiscrimination * distance);
+                if (bound <= best) {
+                    break;
+                }
+                if (administered.contains(stratum.ids[i])) {
+                    continue;
+                }
+                double information = information(stratum.discrimination[i], difficulty[i], ability);
+                if (information > best) {
+                    best = information;
+                    bestId = stratum.ids[i];
+                }
+            }
+        }
+        return bestId;
+    }
+
+    public static double probability(double discrimination, double difficulty, double ability) {
+        return 1 / (1 + Math.exp(-discrimination * (ability - difficulty)));
+    }
+
+    public static double information(double discrimination, double difficulty, double ability) {
+        return discrimination * discrimination * logisticVariance(discrimination * (ability - difficulty));
+    }
+
+    // P(1 - P) at logit x; largest at 0 and falling with |x|
+    private static double logisticVariance(double x) {
+        double p = 1 / (1 + Math.exp(-x));
+        return p * (1 - p);
+    }
+}
@@ -1,46 +1,77 @@
 package com.assessment.platform.service;
 
+import com.assessment.platform.dto.request.BankQuestionRequest;
 import com.assessment.platform.dto.request.ChangeRoleRequest;
 import com.assessment.platform.dto.request.CreateTestRequest;
 import com.assessment.platform.dto.request.OptionRequest;
 import com.assessment.platform.dto.request.QuestionRequest;
+import com.assessment.platform.dto.request.UpdateAnswerKeyRequest;
 import com.assessment.platform.dto.response.*;
 import com.assessment.platform.entity.*;
 import com.assessment.platform.exception.BadRequestException;
 import com.assessment.platform.exception.ResourceNotFoundException;
+import com.assessment.platform.metrics.DomainMetrics;
 import com.assessment.platform.repository.*;
 import com.assessment.platform.security.CustomUserDetails;
+import com.assessment.platform.security.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AdminService {
 
     private static final int MAX_QUESTIONS = 50;
-    private static final int MAX_OPTIONS = 6;
+    static final int MAX_OPTIONS = 6;
 
     private final TestRepository testRepository;
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
     private final SubmissionRepository submissionRepository;
+    private final TestSessionRepository testSessionRepository;
     private final AnswerRepository answerRepository;
     private final QuestionRepository questionRepository;
     private final TestService testService;
     private final EmailService emailService;
+    private final DuplicateQuestionService duplicateQuestionService;
+    private final DomainMetrics metrics;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExamPaperCache examPaperCache;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PresenceRegistry presenceRegistry;
+    private final ProctoringEventStore proctoringEventStore;
+    private final ResultArchive resultArchive;
+    private final RegradeService regradeService;
+    private final RegradeJobRepository regradeJobRepository;
+    private final CollusionDetector collusionDetector;
+    private final UserImporter userImporter;
+    private final TestPackageService testPackageService;
+    private final QuestionBankService questionBankService;
 
     private static final String ANSWER_KEY_SECRET = "blahblah";
+    private static final int MAX_COLLUSION_PAIRS = 500;
+    private static final int MAX_EXPORT_RANGE_DAYS = 366;
 
     @Transactional
     public TestResponse createTest(CreateTestRequest request) {
@@ -65,10 +96,34 @@ public class AdminService {
             throw new BadRequestException("Invalid role: " + request.getAssignedRole());
         }
 
+        if (request.getAvailableFrom() != null && request.getAvailableUntil() != null
+                && !request.getAvailableUntil().isAfter(request.getAvailableFrom())) {
+            throw new BadRequestException("Available until must be after available from");
+        }
+        if (request.getAdmissionJitterSeconds() != null && request.getAdmissionJitterSeconds() > 0
+                && request.getAvailableFrom() == null) {
+            throw new BadRequestException("Admission jitter needs an available from time");
+        }
+        if (request.getDrawSize() != null && request.getDrawSize() > request.getQuestions().size()) {
+            throw new BadRequestException("Draw size cannot be larger than the number of questions");
+        }
+        boolean adaptive = Boolean.TRUE.equals(request.getAdaptive());
+        if (adaptive && request.getDrawSize() == null) {
+            throw new BadRequestException("An adaptive test needs a draw size, the most questions a candidate gets");
+        }
+        if (adaptive && request.getQuestions().stream().anyMatch(q -> q.getIrtDifficulty() == null)) {
+            throw new BadRequestException("Every question of an adaptive test needs a difficulty");
+        }
+
         Test test = Test.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .timeLimitMinutes(request.getTimeLimitMinutes())
+                .availableFrom(request.getAvailableFrom())
+                .availableUntil(request.getAvailableUntil())
+                .admissionJitterSeconds(request.getAdmissionJitterSeconds())
+                .drawSize(request.getDrawSize())
+                .adaptive(adaptive)
                 .assignedRole(assignedRole)
                 .assignedTeam(team)
                 .createdBy(admin)
@@ -76,7 +131,23 @@ public class AdminService {
                 .questions(new ArrayList<>())
                 .build();
 
+        Map<Long, BankQuestion> bankQuestions = questionBankService.loadForTest(request.getQuestions().stream()
+                .map(QuestionRequest::getBankQuestionId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        List<DuplicateQuestionResponse> duplicateWarnings = new ArrayList<>();
         for (QuestionRequest qr : request.getQuestions()) {
+            if (qr.getBankQuestionId() != null) {
+                // Reused on purpose, so not checked for duplicates
+                Question copy = copyBankQuestion(test, bankQuestions.get(qr.getBankQuestionId()));
+                setItemParameters(copy, qr, adaptive);
+                test.getQuestions().add(copy);
+                continue;
+            }
+            if (qr.getQuestionText() == null || qr.getQuestionText().isBlank()) {
+                throw new BadRequestException("Question text is required");
+            }
             if (qr.getOptions() == null || qr.getOptions().isEmpty()) {
                 throw new BadRequestException("Each question must have options");
             }
@@ -84,11 +155,17 @@ public class AdminService {
                 throw new BadRequestException("Too many options. Max allowed: " + MAX_OPTIONS);
             }
 
+            duplicateWarnings.addAll(duplicateQuestionService.findDuplicates(
+                    test.getQuestions().size(),
+                    qr.getQuestionText(),
+                    qr.getOptions().stream().map(OptionRequest::getOptionText).toList()));
+
             Question question = Question.builder()
                     .test(test)
                     .questionText(qr.getQuestionText())
                     .options(new ArrayList<>())
                     .build();
+            setItemParameters(question, qr, adaptive);
 
             for (OptionRequest or : qr.getOptions()) {
                 Option option = Option.builder()
@@ -103,10 +180,43 @@ public class AdminService {
         }
 
         test = testRepository.save(test);
+        duplicateQuestionService.indexAfterCommit(test.getId(), test.getQuestions());
+
+        TestResponse response = mapToTestResponseAdmin(test);
+        response.setDuplicateWarnings(duplicateWarnings);
+        return response;
+    }
+
+    public BankQuestionResponse createBankQuestion(BankQuestionRequest request) {
+        return questionBankService.create(request, getCurrentUserEntity());
+    }
+
+    // Parameters are per test: the same bank question can be calibrated differently in another test
+    private static void setItemParameters(Question question, QuestionRequest request, boolean adaptive) {
+        question.setIrtDifficulty(request.getIrtDifficulty());
+        question.setIrtDiscrimination(request.getIrtDiscrimination() == null && adaptive
+                ? Double.valueOf(1.0) : request.getIrtDiscrimination());
+    }
 
-        return mapToTestResponseAdmin(test);
+    // The test gets its own copy, so later bank edits never change a paper candidates may have seen
+    private Question copyBankQuestion(Test test, BankQuestion bankQuestion) {
+        Question question = Question.builder()
+                .test(test)
+                .questionText(bankQuestion.getQuestionText())
+                .bankQuestionId(bankQuestion.getId())
+                .options(new ArrayList<>())
+                .build();
+        for (BankOption bankOption : bankQuestion.getOptions()) {
+            question.getOptions().add(Option.builder()
+                    .question(question)
+                    .optionText(bankOption.getOptionText())
+                    .isCorrect(bankOption.isCorrect())
+                    .build());
+        }
+        return question;
     }
 
+    @Transactional(readOnly = true)
     public List<TestResponse> getAllTests() {
         User currentUser = getCurrentUserEntity();
         List<Test> tests;
@@ -123,6 +233,7 @@ public class AdminService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<SubmissionResponse> getTestSubmissions(Long testId) {
         testRepository.findById(testId)
                 .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
@@ -133,18 +244,221 @@ public class AdminService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Integrity events per candidate of a test, counted by type, with the submission when there is
+     * one. Events still waiting in a node's write queue (about a second's worth) are not included.
+     */
+    @Transactional(readOnly = true)
+    public List<ProctoringSummaryResponse> getProctoringSummary(Long testId) {
+        testRepository.findById(testId)
+                .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
+
+        Map<Long, ProctoringSummaryResponse> byUser = new HashMap<>();
+        for (ProctoringEventStore.TypeCount count : proctoringEventStore.countByUserAndType(testId)) {
+            ProctoringSummaryResponse summary = byUser.computeIfAbsent(count.userId(), userId -> ProctoringSummaryResponse.builder()
+                    .userId(userId)
+                    .eventCounts(new HashMap<>())
+                    .firstEventAt(count.firstAt())
+                    .lastEventAt(count.lastAt())
+                    .build());
+            summary.getEventCounts().put(count.type(), count.count());
+            summary.setTotalEvents(summary.getTotalEvents() + count.count());
+            if (count.firstAt().isBefore(summary.getFirstEventAt())) {
+                summary.setFirstEventAt(count.firstAt());
+            }
+            if (count.lastAt().isAfter(summary.getLastEventAt())) {
+                summary.setLastEventAt(count.lastAt());
+            }
+        }
+        if (byUser.isEmpty()) {
+            return List.of();
+        }
+
+        for (User user : userRepository.findAllById(byUser.keySet())) {
+            ProctoringSummaryResponse summary = byUser.get(user.getId());
+            summary.setUserName(user.getName());
+            summary.setUserEmail(user.getEmail());
+        }
+        for (Submission submission : submissionRepository.findByTestId(testId)) {
+            ProctoringSummaryResponse summary = byUser.get(submission.getUser().getId());
+            if (summary != null) {
+                summary.setSubmissionId(submission.getId());
+            }
+        }
+
+        List<ProctoringSummaryResponse> summaries = new ArrayList<>(byUser.values());
+        summaries.sort((a, b) -> Long.compare(b.getTotalEvents(), a.getTotalEvents()));
+        return summaries;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProctoringEventResponse> getProctoringTrail(Long submissionId) {
+        Submission submission = submissionRepository.findById(submissionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Submission not found"));
+        return proctoringEventStore.findTrail(submission.getTest().getId(), submission.getUser().getId()).stream()
+                .map(e -> new ProctoringEventResponse(e.type().name(), e.occurredAt(), e.detail()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Pairs of submissions with suspiciously similar answers, most similar first. Works on
+     * released tests too, from their archive.
+     */
+    @Transactional(readOnly = true)
+    public CollusionReportResponse getCollusionReport(Long testId, int limit) {
+        Test test = testRepository.findById(testId)
+                .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
+        if (limit < 1 || limit > MAX_COLLUSION_PAIRS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_COLLUSION_PAIRS);
+        }
+
+        CollusionDetector.Report report = collusionDetector.analyze(testId, test.isResultsReleased(), limit);
+        List<Long> submissionIds = report.pairs().stream()
+                .flatMap(p -> Stream.of(p.submissionA(), p.submissionB()))
+                .distinct()
+                .toList();
+        Map<Long, CollusionReportResponse.Candidate> candidates = new HashMap<>();
+        if (!submissionIds.isEmpty()) {
+            for (Submission submission : submissionRepository.findByIdInWithUser(submissionIds)) {
+                candidates.put(submission.getId(), new CollusionReportResponse.Candidate(
+                        submission.getId(),
+                        submission.getUser().getId(),
+                        submission.getUser().getName(),
+                        submission.getUser().getEmail(),
+                        submission.getScore()));
+            }
+        }
+
+        return CollusionReportResponse.builder()
+                .testId(testId)
+                .submissionsAnalysed(report.submissions())
+                .candidatePairs(report.candidatePairs())
+                .pairs(report.pairs().stream()
+                        .map(p -> new CollusionReportResponse.SuspiciousPair(
+                                candidates.get(p.submissionA()),
+                                candidates.get(p.submissionB()),
+                                p.sharedCorrect(),
+                                p.sharedWrong(),
+                                p.similarity()))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Candidates with a live heartbeat on this node, as of the registry's last sweep. TL/TR only see
+     * their own team.
+     */
+    @Transactional(readOnly = true)
+    public PresenceResponse getPresence() {
+        User currentUser = getCurrentUserEntity();
+        Long scopeTeamId = isTeamScopedAdmin(currentUser) ? requireTeamId(currentUser) : null;
+        PresenceRegistry.Snapshot snapshot = presenceRegistry.snapshot();
+
+        List<PresenceResponse.TestPresence> tests = new ArrayList<>();
+        for (Test test : testRepository.findAllById(snapshot.byTest().keySet())) {
+            if (scopeTeamId == null || scopeTeamId.equals(test.getAssignedTeam().getId())) {
+                tests.add(new PresenceResponse.TestPresence(
+                        test.getId(), test.getTitle(), snapshot.byTest().get(test.getId())));
+            }
+        }
+        List<PresenceResponse.TeamPresence> teams = new ArrayList<>();
+        for (Team team : teamRepository.findAllById(snapshot.byTeam().keySet())) {
+            if (scopeTeamId == null || scopeTeamId.equals(team.getId())) {
+                teams.add(new PresenceResponse.TeamPresence(
+                        team.getId(), team.getName(), snapshot.byTeam().get(team.getId())));
+            }
+        }
+        tests.sort((a, b) -> Integer.compare(b.getActiveCandidates(), a.getActiveCandidates()));
+        teams.sort((a, b) -> Integer.compare(b.getActiveCandidates(), a.getActiveCandidates()));
+
+        return PresenceResponse.builder()
+                .asOf(snapshot.asOf())
+                .totalActive(teams.stream().mapToInt(PresenceResponse.TeamPresence::getActiveCandidates).sum())
+                .tests(tests)
+                .teams(teams)
+                .build();
+    }
+
+    /**
+     * Corrects the answer key of one question and re-grades every submission of the test in the
+     * background. Taking the test row's lock makes the change wait for submissions being graded.
+     */
     @Transactional
-    public void releaseResults(Long testId) {
+    public RegradeJobResponse updateAnswerKey(Long testId, Long questionId, UpdateAnswerKeyRequest request) {
         Test test = testRepository.findById(testId)
                 .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
+        if (test.isResultsReleased()) {
+            throw new BadRequestException("Results are released; the answer key of this test can no longer change");
+        }
+        Question question = questionRepository.findByIdWithOptions(questionId)
+                .filter(q -> q.getTest().getId().equals(testId))
+                .orElseThrow(() -> new ResourceNotFoundException("Question not found in this test"));
+
+        List<Long> correctOptionIds = request.getCorrectOptionIds();
+        for (Long optionId : correctOptionIds) {
+            if (question.getOptions().stream().noneMatch(o -> o.getId().equals(optionId))) {
+                throw new BadRequestException("Option " + optionId + " does not belong to question " + questionId);
+            }
+        }
+        for (Option option : question.getOptions()) {
+            option.setCorrect(correctOptionIds.contains(option.getId()));
+        }
+
+        test.setAnswerKeyVersion(test.getAnswerKeyVersion() + 1);
+        testRepository.saveAndFlush(test);
+        examPaperCache.evict(testId);
+        return regradeService.mapToResponse(regradeService.start(testId));
+    }
+
+    @Transactional
+    public RegradeJobResponse regrade(Long testId) {
+        Test test = testRepository.findById(testId)
+                .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
+        if (test.isResultsReleased()) {
+            throw new BadRequestException("Results are released; scores of this test can no longer change");
+        }
+        return regradeService.mapToResponse(regradeService.start(testId));
+    }
+
+    /**
+     * Runs under a cluster-wide lease per test, so a double click or a second admin on another node
+     * cannot release the same test twice. The lease is held until the release transaction commits,
+     * and is fenced just before it does. The test row is locked too, so a release that slips past a
+     * lost lease still finds the test released and sends nothing.
+     */
+    public void releaseResults(Long testId) {
+        boolean released = jobLeaseService.runExclusive(JobLeaseService.RELEASE_RESULTS, testId,
+                lease -> metrics.time("assessment.release",
+                        () -> transactionTemplate.executeWithoutResult(status -> {
+                            doReleaseResults(testId);
+                            jobLeaseService.fence(lease);
+                        })));
+        if (!released) {
+            throw new BadRequestException("Results for this test are already being released");
+        }
+    }
+
+    private void doReleaseResults(Long testId) {
+        Test test = testRepository.lockForRelease(testId)
+                .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
 
         if (test.isResultsReleased()) {
             throw new BadRequestException("Results already released for this test");
         }
+        if (regradeJobRepository.existsByTestIdAndStatus(testId, RegradeJobStatus.RUNNING)) {
+            throw new BadRequestException("Scores of this test are being re-graded. Release once the re-grade completes");
+        }
 
         test.setResultsReleased(true);
-        List<Submission> submissions = submissionRepository.findByTestId(testId);
+        examPaperCache.evict(testId);
+        // Unfinished sessions end with the release; their pending auto-submits find nothing to do
+        testSessionRepository.deleteByTestId(testId);
+        eventPublisher.publishEvent(new LiveSubmissionFeed.TestReleased(testId));
+        List<Submission> submissions = submissionRepository.findByTestIdWithUser(testId);
+        duplicateQuestionService.removeTestAfterCommit(testId);
         if (submissions.isEmpty()) {
+            // An answer-key correction leaves a job row behind even with nothing to re-grade
+            regradeJobRepository.deleteByTestId(testId);
             questionRepository.deleteByTestId(testId);
             testRepository.delete(test);
             return;
@@ -152,6 +466,7 @@ public class AdminService {
 
         double totalPercent = 0;
         int passed = 0;
+        List<Runnable> resultEmails = new ArrayList<>(submissions.size());
         for (Submission submission : submissions) {
             int totalMarks = submission.getTotalMarks() != null ? submission.getTotalMarks() : 0;
             int score = submission.getScore() != null ? submission.getScore() : 0;
@@ -161,26 +476,31 @@ public class AdminService {
             passed++;
             }
 
-            emailService.sendResultEmail(
-                submission.getUser().getEmail(),
-                submission.getUser().getName(),
-                test.getTitle(),
-                score,
-                totalMarks
-            );
+            String email = submission.getUser().getEmail();
+            String name = submission.getUser().getName();
+            resultEmails.add(() -> emailService.sendResultEmail(email, name, test.getTitle(), score, totalMarks));
         }
+        // Sent only once the release has committed; a rolled-back release must not announce results
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                resultEmails.forEach(Runnable::run);
+            }
+        });
 
         int total = submissions.size();
+        metrics.record("assessment.release.submissions", total);
         test.setTotalSubmissions(total);
         test.setAverageScorePercent(total > 0 ? totalPercent / total : 0);
         test.setPassRatePercent(total > 0 ? ((double) passed / total) * 100 : 0);
         test.setDescription(null);
         testRepository.save(test);
 
-        for (Submission submission : submissions) {
-            answerRepository.deleteBySubmissionId(submission.getId());
-        }
-        questionRepository.deleteByTestId(testId);
+        // Archived first: answer keys stay viewable once the rows are gone
+        resultArchive.archive(testId, questionRepository.findByTestIdWithOptions(testId));
+        answerRepository.deleteByTestId(testId);
+        questionRepository.deleteOptionsByTestId(testId);
+        questionRepository.deleteAllByTestId(testId);
     }
 
     @Transactional
@@ -197,10 +517,21 @@ public class AdminService {
 
         user.setRole(newRole);
         user = userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
 
         return mapToUserResponse(user);
     }
 
+    /**
+     * Creates users from a CSV or JSON upload; see UserImporter. TL/TR only import into their team.
+     */
+    public UserImportResponse importUsers(String contentType, InputStream body) {
+        User currentUser = getCurrentUserEntity();
+        Long scopeTeamId = isTeamScopedAdmin(currentUser) ? requireTeamId(currentUser) : null;
+        return userImporter.importUsers(contentType, body, scopeTeamId);
+    }
+
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
         User currentUser = getCurrentUserEntity();
         List<User> users;
@@ -217,6 +548,7 @@ public class AdminService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<TeamResponse> getAllTeams() {
         return teamRepository.findAll().stream()
                 .map(t -> TeamResponse.builder()
@@ -238,17 +570,22 @@ public class AdminService {
         Test test = testRepository.findFirstByTitleIgnoreCase(testName.trim())
                 .orElseThrow(() -> new ResourceNotFoundException("Test not found: " + testName));
 
-        List<Question> questions = questionRepository.findByTestId(test.getId());
+        // Released tests only have their correct flags left in the archive
+        List<List<Boolean>> correctFlags = test.isResultsReleased()
+                ? resultArchive.findPaper(test.getId()).orElse(List.of()).stream()
+                        .map(q -> q.options().stream().map(ArchiveSegment.ArchivedOption::correct).toList())
+                        .toList()
+                : questionRepository.findByTestId(test.getId()).stream()
+                        .map(q -> q.getOptions().stream().map(Option::isCorrect).toList())
+                        .toList();
         StringBuilder result = new StringBuilder();
 
         int questionNumber = 1;
-        for (Question question : questions) {
-            List<Option> options = question.getOptions();
+        for (List<Boolean> options : correctFlags) {
             result.append(questionNumber++);
 
             for (int i = 0; i < options.size(); i++) {
-                Option option = options.get(i);
-                if (option.isCorrect()) {
+                if (options.get(i)) {
                     result.append((char) (65 + i)); // A, B, C, D
                 }
             }
@@ -269,6 +606,8 @@ public class AdminService {
                                         .isCorrect(o.isCorrect())
                                         .build())
                                 .collect(Collectors.toList()))
+                        .irtDiscrimination(q.getIrtDiscrimination())
+                        .irtDifficulty(q.getIrtDifficulty())
                         .build())
                 .collect(Collectors.toList());
 
@@ -277,6 +616,11 @@ public class AdminService {
                 .title(test.getTitle())
                 .description(test.getDescription())
                 .timeLimitMinutes(test.getTimeLimitMinutes())
+                .availableFrom(test.getAvailableFrom())
+                .availableUntil(test.getAvailableUntil())
+                .admissionJitterSeconds(test.getAdmissionJitterSeconds())
+                .drawSize(test.getDrawSize())
+                .adaptive(test.isAdaptive())
                 .assignedRole(test.getAssignedRole().name())
                 .assignedTeamId(test.getAssignedTeam().getId())
                 .assignedTeamName(test.getAssignedTeam().getName())
@@ -336,7 +680,64 @@ public class AdminService {
         }
     }
 
+    /**
+     * Checks an export request and pins its scope while the caller's security context is still at
+     * hand; the export itself streams on another thread. TL/TR only export their team's tests.
+     */
+    @Transactional(readOnly = true)
+    public SubmissionExporter.ExportQuery prepareSubmissionExport(Long testId, LocalDateTime from, LocalDateTime to) {
+        User currentUser = getCurrentUserEntity();
+        Long scopeTeamId = isTeamScopedAdmin(currentUser) ? requireTeamId(currentUser) : null;
+
+        if (testId != null) {
+            Test test = testRepository.findById(testId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
+            if (scopeTeamId != null && !scopeTeamId.equals(test.getAssignedTeam().getId())) {
+                throw new BadRequestException("You can only export tests assigned to your team");
+            }
+            return new SubmissionExporter.ExportQuery(testId, null, null, scopeTeamId);
+        }
+        if (from == null || to == null) {
+            throw new BadRequestException("Either testId or both from and to are required");
+        }
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        if (from.plusDays(MAX_EXPORT_RANGE_DAYS).isBefore(to)) {
+            throw new BadRequestException("Export at most " + MAX_EXPORT_RANGE_DAYS + " days at a time");
+        }
+        return new SubmissionExporter.ExportQuery(null, from, to, scopeTeamId);
+    }
+
+    public TestPackageImportResponse importTestPackage(InputStream body, Long teamId, String role) {
+        User admin = getCurrentUserEntity();
+        if (isTeamScopedAdmin(admin)) {
+            Long scopeTeamId = requireTeamId(admin);
+            if (teamId != null && !scopeTeamId.equals(teamId)) {
+                throw new BadRequestException("You can only import tests for your team");
+            }
+            teamId = scopeTeamId;
+        }
+        return testPackageService.importPackage(body, admin, teamId, role);
+    }
+
+    // Checked before the response starts streaming, so a missing test is still a 404
+    @Transactional(readOnly = true)
+    public void checkTestPackageExport(Long testId) {
+        User currentUser = getCurrentUserEntity();
+        Test test = testRepository.findById(testId)
+                .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
+        if (isTeamScopedAdmin(currentUser) && !requireTeamId(currentUser).equals(test.getAssignedTeam().getId())) {
+            throw new BadRequestException("You can only export tests assigned to your team");
+        }
+    }
+
+    @Transactional(readOnly = true)
     public byte[] generateScoresCSV(Long testId) {
+        return metrics.time("assessment.csv.generate", () -> buildScoresCSV(testId));
+    }
+
+    private byte[] buildScoresCSV(Long testId) {
         Test test = testRepository.findById(testId)
                 .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
 
@@ -345,7 +746,9 @@ public class AdminService {
         StringBuilder csv = new StringBuilder();
         
         // CSV Header
-        csv.append("Serial No.,User ID,User Name,Email,Role,Team,Score,Total Questions,Accuracy %,Submission Date\n");
+        csv.append("Serial No.,User ID,User Name,Email,Role,Team,Score,Total Questions,Accuracy %,Submission Date");
+        // Adaptive questions are aimed at each candidate's level, so accuracy says little; ability is the result
+        csv.append(test.isAdaptive() ? ",Ability,Ability Std Error\n" : "\n");
         
         // CSV Body
         int serialNo = 1;
@@ -358,22 +761,32 @@ public class AdminService {
             csv.append(escapeCSV(user.getEmail())).append(",");
             csv.append(escapeCSV(user.getRole().toString())).append(",");
             csv.append(escapeCSV(user.getTeam() != null ? user.getTeam().getName() : "N/A")).append(",");
-            csv.append(submission.getScore()).append(",");
-            csv.append(test.getQuestions().size()).append(",");
+            // Out of the questions this candidate was given: pooled tests draw, adaptive tests stop early
+            int totalMarks = submission.getTotalMarks() != null ? submission.getTotalMarks() : 0;
+            int score = submission.getScore() != null ? submission.getScore() : 0;
+            csv.append(score).append(",");
+            csv.append(totalMarks).append(",");
             
             // Calculate accuracy percentage
-            double accuracy = test.getQuestions().size() > 0 
-                ? (submission.getScore() / (double) test.getQuestions().size()) * 100 
-                : 0;
+            double accuracy = totalMarks > 0 ? ((double) score / totalMarks) * 100 : 0;
             csv.append(String.format("%.2f", accuracy)).append(",");
             
-            csv.append(submission.getEndTime()).append("\n");
+            csv.append(submission.getEndTime());
+            if (test.isAdaptive()) {
+                csv.append(",").append(formatAbility(submission.getAbility()));
+                csv.append(",").append(formatAbility(submission.getAbilityStandardError()));
+            }
+            csv.append("\n");
         }
         
         return csv.toString().getBytes(StandardCharsets.UTF_8);
     }
 
-    private String escapeCSV(String value) {
+    private static String formatAbility(Double value) {
+        return value != null ? String.format("%.3f", value) : "";
+    }
+
+    static String escapeCSV(String value) {
         if (value == null) {
             return "";
         }
@@ -2,8 +2,11 @@ package com.assessment.platform.service;
 
 import com.assessment.platform.dto.request.AiQuestionRequest;
 import com.assessment.platform.dto.response.AiQuestionResponse;
+import com.assessment.platform.dto.response.DuplicateQuestionResponse;
 import com.assessment.platform.exception.BadRequestException;
+import com.assessment.platform.metrics.DomainMetrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,11 +14,22 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,37 +38,47 @@ public class AiQuestionService {
 
     private static final int MAX_QUESTIONS = 15;
     private static final String GEMINI_MODEL = "gemini-2.5-flash";
-    private static final String BASE_URL =
-            "https://generativelanguage.googleapis.com/v1/models/%s:generateContent?key=%s";
+    private static final String BASE_URL = "%s/v1/models/%s:generateContent?key=%s";
+    private static final String STREAM_URL = "%s/v1/models/%s:streamGenerateContent?alt=sse&key=%s";
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(2);
+    private static final String MODE = "mode";
+    private static final String BLOCKING = "blocking";
+    private static final String STREAM = "stream";
 
     private final ObjectMapper objectMapper;
+    private final DuplicateQuestionService duplicateQuestionService;
+    private final DomainMetrics metrics;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
 
     @Value("${app.ai.gemini.api-key:}")
     private String apiKey;
 
+    @Value("${app.ai.gemini.base-url:https://generativelanguage.googleapis.com}")
+    private String baseUrl;
+
     public AiQuestionResponse generateQuestions(AiQuestionRequest request) {
-        if (apiKey == null || apiKey.isBlank()) {
-            throw new BadRequestException("AI is not configured");
+        ensureConfigured();
+
+        Timer.Sample sample = metrics.start();
+        try {
+            AiQuestionResponse response = requestQuestions(request);
+            metrics.stop(sample, "assessment.ai.request", MODE, BLOCKING, DomainMetrics.OUTCOME, DomainMetrics.SUCCESS);
+            metrics.record("assessment.ai.questions", response.getQuestions().size(), MODE, BLOCKING);
+            return response;
+        } catch (RuntimeException ex) {
+            metrics.stop(sample, "assessment.ai.request", MODE, BLOCKING, DomainMetrics.OUTCOME, DomainMetrics.FAILURE);
+            throw ex;
         }
+    }
 
+    private AiQuestionResponse requestQuestions(AiQuestionRequest request) {
         int count = Math.min(request.getQuestionCount(), MAX_QUESTIONS);
-        String prompt = buildPrompt(request, count);
-
-        // Create request body using Map for flexibility
-        Map<String, Object> body = Map.of(
-            "contents", List.of(
-                Map.of("parts", List.of(
-                    Map.of("text", prompt)
-                ))
-            ),
-            "generationConfig", Map.of(
-                "temperature", 0.3,
-                "maxOutputTokens", 4096
-            )
-        );
+        Map<String, Object> body = buildRequestBody(buildPrompt(request, count));
 
         RestTemplate restTemplate = new RestTemplate();
-        String url = String.format(BASE_URL, GEMINI_MODEL, apiKey);
+        String url = String.format(BASE_URL, baseUrl, GEMINI_MODEL, apiKey);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -76,10 +100,166 @@ public class AiQuestionService {
             );
         }
 
-        log.info("Generated {} questions successfully", parsed.getQuestions().size());
+        List<DuplicateQuestionResponse> duplicates = new ArrayList<>();
+        for (int i = 0; i < parsed.getQuestions().size(); i++) {
+            AiQuestionResponse.AiQuestionItem item = parsed.getQuestions().get(i);
+            duplicates.addAll(duplicateQuestionService.findDuplicates(i, item.getQuestion(), item.getOptions()));
+        }
+        parsed.setDuplicates(duplicates);
+
+        log.info("Generated {} questions successfully ({} possible duplicates)",
+                parsed.getQuestions().size(), duplicates.size());
         return parsed;
     }
 
+    public void ensureConfigured() {
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new BadRequestException("AI is not configured");
+        }
+    }
+
+    @Async
+    public void streamQuestions(AiQuestionRequest request, SseEmitter emitter) {
+        int count = Math.min(request.getQuestionCount(), MAX_QUESTIONS);
+        AiQuestionStreamParser parser = new AiQuestionStreamParser(objectMapper);
+        Timer.Sample sample = metrics.start();
+        int emitted = 0;
+        int skipped = 0;
+
+        try {
+            String body = objectMapper.writeValueAsString(buildRequestBody(buildPrompt(request, count)));
+            HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(String.format(STREAM_URL, baseUrl, GEMINI_MODEL, apiKey)))
+                    .timeout(STREAM_TIMEOUT)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+
+            log.info("Streaming questions from Gemini 2.5 Flash API");
+            HttpResponse<Stream<String>> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofLines());
+            if (response.statusCode() != 200) {
+                response.body().close();
+                throw new BadRequestException("Gemini API returned status " + response.statusCode());
+            }
+
+            try (Stream<String> lines = response.body()) {
+                Iterator<String> it = lines.iterator();
+                while (it.hasNext() && emitted < count && !parser.isComplete()) {
+                    String line = it.next();
+                    if (!line.startsWith("data:")) {
+                        continue;
+                    }
+                    String fragment = extractChunkText(objectMapper.readValue(line.substring(5).trim(), Map.class));
+                    for (AiQuestionResponse.AiQuestionItem item : parser.feed(fragment)) {
+                        if (emitted >= count) {
+                            break;
+                        }
+                        if (sendQuestion(emitter, item, emitted)) {
+                            if (emitted == 0) {
+                                metrics.stop(sample, "assessment.ai.stream.first_question");
+                            }
+                            emitted++;
+                        } else {
+                            skipped++;
+                        }
+                    }
+                }
+            }
+
+            // Once count questions are out the rest of the document is never read, so there is nothing to finish
+            if (emitted < count) {
+                for (AiQuestionResponse.AiQuestionItem item : parser.finish()) {
+                    if (emitted >= count) {
+                        break;
+                    }
+                    if (sendQuestion(emitter, item, emitted)) {
+                        if (emitted == 0) {
+                            metrics.stop(sample, "assessment.ai.stream.first_question");
+                        }
+                        emitted++;
+                    } else {
+                        skipped++;
+                    }
+                }
+            }
+
+            skipped += parser.getMalformedCount();
+            if (skipped > 0) {
+                metrics.increment("assessment.ai.parse.failures", skipped, MODE, STREAM);
+            }
+            if (emitted == 0) {
+                throw new BadRequestException("No questions generated");
+            }
+
+            log.info("Streamed {} questions ({} skipped)", emitted, skipped);
+            metrics.stop(sample, "assessment.ai.request", MODE, STREAM, DomainMetrics.OUTCOME, DomainMetrics.SUCCESS);
+            metrics.record("assessment.ai.questions", emitted, MODE, STREAM);
+            emitter.send(SseEmitter.event().name("done").data(Map.of("count", emitted, "skipped", skipped)));
+            emitter.complete();
+        } catch (BadRequestException ex) {
+            recordStreamFailure(sample);
+            sendError(emitter, ex.getMessage());
+        } catch (IOException ex) {
+            log.error("AI question stream failed", ex);
+            recordStreamFailure(sample);
+            sendError(emitter, "Failed to stream AI response: " + ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            recordStreamFailure(sample);
+            sendError(emitter, "AI question stream interrupted");
+        } catch (RuntimeException ex) {
+            log.error("AI question stream failed", ex);
+            recordStreamFailure(sample);
+            sendError(emitter, "AI question stream failed: " + ex.getMessage());
+        }
+    }
+
+    private void recordStreamFailure(Timer.Sample sample) {
+        metrics.stop(sample, "assessment.ai.request", MODE, STREAM, DomainMetrics.OUTCOME, DomainMetrics.FAILURE);
+    }
+
+    private boolean sendQuestion(SseEmitter emitter, AiQuestionResponse.AiQuestionItem item, int index) throws IOException {
+        try {
+            validateQuestion(item);
+        } catch (BadRequestException ex) {
+            log.warn("Skipping streamed question: {}", ex.getMessage());
+            return false;
+        }
+        emitter.send(SseEmitter.event().name("question").id(String.valueOf(index)).data(item));
+
+        List<DuplicateQuestionResponse> duplicates =
+                duplicateQuestionService.findDuplicates(index, item.getQuestion(), item.getOptions());
+        if (!duplicates.isEmpty()) {
+            emitter.send(SseEmitter.event().name("duplicate").data(duplicates));
+        }
+        return true;
+    }
+
+    private void sendError(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(Map.of("message", message)));
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            // Client already went away
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private Map<String, Object> buildRequestBody(String prompt) {
+        // Create request body using Map for flexibility
+        return Map.of(
+            "contents", List.of(
+                Map.of("parts", List.of(
+                    Map.of("text", prompt)
+                ))
+            ),
+            "generationConfig", Map.of(
+                "temperature", 0.3,
+                "maxOutputTokens", 4096
+            )
+        );
+    }
+
     private String buildPrompt(AiQuestionRequest request, int count) {
         return "Generate " + count + " multiple-choice questions for a " + request.getRole() + " candidate. "
                 + "Tech stack: " + request.getTechStack() + ". "
@@ -123,6 +303,35 @@ public class AiQuestionService {
         }
     }
 
+    private String extractChunkText(Map chunk) {
+        // Streamed chunks may carry no text at all (e.g. the final chunk with finishReason)
+        try {
+            List<Map> candidates = (List<Map>) chunk.get("candidates");
+            if (candidates == null || candidates.isEmpty()) {
+                return "";
+            }
+            Map content = (Map) candidates.get(0).get("content");
+            if (content == null) {
+                return "";
+            }
+            List<Map> parts = (List<Map>) content.get("parts");
+            if (parts == null || parts.isEmpty()) {
+                return "";
+            }
+            StringBuilder text = new StringBuilder();
+            for (Map part : parts) {
+                Object value = part.get("text");
+                if (value instanceof String s) {
+                    text.append(s);
+                }
+            }
+            return text.toString();
+        } catch (ClassCastException ex) {
+            log.error("Failed to parse streamed chunk: {}", chunk, ex);
+            throw new BadRequestException("Invalid response structure from Gemini API");
+        }
+    }
+
     private AiQuestionResponse parseQuestions(String text) {
         try {
             // Try to extract JSON if wrapped with markdown
@@ -131,6 +340,7 @@ public class AiQuestionService {
             return objectMapper.readValue(json, AiQuestionResponse.class);
         } catch (Exception ex) {
             log.error("Failed to parse JSON: {}", text, ex);
+            metrics.increment("assessment.ai.parse.failures", MODE, BLOCKING);
             throw new BadRequestException("Failed to parse AI response as JSON: " + ex.getMessage());
         }
     }
@@ -142,23 +352,27 @@ public class AiQuestionService {
         }
 
         for (AiQuestionResponse.AiQuestionItem item : response.getQuestions()) {
-            if (item.getQuestion() == null || item.getQuestion().isBlank()) {
-                throw new BadRequestException("Question text is empty");
-            }
+            validateQuestion(item);
+        }
+    }
 
-            if (item.getOptions() == null || item.getOptions().size() < 2) {
-                throw new BadRequestException("Question must have at least 2 options");
-            }
+    private void validateQuestion(AiQuestionResponse.AiQuestionItem item) {
+        if (item.getQuestion() == null || item.getQuestion().isBlank()) {
+            throw new BadRequestException("Question text is empty");
+        }
 
-            if (item.getCorrectIndex() == null
-                    || item.getCorrectIndex() < 0
-                    || item.getCorrectIndex() >= item.getOptions().size()) {
-                throw new BadRequestException("Invalid correctIndex for question");
-            }
+        if (item.getOptions() == null || item.getOptions().size() < 2) {
+            throw new BadRequestException("Question must have at least 2 options");
+        }
+
+        if (item.getCorrectIndex() == null
+                || item.getCorrectIndex() < 0
+                || item.getCorrectIndex() >= item.getOptions().size()) {
+            throw new BadRequestException("Invalid correctIndex for question");
         }
     }
 
-    private String extractJson(String text) {
+    String extractJson(String text) {
         if (text == null) {
             return "{}";
         }
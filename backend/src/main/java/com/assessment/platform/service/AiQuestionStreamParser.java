@@ -0,0 +1,140 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.dto.response.AiQuestionResponse;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental parser for the {"questions":[{...},{...}]} document the model streams back.
+ * Text fragments are fed as they arrive and every question object is returned as soon as
+ * its closing brace has been seen, without waiting for the rest of the document. An object
+ * that does not map onto a question is counted and skipped rather than ending the stream.
+ */
+public class AiQuestionStreamParser {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private boolean inQuestionsArray;
+    private int questionsArrayDepth;
+    private TokenBuffer current;
+    private int malformed;
+
+    public AiQuestionStreamParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create streaming JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    public List<AiQuestionResponse.AiQuestionItem> feed(String fragment) throws IOException {
+        if (finished || fragment == null || fragment.isEmpty()) {
+            return List.of();
+        }
+
+        // Skip markdown fences or chatter before the root object
+        if (!started) {
+            int start = fragment.indexOf('{');
+            if (start < 0) {
+                return List.of();
+            }
+            fragment = fragment.substring(start);
+            started = true;
+        }
+
+        byte[] bytes = fragment.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        List<AiQuestionResponse.AiQuestionItem> items = new ArrayList<>();
+        drain(items);
+        return items;
+    }
+
+    /**
+     * Signals end of input. A document cut off between two items (the model stopped after the
+     * last complete question) is treated as finished; a cut inside an item is still an error.
+     */
+    public List<AiQuestionResponse.AiQuestionItem> finish() throws IOException {
+        if (finished) {
+            return List.of();
+        }
+        List<AiQuestionResponse.AiQuestionItem> remaining = new ArrayList<>();
+        feeder.endOfInput();
+        try {
+            drain(remaining);
+        } catch (JsonEOFException ex) {
+            if (current != null || !inQuestionsArray) {
+                throw ex;
+            }
+        }
+        finished = true;
+        return remaining;
+    }
+
+    public boolean isComplete() {
+        return finished;
+    }
+
+    public int getMalformedCount() {
+        return malformed;
+    }
+
+    private void drain(List<AiQuestionResponse.AiQuestionItem> items) throws IOException {
+        JsonToken token;
+        while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (current != null) {
+                current.copyCurrentEvent(parser);
+            }
+
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    if (token == JsonToken.START_ARRAY && depth == 2
+                            && "questions".equals(parser.currentName())) {
+                        inQuestionsArray = true;
+                        questionsArrayDepth = depth;
+                    } else if (token == JsonToken.START_OBJECT && inQuestionsArray
+                            && depth == questionsArrayDepth + 1 && current == null) {
+                        current = new TokenBuffer(parser);
+                        current.copyCurrentEvent(parser);
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (token == JsonToken.END_OBJECT && current != null && depth == questionsArrayDepth + 1) {
+                        try (JsonParser itemParser = current.asParser(objectMapper)) {
+                            items.add(objectMapper.readValue(itemParser, AiQuestionResponse.AiQuestionItem.class));
+                        } catch (JsonProcessingException ex) {
+                            malformed++;
+                        }
+                        current = null;
+                    } else if (token == JsonToken.END_ARRAY && depth == questionsArrayDepth) {
+                        inQuestionsArray = false;
+                    }
+                    depth--;
+                    if (depth == 0) {
+                        // Root object closed; anything after it (closing fences) is ignored
+                        finished = true;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.assessment.platform.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed, read-only archive of one released test: its paper with the answer key, and the
+ * answers of every submission.
+ *
+ * Layout: one deflated block for the paper, one per submission, then an index of
+ * (submissionId, offset, length) sorted by submission id and a fixed-size trailer. The reader maps
+ * the file and only inflates the block it is asked for, so showing one candidate's result costs a
+ * binary search and a few kilobytes of inflate, however many candidates the test had.
+ */
+final class ArchiveSegment {
+
+    static final int MAGIC = 0x41485331; // "AHS1"
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES + Integer.BYTES;
+
+    record ArchivedOption(long id, String text, boolean correct) {
+    }
+
+    record ArchivedQuestion(long id, String text, List<ArchivedOption> options) {
+    }
+
+    record ArchivedAnswer(long questionId, Long selectedOptionId) {
+    }
+
+    private final ByteBuffer data;
+    private final long[] submissionIds;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final long paperOffset;
+    private final int paperLength;
+
+    private ArchiveSegment(ByteBuffer data) {
+        this.data = data;
+        int trailer = data.limit() - TRAILER_BYTES;
+        if (trailer < 0 || data.getInt(data.limit() - Integer.BYTES) != MAGIC) {
+            throw new IllegalStateException("Not an archive segment");
+        }
+        this.paperOffset = data.getLong(trailer);
+        this.paperLength = data.getInt(trailer + Long.BYTES);
+        int count = data.getInt(trailer + Long.BYTES + Integer.BYTES);
+
+        this.submissionIds = new long[count];
+        this.offsets = new long[count];
+        this.lengths = new int[count];
+        int position = trailer - count * INDEX_ENTRY_BYTES;
+        for (int i = 0; i < count; i++, position += INDEX_ENTRY_BYTES) {
+            submissionIds[i] = data.getLong(position);
+            offsets[i] = data.getLong(position + Long.BYTES);
+            lengths[i] = data.getInt(position + 2 * Long.BYTES);
+        }
+    }
+
+    static ArchiveSegment map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping outlives the channel
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ArchiveSegment(buffer);
+        }
+    }
+
+    static byte[] write(List<ArchivedQuestion> paper, SortedMap<Long, List<ArchivedAnswer>> answersBySubmission) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int paperLength = writeBlock(out, block -> {
+                block.writeInt(paper.size());
+                for (ArchivedQuestion question : paper) {
+                    block.writeLong(question.id());
+                    writeString(block, question.text());
+                    block.writeInt(question.options().size());
+                    for (ArchivedOption option : question.options()) {
+                        block.writeLong(option.id());
+                        writeString(block, option.text());
+                        block.writeBoolean(option.correct());
+                    }
+                }
+            });
+
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            DataOutputStream indexOut = new DataOutputStream(index);
+            for (Map.Entry<Long, List<ArchivedAnswer>> entry : answersBySubmission.entrySet()) {
+                long offset = out.size();
+                int length = writeBlock(out, block -> {
+                    block.writeInt(entry.getValue().size());
+                    for (ArchivedAnswer answer : entry.getValue()) {
+                        block.writeLong(answer.questionId());
+                        block.writeLong(answer.selectedOptionId() != null ? answer.selectedOptionId() : -1);
+                    }
+                });
+                indexOut.writeLong(entry.getKey());
+                indexOut.writeLong(offset);
+                indexOut.writeInt(length);
+            }
+
+            index.writeTo(out);
+            DataOutputStream tail = new DataOutputStream(out);
+            tail.writeLong(0); // the paper is always the first block
+            tail.writeInt(paperLength);
+            tail.writeInt(answersBySubmission.size());
+            tail.writeInt(MAGIC);
+            tail.flush();
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write archive segment", e);
+        }
+    }
+
+    List<ArchivedQuestion> paper() {
+        try (DataInputStream in = inflate(paperOffset, paperLength)) {
+            int questionCount = in.readInt();
+            List<ArchivedQuestion> questions = new ArrayList<>(questionCount);
+            for (int q = 0; q < questionCount; q++) {
+                long id = in.readLong();
+                String text = readString(in);
+                int optionCount = in.readInt();
+                List<ArchivedOption> options = new ArrayList<>(optionCount);
+                for (int o = 0; o < optionCount; o++) {
+                    options.add(new ArchivedOption(in.readLong(), readString(in), in.readBoolean()));
+                }
+                questions.add(new ArchivedQuestion(id, text, options));
+            }
+            return questions;
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt archive segment", e);
+        }
+    }
+
+    /**
+     * The archived answers of a submission, or null if it is not in this segment.
+     */
+    List<ArchivedAnswer> answers(long submissionId) {
+        int i = Arrays.binarySearch(submissionIds, submissionId);
+        return i >= 0 ? answersAt(i) : null;
+    }
+
+    // Inflates every block; for whole-test analysis, not for showing results
+    SortedMap<Long, List<ArchivedAnswer>> allAnswers() {
+        SortedMap<Long, List<ArchivedAnswer>> all = new TreeMap<>();
+        for (int i = 0; i < submissionIds.length; i++) {
+            all.put(submissionIds[i], answersAt(i));
+        }
+        return all;
+    }
+
+    int submissionCount() {
+        return submissionIds.length;
+    }
+
+    private List<ArchivedAnswer> answersAt(int i) {
+        try (DataInputStream in = inflate(offsets[i], lengths[i])) {
+            int count = in.readInt();
+            List<ArchivedAnswer> answers = new ArrayList<>(count);
+            for (int a = 0; a < count; a++) {
+                long questionId = in.readLong();
+                long selected = in.readLong();
+                answers.add(new ArchivedAnswer(questionId, selected >= 0 ? selected : null));
+            }
+            return answers;
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt archive segment", e);
+        }
+    }
+
+    private DataInputStream inflate(long offset, int length) throws IOException {
+        ByteBuffer block = data.slice((int) offset, length);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 4);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive block");
+                }
+                out.write(chunk, 0, n);
+            }
+            return new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private interface BlockWriter {
+        void write(DataOutputStream block) throws IOException;
+    }
+
+    private static int writeBlock(ByteArrayOutputStream out, BlockWriter writer) throws IOException {
+        int before = out.size();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            DataOutputStream block = new DataOutputStream(new DeflaterOutputStream(out, deflater));
+            writer.write(block);
+            block.close();
+        } finally {
+            deflater.end();
+        }
+        return out.size() - before;
+    }
+
+    // writeUTF caps strings at 64 KB; question text is a TEXT column
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -11,12 +11,15 @@ import com.assessment.platform.exception.BadRequestException;
 import com.assessment.platform.exception.DuplicateResourceException;
 import com.assessment.platform.exception.ResourceNotFoundException;
 import com.assessment.platform.exception.UnauthorizedException;
+import com.assessment.platform.metrics.DomainMetrics;
 import com.assessment.platform.repository.TeamRepository;
 import com.assessment.platform.repository.UserRepository;
 import com.assessment.platform.security.JwtUtil;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +35,7 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final OtpService otpService;
     private final EmailService emailService;
+    private final DomainMetrics metrics;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -73,9 +77,16 @@ public class AuthService {
     }
 
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
+        Timer.Sample sample = metrics.start();
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
+            );
+        } catch (AuthenticationException ex) {
+            metrics.stop(sample, "assessment.auth.login", DomainMetrics.OUTCOME, DomainMetrics.FAILURE);
+            throw ex;
+        }
+        metrics.stop(sample, "assessment.auth.login", DomainMetrics.OUTCOME, DomainMetrics.SUCCESS);
 
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -91,7 +102,8 @@ public class AuthService {
     }
 
     public AuthResponse verifyOtp(OtpVerifyRequest request) {
-        boolean valid = otpService.verifyOtp(request.getEmail(), request.getOtp());
+        boolean valid = metrics.time("assessment.auth.otp.verify",
+                () -> otpService.verifyOtp(request.getEmail(), request.getOtp()));
         if (!valid) {
             throw new UnauthorizedException("Invalid or expired OTP");
         }
@@ -0,0 +1,285 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.service.ArchiveSegment.ArchivedAnswer;
+import com.assessment.platform.service.ArchiveSegment.ArchivedOption;
+import com.assessment.platform.service.ArchiveSegment.ArchivedQuestion;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Finds pairs of submissions whose answers look copied.
+ *
+ * Each submission becomes a bit vector with one bit per option it selected. Candidate pairs come
+ * from MinHash LSH over the wrong options a submission picked: two candidates who share most of
+ * their mistakes land in the same bucket of some band with high probability, and the other n²
+ * pairs are never looked at. Candidates are then scored exactly with popcounts, as a weighted
+ * Jaccard similarity in which a shared wrong option counts wrong-weight times a shared correct
+ * one; two strong candidates agreeing on right answers proves nothing.
+ */
+@Component
+public class CollusionDetector {
+
+    // Fixed so the same answers always give the same report
+    private static final long HASH_SEED = 0x5EEDC011L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResultArchive resultArchive;
+    private final DomainMetrics metrics;
+    private final ForkJoinPool pool;
+    private final int bands;
+    private final int rowsPerBand;
+    private final int maxBucket;
+    private final int wrongWeight;
+    private final int minSharedWrong;
+    private final double minSimilarity;
+
+    public record SuspiciousPair(long submissionA, long submissionB, int sharedCorrect, int sharedWrong,
+                                 double similarity) {
+    }
+
+    public record Report(int submissions, long candidatePairs, int skippedBuckets, List<SuspiciousPair> pairs) {
+    }
+
+    public CollusionDetector(JdbcTemplate jdbcTemplate,
+                             ResultArchive resultArchive,
+                             DomainMetrics metrics,
+                             @Value("${app.collusion.parallelism:4}") int parallelism,
+                             @Value("${app.collusion.bands:30}") int bands,
+                             @Value("${app.collusion.rows-per-band:6}") int rowsPerBand,
+                             @Value("${app.collusion.max-bucket:1000}") int maxBucket,
+                             @Value("${app.collusion.wrong-weight:3}") int wrongWeight,
+                             @Value("${app.collusion.min-shared-wrong:3}") int minSharedWrong,
+                             @Value("${app.collusion.min-similarity:0.6}") double minSimilarity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.resultArchive = resultArchive;
+        this.metrics = metrics;
+        this.pool = new ForkJoinPool(parallelism);
+        this.bands = bands;
+        this.rowsPerBand = rowsPerBand;
+        this.maxBucket = maxBucket;
+        this.wrongWeight = wrongWeight;
+        this.minSharedWrong = minSharedWrong;
+        this.minSimilarity = minSimilarity;
+    }
+
+    /**
+     * The most similar pairs of a test, best first. Released tests are read from their archive.
+     */
+    public Report analyze(Long testId, boolean released, int limit) {
+        Map<Long, Boolean> correctByOption = new HashMap<>();
+        SortedMap<Long, List<Long>> selectedBySubmission = new TreeMap<>();
+        if (released) {
+            for (ArchivedQuestion question : resultArchive.findPaper(testId).orElse(List.of())) {
+                for (ArchivedOption option : question.options()) {
+                    correctByOption.put(option.id(), option.correct());
+                }
+            }
+            resultArchive.findAllAnswers(testId).orElse(new TreeMap<>()).forEach((submissionId, answers) ->
+                    selectedBySubmission.put(submissionId, answers.stream()
+                            .map(ArchivedAnswer::selectedOptionId)
+                            .filter(Objects::nonNull)
+                            .toList()));
+        } else {
+            jdbcTemplate.query(
+                    "SELECT o.id, o.is_correct FROM options o JOIN questions q ON q.id = o.question_id WHERE q.test_id = ?",
+                    rs -> {
+                        correctByOption.put(rs.getLong(1), rs.getBoolean(2));
+                    },
+                    testId);
+            jdbcTemplate.query(
+                    "SELECT a.submission_id, a.selected_option_id FROM answers a JOIN submissions s ON s.id = a.submission_id "
+                            + "WHERE s.test_id = ? AND a.selected_option_id IS NOT NULL",
+                    rs -> {
+                        selectedBySubmission.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+                    },
+                    testId);
+        }
+
+        return analyze(correctByOption, selectedBySubmission, limit);
+    }
+
+    /**
+     * The analysis itself, on loaded answers: whether each option is correct, and the options each
+     * submission selected.
+     */
+    Report analyze(Map<Long, Boolean> correctByOption, SortedMap<Long, List<Long>> selectedBySubmission, int limit) {
+        Report report = metrics.time("assessment.collusion.analysis",
+                () -> pool.submit(() -> detect(correctByOption, selectedBySubmission, limit)).join());
+        metrics.record("assessment.collusion.candidates", report.candidatePairs());
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private Report detect(Map<Long, Boolean> correctByOption, SortedMap<Long, List<Long>> selectedBySubmission, int limit) {
+        // One bit per option of the test; wrongMask marks the incorrect ones
+        Map<Long, Integer> bitOf = new HashMap<>();
+        int words = (correctByOption.size() + 63) >>> 6;
+        long[] wrongMask = new long[words];
+        for (Map.Entry<Long, Boolean> option : correctByOption.entrySet()) {
+            int bit = bitOf.size();
+            bitOf.put(option.getKey(), bit);
+            if (!option.getValue()) {
+                wrongMask[bit >>> 6] |= 1L << bit;
+            }
+        }
+
+        int n = selectedBySubmission.size();
+        long[] submissionIds = new long[n];
+        long[][] selected = new long[n][];
+        int s = 0;
+        for (Map.Entry<Long, List<Long>> submission : selectedBySubmission.entrySet()) {
+            long[] bits = new long[words];
+            for (Long optionId : submission.getValue()) {
+                Integer bit = bitOf.get(optionId);
+                if (bit != null) {
+                    bits[bit >>> 6] |= 1L << bit;
+                }
+            }
+            submissionIds[s] = submission.getKey();
+            selected[s++] = bits;
+        }
+
+        long[] seeds = new SplittableRandom(HASH_SEED).longs(bands * rowsPerBand).toArray();
+        long[][] signatures = new long[n][];
+        IntStream.range(0, n).parallel().forEach(i -> signatures[i] = signature(selected[i], wrongMask, seeds));
+
+        AtomicInteger skippedBuckets = new AtomicInteger();
+        long[] candidates = distinct(IntStream.range(0, bands).parallel()
+                .mapToObj(band -> bandPairs(band, signatures, skippedBuckets))
+                .flatMapToLong(LongStream::of)
+                .toArray());
+
+        List<SuspiciousPair> pairs = Arrays.stream(candidates).parallel()
+                .mapToObj(pair -> score(submissionIds, selected, wrongMask, (int) (pair >>> 32), (int) pair))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble(SuspiciousPair::similarity)
+                        .thenComparingInt(SuspiciousPair::sharedWrong)
+                        .reversed())
+                .limit(limit)
+                .toList();
+        return new Report(n, candidates.length, skippedBuckets.get(), pairs);
+    }
+
+    /**
+     * MinHash of the wrong options a submission selected, or null when it has too few mistakes to
+     * ever share min-shared-wrong of them.
+     */
+    private long[] signature(long[] selected, long[] wrongMask, long[] seeds) {
+        int wrong = 0;
+        for (int w = 0; w < selected.length; w++) {
+            wrong += Long.bitCount(selected[w] & wrongMask[w]);
+        }
+        if (wrong < minSharedWrong) {
+            return null;
+        }
+
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int w = 0; w < selected.length; w++) {
+            long bits = selected[w] & wrongMask[w];
+            while (bits != 0) {
+                int bit = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                for (int h = 0; h < seeds.length; h++) {
+                    signature[h] = Math.min(signature[h], mix(bit, seeds[h]));
+                }
+            }
+        }
+        return signature;
+    }
+
+    // Pairs (i < j) sharing a bucket in this band, packed as i << 32 | j
+    private long[] bandPairs(int band, long[][] signatures, AtomicInteger skippedBuckets) {
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < signatures.length; i++) {
+            if (signatures[i] == null) {
+                continue;
+            }
+            long key = band;
+            for (int r = band * rowsPerBand; r < (band + 1) * rowsPerBand; r++) {
+                key = key * 31 + signatures[i][r];
+            }
+            buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+
+        LongStream.Builder pairs = LongStream.builder();
+        for (List<Integer> bucket : buckets.values()) {
+            if (bucket.size() > maxBucket) {
+                // A mistake most of the cohort made; other bands still pair up its real copiers
+                skippedBuckets.incrementAndGet();
+                continue;
+            }
+            for (int a = 0; a < bucket.size(); a++) {
+                for (int b = a + 1; b < bucket.size(); b++) {
+                    pairs.add((long) bucket.get(a) << 32 | bucket.get(b));
+                }
+            }
+        }
+        return pairs.build().toArray();
+    }
+
+    // Sorted and deduplicated in place; LongStream.distinct() would box every pair
+    private static long[] distinct(long[] pairs) {
+        Arrays.parallelSort(pairs);
+        int n = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            if (n == 0 || pairs[i] != pairs[n - 1]) {
+                pairs[n++] = pairs[i];
+            }
+        }
+        return Arrays.copyOf(pairs, n);
+    }
+
+    private SuspiciousPair score(long[] submissionIds, long[][] selected, long[] wrongMask, int a, int b) {
+        int sharedCorrect = 0;
+        int sharedWrong = 0;
+        int unionCorrect = 0;
+        int unionWrong = 0;
+        for (int w = 0; w < wrongMask.length; w++) {
+            long both = selected[a][w] & selected[b][w];
+            long either = selected[a][w] | selected[b][w];
+            sharedWrong += Long.bitCount(both & wrongMask[w]);
+            sharedCorrect += Long.bitCount(both & ~wrongMask[w]);
+            unionWrong += Long.bitCount(either & wrongMask[w]);
+            unionCorrect += Long.bitCount(either & ~wrongMask[w]);
+        }
+        if (sharedWrong < minSharedWrong) {
+            return null;
+        }
+        double similarity = (sharedCorrect + (double) wrongWeight * sharedWrong)
+                / (unionCorrect + (double) wrongWeight * unionWrong);
+        return similarity >= minSimilarity
+                ? new SuspiciousPair(submissionIds[a], submissionIds[b], sharedCorrect, sharedWrong, similarity)
+                : null;
+    }
+
+    // SplitMix64 finalizer, keyed per hash function
+    private static long mix(long value, long seed) {
+        long z = (value + 1) * 0x9E3779B97F4A7C15L ^ seed;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,80 @@
+package com.assessment.platform.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel of deadlines keyed by id. Each id sits in the slot of its deadline's tick, so
+ * a tick only looks at its own slot (about n / slots entries) instead of every pending deadline;
+ * entries more than one revolution ahead stay put until their deadline has actually passed.
+ *
+ * Rescheduling an id just replaces its deadline; the stale slot entry is dropped when visited.
+ */
+final class DeadlineWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Set<Long>> slots;
+    private final Map<Long, Long> deadlines = new HashMap<>();
+    private long lastTick;
+
+    DeadlineWheel(long tickMillis, int slotCount, long nowMillis) {
+        if (Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("slotCount must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = slotCount - 1;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new HashSet<>());
+        }
+        this.lastTick = nowMillis / tickMillis;
+    }
+
+    synchronized void schedule(Long id, long deadlineMillis) {
+        deadlines.put(id, deadlineMillis);
+        // Overdue deadlines go into the next tick rather than a slot that has already been passed
+        long tick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), lastTick + 1);
+        slots.get((int) (tick & mask)).add(id);
+    }
+
+    synchronized void cancel(Long id) {
+        deadlines.remove(id);
+    }
+
+    synchronized int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns the ids whose deadline has passed.
+     * A tick that was missed (long GC pause, busy scheduler) is caught up on the next call.
+     */
+    synchronized List<Long> advance(long nowMillis) {
+        List<Long> expired = new ArrayList<>();
+        long currentTick = nowMillis / tickMillis;
+        // One revolution visits every slot; going further would only revisit them
+        long from = Math.max(lastTick + 1, currentTick - mask);
+        for (long tick = from; tick <= currentTick; tick++) {
+            Iterator<Long> it = slots.get((int) (tick & mask)).iterator();
+            while (it.hasNext()) {
+                Long id = it.next();
+                Long deadline = deadlines.get(id);
+                if (deadline == null) {
+                    it.remove();
+                } else if (deadline <= nowMillis) {
+                    it.remove();
+                    deadlines.remove(id);
+                    expired.add(id);
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, currentTick);
+        return expired;
+    }
+}
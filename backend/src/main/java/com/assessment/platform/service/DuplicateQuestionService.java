@@ -0,0 +1,133 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.dto.response.DuplicateQuestionResponse;
+import com.assessment.platform.entity.Option;
+import com.assessment.platform.entity.Question;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateQuestionService {
+
+    private static final int MAX_MATCHES_PER_QUESTION = 3;
+    private static final long NO_GROUP = Long.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MinHashLshIndex index = new MinHashLshIndex();
+
+    @Value("${app.duplicates.similarity-threshold:0.8}")
+    private double similarityThreshold;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long started = System.currentTimeMillis();
+        CorpusRow[] current = new CorpusRow[1];
+
+        // One forward pass over questions joined to their options, grouped by question id
+        jdbcTemplate.query(
+                "SELECT q.id, q.test_id, q.question_text, o.option_text "
+                        + "FROM questions q LEFT JOIN options o ON o.question_id = q.id "
+                        + "ORDER BY q.id",
+                rs -> {
+                    long questionId = rs.getLong(1);
+                    if (current[0] == null || current[0].questionId() != questionId) {
+                        if (current[0] != null) {
+                            addToIndex(current[0]);
+                        }
+                        current[0] = new CorpusRow(questionId, rs.getLong(2), rs.getString(3), new ArrayList<>());
+                    }
+                    String optionText = rs.getString(4);
+                    if (optionText != null) {
+                        current[0].options().add(optionText);
+                    }
+                });
+        if (current[0] != null) {
+            addToIndex(current[0]);
+        }
+
+        log.info("Duplicate question index built with {} questions in {} ms",
+                index.size(), System.currentTimeMillis() - started);
+    }
+
+    public List<DuplicateQuestionResponse> findDuplicates(int questionIndex, String questionText, List<String> optionTexts) {
+        int[] signature = MinHashLshIndex.signature(documentText(questionText, optionTexts));
+        List<DuplicateQuestionResponse> duplicates = new ArrayList<>();
+        for (MinHashLshIndex.Match match : index.query(signature, similarityThreshold, NO_GROUP, MAX_MATCHES_PER_QUESTION)) {
+            duplicates.add(DuplicateQuestionResponse.builder()
+                    .questionIndex(questionIndex)
+                    .matchedQuestionId(match.key())
+                    .matchedTestId(match.group())
+                    .similarity(Math.round(match.similarity() * 100) / 100.0)
+                    .build());
+        }
+        return duplicates;
+    }
+
+    /**
+     * Adds the questions of a freshly created test once its transaction commits,
+     * so rolled-back tests never show up as duplicate candidates.
+     */
+    public void indexAfterCommit(Long testId, List<Question> questions) {
+        List<long[]> ids = new ArrayList<>(questions.size());
+        List<String> texts = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            ids.add(new long[]{question.getId(), testId});
+            texts.add(documentText(question.getQuestionText(),
+                    question.getOptions().stream().map(Option::getOptionText).toList()));
+        }
+
+        runAfterCommit(() -> {
+            for (int i = 0; i < ids.size(); i++) {
+                index.add(ids.get(i)[0], ids.get(i)[1], texts.get(i));
+            }
+        });
+    }
+
+    public void removeTestAfterCommit(Long testId) {
+        runAfterCommit(() -> index.removeGroup(testId));
+    }
+
+    public int indexedQuestions() {
+        return index.size();
+    }
+
+    private void addToIndex(CorpusRow row) {
+        index.add(row.questionId(), row.testId(), documentText(row.questionText(), row.options()));
+    }
+
+    private String documentText(String questionText, List<String> optionTexts) {
+        // Options are sorted so that reordering them does not hide a duplicate
+        StringBuilder sb = new StringBuilder(questionText == null ? "" : questionText);
+        if (optionTexts != null) {
+            optionTexts.stream().sorted().forEach(option -> sb.append(' ').append(option));
+        }
+        return sb.toString();
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record CorpusRow(long questionId, long testId, String questionText, List<String> options) {}
+}
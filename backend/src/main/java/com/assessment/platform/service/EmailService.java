@@ -1,5 +1,7 @@
 package com.assessment.platform.service;
 
+import com.assessment.platform.config.AsyncConfig;
+import com.assessment.platform.metrics.DomainMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,12 +15,15 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class EmailService {
 
+    private static final String TYPE = "type";
+
     private final JavaMailSender mailSender;
+    private final DomainMetrics metrics;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
 
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendOtpEmail(String to, String otp) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
@@ -26,14 +31,40 @@ public class EmailService {
             message.setTo(to);
             message.setSubject("Assessment Platform - OTP Verification");
             message.setText("Your OTP code is: " + otp + "\n\nThis code will expire in 5 minutes.\n\nDo not share this code with anyone.");
-            mailSender.send(message);
+            metrics.time("assessment.email.send", () -> mailSender.send(message), TYPE, "otp");
+            metrics.increment("assessment.email.sent", TYPE, "otp");
             log.info("OTP email sent to: {}", to);
         } catch (Exception e) {
+            metrics.increment("assessment.email.failed", TYPE, "otp");
             log.error("Failed to send OTP email to: {}", to, e);
         }
     }
 
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
+    public void sendWelcomeEmail(String to, String userName) {
+        try {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(to);
+            message.setSubject("Assessment Platform - Your Account");
+            message.setText(String.format(
+                    "Dear %s,\n\n" +
+                    "An account has been created for you on the Assessment Platform.\n\n" +
+                    "Sign in with this email address and the password your team lead gave you. " +
+                    "A one-time code will be sent to this address at every sign-in.\n\n" +
+                    "Regards,\nAssessment Platform",
+                    userName
+            ));
+            metrics.time("assessment.email.send", () -> mailSender.send(message), TYPE, "welcome");
+            metrics.increment("assessment.email.sent", TYPE, "welcome");
+            log.info("Welcome email sent to: {}", to);
+        } catch (Exception e) {
+            metrics.increment("assessment.email.failed", TYPE, "welcome");
+            log.error("Failed to send welcome email to: {}", to, e);
+        }
+    }
+
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendResultEmail(String to, String userName, String testTitle, int score, int totalMarks) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
@@ -47,9 +78,11 @@ public class EmailService {
                     "Regards,\nAssessment Platform",
                     userName, testTitle, score, totalMarks
             ));
-            mailSender.send(message);
+            metrics.time("assessment.email.send", () -> mailSender.send(message), TYPE, "result");
+            metrics.increment("assessment.email.sent", TYPE, "result");
             log.info("Result email sent to: {}", to);
         } catch (Exception e) {
+            metrics.increment("assessment.email.failed", TYPE, "result");
             log.error("Failed to send result email to: {}", to, e);
         }
     }
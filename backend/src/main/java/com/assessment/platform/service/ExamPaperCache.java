@@ -0,0 +1,73 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.dto.response.TestResponse;
+import com.assessment.platform.entity.Role;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-node cache of what candidates need while a test is open: the paper as served to them and
+ * the answer key used for grading. Tests do not change after creation, so entries only leave on
+ * release or once their window (or idle TTL) is over. Release on another node is not seen here,
+ * which is why the release flag is still read from the database on every fetch and submit.
+ * Answer-key corrections are the one exception; grading compares answerKeyVersion with the test row.
+ * A pooled test (drawSize set) caches its whole pool once; each candidate's draw is derived from it
+ * on the fly by {@link PaperDraw}, never stored. An adaptive test also caches its pool, indexed for
+ * question selection in an {@link AdaptiveItemPool}.
+ */
+@Component
+public class ExamPaperCache {
+
+    private final Map<Long, ExamPaper> papers = new ConcurrentHashMap<>();
+
+    /**
+     * {@code index} is the question's place in the pool and {@code optionOrder} its option ids in
+     * pool order; a pooled test maps the positions a candidate answers with through them.
+     */
+    public record QuestionKey(int index, List<Long> optionOrder, Set<Long> optionIds, Set<Long> correctOptionIds) {
+    }
+
+    public record ExamPaper(
+            Long testId,
+            Long teamId,
+            Role role,
+            LocalDateTime availableFrom,
+            LocalDateTime availableUntil,
+            int admissionJitterSeconds,
+            int timeLimitMinutes,
+            Integer drawSize,
+            AdaptiveItemPool itemPool,
+            TestResponse paper,
+            Map<Long, QuestionKey> answerKey,
+            int answerKeyVersion,
+            LocalDateTime expiresAt) {
+    }
+
+    public ExamPaper get(Long testId) {
+        return papers.get(testId);
+    }
+
+    public ExamPaper put(ExamPaper paper) {
+        papers.put(paper.testId(), paper);
+        return paper;
+    }
+
+    public void evict(Long testId) {
+        papers.remove(testId);
+    }
+
+    public int evictExpired(LocalDateTime now) {
+        int before = papers.size();
+        papers.values().removeIf(paper -> paper.expiresAt().isBefore(now));
+        return before - papers.size();
+    }
+
+    public int size() {
+        return papers.size();
+    }
+}
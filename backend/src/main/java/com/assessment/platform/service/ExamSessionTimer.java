@@ -0,0 +1,125 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.config.AsyncConfig;
+import com.assessment.platform.entity.TestSessionStatus;
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.repository.TestSessionRepository;
+import io.micrometer.core.instrument.Gauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Auto-submits exam sessions when their time runs out. Deadlines of sessions started on this node
+ * sit in an in-memory timing wheel that ticks every app.exam-session.tick-ms; active sessions are
+ * reloaded from the database at startup. A leased sweep picks up sessions whose node is gone.
+ */
+@Slf4j
+@Component
+public class ExamSessionTimer {
+
+    private final TestService testService;
+    private final TestSessionRepository testSessionRepository;
+    private final JobLeaseService jobLeaseService;
+    private final TaskExecutor autoSubmitExecutor;
+    private final DomainMetrics metrics;
+    private final DeadlineWheel wheel;
+
+    @Value("${app.exam-session.sweep-lag-minutes:2}")
+    private long sweepLagMinutes;
+
+    public record SessionStarted(Long sessionId, LocalDateTime deadline) {
+    }
+
+    public record SessionClosed(Long sessionId) {
+    }
+
+    public ExamSessionTimer(TestService testService,
+                            TestSessionRepository testSessionRepository,
+                            JobLeaseService jobLeaseService,
+                            @Qualifier(AsyncConfig.AUTO_SUBMIT_EXECUTOR) TaskExecutor autoSubmitExecutor,
+                            DomainMetrics metrics,
+                            @Value("${app.exam-session.tick-ms:1000}") long tickMillis,
+                            @Value("${app.exam-session.wheel-slots:512}") int wheelSlots) {
+        this.testService = testService;
+        this.testSessionRepository = testSessionRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.autoSubmitExecutor = autoSubmitExecutor;
+        this.metrics = metrics;
+        this.wheel = new DeadlineWheel(tickMillis, wheelSlots, System.currentTimeMillis());
+        Gauge.builder("assessment.session.active", wheel, DeadlineWheel::size).register(metrics.registry());
+    }
+
+    // After commit, so a rolled-back fetch never leaves a deadline behind
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionStarted(SessionStarted event) {
+        wheel.schedule(event.sessionId(), toMillis(TestService.submitBy(event.deadline())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionClosed(SessionClosed event) {
+        wheel.cancel(event.sessionId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadActiveSessions() {
+        List<TestSessionRepository.SessionDeadline> active = testSessionRepository.findDeadlinesByStatus(TestSessionStatus.ACTIVE);
+        for (TestSessionRepository.SessionDeadline session : active) {
+            wheel.schedule(session.getId(), toMillis(TestService.submitBy(session.getDeadline())));
+        }
+        log.info("Reloaded {} active exam sessions into the deadline wheel", active.size());
+    }
+
+    @Scheduled(fixedRateString = "${app.exam-session.tick-ms:1000}")
+    public void tick() {
+        List<Long> expired = wheel.advance(System.currentTimeMillis());
+        expired.forEach(this::dispatch);
+    }
+
+    // Sessions whose node died (and has not come back) are not in any wheel
+    @Scheduled(fixedDelayString = "${app.exam-session.sweep-interval-ms:60000}")
+    public void sweepOrphanedSessions() {
+        jobLeaseService.runExclusive(JobLeaseService.SESSION_SWEEP, "all", lease -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(sweepLagMinutes);
+            List<Long> overdue = testSessionRepository.findIdsByStatusAndDeadlineBefore(TestSessionStatus.ACTIVE, cutoff);
+            if (!overdue.isEmpty()) {
+                log.warn("Auto-submitting {} overdue exam sessions missed by their node", overdue.size());
+            }
+            for (Long sessionId : overdue) {
+                if (lease.isLost()) {
+                    // Whoever took the lease over sweeps the rest
+                    return;
+                }
+                dispatch(sessionId);
+            }
+        });
+    }
+
+    private void dispatch(Long sessionId) {
+        autoSubmitExecutor.execute(() -> {
+            try {
+                boolean submitted = testService.autoSubmitSession(sessionId);
+                metrics.increment("assessment.session.auto_submit",
+                        DomainMetrics.OUTCOME, submitted ? DomainMetrics.SUCCESS : "skipped");
+            } catch (RuntimeException e) {
+                // Still ACTIVE in the database, so the sweep retries it
+                metrics.increment("assessment.session.auto_submit", DomainMetrics.OUTCOME, DomainMetrics.FAILURE);
+                log.error("Auto-submit of exam session {} failed", sessionId, e);
+            }
+        });
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,71 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.entity.Test;
+import com.assessment.platform.entity.User;
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.repository.TestRepository;
+import com.assessment.platform.repository.UserRepository;
+import com.assessment.platform.security.CustomUserDetails;
+import com.assessment.platform.security.UserDetailsCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Warms each node a few minutes before an exam window opens, so the first wave of candidates
+ * hits memory instead of the database: the paper and answer key, and the login lookups of every
+ * candidate assigned to the test. Runs on every node; the caches are per node.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExamWindowScheduler {
+
+    private final TestRepository testRepository;
+    private final UserRepository userRepository;
+    private final TestService testService;
+    private final ExamPaperCache examPaperCache;
+    private final UserDetailsCache userDetailsCache;
+    private final DomainMetrics metrics;
+
+    private final Set<Long> warmed = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.exam-window.prewarm-lead-minutes:5}")
+    private long prewarmLeadMinutes;
+
+    @Scheduled(fixedDelayString = "${app.exam-window.prewarm-interval-ms:30000}")
+    public void prewarmUpcomingTests() {
+        LocalDateTime now = LocalDateTime.now();
+        examPaperCache.evictExpired(now);
+        userDetailsCache.evictExpired(now);
+
+        List<Test> tests = testRepository.findOpeningOrOpen(now, now.plusMinutes(prewarmLeadMinutes));
+        warmed.retainAll(tests.stream().map(Test::getId).toList());
+        for (Test test : tests) {
+            if (warmed.add(test.getId())) {
+                metrics.time("assessment.exam.prewarm", () -> prewarm(test, now));
+            }
+        }
+    }
+
+    private void prewarm(Test test, LocalDateTime now) {
+        testService.prewarmExamPaper(test.getId());
+
+        // Kept until shortly after opening, when the whole cohort logs in and fetches the paper
+        LocalDateTime opening = test.getAvailableFrom().isAfter(now) ? test.getAvailableFrom() : now;
+        LocalDateTime keepUntil = opening.plusMinutes(prewarmLeadMinutes);
+        List<User> candidates = userRepository.findByTeamIdAndRole(test.getAssignedTeam().getId(), test.getAssignedRole());
+        for (User candidate : candidates) {
+            userDetailsCache.put(new CustomUserDetails(candidate), keepUntil);
+        }
+        log.info("Pre-warmed test {} opening at {}: paper, answer key and {} candidates",
+                test.getId(), test.getAvailableFrom(), candidates.size());
+    }
+}
@@ -0,0 +1,183 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.repository.JobLeaseRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+/**
+ * Runs a job on at most one node (and one thread) at a time, using a row in job_leases.
+ *
+ * The lease is taken with its own committed transaction, extended by a heartbeat every third of
+ * the TTL while the job runs, and expired when it finishes. If a node dies mid-job, the lease
+ * runs out after the TTL and the next attempt on any node takes it over.
+ *
+ * Every takeover bumps the lease's fencing token. A holder whose heartbeat finds the lease gone
+ * marks it lost so the job can stop, and work that must not run twice calls {@link #fence} in its
+ * own transaction, which only passes while the token is still current.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobLeaseService {
+
+    public static final String RELEASE_RESULTS = "release";
+    public static final String LEASE_CLEANUP = "lease-cleanup";
+    public static final String SESSION_SWEEP = "session-sweep";
+
+    private static final String NODE_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final TaskScheduler taskScheduler;
+    private final DomainMetrics metrics;
+
+    @Value("${app.leases.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.leases.retention-days:7}")
+    private int retentionDays;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Lease {
+        private final String job;
+        private final String name;
+        private final String owner;
+        private final long fencingToken;
+        // Set once a heartbeat or fence finds the lease taken over; long-running work checks it
+        private volatile boolean lost;
+    }
+
+    /**
+     * Runs {@code work} if the lease for {@code job:key} is free and returns true, or returns false
+     * straight away if another node or thread holds it.
+     */
+    public boolean runExclusive(String job, Object key, Runnable work) {
+        return runExclusive(job, key, lease -> work.run());
+    }
+
+    /**
+     * As {@link #runExclusive(String, Object, Runnable)}, handing the work its lease so it can stop
+     * once the lease is lost and fence its writes.
+     */
+    public boolean runExclusive(String job, Object key, Consumer<Lease> work) {
+        Lease lease = tryAcquire(job, job + ":" + key);
+        if (lease == null) {
+            return false;
+        }
+
+        Duration interval = Duration.ofSeconds(ttlSeconds).dividedBy(3);
+        ScheduledFuture<?> heartbeat = taskScheduler.scheduleAtFixedRate(
+                () -> heartbeat(lease), Instant.now().plus(interval), interval);
+        try {
+            work.accept(lease);
+            return true;
+        } finally {
+            heartbeat.cancel(false);
+            if (!lease.isLost()) {
+                release(lease);
+            }
+        }
+    }
+
+    /**
+     * Checks, in the caller's transaction, that {@code lease} is still held with its fencing token,
+     * and throws if not so the transaction rolls back. The row lock taken here keeps any other node
+     * from taking the lease over until the caller commits, so call it last, just before commit.
+     */
+    public void fence(Lease lease) {
+        if (lease.isLost() || jobLeaseRepository.fence(lease.getName(), lease.getOwner(), lease.getFencingToken()) == 0) {
+            markLost(lease);
+            throw new IllegalStateException("Lease " + lease.getName() + " was taken over; not committing " + lease.getJob());
+        }
+    }
+
+    @Scheduled(cron = "${app.leases.cleanup-cron:0 17 3 * * *}")
+    public void purgeExpiredLeases() {
+        runExclusive(LEASE_CLEANUP, "all", () -> {
+            Integer deleted = inNewTransaction().execute(status -> jobLeaseRepository.deleteExpiredBefore(retentionDays));
+            log.info("Purged {} job leases expired more than {} days ago", deleted, retentionDays);
+        });
+    }
+
+    private Lease tryAcquire(String job, String name) {
+        String owner = NODE_ID + "/" + UUID.randomUUID();
+        long ttlMicros = ttlSeconds * 1_000_000;
+
+        Long takenOverToken = inNewTransaction().execute(status ->
+                jobLeaseRepository.takeOverExpired(name, owner, ttlMicros) == 1
+                        ? jobLeaseRepository.findFencingToken(name, owner)
+                        : null);
+        if (takenOverToken != null) {
+            metrics.increment("assessment.lease.acquire", "job", job, DomainMetrics.OUTCOME, "acquired");
+            return new Lease(job, name, owner, takenOverToken);
+        }
+        try {
+            // A new lease row starts at token 1
+            inNewTransaction().executeWithoutResult(status -> jobLeaseRepository.insertLease(name, owner, ttlMicros));
+            metrics.increment("assessment.lease.acquire", "job", job, DomainMetrics.OUTCOME, "acquired");
+            return new Lease(job, name, owner, 1);
+        } catch (DataIntegrityViolationException e) {
+            metrics.increment("assessment.lease.acquire", "job", job, DomainMetrics.OUTCOME, "held");
+            return null;
+        }
+    }
+
+    private void heartbeat(Lease lease) {
+        if (lease.isLost()) {
+            return;
+        }
+        try {
+            Integer extended = inNewTransaction().execute(status -> jobLeaseRepository.extend(
+                    lease.getName(), lease.getOwner(), lease.getFencingToken(), ttlSeconds * 1_000_000));
+            if (extended == null || extended == 0) {
+                markLost(lease);
+                log.error("Lease {} expired while {} was still running it; stopping the job",
+                        lease.getName(), lease.getOwner());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Heartbeat for lease {} failed: {}", lease.getName(), e.getMessage());
+        }
+    }
+
+    private void markLost(Lease lease) {
+        if (!lease.isLost()) {
+            lease.lost = true;
+            metrics.increment("assessment.lease.lost", "job", lease.getJob());
+        }
+    }
+
+    private void release(Lease lease) {
+        try {
+            inNewTransaction().execute(status ->
+                    jobLeaseRepository.expire(lease.getName(), lease.getOwner(), lease.getFencingToken()));
+        } catch (RuntimeException e) {
+            // The lease still runs out after its TTL
+            log.warn("Could not release lease {}: {}", lease.getName(), e.getMessage());
+        }
+    }
+
+    // Lease changes must be visible to other nodes at once, whatever transaction the caller is in
+    private TransactionTemplate inNewTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
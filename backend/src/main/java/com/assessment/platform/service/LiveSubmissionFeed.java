@@ -0,0 +1,405 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.dto.response.LiveCandidateResponse;
+import com.assessment.platform.entity.Submission;
+import com.assessment.platform.entity.TestSession;
+import com.assessment.platform.entity.TestSessionStatus;
+import com.assessment.platform.exception.BadRequestException;
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.repository.SubmissionRepository;
+import com.assessment.platform.repository.TestRepository;
+import com.assessment.platform.repository.TestSessionRepository;
+import io.micrometer.core.instrument.Gauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-test live view of who has started and who has submitted, pushed to admin dashboards over SSE.
+ *
+ * Each test's feed keeps the current row of every candidate plus a ring buffer of the latest
+ * changes. A new connection gets a snapshot of the rows; a reconnect with Last-Event-ID gets only
+ * the changes it missed, or a fresh snapshot if they have left the buffer. The rows are read from
+ * the database once, when the first admin opens the test, and after that maintained from the
+ * start and submit events of this node.
+ *
+ * With several nodes, set app.live-feed.cluster-poll=true: every node then also polls for rows
+ * changed on other nodes, one query per watched test per interval regardless of how many admins
+ * are watching.
+ *
+ * Updates arrive on the candidate's request thread, so nothing is written to a connection there
+ * or under a feed's monitor: events go into a bounded queue per subscriber, drained on the task
+ * executor. Database reads happen outside the monitor too, and only their rows are applied under
+ * it; rows only ever move forward (submitted is final), so a read that races an update is harmless. A subscriber that falls a whole queue behind is disconnected and resumes from
+ * Last-Event-ID (or a snapshot) when its client reconnects.
+ */
+@Slf4j
+@Component
+public class LiveSubmissionFeed {
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String RELEASED = "released";
+
+    // Far enough back for "everything", and still a valid MySQL DATETIME
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final AtomicLong FEED_IDS = new AtomicLong(System.currentTimeMillis());
+    // Queued after a subscriber's last event: the sender completes the emitter when it gets there
+    private static final SseEmitter.SseEventBuilder COMPLETE = SseEmitter.event();
+
+    private final TestRepository testRepository;
+    private final SubmissionRepository submissionRepository;
+    private final TestSessionRepository testSessionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+    private final Map<Long, TestFeed> feeds = new ConcurrentHashMap<>();
+
+    @Value("${app.live-feed.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${app.live-feed.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.live-feed.subscriber-queue-size:256}")
+    private int subscriberQueueSize;
+
+    @Value("${app.live-feed.cluster-poll:false}")
+    private boolean clusterPoll;
+
+    public record CandidateUpdate(Long testId, LiveCandidateResponse candidate) {
+    }
+
+    public record TestReleased(Long testId) {
+    }
+
+    public LiveSubmissionFeed(TestRepository testRepository,
+                              SubmissionRepository submissionRepository,
+                              TestSessionRepository testSessionRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                              DomainMetrics metrics) {
+        this.testRepository = testRepository;
+        this.submissionRepository = submissionRepository;
+        this.testSessionRepository = testSessionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        Gauge.builder("assessment.live_feed.subscribers", feeds,
+                        all -> all.values().stream().mapToInt(TestFeed::subscriberCount).sum())
+                .register(metrics.registry());
+    }
+
+    public SseEmitter subscribe(Long testId, String lastEventId) {
+        if (!testRepository.existsByIdAndResultsReleasedFalse(testId)) {
+            throw new BadRequestException("No live view: the test does not exist or its results are released");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        List<LiveCandidateResponse> rows = null;
+        while (true) {
+            TestFeed feed = feeds.computeIfAbsent(testId, TestFeed::new);
+            synchronized (feed) {
+                // Dropped by the idle sweep between lookup and lock
+                if (feed.closed) {
+                    continue;
+                }
+                if (!feed.loaded && rows != null) {
+                    rows.forEach(row -> feed.apply(row, false));
+                    feed.loaded = true;
+                }
+                if (feed.loaded) {
+                    feed.attach(emitter, lastEventId);
+                    return emitter;
+                }
+            }
+            // First subscriber: read the rows without holding up this test's other callers
+            rows = read(testId, BEGINNING);
+        }
+    }
+
+    static LiveCandidateResponse started(TestSession session, String userName, String userEmail) {
+        return LiveCandidateResponse.builder()
+                .userId(session.getUser().getId())
+                .userName(userName)
+                .userEmail(userEmail)
+                .status(LiveCandidateResponse.IN_PROGRESS)
+                .startTime(session.getStartedAt())
+                .deadline(session.getDeadline())
+                .build();
+    }
+
+    static LiveCandidateResponse submitted(Submission submission) {
+        return LiveCandidateResponse.builder()
+                .userId(submission.getUser().getId())
+                .userName(submission.getUser().getName())
+                .userEmail(submission.getUser().getEmail())
+                .status(LiveCandidateResponse.SUBMITTED)
+                .startTime(submission.getStartTime())
+                .endTime(submission.getEndTime())
+                .score(submission.getScore())
+                .totalMarks(submission.getTotalMarks())
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandidateUpdate(CandidateUpdate update) {
+        TestFeed feed = feeds.get(update.testId());
+        if (feed != null) {
+            synchronized (feed) {
+                feed.apply(update.candidate(), true);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTestReleased(TestReleased released) {
+        TestFeed feed = feeds.remove(released.testId());
+        if (feed != null) {
+            synchronized (feed) {
+                feed.close(RELEASED);
+            }
+        }
+    }
+
+    // Keeps proxies from cutting idle connections, notices closed ones and drops unwatched feeds
+    @Scheduled(fixedRateString = "${app.live-feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        feeds.values().forEach(feed -> {
+            synchronized (feed) {
+                feed.ping();
+                if (feed.subscriberCount() == 0) {
+                    feed.closed = true;
+                    feeds.remove(feed.testId, feed);
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.live-feed.cluster-poll-interval-ms:5000}")
+    public void pollOtherNodes() {
+        if (!clusterPoll) {
+            return;
+        }
+        for (TestFeed feed : feeds.values()) {
+            LocalDateTime since;
+            synchronized (feed) {
+                if (!feed.loaded || feed.closed) {
+                    continue;
+                }
+                // Overlap covers rows committed slightly after the timestamp they carry
+                since = feed.polledAt.minusSeconds(10);
+            }
+            LocalDateTime polledAt = LocalDateTime.now();
+            List<LiveCandidateResponse> rows = read(feed.testId, since);
+            synchronized (feed) {
+                if (!feed.closed) {
+                    rows.forEach(row -> feed.apply(row, true));
+                    feed.polledAt = polledAt;
+                }
+            }
+        }
+    }
+
+    // Called without any feed's monitor held
+    private List<LiveCandidateResponse> read(Long testId, LocalDateTime since) {
+        return readOnlyTransaction.execute(status -> {
+            List<LiveCandidateResponse> loaded = new ArrayList<>();
+            for (TestSession session : testSessionRepository.findByTestIdStartedAfterWithUser(
+                    testId, TestSessionStatus.ACTIVE, since)) {
+                loaded.add(started(session, session.getUser().getName(), session.getUser().getEmail()));
+            }
+            for (Submission submission : submissionRepository.findByTestIdEndedAfterWithUser(testId, since)) {
+                loaded.add(submitted(submission));
+            }
+            return loaded;
+        });
+    }
+
+    private record FeedEvent(long sequence, String name, Object data) {
+    }
+
+    /**
+     * State and subscribers of one test; called with the feed's monitor held, except for the
+     * subscriber bookkeeping done by emitter callbacks and the senders.
+     */
+    private final class TestFeed {
+
+        private final Long testId;
+        private final String feedId = Long.toString(FEED_IDS.getAndIncrement(), 36);
+        private final Map<Long, LiveCandidateResponse> candidates = new LinkedHashMap<>();
+        private final Deque<FeedEvent> recent = new ArrayDeque<>();
+        // Concurrent so that emitter callbacks and senders never need the feed's monitor
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private long sequence;
+        private boolean loaded;
+        private boolean closed;
+        private LocalDateTime polledAt = LocalDateTime.now();
+
+        private TestFeed(Long testId) {
+            this.testId = testId;
+        }
+
+        void attach(SseEmitter emitter, String lastEventId) {
+            Subscriber subscriber = new Subscriber(emitter);
+            emitter.onCompletion(subscriber::drop);
+            emitter.onTimeout(subscriber::drop);
+            emitter.onError(e -> subscriber.drop());
+
+            Long resumeFrom = resumePoint(lastEventId);
+            boolean queued = resumeFrom != null
+                    ? recent.stream().filter(e -> e.sequence() > resumeFrom).allMatch(e -> subscriber.offer(event(e)))
+                    : subscriber.offer(event(new FeedEvent(sequence, SNAPSHOT, List.copyOf(candidates.values()))));
+            if (queued) {
+                subscribers.add(subscriber);
+            }
+        }
+
+        /**
+         * Applies a row if it changes what the dashboard shows; submitted is final. Changes are
+         * broadcast once the feed has been loaded, the initial load itself only fills the snapshot.
+         */
+        void apply(LiveCandidateResponse row, boolean broadcast) {
+            LiveCandidateResponse current = candidates.get(row.getUserId());
+            if (current != null && (LiveCandidateResponse.SUBMITTED.equals(current.getStatus())
+                    || current.getStatus().equals(row.getStatus()))) {
+                return;
+            }
+            candidates.put(row.getUserId(), row);
+            if (!broadcast) {
+                return;
+            }
+
+            FeedEvent event = new FeedEvent(++sequence, row.getStatus().toLowerCase(), row);
+            recent.addLast(event);
+            if (recent.size() > bufferSize) {
+                recent.removeFirst();
+            }
+            SseEmitter.SseEventBuilder message = event(event);
+            subscribers.removeIf(subscriber -> !subscriber.offer(message));
+        }
+
+        void ping() {
+            subscribers.removeIf(subscriber -> !subscriber.offer(SseEmitter.event().comment("ping")));
+        }
+
+        void close(String reason) {
+            closed = true;
+            SseEmitter.SseEventBuilder message = event(new FeedEvent(++sequence, reason, Map.of("testId", testId)));
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.offer(message)) {
+                    subscriber.offer(COMPLETE);
+                }
+            }
+            subscribers.clear();
+        }
+
+        int subscriberCount() {
+            return subscribers.size();
+        }
+
+        // Null means the client must start over from a snapshot
+        private Long resumePoint(String lastEventId) {
+            if (lastEventId == null || !lastEventId.startsWith(feedId + "-")) {
+                return null;
+            }
+            long last;
+            try {
+                last = Long.parseLong(lastEventId.substring(feedId.length() + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            long oldestKept = recent.isEmpty() ? sequence + 1 : recent.peekFirst().sequence();
+            return last <= sequence && last >= oldestKept - 1 ? last : null;
+        }
+
+        private SseEmitter.SseEventBuilder event(FeedEvent event) {
+            return SseEmitter.event()
+                    .id(feedId + "-" + event.sequence())
+                    .name(event.name())
+                    .data(event.data());
+        }
+
+        /**
+         * One connection's outbox. At most one sender drains it at a time, so events keep their
+         * order, and COMPLETE ends the connection once everything before it has been sent.
+         */
+        private final class Subscriber {
+
+            private final SseEmitter emitter;
+            private final Deque<SseEmitter.SseEventBuilder> outbox = new ArrayDeque<>();
+            private boolean sending;
+            private boolean dropped;
+
+            private Subscriber(SseEmitter emitter) {
+                this.emitter = emitter;
+            }
+
+            // False once the subscriber is gone or a full queue behind; it then no longer receives anything
+            synchronized boolean offer(SseEmitter.SseEventBuilder event) {
+                if (dropped) {
+                    return false;
+                }
+                if (outbox.size() >= subscriberQueueSize) {
+                    log.debug("Dropping live feed subscriber of test {}: {} events behind", testId, outbox.size());
+                    dropped = true;
+                    outbox.clear();
+                    outbox.add(COMPLETE);
+                } else {
+                    outbox.add(event);
+                }
+                if (!sending) {
+                    sending = true;
+                    taskExecutor.execute(this::drain);
+                }
+                return !dropped;
+            }
+
+            synchronized void drop() {
+                dropped = true;
+                outbox.clear();
+                subscribers.remove(this);
+            }
+
+            private void drain() {
+                while (true) {
+                    SseEmitter.SseEventBuilder event;
+                    synchronized (this) {
+                        if (outbox.isEmpty()) {
+                            sending = false;
+                            return;
+                        }
+                        event = outbox.pollFirst();
+                    }
+                    if (event == COMPLETE) {
+                        emitter.complete();
+                        continue;
+                    }
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        log.debug("Dropping live feed subscriber of test {}: {}", testId, e.getMessage());
+                        drop();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.assessment.platform.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory MinHash signatures with LSH banding for near-duplicate lookups.
+ * Documents are shingled into character 5-grams, so small wording changes
+ * (typos, punctuation, reordered options) still land in a shared bucket.
+ */
+public class MinHashLshIndex {
+
+    public static final int NUM_HASHES = 128;
+    public static final int BANDS = 16;
+    public static final int ROWS = NUM_HASHES / BANDS;
+
+    private static final int SHINGLE_SIZE = 5;
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        long x = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            x = mix(x + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = x | 1L;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Map<Long, int[]>> bands = new ArrayList<>(BANDS);
+    private final Map<Long, Integer> ordinalByKey = new HashMap<>();
+
+    private long[] keys = new long[1024];
+    private long[] groups = new long[1024];
+    private int[][] signatures = new int[1024][];
+    private int size;
+    private int live;
+    // Ordinals vacated by removals; reused before the arrays grow so churn does not leak slots
+    private int[] freeOrdinals = new int[64];
+    private int freeCount;
+
+    public MinHashLshIndex() {
+        for (int b = 0; b < BANDS; b++) {
+            bands.add(new HashMap<>());
+        }
+    }
+
+    public record Match(long key, long group, double similarity) {}
+
+    public static int[] signature(String text) {
+        String normalized = normalize(text);
+        int[] sig = new int[NUM_HASHES];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+
+        if (normalized.length() <= SHINGLE_SIZE) {
+            updateSignature(sig, normalized.hashCode());
+            return sig;
+        }
+
+        for (int i = 0; i + SHINGLE_SIZE <= normalized.length(); i++) {
+            int h = 0;
+            for (int j = i; j < i + SHINGLE_SIZE; j++) {
+                h = 31 * h + normalized.charAt(j);
+            }
+            updateSignature(sig, h);
+        }
+        return sig;
+    }
+
+    public void add(long key, long group, String text) {
+        add(key, group, signature(text));
+    }
+
+    public void add(long key, long group, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalByKey.get(key);
+            if (existing != null) {
+                removeOrdinal(existing);
+            }
+
+            int ordinal;
+            if (freeCount > 0) {
+                ordinal = freeOrdinals[--freeCount];
+            } else {
+                ensureCapacity(size + 1);
+                ordinal = size++;
+            }
+            keys[ordinal] = key;
+            groups[ordinal] = group;
+            signatures[ordinal] = signature;
+            ordinalByKey.put(key, ordinal);
+            live++;
+
+            for (int b = 0; b < BANDS; b++) {
+                bands.get(b).merge(bandHash(signature, b), new int[]{1, ordinal}, MinHashLshIndex::append);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeGroup(long group) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (signatures[i] != null && groups[i] == group) {
+                    ordinalByKey.remove(keys[i]);
+                    removeOrdinal(i);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns indexed documents whose estimated Jaccard similarity is at least {@code threshold},
+     * best match first. Documents in {@code excludeGroup} are skipped.
+     */
+    public List<Match> query(int[] signature, double threshold, long excludeGroup, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] candidates = new int[16];
+            int count = 0;
+            for (int b = 0; b < BANDS; b++) {
+                int[] bucket = bands.get(b).get(bandHash(signature, b));
+                if (bucket == null) {
+                    continue;
+                }
+                if (count + bucket[0] > candidates.length) {
+                    candidates = Arrays.copyOf(candidates, Math.max(candidates.length * 2, count + bucket[0]));
+                }
+                System.arraycopy(bucket, 1, candidates, count, bucket[0]);
+                count += bucket[0];
+            }
+            Arrays.sort(candidates, 0, count);
+
+            List<Match> matches = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int ordinal = candidates[i];
+                if (i > 0 && candidates[i - 1] == ordinal) {
+                    continue;
+                }
+                int[] candidate = signatures[ordinal];
+                if (candidate == null || groups[ordinal] == excludeGroup) {
+                    continue;
+                }
+                double similarity = estimate(signature, candidate);
+                if (similarity >= threshold) {
+                    matches.add(new Match(keys[ordinal], groups[ordinal], similarity));
+                }
+            }
+
+            matches.sort((a, c) -> Double.compare(c.similarity(), a.similarity()));
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    private static void updateSignature(int[] sig, int shingleHash) {
+        long base = mix(shingleHash);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            int h = (int) ((base * SEEDS[i]) >>> 32);
+            if (h < sig[i]) {
+                sig[i] = h;
+            }
+        }
+    }
+
+    private static double estimate(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    private static long bandHash(int[] sig, int band) {
+        long h = band * 0x100000001B3L;
+        int from = band * ROWS;
+        for (int i = from; i < from + ROWS; i++) {
+            h = mix(h ^ sig[i]);
+        }
+        return h;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Buckets are int arrays whose first slot holds the number of used entries
+    private static int[] append(int[] bucket, int[] single) {
+        int count = bucket[0];
+        if (count + 1 >= bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+        }
+        bucket[++count] = single[1];
+        bucket[0] = count;
+        return bucket;
+    }
+
+    private void removeOrdinal(int ordinal) {
+        int[] signature = signatures[ordinal];
+        if (signature == null) {
+            return;
+        }
+        for (int b = 0; b < BANDS; b++) {
+            long hash = bandHash(signature, b);
+            int[] bucket = bands.get(b).get(hash);
+            if (bucket == null) {
+                continue;
+            }
+            int count = bucket[0];
+            for (int i = 1; i <= count; i++) {
+                if (bucket[i] == ordinal) {
+                    bucket[i] = bucket[count];
+                    bucket[0] = --count;
+                    break;
+                }
+            }
+            if (count == 0) {
+                bands.get(b).remove(hash);
+            }
+        }
+        signatures[ordinal] = null;
+        live--;
+        if (freeCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+        }
+        freeOrdinals[freeCount++] = ordinal;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int newLength = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, newLength);
+            groups = Arrays.copyOf(groups, newLength);
+            signatures = Arrays.copyOf(signatures, newLength);
+        }
+    }
+}
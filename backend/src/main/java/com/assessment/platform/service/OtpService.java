@@ -1,5 +1,7 @@
 package com.assessment.platform.service;
 
+import com.assessment.platform.metrics.DomainMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -10,11 +12,15 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class OtpService {
 
+    private static final String RESULT = "result";
+
     private final Map<String, OtpEntry> otpStore = new ConcurrentHashMap<>();
     private final SecureRandom random = new SecureRandom();
+    private final DomainMetrics metrics;
 
     @Value("${app.otp.expiration-minutes}")
     private int expirationMinutes;
@@ -23,22 +29,27 @@ public class OtpService {
         String otp = String.format("%06d", random.nextInt(1000000));
         otpStore.put(email, new OtpEntry(otp, LocalDateTime.now().plusMinutes(expirationMinutes)));
         log.debug("OTP generated for: {}", email);
+        metrics.increment("assessment.otp.generated");
         return otp;
     }
 
     public boolean verifyOtp(String email, String otp) {
         OtpEntry entry = otpStore.get(email);
         if (entry == null) {
+            metrics.increment("assessment.otp.verifications", RESULT, "missing");
             return false;
         }
         if (entry.expiresAt().isBefore(LocalDateTime.now())) {
             otpStore.remove(email);
+            metrics.increment("assessment.otp.verifications", RESULT, "expired");
             return false;
         }
         if (entry.otp().equals(otp)) {
             otpStore.remove(email);
+            metrics.increment("assessment.otp.verifications", RESULT, "valid");
             return true;
         }
+        metrics.increment("assessment.otp.verifications", RESULT, "invalid");
         return false;
     }
 
@@ -0,0 +1,140 @@
+package com.assessment.platform.service;
+
+/**
+ * The paper one candidate gets from a pooled test: which questions of the pool, in which order,
+ * and the order of each question's options. Everything is derived from (testId, userId) on every
+ * call, so nothing is stored per candidate and every node computes the same paper.
+ *
+ * Questions are drawn with a keyed pseudo-random permutation of the pool (a small Feistel network
+ * with cycle walking): position i shows question {@code questionAt(i)}, and the first
+ * {@code drawSize} positions are the draw. The permutation can be inverted, so grading checks
+ * whether a question was drawn without listing the draw. Options are ordered by the permutation
+ * whose rank is the seed modulo k!, decoded one position at a time. Neither allocates.
+ */
+public final class PaperDraw {
+
+    private static final int ROUNDS = 6;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    // 20! is the largest factorial that fits in a long
+    public static final int MAX_OPTIONS = 20;
+    private static final long[] FACTORIALS = new long[MAX_OPTIONS + 1];
+
+    static {
+        FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_OPTIONS; i++) {
+            FACTORIALS[i] = FACTORIALS[i - 1] * i;
+        }
+    }
+
+    private final long seed;
+    private final int poolSize;
+    private final int drawSize;
+    private final int halfBits;
+    private final int halfMask;
+
+    private PaperDraw(long seed, int poolSize, int drawSize) {
+        this.seed = seed;
+        this.poolSize = poolSize;
+        this.drawSize = drawSize;
+        int bits = 64 - Long.numberOfLeadingZeros(poolSize - 1L);
+        // Even width, so the domain is at most 4x the pool and cycle walking stays short
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1 << halfBits) - 1;
+    }
+
+    public static PaperDraw of(long testId, long userId, int poolSize, int drawSize) {
+        if (drawSize < 1 || drawSize > poolSize) {
+            throw new IllegalArgumentException("Draw of " + drawSize + " from a pool of " + poolSize);
+        }
+        return new PaperDraw(mix(testId * GOLDEN ^ mix(userId)), poolSize, drawSize);
+    }
+
+    public int drawSize() {
+        return drawSize;
+    }
+
+    /**
+     * Pool index of the question shown at {@code position} (0 to drawSize - 1).
+     */
+    public int questionAt(int position) {
+        int index = position;
+        do {
+            index = encrypt(index);
+        } while (index >= poolSize);
+        return index;
+    }
+
+    /**
+     * Position the question at pool index {@code index} is shown at, or -1 if it was not drawn.
+     */
+    public int positionOf(int index) {
+        int position = index;
+        do {
+            position = decrypt(position);
+        } while (position >= poolSize);
+        return position < drawSize ? position : -1;
+    }
+
+    /**
+     * Index, in the question's own option order, of the option shown at {@code position}. Options
+     * are shuffled per question, so equal option counts do not mean equal orders.
+     */
+    public int optionAt(long questionId, int optionCount, int position) {
+        if (optionCount > MAX_OPTIONS) {
+            throw new IllegalArgumentException("At most " + MAX_OPTIONS + " options can be shuffled");
+        }
+        long rank = Long.remainderUnsigned(mix(seed ^ questionId * GOLDEN), FACTORIALS[optionCount]);
+        int used = 0;
+        for (int i = 0; ; i++) {
+            long factorial = FACTORIALS[optionCount - 1 - i];
+            int digit = (int) (rank / factorial);
+            rank %= factorial;
+            // The digit-th option not yet placed: drop the lowest free bits before it
+            int free = ~used;
+            for (int skip = 0; skip < digit; skip++) {
+                free &= free - 1;
+            }
+            int option = Integer.numberOfTrailingZeros(free);
+            if (i == position) {
+                return option;
+            }
+            used |= 1 << option;
+        }
+    }
+
+    private int encrypt(int value) {
+        int left = value >>> halfBits;
+        int right = value & halfMask;
+        for (int round = 0; round < ROUNDS; round++) {
+            int next = left ^ round(round, right);
+            left = right;
+            right = next;
+        }
+        return left << halfBits | right;
+    }
+
+    private int decrypt(int value) {
+        int left = value >>> halfBits;
+        int right = value & halfMask;
+        for (int round = ROUNDS - 1; round >= 0; round--) {
+            int previous = right ^ round(round, left);
+            right = left;
+            left = previous;
+        }
+        return left << halfBits | right;
+    }
+
+    private int round(int round, int half) {
+        return (int) mix(seed + round * GOLDEN + half) & halfMask;
+    }
+
+    // Murmur3's 64-bit finalizer
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
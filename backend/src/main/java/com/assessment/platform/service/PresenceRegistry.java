@@ -0,0 +1,128 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.dto.response.LiveCandidateResponse;
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.service.LiveSubmissionFeed.CandidateUpdate;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which candidates are sitting which test right now, from their heartbeats. Per node: a candidate
+ * is counted on the node their heartbeats reach.
+ *
+ * A repeat heartbeat is a map lookup and a volatile write, so heartbeats never contend with each
+ * other beyond the map's own bin locks. Counting is left to the sweep, which drops entries that
+ * missed their heartbeats and publishes the per-test and per-team counts as an immutable snapshot.
+ * A candidate who is not present only becomes present through {@link #arrive}, which the caller
+ * does once it has checked that their exam session is still open.
+ */
+@Component
+public class PresenceRegistry {
+
+    private final Map<Key, Presence> present = new ConcurrentHashMap<>();
+    private final MultiGauge byTeamGauge;
+    private volatile Snapshot snapshot = new Snapshot(LocalDateTime.now(), 0, Map.of(), Map.of());
+
+    @Value("${app.presence.ttl-seconds:45}")
+    private long ttlSeconds;
+
+    private record Key(long testId, long userId) {
+    }
+
+    private static final class Presence {
+        private final long teamId;
+        private volatile long lastSeenMillis;
+        // Set under the bin lock as the entry is removed on submit
+        private volatile boolean left;
+
+        private Presence(long teamId) {
+            this.teamId = teamId;
+        }
+    }
+
+    public record Snapshot(LocalDateTime asOf, int total, Map<Long, Integer> byTest, Map<Long, Integer> byTeam) {
+    }
+
+    public PresenceRegistry(DomainMetrics metrics) {
+        Gauge.builder("assessment.presence.active", this, registry -> registry.snapshot.total())
+                .register(metrics.registry());
+        this.byTeamGauge = MultiGauge.builder("assessment.presence.team").register(metrics.registry());
+    }
+
+    /**
+     * Refreshes a candidate who is already present. Returns false if they are not, so that a
+     * heartbeat arriving after submit cannot make them present again by itself.
+     */
+    public boolean heartbeat(long testId, long userId) {
+        Key key = new Key(testId, userId);
+        Presence presence = present.get(key);
+        if (presence == null) {
+            return false;
+        }
+        presence.lastSeenMillis = System.currentTimeMillis();
+        if (present.get(key) != presence) {
+            // The sweep dropped it before this write landed: put it back, unless the candidate has left
+            present.compute(key, (k, current) -> current != null || presence.left ? current : presence);
+        }
+        return true;
+    }
+
+    public void arrive(long testId, long userId, long teamId) {
+        present.computeIfAbsent(new Key(testId, userId), k -> new Presence(teamId)).lastSeenMillis =
+                System.currentTimeMillis();
+    }
+
+    public void leave(long testId, long userId) {
+        present.computeIfPresent(new Key(testId, userId), (key, presence) -> {
+            presence.left = true;
+            return null;
+        });
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    // A submitted candidate is done, whether or not their page sends one more heartbeat
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandidateUpdate(CandidateUpdate update) {
+        if (LiveCandidateResponse.SUBMITTED.equals(update.candidate().getStatus())) {
+            leave(update.testId(), update.candidate().getUserId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.presence.sweep-interval-ms:10000}")
+    public void sweep() {
+        long cutoff = System.currentTimeMillis() - ttlSeconds * 1000;
+        Map<Long, Integer> byTest = new HashMap<>();
+        Map<Long, Integer> byTeam = new HashMap<>();
+        int total = 0;
+
+        for (Map.Entry<Key, Presence> entry : present.entrySet()) {
+            Presence presence = entry.getValue();
+            // Re-checked under the bin lock, so a heartbeat landing in between keeps the entry
+            if (presence.lastSeenMillis < cutoff
+                    && present.computeIfPresent(entry.getKey(), (key, p) -> p.lastSeenMillis < cutoff ? null : p) == null) {
+                continue;
+            }
+            byTest.merge(entry.getKey().testId(), 1, Integer::sum);
+            byTeam.merge(presence.teamId, 1, Integer::sum);
+            total++;
+        }
+
+        snapshot = new Snapshot(LocalDateTime.now(), total, Map.copyOf(byTest), Map.copyOf(byTeam));
+        byTeamGauge.register(byTeam.entrySet().stream()
+                .<MultiGauge.Row<?>>map(e -> MultiGauge.Row.of(Tags.of("team", String.valueOf(e.getKey())), e.getValue()))
+                .toList(), true);
+    }
+}
@@ -0,0 +1,134 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.entity.ProctoringEventType;
+import com.assessment.platform.metrics.DomainMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Buffers proctoring events in a bounded queue and writes them in the background, one multi-row
+ * INSERT per batch, so a cohort of candidates switching tabs never costs one insert per event.
+ *
+ * Events still queued when the node dies are lost; they are integrity hints, not answers. A full
+ * queue rejects the whole request so the page keeps its buffer and retries later.
+ */
+@Slf4j
+@Component
+public class ProctoringEventStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DomainMetrics metrics;
+    private final BlockingQueue<Event> queue;
+
+    @Value("${app.proctoring.batch-size:500}")
+    private int batchSize;
+
+    public record Event(long testId, long userId, ProctoringEventType type, LocalDateTime occurredAt, String detail) {
+    }
+
+    public record TypeCount(long userId, String type, long count, LocalDateTime firstAt, LocalDateTime lastAt) {
+    }
+
+    public ProctoringEventStore(JdbcTemplate jdbcTemplate,
+                                DomainMetrics metrics,
+                                @Value("${app.proctoring.queue-capacity:50000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.metrics = metrics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("assessment.proctoring.queue", queue, BlockingQueue::size).register(metrics.registry());
+    }
+
+    /**
+     * Returns false, queueing nothing, when the batch does not fit. Racing producers can still
+     * overrun the check by a little; those events are dropped and counted.
+     */
+    public boolean enqueue(List<Event> events) {
+        if (queue.remainingCapacity() < events.size()) {
+            metrics.increment("assessment.proctoring.events", DomainMetrics.OUTCOME, "rejected");
+            return false;
+        }
+        int dropped = 0;
+        for (Event event : events) {
+            if (!queue.offer(event)) {
+                dropped++;
+            }
+        }
+        metrics.increment("assessment.proctoring.events", events.size() - dropped, DomainMetrics.OUTCOME, "queued");
+        if (dropped > 0) {
+            metrics.increment("assessment.proctoring.events", dropped, DomainMetrics.OUTCOME, "dropped");
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.proctoring.flush-interval-ms:1000}")
+    public void flush() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public List<TypeCount> countByUserAndType(Long testId) {
+        return jdbcTemplate.query(
+                "SELECT user_id, type, COUNT(*), MIN(occurred_at), MAX(occurred_at) "
+                        + "FROM proctoring_events WHERE test_id = ? GROUP BY user_id, type",
+                (rs, row) -> new TypeCount(rs.getLong(1), rs.getString(2), rs.getLong(3),
+                        rs.getTimestamp(4).toLocalDateTime(), rs.getTimestamp(5).toLocalDateTime()),
+                testId);
+    }
+
+    public List<Event> findTrail(Long testId, Long userId) {
+        return jdbcTemplate.query(
+                "SELECT type, occurred_at, detail FROM proctoring_events "
+                        + "WHERE test_id = ? AND user_id = ? ORDER BY occurred_at, id",
+                (rs, row) -> new Event(testId, userId, ProctoringEventType.valueOf(rs.getString(1)),
+                        rs.getTimestamp(2).toLocalDateTime(), rs.getString(3)),
+                testId, userId);
+    }
+
+    private void write(List<Event> batch) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO proctoring_events (test_id, user_id, type, occurred_at, detail) VALUES ");
+        Object[] args = new Object[batch.size() * 5];
+        int i = 0;
+        for (Event event : batch) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+            args[i++] = event.testId();
+            args[i++] = event.userId();
+            args[i++] = event.type().name();
+            args[i++] = Timestamp.valueOf(event.occurredAt());
+            args[i++] = event.detail();
+        }
+
+        Timer.Sample sample = metrics.start();
+        try {
+            jdbcTemplate.update(sql.toString(), args);
+            metrics.stop(sample, "assessment.proctoring.flush", DomainMetrics.OUTCOME, DomainMetrics.SUCCESS);
+        } catch (DataAccessException e) {
+            // Not requeued: a batch the database refuses would otherwise be retried forever
+            metrics.stop(sample, "assessment.proctoring.flush", DomainMetrics.OUTCOME, DomainMetrics.FAILURE);
+            metrics.increment("assessment.proctoring.events", batch.size(), DomainMetrics.OUTCOME, "dropped");
+            log.error("Dropped {} proctoring events: {}", batch.size(), e.getMessage());
+        }
+    }
+}
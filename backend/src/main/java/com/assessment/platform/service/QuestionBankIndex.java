@@ -0,0 +1,346 @@
+package com.assessment.platform.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over bank questions for full-text and tag search.
+ *
+ * Every question gets an ordinal in the order it was added. Each word of its text and options,
+ * and each of its tags, has a posting list: the sorted ordinals of the questions containing it.
+ * A search intersects the posting lists of its words and tags, walking the shortest one from the
+ * newest ordinal down and galloping through the others, so the cost follows the rarest term
+ * rather than the size of the bank. The last word also matches as a prefix, for search as you
+ * type. Adding or removing a question only touches its own posting lists.
+ *
+ * A removed question leaves its ordinal unused. Once unused ordinals outnumber the live ones, the
+ * live ordinals are renumbered in order, which keeps every list sorted and the order newest first.
+ */
+public class QuestionBankIndex {
+
+    // Tag keys cannot collide with words: normalized words never contain '#'
+    private static final String TAG_KEY = "#";
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_COMPACT_GAPS = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Sorted so that a word prefix is one range of keys; lists hold their length in slot 0
+    private final TreeMap<String, int[]> postings = new TreeMap<>();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+
+    private long[] ids = new long[1024];
+    private String[][] keysOf = new String[1024][];
+    private int size;
+    private int live;
+
+    public record Result(int total, List<Long> ids) {}
+
+    /**
+     * Adds a question, or replaces it if the id is already indexed. A replaced question moves to
+     * the newest position.
+     */
+    public void add(long id, String text, Collection<String> tags) {
+        Set<String> keys = new LinkedHashSet<>(words(text));
+        for (String tag : tags) {
+            keys.add(TAG_KEY + tag);
+        }
+        String[] keyArray = keys.toArray(String[]::new);
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalById.remove(id);
+            if (existing != null) {
+                removeOrdinal(existing);
+            }
+            ensureCapacity(size + 1);
+            int ordinal = size++;
+            ids[ordinal] = id;
+            keysOf[ordinal] = keyArray;
+            ordinalById.put(id, ordinal);
+            live++;
+            for (String key : keyArray) {
+                postings.merge(key, new int[]{1, ordinal}, QuestionBankIndex::append);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.remove(id);
+            if (ordinal != null) {
+                removeOrdinal(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Questions containing every word of {@code text} (the last one as a prefix) and carrying every
+     * tag, newest first. {@code total} counts all matches, not only the returned ones.
+     */
+    public Result search(String text, Collection<String> tags, int limit) {
+        List<String> words = words(text);
+        lock.readLock().lock();
+        try {
+            List<int[]> lists = new ArrayList<>(words.size() + tags.size());
+            for (String tag : tags) {
+                lists.add(postings.get(TAG_KEY + tag));
+            }
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                lists.add(i == words.size() - 1 && word.length() >= MIN_PREFIX_LENGTH
+                        ? prefixPostings(word)
+                        : postings.get(word));
+            }
+            if (lists.contains(null)) {
+                return new Result(0, List.of());
+            }
+            return lists.isEmpty() ? newest(limit) : intersect(lists, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of questions per tag.
+     */
+    public Map<String, Integer> tagCounts() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> counts = new TreeMap<>();
+            // '$' is the character after '#', so this is every tag key
+            for (Map.Entry<String, int[]> entry : postings.subMap(TAG_KEY, "$").entrySet()) {
+                counts.put(entry.getKey().substring(1), entry.getValue()[0]);
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower case, with runs of anything but letters, digits and {@code + # . -} turned into a
+     * single '-', so "Spring Boot" and "spring-boot" are the same tag.
+     */
+    public static String normalizeTag(String tag) {
+        StringBuilder sb = new StringBuilder(tag.length());
+        boolean dash = true;
+        for (int i = 0; i < tag.length(); i++) {
+            char c = tag.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#' || c == '.') {
+                sb.append(Character.toLowerCase(c));
+                dash = false;
+            } else if (!dash) {
+                sb.append('-');
+                dash = true;
+            }
+        }
+        int end = sb.length();
+        while (end > 0 && sb.charAt(end - 1) == '-') {
+            end--;
+        }
+        return sb.substring(0, end);
+    }
+
+    static List<String> words(String text) {
+        String normalized = MinHashLshIndex.normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return List.copyOf(new LinkedHashSet<>(Arrays.asList(normalized.split(" "))));
+    }
+
+    private Result newest(int limit) {
+        List<Long> result = new ArrayList<>(Math.min(limit, live));
+        for (int ordinal = size - 1; ordinal >= 0 && result.size() < limit; ordinal--) {
+            if (keysOf[ordinal] != null) {
+                result.add(ids[ordinal]);
+            }
+        }
+        return new Result(live, result);
+    }
+
+    private Result intersect(List<int[]> lists, int limit) {
+        lists.sort(Comparator.comparingInt(list -> list[0]));
+        int[] driver = lists.get(0);
+        // Per other list, the highest position not yet passed; ordinals only go down from here
+        int[] cursors = new int[lists.size()];
+        for (int j = 1; j < lists.size(); j++) {
+            cursors[j] = lists.get(j)[0];
+        }
+
+        int total = 0;
+        List<Long> result = new ArrayList<>(Math.min(limit, driver[0]));
+        candidates:
+        for (int i = driver[0]; i >= 1; i--) {
+            int ordinal = driver[i];
+            for (int j = 1; j < lists.size(); j++) {
+                int[] list = lists.get(j);
+                int position = gallopDown(list, cursors[j], ordinal);
+                cursors[j] = position;
+                if (position < 1) {
+                    break candidates; // this list has nothing at or below the ordinal
+                }
+                if (list[position] != ordinal) {
+                    continue candidates;
+                }
+            }
+            total++;
+            if (result.size() < limit) {
+                result.add(ids[ordinal]);
+            }
+        }
+        return new Result(total, result);
+    }
+
+    /**
+     * The highest position at or below {@code from} whose ordinal is at most {@code target}, or 0.
+     * Probes 1, 2, 4… steps down before a binary search, so a walk over the whole list stays linear.
+     */
+    private static int gallopDown(int[] list, int from, int target) {
+        if (from < 1 || list[from] <= target) {
+            return from;
+        }
+        int step = 1;
+        int high = from;
+        int low = from - step;
+        while (low >= 1 && list[low] > target) {
+            high = low;
+            step <<= 1;
+            low = from - step;
+        }
+        low = Math.max(low, 0);
+        // list[high] > target; list[low] <= target, or low is 0
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (list[mid] > target) {
+                high = mid;
+            } else {
+                low = mid;
+            }
+        }
+        return low;
+    }
+
+    // Union of the posting lists of every word starting with prefix, as one sorted list
+    private int[] prefixPostings(String prefix) {
+        SortedMap<String, int[]> range = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        if (range.isEmpty()) {
+            return null;
+        }
+        if (range.size() == 1) {
+            return range.values().iterator().next();
+        }
+        long[] bits = new long[(size + 63) >>> 6];
+        int count = 0;
+        for (int[] list : range.values()) {
+            for (int i = 1; i <= list[0]; i++) {
+                int ordinal = list[i];
+                long mask = 1L << ordinal;
+                if ((bits[ordinal >>> 6] & mask) == 0) {
+                    bits[ordinal >>> 6] |= mask;
+                    count++;
+                }
+            }
+        }
+        int[] union = new int[count + 1];
+        union[0] = count;
+        int n = 1;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                union[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return union;
+    }
+
+    // Ordinals only grow, so appending keeps every list sorted
+    private static int[] append(int[] list, int[] single) {
+        int count = list[0];
+        if (count + 1 >= list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+        }
+        list[++count] = single[1];
+        list[0] = count;
+        return list;
+    }
+
+    private void removeOrdinal(int ordinal) {
+        for (String key : keysOf[ordinal]) {
+            int[] list = postings.get(key);
+            int count = list[0];
+            int position = Arrays.binarySearch(list, 1, count + 1, ordinal);
+            if (position < 0) {
+                continue;
+            }
+            System.arraycopy(list, position + 1, list, position, count - position);
+            list[0] = --count;
+            if (count == 0) {
+                postings.remove(key);
+            }
+        }
+        keysOf[ordinal] = null;
+        live--;
+        compactIfSparse();
+    }
+
+    // Each compaction follows at least as many removals as it renumbers, so it is amortized O(1)
+    private void compactIfSparse() {
+        int gaps = size - live;
+        if (gaps < MIN_COMPACT_GAPS || gaps <= live) {
+            return;
+        }
+        int[] renumbered = new int[size];
+        int next = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (keysOf[ordinal] != null) {
+                renumbered[ordinal] = next;
+                ids[next] = ids[ordinal];
+                keysOf[next] = keysOf[ordinal];
+                ordinalById.put(ids[next], next);
+                next++;
+            }
+        }
+        Arrays.fill(keysOf, next, size, null);
+        size = next;
+        // Posting lists only hold live ordinals, and renumbering keeps their order
+        for (int[] list : postings.values()) {
+            for (int i = 1; i <= list[0]; i++) {
+                list[i] = renumbered[list[i]];
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int newLength = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, newLength);
+            keysOf = Arrays.copyOf(keysOf, newLength);
+        }
+    }
+}
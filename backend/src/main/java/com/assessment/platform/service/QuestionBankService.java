@@ -0,0 +1,371 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.dto.request.BankQuestionRequest;
+import com.assessment.platform.dto.request.OptionRequest;
+import com.assessment.platform.dto.response.BankQuestionResponse;
+import com.assessment.platform.dto.response.OptionResponse;
+import com.assessment.platform.dto.response.QuestionBankSearchResponse;
+import com.assessment.platform.entity.BankOption;
+import com.assessment.platform.entity.BankQuestion;
+import com.assessment.platform.entity.Difficulty;
+import com.assessment.platform.entity.TeamType;
+import com.assessment.platform.entity.User;
+import com.assessment.platform.exception.BadRequestException;
+import com.assessment.platform.exception.ResourceNotFoundException;
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.repository.BankQuestionRepository;
+import io.micrometer.core.instrument.Gauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reusable bank questions, tagged by tech stack, difficulty and team type, and searched through
+ * an in-process {@link QuestionBankIndex}.
+ *
+ * The index is built once at startup and then kept current incrementally: a change made on this
+ * node is applied when its transaction commits, and a poll of updated_at picks up the changes
+ * made on other nodes. Search only touches the index; the database is read for the one page of
+ * questions returned.
+ */
+@Slf4j
+@Service
+public class QuestionBankService {
+
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    private final BankQuestionRepository bankQuestionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainMetrics metrics;
+    private final QuestionBankIndex index = new QuestionBankIndex();
+    // updated_at of every indexed question, so the poll skips questions it already has
+    private final Map<Long, LocalDateTime> indexedVersions = new ConcurrentHashMap<>();
+    private volatile LocalDateTime polledAt;
+
+    public record BankQuestionChanged(Long id, LocalDateTime updatedAt, boolean deleted, String text, Set<String> tags) {
+    }
+
+    private record IndexRow(long id, LocalDateTime updatedAt, boolean deleted, String text, String difficulty,
+                            String teamType) {
+    }
+
+    public QuestionBankService(BankQuestionRepository bankQuestionRepository,
+                               JdbcTemplate jdbcTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               DomainMetrics metrics) {
+        this.bankQuestionRepository = bankQuestionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        Gauge.builder("assessment.question_bank.indexed", index, QuestionBankIndex::size)
+                .register(metrics.registry());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int indexed = load(null);
+        polledAt = now;
+        log.info("Question bank index built with {} questions in {} ms", indexed, System.currentTimeMillis() - started);
+    }
+
+    // Changes committed on other nodes; this node's own changes are already in the index
+    @Scheduled(fixedDelayString = "${app.question-bank.poll-interval-ms:10000}")
+    public void pollChanges() {
+        LocalDateTime since = polledAt;
+        if (since == null) {
+            return; // still building
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Overlap covers rows committed slightly after the timestamp they carry
+        load(since.minusSeconds(10));
+        polledAt = now;
+    }
+
+    @Transactional
+    public BankQuestionResponse create(BankQuestionRequest request, User admin) {
+        LocalDateTime now = LocalDateTime.now();
+        BankQuestion question = BankQuestion.builder()
+                .createdBy(admin)
+                .createdAt(now)
+                .build();
+        apply(question, request, now);
+        question = bankQuestionRepository.save(question);
+        publishChange(question);
+        return mapToResponse(question);
+    }
+
+    @Transactional
+    public BankQuestionResponse update(Long id, BankQuestionRequest request) {
+        BankQuestion question = requireActive(id);
+        apply(question, request, LocalDateTime.now());
+        question = bankQuestionRepository.save(question);
+        publishChange(question);
+        return mapToResponse(question);
+    }
+
+    // Soft delete: tests copied from the question keep their link to it
+    @Transactional
+    public void delete(Long id) {
+        BankQuestion question = requireActive(id);
+        question.setDeleted(true);
+        question.setUpdatedAt(LocalDateTime.now());
+        publishChange(question);
+    }
+
+    @Transactional(readOnly = true)
+    public QuestionBankSearchResponse search(String text, List<String> tags, String difficulty, String teamType,
+                                             int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        Set<String> keys = new LinkedHashSet<>(normalizeTags(tags));
+        keys.addAll(attributeTags(parseDifficulty(difficulty), parseTeamType(teamType)));
+
+        QuestionBankIndex.Result result = metrics.time("assessment.question_bank.search",
+                () -> index.search(text, keys, limit));
+
+        Map<Long, BankQuestion> byId = loadWithOptionsAndTags(result.ids()).stream()
+                .collect(Collectors.toMap(BankQuestion::getId, Function.identity()));
+        List<BankQuestionResponse> questions = new ArrayList<>(result.ids().size());
+        for (Long id : result.ids()) {
+            BankQuestion question = byId.get(id);
+            if (question != null) { // deleted on another node since the last poll
+                questions.add(mapToResponse(question));
+            }
+        }
+        return QuestionBankSearchResponse.builder()
+                .total(result.total())
+                .questions(questions)
+                .build();
+    }
+
+    public Map<String, Integer> tagCounts() {
+        return index.tagCounts();
+    }
+
+    /**
+     * The given bank questions with their options, for copying into a test. Fails if any of them
+     * does not exist or was deleted.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BankQuestion> loadForTest(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, BankQuestion> byId = bankQuestionRepository.findActiveByIdInWithOptions(ids).stream()
+                .collect(Collectors.toMap(BankQuestion::getId, Function.identity()));
+        for (Long id : ids) {
+            if (!byId.containsKey(id)) {
+                throw new ResourceNotFoundException("Bank question not found: " + id);
+            }
+        }
+        return byId;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBankQuestionChanged(BankQuestionChanged change) {
+        applyToIndex(change.id(), change.updatedAt(), change.deleted(), change.text(), change.tags());
+    }
+
+    public BankQuestionResponse mapToResponse(BankQuestion question) {
+        return BankQuestionResponse.builder()
+                .id(question.getId())
+                .questionText(question.getQuestionText())
+                .difficulty(question.getDifficulty() != null ? question.getDifficulty().name() : null)
+                .teamType(question.getTeamType() != null ? question.getTeamType().name() : null)
+                .tags(new ArrayList<>(new TreeSet<>(question.getTags())))
+                .options(question.getOptions().stream()
+                        .map(option -> OptionResponse.builder()
+                                .id(option.getId())
+                                .optionText(option.getOptionText())
+                                .isCorrect(option.isCorrect())
+                                .build())
+                        .toList())
+                .updatedAt(question.getUpdatedAt())
+                .build();
+    }
+
+    private BankQuestion requireActive(Long id) {
+        return bankQuestionRepository.findById(id)
+                .filter(question -> !question.isDeleted())
+                .orElseThrow(() -> new ResourceNotFoundException("Bank question not found"));
+    }
+
+    private void apply(BankQuestion question, BankQuestionRequest request, LocalDateTime now) {
+        if (request.getOptions().size() > AdminService.MAX_OPTIONS) {
+            throw new BadRequestException("Too many options. Max allowed: " + AdminService.MAX_OPTIONS);
+        }
+        if (request.getOptions().stream().noneMatch(OptionRequest::isCorrect)) {
+            throw new BadRequestException("At least one option must be correct");
+        }
+        question.setQuestionText(request.getQuestionText().trim());
+        question.setDifficulty(parseDifficulty(request.getDifficulty()));
+        question.setTeamType(parseTeamType(request.getTeamType()));
+        question.getTags().clear();
+        question.getTags().addAll(normalizeTags(request.getTags()));
+        question.getOptions().clear();
+        for (OptionRequest option : request.getOptions()) {
+            question.getOptions().add(BankOption.builder()
+                    .bankQuestion(question)
+                    .optionText(option.getOptionText())
+                    .isCorrect(option.isCorrect())
+                    .build());
+        }
+        question.setUpdatedAt(now);
+    }
+
+    private void publishChange(BankQuestion question) {
+        Set<String> tags = new LinkedHashSet<>(question.getTags());
+        tags.addAll(attributeTags(question.getDifficulty(), question.getTeamType()));
+        eventPublisher.publishEvent(new BankQuestionChanged(question.getId(), question.getUpdatedAt(),
+                question.isDeleted(), documentText(question.getQuestionText(),
+                question.getOptions().stream().map(BankOption::getOptionText).toList()), tags));
+    }
+
+    private synchronized void applyToIndex(long id, LocalDateTime updatedAt, boolean deleted, String text, Set<String> tags) {
+        // A poll can see a row older than what this node's own commit already indexed
+        LocalDateTime indexed = indexedVersions.get(id);
+        if (indexed != null && !updatedAt.isAfter(indexed)) {
+            return;
+        }
+        if (deleted) {
+            index.remove(id);
+        } else {
+            index.add(id, text, tags);
+        }
+        indexedVersions.put(id, updatedAt);
+    }
+
+    /**
+     * Indexes every bank question updated at or after since (all of them when since is null), with
+     * three queries. Returns how many were read.
+     */
+    private int load(LocalDateTime since) {
+        String where = since != null ? " WHERE b.updated_at >= ?" : " WHERE b.deleted = ?";
+        Object[] args = since != null ? new Object[]{Timestamp.valueOf(since)} : new Object[]{false};
+
+        List<IndexRow> rows = jdbcTemplate.query(
+                "SELECT b.id, b.updated_at, b.deleted, b.question_text, b.difficulty, b.team_type "
+                        + "FROM bank_questions b" + where + " ORDER BY b.id",
+                (rs, rowNum) -> new IndexRow(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(), rs.getBoolean(3),
+                        rs.getString(4), rs.getString(5), rs.getString(6)),
+                args);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<String>> options = new HashMap<>();
+        Map<Long, Set<String>> tags = new HashMap<>();
+        jdbcTemplate.query("SELECT o.bank_question_id, o.option_text FROM bank_options o "
+                        + "JOIN bank_questions b ON b.id = o.bank_question_id" + where,
+                rs -> {
+                    options.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+                },
+                args);
+        jdbcTemplate.query("SELECT t.bank_question_id, t.tag FROM bank_question_tags t "
+                        + "JOIN bank_questions b ON b.id = t.bank_question_id" + where,
+                rs -> {
+                    tags.computeIfAbsent(rs.getLong(1), id -> new LinkedHashSet<>()).add(rs.getString(2));
+                },
+                args);
+
+        for (IndexRow row : rows) {
+            Set<String> rowTags = tags.getOrDefault(row.id(), new LinkedHashSet<>());
+            rowTags.addAll(attributeTags(
+                    row.difficulty() != null ? Difficulty.valueOf(row.difficulty()) : null,
+                    row.teamType() != null ? TeamType.valueOf(row.teamType()) : null));
+            applyToIndex(row.id(), row.updatedAt(), row.deleted(),
+                    documentText(row.text(), options.getOrDefault(row.id(), List.of())), rowTags);
+        }
+        return rows.size();
+    }
+
+    private List<BankQuestion> loadWithOptionsAndTags(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<BankQuestion> questions = bankQuestionRepository.findActiveByIdInWithOptions(ids);
+        if (!questions.isEmpty()) {
+            bankQuestionRepository.fetchTags(questions);
+        }
+        return questions;
+    }
+
+    private static String documentText(String questionText, List<String> optionTexts) {
+        StringBuilder sb = new StringBuilder(questionText);
+        optionTexts.stream().sorted().forEach(option -> sb.append(' ').append(option));
+        return sb.toString();
+    }
+
+    private static List<String> normalizeTags(List<String> tags) {
+        if (tags == null) {
+            return List.of();
+        }
+        List<String> normalized = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            String key = tag != null ? QuestionBankIndex.normalizeTag(tag) : "";
+            if (key.isEmpty()) {
+                throw new BadRequestException("Invalid tag: " + tag);
+            }
+            normalized.add(key);
+        }
+        return normalized;
+    }
+
+    // Difficulty and team type are searched as tags; ':' never appears in a normalized tag
+    private static List<String> attributeTags(Difficulty difficulty, TeamType teamType) {
+        List<String> tags = new ArrayList<>(2);
+        if (difficulty != null) {
+            tags.add("difficulty:" + difficulty.name().toLowerCase());
+        }
+        if (teamType != null) {
+            tags.add("team-type:" + teamType.name().toLowerCase());
+        }
+        return tags;
+    }
+
+    private static Difficulty parseDifficulty(String difficulty) {
+        if (difficulty == null || difficulty.isBlank()) {
+            return null;
+        }
+        try {
+            return Difficulty.valueOf(difficulty.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid difficulty: " + difficulty);
+        }
+    }
+
+    private static TeamType parseTeamType(String teamType) {
+        if (teamType == null || teamType.isBlank()) {
+            return null;
+        }
+        try {
+            return TeamType.valueOf(teamType.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid team type: " + teamType);
+        }
+    }
+}
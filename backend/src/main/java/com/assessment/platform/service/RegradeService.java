@@ -0,0 +1,250 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.dto.response.RegradeJobResponse;
+import com.assessment.platform.entity.RegradeJob;
+import com.assessment.platform.entity.RegradeJobStatus;
+import com.assessment.platform.entity.Test;
+import com.assessment.platform.exception.ResourceNotFoundException;
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.repository.RegradeJobRepository;
+import com.assessment.platform.repository.TestRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Re-scores every submission of a test after its answer key was corrected.
+ *
+ * The submission ids are split into chunks that a fork-join pool grades in parallel, each chunk
+ * in its own transaction: lock the test row shared, read the current key, read the chunk's
+ * answers, and batch-update only the scores that changed. Because every chunk grades against the
+ * key committed at that moment, overlapping runs after two quick corrections still converge on the
+ * latest key; progress and the up/down/unchanged counts are added to the job row as chunks commit.
+ */
+@Slf4j
+@Service
+public class RegradeService {
+
+    private final TestRepository testRepository;
+    private final RegradeJobRepository regradeJobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor taskExecutor;
+    private final DomainMetrics metrics;
+    private final ForkJoinPool pool;
+
+    @Value("${app.regrade.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.regrade.stale-minutes:10}")
+    private long staleMinutes;
+
+    public record RegradeRequested(Long jobId, Long testId) {
+    }
+
+    public RegradeService(TestRepository testRepository,
+                          RegradeJobRepository regradeJobRepository,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher,
+                          @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                          DomainMetrics metrics,
+                          @Value("${app.regrade.parallelism:4}") int parallelism) {
+        this.testRepository = testRepository;
+        this.regradeJobRepository = regradeJobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.taskExecutor = taskExecutor;
+        this.metrics = metrics;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Records a new job; it starts once the caller's transaction commits, so it grades against
+     * the key that transaction wrote.
+     */
+    public RegradeJob start(Long testId) {
+        LocalDateTime now = LocalDateTime.now();
+        RegradeJob job = regradeJobRepository.save(RegradeJob.builder()
+                .testId(testId)
+                .status(RegradeJobStatus.RUNNING)
+                .startedAt(now)
+                .updatedAt(now)
+                .build());
+        eventPublisher.publishEvent(new RegradeRequested(job.getId(), testId));
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public RegradeJobResponse getJob(Long jobId) {
+        return regradeJobRepository.findById(jobId)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Re-grade job not found"));
+    }
+
+    public RegradeJobResponse mapToResponse(RegradeJob job) {
+        return RegradeJobResponse.builder()
+                .id(job.getId())
+                .testId(job.getTestId())
+                .status(job.getStatus().name())
+                .total(job.getTotal())
+                .processed(job.getProcessed())
+                .scoreUp(job.getScoreUp())
+                .scoreDown(job.getScoreDown())
+                .unchanged(job.getUnchanged())
+                .error(job.getError())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegradeRequested(RegradeRequested request) {
+        taskExecutor.execute(() -> run(request.jobId(), request.testId()));
+    }
+
+    // Jobs whose node stopped mid-run; the scores they did not reach are still on the old key
+    @Scheduled(fixedDelayString = "${app.regrade.sweep-interval-ms:60000}")
+    public void failStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer failed = transactionTemplate.execute(status -> regradeJobRepository.failStale(
+                now.minusMinutes(staleMinutes), "Interrupted: no progress for " + staleMinutes + " minutes", now));
+        if (failed != null && failed > 0) {
+            log.warn("Marked {} stalled re-grade jobs as failed", failed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void run(Long jobId, Long testId) {
+        try {
+            metrics.time("assessment.regrade", () -> {
+                List<Long> submissionIds = jdbcTemplate.queryForList(
+                        "SELECT id FROM submissions WHERE test_id = ? ORDER BY id", Long.class, testId);
+                transactionTemplate.executeWithoutResult(status ->
+                        regradeJobRepository.setTotal(jobId, submissionIds.size(), LocalDateTime.now()));
+
+                List<List<Long>> chunks = new ArrayList<>();
+                for (int from = 0; from < submissionIds.size(); from += chunkSize) {
+                    chunks.add(submissionIds.subList(from, Math.min(from + chunkSize, submissionIds.size())));
+                }
+                try {
+                    pool.submit(() -> chunks.parallelStream().forEach(chunk -> regradeChunk(jobId, testId, chunk))).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Re-grade interrupted", e);
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+                }
+            });
+            finish(jobId, RegradeJobStatus.COMPLETED, null);
+            log.info("Re-grade job {} of test {} completed", jobId, testId);
+        } catch (RuntimeException e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            finish(jobId, RegradeJobStatus.FAILED, message.length() > 255 ? message.substring(0, 255) : message);
+            log.error("Re-grade job {} of test {} failed", jobId, testId, e);
+        }
+    }
+
+    private void regradeChunk(Long jobId, Long testId, List<Long> submissionIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Test test = testRepository.lockForGrading(testId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
+            if (test.isResultsReleased()) {
+                throw new IllegalStateException("Results were released during the re-grade");
+            }
+
+            Map<Long, Set<Long>> correctByQuestion = new HashMap<>();
+            jdbcTemplate.query(
+                    "SELECT o.question_id, o.id FROM options o JOIN questions q ON q.id = o.question_id "
+                            + "WHERE q.test_id = ? AND o.is_correct = TRUE",
+                    rs -> {
+                        correctByQuestion.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2));
+                    },
+                    testId);
+
+            String in = String.join(", ", Collections.nCopies(submissionIds.size(), "?"));
+            Object[] ids = submissionIds.toArray();
+            // submission -> question -> selected options; an unanswered question has an empty list
+            Map<Long, Map<Long, List<Long>>> selected = new HashMap<>();
+            jdbcTemplate.query(
+                    "SELECT submission_id, question_id, selected_option_id FROM answers WHERE submission_id IN (" + in + ")",
+                    rs -> {
+                        long optionId = rs.getLong(3);
+                        boolean answered = !rs.wasNull();
+                        List<Long> options = selected.computeIfAbsent(rs.getLong(1), id -> new HashMap<>())
+                                .computeIfAbsent(rs.getLong(2), id -> new ArrayList<>());
+                        if (answered) {
+                            options.add(optionId);
+                        }
+                    },
+                    ids);
+            Map<Long, Integer> oldScores = new HashMap<>();
+            jdbcTemplate.query("SELECT id, score FROM submissions WHERE id IN (" + in + ")",
+                    rs -> {
+                        oldScores.put(rs.getLong(1), rs.getInt(2));
+                    },
+                    ids);
+
+            int up = 0;
+            int down = 0;
+            List<Object[]> updates = new ArrayList<>();
+            for (Long submissionId : submissionIds) {
+                int score = 0;
+                for (Map.Entry<Long, List<Long>> answer : selected.getOrDefault(submissionId, Map.of()).entrySet()) {
+                    if (TestService.isAnswerCorrect(correctByQuestion.getOrDefault(answer.getKey(), Set.of()), answer.getValue())) {
+                        score++;
+                    }
+                }
+                int oldScore = oldScores.getOrDefault(submissionId, 0);
+                if (score != oldScore) {
+                    updates.add(new Object[]{score, submissionId});
+                    if (score > oldScore) {
+                        up++;
+                    } else {
+                        down++;
+                    }
+                }
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE submissions SET score = ? WHERE id = ?", updates);
+            }
+            int unchanged = submissionIds.size() - up - down;
+            regradeJobRepository.addProgress(jobId, submissionIds.size(), up, down, unchanged, LocalDateTime.now());
+            metrics.increment("assessment.regrade.submissions", up, "change", "up");
+            metrics.increment("assessment.regrade.submissions", down, "change", "down");
+            metrics.increment("assessment.regrade.submissions", unchanged, "change", "unchanged");
+        });
+    }
+
+    private void finish(Long jobId, RegradeJobStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx ->
+                regradeJobRepository.finish(jobId, status, error, LocalDateTime.now()));
+    }
+}
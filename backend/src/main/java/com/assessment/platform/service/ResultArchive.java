@@ -0,0 +1,155 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.entity.Option;
+import com.assessment.platform.entity.Question;
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.service.ArchiveSegment.ArchivedAnswer;
+import com.assessment.platform.service.ArchiveSegment.ArchivedOption;
+import com.assessment.platform.service.ArchiveSegment.ArchivedQuestion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Cold storage for released tests. Release writes the paper, answer key and every submission's
+ * answers into one compressed segment, stored in test_archives in the same transaction that
+ * deletes the rows, so nothing is lost if either half fails.
+ *
+ * Reads go through a local copy of the segment, fetched from the database once per node and
+ * memory-mapped; the most recently used segments stay mapped. The copy is named after the
+ * archive row's created_at, so a copy left behind by another database (a reset, or a shared
+ * tmpdir) is never mistaken for this one.
+ */
+@Slf4j
+@Component
+public class ResultArchive {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DomainMetrics metrics;
+    private final Path cacheDir;
+    private final Map<Long, ArchiveSegment> open;
+
+    public ResultArchive(JdbcTemplate jdbcTemplate,
+                         DomainMetrics metrics,
+                         @Value("${app.archive.cache-dir:${java.io.tmpdir}/assesshub-archive}") String cacheDir,
+                         @Value("${app.archive.open-segments:64}") int openSegments) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.metrics = metrics;
+        this.cacheDir = Path.of(cacheDir);
+        this.open = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ArchiveSegment> eldest) {
+                return size() > openSegments;
+            }
+        };
+    }
+
+    /**
+     * Archives a test about to lose its questions and answers. Must run inside the release
+     * transaction, before the deletes.
+     */
+    public void archive(Long testId, List<Question> questions) {
+        List<ArchivedQuestion> paper = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            List<ArchivedOption> options = new ArrayList<>(question.getOptions().size());
+            for (Option option : question.getOptions()) {
+                options.add(new ArchivedOption(option.getId(), option.getOptionText(), option.isCorrect()));
+            }
+            paper.add(new ArchivedQuestion(question.getId(), question.getQuestionText(), options));
+        }
+
+        SortedMap<Long, List<ArchivedAnswer>> answers = new TreeMap<>();
+        jdbcTemplate.query(
+                "SELECT a.submission_id, a.question_id, a.selected_option_id FROM answers a "
+                        + "JOIN submissions s ON s.id = a.submission_id WHERE s.test_id = ? ORDER BY a.id",
+                rs -> {
+                    long selected = rs.getLong(3);
+                    answers.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+                            .add(new ArchivedAnswer(rs.getLong(2), rs.wasNull() ? null : selected));
+                },
+                testId);
+
+        byte[] segment = ArchiveSegment.write(paper, answers);
+        jdbcTemplate.update(
+                "INSERT INTO test_archives (test_id, submission_count, segment, created_at) VALUES (?, ?, ?, ?)",
+                testId, answers.size(), segment, Timestamp.valueOf(LocalDateTime.now()));
+        metrics.record("assessment.archive.segment.bytes", segment.length);
+        log.info("Archived test {}: {} questions, {} submissions in {} bytes",
+                testId, paper.size(), answers.size(), segment.length);
+    }
+
+    Optional<List<ArchivedQuestion>> findPaper(Long testId) {
+        return segment(testId).map(ArchiveSegment::paper);
+    }
+
+    Optional<List<ArchivedAnswer>> findAnswers(Long testId, Long submissionId) {
+        return segment(testId).map(segment -> segment.answers(submissionId));
+    }
+
+    Optional<SortedMap<Long, List<ArchivedAnswer>>> findAllAnswers(Long testId) {
+        return segment(testId).map(ArchiveSegment::allAnswers);
+    }
+
+    private Optional<ArchiveSegment> segment(Long testId) {
+        synchronized (open) {
+            ArchiveSegment segment = open.get(testId);
+            if (segment != null) {
+                return Optional.of(segment);
+            }
+        }
+
+        List<Timestamp> created = jdbcTemplate.query(
+                "SELECT created_at FROM test_archives WHERE test_id = ?", (rs, row) -> rs.getTimestamp(1), testId);
+        if (created.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            Timestamp createdAt = created.get(0);
+            long version = createdAt.getTime() * 1000 + createdAt.getNanos() / 1000 % 1000;
+            Path file = cacheDir.resolve("test-" + testId + "-" + version + ".seg");
+            if (!Files.exists(file) && !fetch(testId, createdAt, file)) {
+                return Optional.empty();
+            }
+            ArchiveSegment segment = ArchiveSegment.map(file);
+            synchronized (open) {
+                open.put(testId, segment);
+            }
+            return Optional.of(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the archive of test " + testId, e);
+        }
+    }
+
+    // A segment never changes once written, so a copy named after its row never goes stale
+    private boolean fetch(Long testId, Timestamp createdAt, Path file) throws IOException {
+        List<byte[]> rows = jdbcTemplate.query(
+                "SELECT segment FROM test_archives WHERE test_id = ? AND created_at = ?",
+                (rs, row) -> rs.getBytes(1), testId, createdAt);
+        if (rows.isEmpty()) {
+            return false;
+        }
+        metrics.increment("assessment.archive.fetch");
+        Files.createDirectories(cacheDir);
+        Path partial = Files.createTempFile(cacheDir, "test-" + testId, ".part");
+        Files.write(partial, rows.get(0));
+        Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+}
@@ -0,0 +1,265 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.service.ArchiveSegment.ArchivedAnswer;
+import com.assessment.platform.service.ArchiveSegment.ArchivedOption;
+import com.assessment.platform.service.ArchiveSegment.ArchivedQuestion;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams submissions with every answer as NDJSON, one submission per line, for analytics.
+ *
+ * Submissions are read in keyset pages. Each page and its answers are read in a short read-only
+ * transaction and written straight to the response with a streaming generator. Only one page is
+ * ever in memory, and a slow client holds no database connection between pages. Released tests
+ * are read from their archive.
+ */
+@Component
+public class SubmissionExporter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+    private final ResultArchive resultArchive;
+    private final ObjectMapper objectMapper;
+    private final DomainMetrics metrics;
+
+    @Value("${app.export.page-size:500}")
+    private int pageSize;
+
+    /**
+     * Either one test, or submissions finished in [from, to) across tests. A non-null teamId limits
+     * the export to tests assigned to that team.
+     */
+    public record ExportQuery(Long testId, LocalDateTime from, LocalDateTime to, Long teamId) {
+    }
+
+    private record Row(long id, long testId, String testTitle, boolean released, long userId, String userName,
+                       String userEmail, String role, Integer score, Integer totalMarks,
+                       LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+    public SubmissionExporter(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ResultArchive resultArchive,
+                              ObjectMapper objectMapper,
+                              DomainMetrics metrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.resultArchive = resultArchive;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Writes every matching submission to out and returns how many there were. Does not close out.
+     */
+    public long export(ExportQuery query, OutputStream out, boolean gzip) throws IOException {
+        String format = gzip ? "ndjson.gz" : "ndjson";
+        Timer.Sample sample = metrics.start();
+        long exported = 0;
+        try {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            JsonGenerator json = objectMapper.getFactory().createGenerator(target);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null); // each line ends with its own newline
+
+            // Answer keys of the tests seen so far, keyed by test then question
+            Map<Long, Map<Long, Set<Long>>> keys = new HashMap<>();
+            Row last = null;
+            while (true) {
+                Row after = last;
+                List<Row> page = readOnly.execute(status -> readPage(query, after));
+                if (page.isEmpty()) {
+                    break;
+                }
+                Map<Long, Map<Long, List<Long>>> answers = readOnly.execute(status -> readAnswers(page, keys));
+                for (Row row : page) {
+                    writeSubmission(json, row, answers.getOrDefault(row.id(), Map.of()), keys.get(row.testId()));
+                }
+                json.flush();
+                exported += page.size();
+                last = page.get(page.size() - 1);
+            }
+
+            json.close();
+            if (target instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            metrics.stop(sample, "assessment.export", "format", format, DomainMetrics.OUTCOME, DomainMetrics.SUCCESS);
+            metrics.record("assessment.export.submissions", exported, "format", format);
+            return exported;
+        } catch (IOException | RuntimeException e) {
+            // Usually the client went away mid-download
+            metrics.stop(sample, "assessment.export", "format", format, DomainMetrics.OUTCOME, DomainMetrics.FAILURE);
+            throw e;
+        }
+    }
+
+    private List<Row> readPage(ExportQuery query, Row after) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT s.id, s.test_id, t.title, t.results_released, u.id, u.name, u.email, u.role, "
+                        + "s.score, s.total_marks, s.start_time, s.end_time "
+                        + "FROM submissions s JOIN tests t ON t.id = s.test_id JOIN users u ON u.id = s.user_id WHERE ");
+        List<Object> args = new ArrayList<>();
+        if (query.testId() != null) {
+            sql.append("s.test_id = ? AND s.id > ?");
+            args.add(query.testId());
+            args.add(after != null ? after.id() : 0L);
+        } else {
+            // Keyset on (end_time, id), the order of idx_submissions_end_time
+            Timestamp cursor = Timestamp.valueOf(after != null ? after.endTime() : query.from());
+            sql.append("(s.end_time > ? OR (s.end_time = ? AND s.id > ?)) AND s.end_time < ?");
+            args.add(cursor);
+            args.add(cursor);
+            args.add(after != null ? after.id() : 0L);
+            args.add(Timestamp.valueOf(query.to()));
+        }
+        if (query.teamId() != null) {
+            sql.append(" AND t.assigned_team_id = ?");
+            args.add(query.teamId());
+        }
+        sql.append(query.testId() != null ? " ORDER BY s.id" : " ORDER BY s.end_time, s.id").append(" LIMIT ?");
+        args.add(pageSize);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            Timestamp endTime = rs.getTimestamp(12);
+            return new Row(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getBoolean(4), rs.getLong(5),
+                    rs.getString(6), rs.getString(7), rs.getString(8),
+                    rs.getObject(9, Integer.class), rs.getObject(10, Integer.class),
+                    rs.getTimestamp(11).toLocalDateTime(), endTime != null ? endTime.toLocalDateTime() : null);
+        }, args.toArray());
+    }
+
+    // submission -> question -> selected options, in answer order; also loads keys of new tests
+    private Map<Long, Map<Long, List<Long>>> readAnswers(List<Row> page, Map<Long, Map<Long, Set<Long>>> keys) {
+        Map<Long, Map<Long, List<Long>>> answers = new HashMap<>();
+        List<Long> live = new ArrayList<>();
+        for (Row row : page) {
+            if (!keys.containsKey(row.testId())) {
+                keys.put(row.testId(), row.released() ? archivedKey(row.testId()) : liveKey(row.testId()));
+            }
+            if (!row.released()) {
+                live.add(row.id());
+                continue;
+            }
+            List<ArchivedAnswer> archived = resultArchive.findAnswers(row.testId(), row.id()).orElse(null);
+            if (archived == null) {
+                continue; // released before the archive existed: scores only
+            }
+            Map<Long, List<Long>> byQuestion = answers.computeIfAbsent(row.id(), id -> new LinkedHashMap<>());
+            for (ArchivedAnswer answer : archived) {
+                List<Long> selected = byQuestion.computeIfAbsent(answer.questionId(), id -> new ArrayList<>());
+                if (answer.selectedOptionId() != null) {
+                    selected.add(answer.selectedOptionId());
+                }
+            }
+        }
+
+        if (!live.isEmpty()) {
+            String in = String.join(", ", Collections.nCopies(live.size(), "?"));
+            jdbcTemplate.query(
+                    "SELECT submission_id, question_id, selected_option_id FROM answers WHERE submission_id IN (" + in + ") "
+                            + "ORDER BY submission_id, id",
+                    rs -> {
+                        long optionId = rs.getLong(3);
+                        boolean answered = !rs.wasNull();
+                        List<Long> selected = answers.computeIfAbsent(rs.getLong(1), id -> new LinkedHashMap<>())
+                                .computeIfAbsent(rs.getLong(2), id -> new ArrayList<>());
+                        if (answered) {
+                            selected.add(optionId);
+                        }
+                    },
+                    live.toArray());
+        }
+        return answers;
+    }
+
+    private Map<Long, Set<Long>> liveKey(Long testId) {
+        Map<Long, Set<Long>> key = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT o.question_id, o.id FROM options o JOIN questions q ON q.id = o.question_id "
+                        + "WHERE q.test_id = ? AND o.is_correct = TRUE",
+                rs -> {
+                    key.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2));
+                },
+                testId);
+        return key;
+    }
+
+    private Map<Long, Set<Long>> archivedKey(Long testId) {
+        Map<Long, Set<Long>> key = new HashMap<>();
+        for (ArchivedQuestion question : resultArchive.findPaper(testId).orElse(List.of())) {
+            Set<Long> correct = new HashSet<>();
+            for (ArchivedOption option : question.options()) {
+                if (option.correct()) {
+                    correct.add(option.id());
+                }
+            }
+            key.put(question.id(), correct);
+        }
+        return key;
+    }
+
+    private void writeSubmission(JsonGenerator json, Row row, Map<Long, List<Long>> answers,
+                                 Map<Long, Set<Long>> key) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("submissionId", row.id());
+        json.writeNumberField("testId", row.testId());
+        json.writeStringField("testTitle", row.testTitle());
+        json.writeNumberField("userId", row.userId());
+        json.writeStringField("userName", row.userName());
+        json.writeStringField("userEmail", row.userEmail());
+        json.writeStringField("role", row.role());
+        writeNullableNumber(json, "score", row.score());
+        writeNullableNumber(json, "totalMarks", row.totalMarks());
+        json.writeStringField("startTime", row.startTime().toString());
+        json.writeStringField("endTime", row.endTime() != null ? row.endTime().toString() : null);
+
+        json.writeArrayFieldStart("answers");
+        for (Map.Entry<Long, List<Long>> answer : answers.entrySet()) {
+            json.writeStartObject();
+            json.writeNumberField("questionId", answer.getKey());
+            json.writeArrayFieldStart("selectedOptionIds");
+            for (Long optionId : answer.getValue()) {
+                json.writeNumber(optionId);
+            }
+            json.writeEndArray();
+            json.writeBooleanField("correct",
+                    TestService.isAnswerCorrect(key.getOrDefault(answer.getKey(), Set.of()), answer.getValue()));
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeNullableNumber(JsonGenerator json, String field, Integer value) throws IOException {
+        if (value != null) {
+            json.writeNumberField(field, value);
+        } else {
+            json.writeNullField(field);
+        }
+    }
+}
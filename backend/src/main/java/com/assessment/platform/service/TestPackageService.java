@@ -0,0 +1,466 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.dto.response.TestPackageImportResponse;
+import com.assessment.platform.dto.response.TestPackageImportResponse.LineError;
+import com.assessment.platform.entity.Option;
+import com.assessment.platform.entity.Question;
+import com.assessment.platform.entity.Role;
+import com.assessment.platform.entity.Team;
+import com.assessment.platform.entity.Test;
+import com.assessment.platform.entity.User;
+import com.assessment.platform.exception.BadRequestException;
+import com.assessment.platform.exception.ResourceNotFoundException;
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.repository.TeamRepository;
+import com.assessment.platform.repository.TestRepository;
+import com.assessment.platform.service.ArchiveSegment.ArchivedQuestion;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports and exports tests as portable packages: JSON lines, UTF-8.
+ *
+ * <pre>
+ * {"format":"assesshub.test-package","version":1,"title":"…","timeLimitMinutes":30,"assignedRole":"TRAINEE","assignedTeam":"…"}
+ * {"question":"…","options":[{"text":"…","correct":true},{"text":"…","correct":false}]}
+ * …one line per question
+ * </pre>
+ *
+ * An adaptive test ({@code "adaptive":true} with a drawSize) also carries each question's
+ * {@code difficulty} and, optionally, {@code discrimination}. Released tests are exported from
+ * their archive, which does not keep these, so they come out as ordinary tests.
+ *
+ * Imports are read with Jackson's streaming parser, one line at a time, and written in JDBC batches
+ * inside one transaction. Every bad line is reported with its line number and nothing is saved;
+ * only a batch of questions is ever held in memory, whatever the size of the package.
+ */
+@Slf4j
+@Service
+public class TestPackageService {
+
+    public static final String FORMAT = "assesshub.test-package";
+    public static final int VERSION = 1;
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final TestRepository testRepository;
+    private final TeamRepository teamRepository;
+    private final DuplicateQuestionService duplicateQuestionService;
+    private final ResultArchive resultArchive;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+    private final DomainMetrics metrics;
+
+    @Value("${app.test-package.max-questions:10000}")
+    private int maxQuestions;
+
+    @Value("${app.test-package.batch-size:500}")
+    private int batchSize;
+
+    record PackageHeader(String format, Integer version, String title, String description, Integer timeLimitMinutes,
+                         String assignedRole, String assignedTeam, LocalDateTime availableFrom,
+                         LocalDateTime availableUntil, Integer admissionJitterSeconds, Integer drawSize,
+                         Boolean adaptive) {
+    }
+
+    record PackageQuestion(String question, List<PackageOption> options, Double discrimination, Double difficulty) {
+    }
+
+    record PackageOption(String text, Boolean correct) {
+    }
+
+    public TestPackageService(TestRepository testRepository,
+                              TeamRepository teamRepository,
+                              DuplicateQuestionService duplicateQuestionService,
+                              ResultArchive resultArchive,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              DomainMetrics metrics) {
+        this.testRepository = testRepository;
+        this.teamRepository = teamRepository;
+        this.duplicateQuestionService = duplicateQuestionService;
+        this.resultArchive = resultArchive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates a test from a package. teamId and role, when given, override the package's
+     * assignment, which usually names a team of another installation.
+     */
+    public TestPackageImportResponse importPackage(InputStream body, User admin, Long teamId, String role) {
+        return metrics.time("assessment.test_package.import", () -> transactionTemplate.execute(status -> {
+            try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+                Test test = createTest(readHeader(parser), admin, teamId, role);
+
+                List<LineError> errors = new ArrayList<>();
+                List<PackageQuestion> batch = new ArrayList<>(batchSize);
+                int questions = 0;
+                int options = 0;
+                JsonToken token;
+                while ((token = parser.nextToken()) != null && errors.size() < MAX_REPORTED_ERRORS) {
+                    int line = parser.currentLocation().getLineNr();
+                    if (token != JsonToken.START_OBJECT) {
+                        errors.add(new LineError(line, "Expected one question object per line"));
+                        parser.skipChildren();
+                        continue;
+                    }
+                    PackageQuestion question;
+                    try {
+                        question = parser.readValueAs(PackageQuestion.class);
+                    } catch (JsonProcessingException e) {
+                        // The parser cannot find the next line reliably after malformed JSON
+                        errors.add(new LineError(line, "Malformed JSON: " + e.getOriginalMessage()));
+                        break;
+                    }
+                    String problem = validate(question, test.isAdaptive());
+                    if (problem != null) {
+                        errors.add(new LineError(line, problem));
+                        continue;
+                    }
+                    if (test.isAdaptive() && question.discrimination() == null) {
+                        question = new PackageQuestion(question.question(), question.options(), 1.0, question.difficulty());
+                    }
+                    if (++questions > maxQuestions) {
+                        errors.add(new LineError(line, "A package can hold at most " + maxQuestions + " questions"));
+                        break;
+                    }
+                    options += question.options().size();
+                    // After the first error lines are only checked, since the transaction will roll back
+                    if (errors.isEmpty()) {
+                        batch.add(question);
+                        if (batch.size() == batchSize) {
+                            insertQuestions(test.getId(), batch);
+                            batch.clear();
+                        }
+                    }
+                }
+                if (errors.isEmpty() && questions == 0) {
+                    errors.add(new LineError(parser.currentLocation().getLineNr(), "The package has no questions"));
+                }
+                if (errors.isEmpty() && test.getDrawSize() != null && test.getDrawSize() > questions) {
+                    errors.add(new LineError(1, "drawSize " + test.getDrawSize() + " is larger than the "
+                            + questions + " questions in the package"));
+                }
+
+                TestPackageImportResponse.TestPackageImportResponseBuilder response = TestPackageImportResponse.builder()
+                        .title(test.getTitle())
+                        .questions(questions)
+                        .options(options)
+                        .errors(errors);
+                if (!errors.isEmpty()) {
+                    status.setRollbackOnly();
+                    metrics.increment("assessment.test_package.imports", DomainMetrics.OUTCOME, "rejected");
+                    return response.build();
+                }
+                insertQuestions(test.getId(), batch);
+                metrics.increment("assessment.test_package.imports", DomainMetrics.OUTCOME, "imported");
+                metrics.record("assessment.test_package.questions", questions);
+                log.info("Imported test {} with {} questions from a package", test.getId(), questions);
+                return response.testId(test.getId()).build();
+            } catch (IOException e) {
+                throw new BadRequestException("Could not read the package: " + e.getMessage());
+            }
+        }));
+    }
+
+    /**
+     * Writes a test as a package, with its answer key. Released tests are read from their archive.
+     * Does not close out.
+     */
+    public void exportPackage(Long testId, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null);
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try {
+                    Test test = testRepository.findById(testId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
+                    writeHeader(json, test);
+                    if (test.isResultsReleased()) {
+                        for (ArchivedQuestion question : resultArchive.findPaper(testId).orElse(List.of())) {
+                            writeQuestion(json, new PackageQuestion(question.text(), question.options().stream()
+                                    .map(o -> new PackageOption(o.text(), o.correct()))
+                                    .toList(), null, null));
+                        }
+                    } else {
+                        writeLiveQuestions(json, testId);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        json.close();
+    }
+
+    private PackageHeader readHeader(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new BadRequestException("Line 1: expected the package header object");
+        }
+        PackageHeader header;
+        try {
+            header = parser.readValueAs(PackageHeader.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Line 1: malformed header: " + e.getOriginalMessage());
+        }
+        if (!FORMAT.equals(header.format())) {
+            throw new BadRequestException("Line 1: not a test package (format must be \"" + FORMAT + "\")");
+        }
+        if (header.version() == null || header.version() != VERSION) {
+            throw new BadRequestException("Line 1: unsupported package version " + header.version()
+                    + "; this server reads version " + VERSION);
+        }
+        return header;
+    }
+
+    private Test createTest(PackageHeader header, User admin, Long teamId, String role) {
+        if (header.title() == null || header.title().isBlank()) {
+            throw new BadRequestException("Line 1: title is required");
+        }
+        if (header.timeLimitMinutes() == null || header.timeLimitMinutes() <= 0) {
+            throw new BadRequestException("Line 1: timeLimitMinutes must be positive");
+        }
+
+        Team team;
+        if (teamId != null) {
+            team = teamRepository.findById(teamId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Team not found"));
+        } else if (header.assignedTeam() != null) {
+            team = teamRepository.findByName(header.assignedTeam())
+                    .orElseThrow(() -> new BadRequestException("Line 1: unknown team \"" + header.assignedTeam()
+                            + "\"; pass teamId to assign the test to a team"));
+        } else {
+            throw new BadRequestException("Line 1: assignedTeam is missing; pass teamId");
+        }
+
+        String roleName = role != null ? role : header.assignedRole();
+        Role assignedRole;
+        try {
+            assignedRole = Role.valueOf(String.valueOf(roleName).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid role: " + roleName);
+        }
+
+        if (header.availableFrom() != null && header.availableUntil() != null
+                && !header.availableUntil().isAfter(header.availableFrom())) {
+            throw new BadRequestException("Line 1: availableUntil must be after availableFrom");
+        }
+        Integer jitter = header.admissionJitterSeconds();
+        if (jitter != null && (jitter < 0 || jitter > 600)) {
+            throw new BadRequestException("Line 1: admissionJitterSeconds must be between 0 and 600");
+        }
+        if (jitter != null && jitter > 0 && header.availableFrom() == null) {
+            throw new BadRequestException("Line 1: admissionJitterSeconds needs availableFrom");
+        }
+        if (header.drawSize() != null && header.drawSize() < 1) {
+            throw new BadRequestException("Line 1: drawSize must be positive");
+        }
+        boolean adaptive = Boolean.TRUE.equals(header.adaptive());
+        if (adaptive && header.drawSize() == null) {
+            throw new BadRequestException("Line 1: an adaptive test needs drawSize");
+        }
+
+        return testRepository.save(Test.builder()
+                .title(header.title())
+                .description(header.description())
+                .timeLimitMinutes(header.timeLimitMinutes())
+                .availableFrom(header.availableFrom())
+                .availableUntil(header.availableUntil())
+                .admissionJitterSeconds(jitter)
+                .drawSize(header.drawSize())
+                .adaptive(adaptive)
+                .assignedRole(assignedRole)
+                .assignedTeam(team)
+                .createdBy(admin)
+                .resultsReleased(false)
+                .questions(new ArrayList<>())
+                .build());
+    }
+
+    private static String validate(PackageQuestion question, boolean adaptive) {
+        if (question.question() == null || question.question().isBlank()) {
+            return "Question text is required";
+        }
+        if (question.options() == null || question.options().isEmpty()) {
+            return "Each question must have options";
+        }
+        if (question.options().size() > AdminService.MAX_OPTIONS) {
+            return "Too many options. Max allowed: " + AdminService.MAX_OPTIONS;
+        }
+        if (adaptive && question.difficulty() == null) {
+            return "Every question of an adaptive test needs a difficulty";
+        }
+        if (question.discrimination() != null && !(question.discrimination() > 0)) {
+            return "Discrimination must be positive";
+        }
+        boolean anyCorrect = false;
+        for (PackageOption option : question.options()) {
+            if (option == null || option.text() == null || option.text().isBlank()) {
+                return "Option text is required";
+            }
+            anyCorrect |= Boolean.TRUE.equals(option.correct());
+        }
+        return anyCorrect ? null : "At least one option must be correct";
+    }
+
+    private void insertQuestions(Long testId, List<PackageQuestion> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(
+                        "INSERT INTO questions (test_id, question_text, irt_discrimination, irt_difficulty) "
+                                + "VALUES (?, ?, ?, ?)", new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, testId);
+                        ps.setString(2, batch.get(i).question());
+                        ps.setObject(3, batch.get(i).discrimination(), Types.DOUBLE);
+                        ps.setObject(4, batch.get(i).difficulty(), Types.DOUBLE);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        List<Object[]> optionRows = new ArrayList<>();
+        List<Question> indexed = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            long questionId = ((Number) generated.get(i).values().iterator().next()).longValue();
+            Question question = Question.builder().id(questionId).questionText(batch.get(i).question()).build();
+            for (PackageOption option : batch.get(i).options()) {
+                optionRows.add(new Object[]{questionId, option.text(), Boolean.TRUE.equals(option.correct())});
+                question.getOptions().add(Option.builder().optionText(option.text()).build());
+            }
+            indexed.add(question);
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO options (question_id, option_text, is_correct) VALUES (?, ?, ?)", optionRows);
+        duplicateQuestionService.indexAfterCommit(testId, indexed);
+    }
+
+    private void writeHeader(JsonGenerator json, Test test) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("format", FORMAT);
+        json.writeNumberField("version", VERSION);
+        json.writeStringField("title", test.getTitle());
+        if (test.getDescription() != null) {
+            json.writeStringField("description", test.getDescription());
+        }
+        json.writeNumberField("timeLimitMinutes", test.getTimeLimitMinutes());
+        json.writeStringField("assignedRole", test.getAssignedRole().name());
+        json.writeStringField("assignedTeam", test.getAssignedTeam().getName());
+        if (test.getAvailableFrom() != null) {
+            json.writeStringField("availableFrom", test.getAvailableFrom().toString());
+        }
+        if (test.getAvailableUntil() != null) {
+            json.writeStringField("availableUntil", test.getAvailableUntil().toString());
+        }
+        if (test.getAdmissionJitterSeconds() != null) {
+            json.writeNumberField("admissionJitterSeconds", test.getAdmissionJitterSeconds());
+        }
+        if (test.getDrawSize() != null) {
+            json.writeNumberField("drawSize", test.getDrawSize());
+        }
+        if (test.isAdaptive() && !test.isResultsReleased()) {
+            json.writeBooleanField("adaptive", true);
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    // One forward pass over questions joined to their options, a line per question
+    private void writeLiveQuestions(JsonGenerator json, Long testId) {
+        long[] currentId = {-1};
+        PackageQuestion[] current = {null};
+        jdbcTemplate.query(
+                "SELECT q.id, q.question_text, q.irt_discrimination, q.irt_difficulty, o.option_text, o.is_correct "
+                        + "FROM questions q JOIN options o ON o.question_id = q.id WHERE q.test_id = ? ORDER BY q.id, o.id",
+                rs -> {
+                    long questionId = rs.getLong(1);
+                    if (questionId != currentId[0]) {
+                        if (currentId[0] >= 0) {
+                            writeQuestionUnchecked(json, current[0]);
+                        }
+                        currentId[0] = questionId;
+                        current[0] = new PackageQuestion(rs.getString(2), new ArrayList<>(),
+                                rs.getObject(3, Double.class), rs.getObject(4, Double.class));
+                    }
+                    current[0].options().add(new PackageOption(rs.getString(5), rs.getBoolean(6)));
+                },
+                testId);
+        if (currentId[0] >= 0) {
+            writeQuestionUnchecked(json, current[0]);
+        }
+    }
+
+    private void writeQuestionUnchecked(JsonGenerator json, PackageQuestion question) {
+        try {
+            writeQuestion(json, question);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeQuestion(JsonGenerator json, PackageQuestion question) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("question", question.question());
+        if (question.discrimination() != null) {
+            json.writeNumberField("discrimination", question.discrimination());
+        }
+        if (question.difficulty() != null) {
+            json.writeNumberField("difficulty", question.difficulty());
+        }
+        json.writeArrayFieldStart("options");
+        for (PackageOption option : question.options()) {
+            json.writeStartObject();
+            json.writeStringField("text", option.text());
+            json.writeBooleanField("correct", Boolean.TRUE.equals(option.correct()));
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+}
@@ -1,23 +1,48 @@
 package com.assessment.platform.service;
 
 import com.assessment.platform.dto.request.AnswerRequest;
+import com.assessment.platform.dto.request.ProctoringEventBatchRequest;
+import com.assessment.platform.dto.request.ProctoringEventRequest;
+import com.assessment.platform.dto.request.SaveProgressRequest;
 import com.assessment.platform.dto.request.SubmitTestRequest;
 import com.assessment.platform.dto.response.*;
 import com.assessment.platform.entity.*;
+import com.assessment.platform.exception.AdmissionDeferredException;
 import com.assessment.platform.exception.BadRequestException;
 import com.assessment.platform.exception.ResourceNotFoundException;
+import com.assessment.platform.exception.ServiceBusyException;
+import com.assessment.platform.metrics.DomainMetrics;
 import com.assessment.platform.repository.*;
 import com.assessment.platform.security.CustomUserDetails;
+import com.assessment.platform.service.ArchiveSegment.ArchivedAnswer;
+import com.assessment.platform.service.ArchiveSegment.ArchivedOption;
+import com.assessment.platform.service.ArchiveSegment.ArchivedQuestion;
+import com.assessment.platform.service.ExamPaperCache.ExamPaper;
+import com.assessment.platform.service.ExamPaperCache.QuestionKey;
+import com.assessment.platform.service.ExamSessionTimer.SessionClosed;
+import com.assessment.platform.service.ExamSessionTimer.SessionStarted;
+import com.assessment.platform.service.LiveSubmissionFeed.CandidateUpdate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,52 +52,181 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TestService {
 
+    // Covers network latency of a submit sent as the client's timer hits zero
+    private static final int SUBMIT_GRACE_MINUTES = 1;
+    private static final long PROCTORING_RETRY_SECONDS = 5;
+    private static final TypeReference<List<AnswerRequest>> ANSWER_LIST = new TypeReference<>() {
+    };
+
+    // An adaptive session's progress: the question awaiting an answer (null once finished), the
+    // answers so far and the log posterior over ability they give
+    record AdaptiveState(Long pendingQuestionId, List<AnswerRequest> answers, double[] logPosterior) {
+    }
+
     private final TestRepository testRepository;
     private final QuestionRepository questionRepository;
     private final OptionRepository optionRepository;
     private final SubmissionRepository submissionRepository;
     private final AnswerRepository answerRepository;
     private final UserRepository userRepository;
-
+    private final TestSessionRepository testSessionRepository;
+    private final ExamPaperCache examPaperCache;
+    private final PresenceRegistry presenceRegistry;
+    private final ProctoringEventStore proctoringEventStore;
+    private final ResultArchive resultArchive;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final DomainMetrics metrics;
+
+    // Papers of tests without a window are dropped after this long
+    @Value("${app.exam-window.paper-ttl-minutes:30}")
+    private long paperTtlMinutes;
+
+    // An adaptive test ends early once the ability estimate is this precise
+    @Value("${app.adaptive.target-standard-error:0.3}")
+    private double targetStandardError;
+
+    @Transactional(readOnly = true)
     public List<TestResponse> getAssignedTests() {
         CustomUserDetails userDetails = getCurrentUser();
-        User user = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         List<Test> tests = testRepository.findByAssignedTeamIdAndAssignedRole(
-                user.getTeam().getId(), user.getRole());
+                userDetails.getTeamId(), Role.valueOf(userDetails.getRole()));
 
         return tests.stream().map(test -> {
-            boolean submitted = submissionRepository.existsByUserIdAndTestId(user.getId(), test.getId());
+            boolean submitted = submissionRepository.existsByUserIdAndTestId(userDetails.getId(), test.getId());
             return mapToTestResponse(test, false, submitted);
         }).collect(Collectors.toList());
     }
 
+    /**
+     * Returns the paper and starts the candidate's session on the first call; later calls resume it
+     * with the server's remaining time and the answers saved so far.
+     */
+    @Transactional
     public TestResponse getTestById(Long testId) {
         CustomUserDetails userDetails = getCurrentUser();
-        Test test = testRepository.findById(testId)
-                .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
-
-        User user = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        if (!test.getAssignedTeam().getId().equals(user.getTeam().getId()) ||
-                !test.getAssignedRole().equals(user.getRole())) {
-            throw new BadRequestException("You are not assigned to this test");
-        }
+        ExamPaper paper = examPaper(testId);
+        checkAssigned(paper, userDetails);
 
-        boolean submitted = submissionRepository.existsByUserIdAndTestId(user.getId(), test.getId());
+        boolean submitted = submissionRepository.existsByUserIdAndTestId(userDetails.getId(), testId);
         
         if (submitted) {
             throw new BadRequestException("You have already submitted this test");
         }
 
         // Prevent taking test if results are released and user hasn't attempted it
-        if (test.isResultsReleased()) {
+        if (!testRepository.existsByIdAndResultsReleasedFalse(testId)) {
             throw new BadRequestException("This test is closed. Results have been released and no further attempts are allowed");
         }
 
-        return mapToTestResponse(test, false, false);
+        LocalDateTime now = LocalDateTime.now();
+        TestSession session = startSession(userDetails, paper, now);
+        return candidatePaper(paper, userDetails.getId()).toBuilder()
+                .session(mapToSessionResponse(session, now))
+                .build();
+    }
+
+    /**
+     * Marks the candidate as present in the test. Once the paper is cached a repeat heartbeat is
+     * memory only; the lazy connection proxy means the read-only transaction never takes a
+     * connection either. Only the first one checks that the candidate's session is still open, so
+     * a heartbeat sent after submitting does not count them again.
+     */
+    @Transactional(readOnly = true)
+    public void heartbeat(Long testId) {
+        CustomUserDetails userDetails = getCurrentUser();
+        ExamPaper paper = examPaper(testId);
+        checkAssigned(paper, userDetails);
+        if (!presenceRegistry.heartbeat(testId, userDetails.getId())
+                && testSessionRepository.existsByUserIdAndTestIdAndStatus(userDetails.getId(), testId, TestSessionStatus.ACTIVE)) {
+            presenceRegistry.arrive(testId, userDetails.getId(), paper.teamId());
+        }
+    }
+
+    /**
+     * Queues a batch of integrity events from the test page for the background writer. Client
+     * clocks are only trusted for ordering: times in the future are recorded as now.
+     */
+    @Transactional(readOnly = true)
+    public void recordProctoringEvents(Long testId, ProctoringEventBatchRequest request) {
+        CustomUserDetails userDetails = getCurrentUser();
+        ExamPaper paper = examPaper(testId);
+        checkAssigned(paper, userDetails);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ProctoringEventStore.Event> events = new ArrayList<>(request.getEvents().size());
+        for (ProctoringEventRequest event : request.getEvents()) {
+            LocalDateTime occurredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getAt()), ZoneId.systemDefault());
+            events.add(new ProctoringEventStore.Event(testId, userDetails.getId(), event.getType(),
+                    occurredAt.isAfter(now) ? now : occurredAt, event.getDetail()));
+        }
+        if (!proctoringEventStore.enqueue(events)) {
+            throw new ServiceBusyException("Too many events right now, please retry shortly", PROCTORING_RETRY_SECONDS);
+        }
+    }
+
+    @Transactional
+    public TestSessionResponse saveProgress(Long testId, SaveProgressRequest request) {
+        CustomUserDetails userDetails = getCurrentUser();
+        TestSession session = testSessionRepository.findByUserIdAndTestId(userDetails.getId(), testId)
+                .orElseThrow(() -> new BadRequestException("Start the test before saving answers"));
+        LocalDateTime now = LocalDateTime.now();
+        checkSessionOpen(session, now);
+
+        // Rejected now rather than failing the auto-submit later
+        ExamPaper paper = examPaper(testId);
+        if (paper.itemPool() != null) {
+            throw new BadRequestException("Adaptive tests keep each answer as it is given");
+        }
+        PaperDraw draw = draw(paper, userDetails.getId());
+        for (AnswerRequest answer : request.getAnswers()) {
+            QuestionKey key = paper.answerKey().get(answer.getQuestionId());
+            if (key == null || draw != null && draw.positionOf(key.index()) < 0) {
+                throw new BadRequestException("Question " + answer.getQuestionId() + " is not part of this test");
+            }
+            if (!key.optionIds().containsAll(selectedOptionIds(draw, key, answer))) {
+                throw new BadRequestException("Invalid option for question " + answer.getQuestionId());
+            }
+        }
+
+        session.setSavedAnswers(writeAnswers(request.getAnswers()));
+        session.setLastSavedAt(now);
+        return mapToSessionResponse(session, now);
+    }
+
+    /**
+     * Submits the saved answers of a session whose time has run out. Returns false when there is
+     * nothing to do: the candidate submitted, another node got there first, or time is not up yet.
+     */
+    @Transactional
+    public boolean autoSubmitSession(Long sessionId) {
+        TestSession session = testSessionRepository.findById(sessionId).orElse(null);
+        if (session == null || session.getStatus() != TestSessionStatus.ACTIVE
+                || LocalDateTime.now().isBefore(submitBy(session.getDeadline()))) {
+            return false;
+        }
+
+        Test test = testRepository.lockForGrading(session.getTest().getId())
+                .orElseThrow(() -> new IllegalStateException("Test of session " + sessionId + " is gone"));
+        User user = session.getUser();
+        boolean closed = test.isResultsReleased()
+                || submissionRepository.existsByUserIdAndTestId(user.getId(), test.getId());
+        if (testSessionRepository.close(sessionId,
+                closed ? TestSessionStatus.EXPIRED : TestSessionStatus.AUTO_SUBMITTED) == 0 || closed) {
+            return false;
+        }
+
+        gradeSession(user, test, session, readAnswers(session.getSavedAnswers()));
+        return true;
+    }
+
+    /**
+     * Loads the paper and answer key of a test into the cache ahead of its window opening.
+     */
+    @Transactional(readOnly = true)
+    public void prewarmExamPaper(Long testId) {
+        testRepository.findById(testId).ifPresent(test -> examPaperCache.put(buildExamPaper(test)));
     }
 
     @Transactional
@@ -81,7 +235,7 @@ public class TestService {
         User user = userRepository.findById(userDetails.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        Test test = testRepository.findById(testId)
+        Test test = testRepository.lockForGrading(testId)
                 .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
 
         if (submissionRepository.existsByUserIdAndTestId(user.getId(), testId)) {
@@ -93,93 +247,202 @@ public class TestService {
             throw new BadRequestException("Cannot submit test - results have been released. Test is now closed for new attempts");
         }
 
-        List<Question> questions = questionRepository.findByTestId(testId);
-        int score = 0;
-        int totalMarks = questions.size();
+        TestSession session = testSessionRepository.findByUserIdAndTestId(user.getId(), testId)
+                .orElseThrow(() -> new BadRequestException("Start the test before submitting it"));
+        checkSessionOpen(session, LocalDateTime.now());
+        if (testSessionRepository.close(session.getId(), TestSessionStatus.SUBMITTED) == 0) {
+            throw new BadRequestException("You have already submitted this test");
+        }
 
-        // Parse ISO timestamp format (handles both with and without timezone)
-        LocalDateTime startTime;
-        try {
-            // Try ISO format first (with 'Z' or timezone)
-            String startTimeStr = request.getStartTime();
-            if (startTimeStr.endsWith("Z")) {
-                startTimeStr = startTimeStr.replace("Z", "");
-            }
-            // Remove milliseconds if present
-            if (startTimeStr.contains(".")) {
-                startTimeStr = startTimeStr.substring(0, startTimeStr.indexOf("."));
+        Submission submission = gradeSession(user, test, session, request.getAnswers());
+        eventPublisher.publishEvent(new SessionClosed(session.getId()));
+        return mapToSubmissionResponse(submission, false);
+    }
+
+    /**
+     * The question an adaptive test asks now: the one awaiting an answer, chosen when the previous
+     * answer came in, or on the first call the most informative question for an average candidate.
+     * Asking again returns the same question, so reloading the page cannot be used to skip one.
+     */
+    @Transactional
+    public AdaptiveStepResponse nextQuestion(Long testId) {
+        CustomUserDetails userDetails = getCurrentUser();
+        ExamPaper paper = examPaper(testId);
+        checkAssigned(paper, userDetails);
+        checkAdaptive(paper);
+
+        TestSession session = testSessionRepository.lockForAdaptiveStep(userDetails.getId(), testId)
+                .orElseThrow(() -> new BadRequestException("Start the test before answering questions"));
+        LocalDateTime now = LocalDateTime.now();
+        checkSessionOpen(session, now);
+
+        AdaptiveState state = readAdaptiveState(session.getAdaptiveState());
+        if (state.pendingQuestionId() == null) {
+            Long first = selectQuestion(paper, state.answers(), AbilityEstimator.estimate(state.logPosterior()));
+            if (first == null) {
+                throw new BadRequestException("There are no more questions; submit the test");
             }
-            startTime = LocalDateTime.parse(startTimeStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        } catch (DateTimeParseException e) {
-            // Fallback to default parsing
-            startTime = LocalDateTime.parse(request.getStartTime());
+            state = new AdaptiveState(first, state.answers(), state.logPosterior());
+            session.setAdaptiveState(writeAdaptiveState(state));
+        }
+        return adaptiveStep(paper, session, state, now);
+    }
+
+    /**
+     * Takes the answer to the pending question of an adaptive test, updates the ability estimate
+     * and picks the next question. The test is submitted and graded instead once the candidate has
+     * had drawSize questions, the estimate's standard error is down to the target, or the pool is
+     * used up.
+     */
+    @Transactional
+    public AdaptiveStepResponse answerAdaptive(Long testId, AnswerRequest answer) {
+        CustomUserDetails userDetails = getCurrentUser();
+        // Same lock order as a submit: the test, then the session
+        Test test = testRepository.lockForGrading(testId)
+                .orElseThrow(() -> new ResourceNotFoundException("Test not found"));
+        ExamPaper paper = examPaper(test);
+        checkAssigned(paper, userDetails);
+        checkAdaptive(paper);
+        if (test.isResultsReleased()) {
+            throw new BadRequestException("Cannot submit test - results have been released. Test is now closed for new attempts");
+        }
+
+        TestSession session = testSessionRepository.lockForAdaptiveStep(userDetails.getId(), testId)
+                .orElseThrow(() -> new BadRequestException("Start the test before answering questions"));
+        LocalDateTime now = LocalDateTime.now();
+        checkSessionOpen(session, now);
+
+        AdaptiveState state = readAdaptiveState(session.getAdaptiveState());
+        if (!answer.getQuestionId().equals(state.pendingQuestionId())) {
+            throw new BadRequestException("Question " + answer.getQuestionId() + " is not the current question");
+        }
+        QuestionKey key = paper.answerKey().get(answer.getQuestionId());
+        List<Long> selected = selectedOptionIds(null, key, answer);
+        if (selected.contains(null) || !key.optionIds().containsAll(selected)) {
+            throw new BadRequestException("Invalid option for question " + answer.getQuestionId());
+        }
+        if (Set.copyOf(selected).size() != selected.size()) {
+            throw new BadRequestException("Option selected twice in question " + answer.getQuestionId());
         }
 
+        double[] item = paper.itemPool().parameters(answer.getQuestionId());
+        double[] logPosterior = state.logPosterior();
+        AbilityEstimator.update(logPosterior, item[0], item[1], isAnswerCorrect(key.correctOptionIds(), selected));
+        AbilityEstimator.Estimate estimate = AbilityEstimator.estimate(logPosterior);
+        List<AnswerRequest> answers = new ArrayList<>(state.answers());
+        answers.add(answer);
+
+        Long next = answers.size() < paper.drawSize() && estimate.standardError() > targetStandardError
+                ? selectQuestion(paper, answers, estimate)
+                : null;
+        AdaptiveState updated = new AdaptiveState(next, answers, logPosterior);
+        session.setAdaptiveState(writeAdaptiveState(updated));
+        session.setLastSavedAt(now);
+        if (next != null) {
+            return adaptiveStep(paper, session, updated, now);
+        }
+
+        // The state above is flushed before this update, so the auto-submit sees every answer
+        if (testSessionRepository.close(session.getId(), TestSessionStatus.SUBMITTED) == 0) {
+            throw new BadRequestException("You have already submitted this test");
+        }
+        User user = userRepository.findById(userDetails.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Submission submission = gradeAndSave(user, test, paper, session.getStartedAt(), answers, estimate);
+        eventPublisher.publishEvent(new SessionClosed(session.getId()));
+        metrics.record("assessment.adaptive.questions", answers.size());
+        return AdaptiveStepResponse.builder()
+                .answered(answers.size())
+                .maxQuestions(paper.drawSize())
+                .finished(true)
+                .submission(mapToSubmissionResponse(submission, false))
+                .build();
+    }
+
+    // Adaptive tests grade the answers given so far, whatever the submit request held
+    private Submission gradeSession(User user, Test test, TestSession session, List<AnswerRequest> submitted) {
+        ExamPaper paper = examPaper(test);
+        if (paper.itemPool() == null) {
+            return gradeAndSave(user, test, paper, session.getStartedAt(), submitted, null);
+        }
+        AdaptiveState state = readAdaptiveState(session.getAdaptiveState());
+        return gradeAndSave(user, test, paper, session.getStartedAt(), state.answers(),
+                AbilityEstimator.estimate(state.logPosterior()));
+    }
+
+    private Submission gradeAndSave(User user, Test test, ExamPaper paper, LocalDateTime startTime,
+                                    List<AnswerRequest> answerRequests, AbilityEstimator.Estimate estimate) {
+        int score = 0;
+        PaperDraw draw = draw(paper, user.getId());
+        // An adaptive test is marked out of the questions the candidate was actually asked
+        int totalMarks = paper.itemPool() != null ? answerRequests.size()
+                : draw != null ? draw.drawSize() : paper.answerKey().size();
+
         Submission submission = Submission.builder()
                 .user(user)
                 .test(test)
                 .startTime(startTime)
                 .endTime(LocalDateTime.now())
                 .totalMarks(totalMarks)
+                .ability(estimate != null ? estimate.ability() : null)
+                .abilityStandardError(estimate != null ? estimate.standardError() : null)
                 .answers(new ArrayList<>())
                 .build();
 
         submission = submissionRepository.save(submission);
 
-        for (AnswerRequest answerReq : request.getAnswers()) {
-            Question question = questionRepository.findById(answerReq.getQuestionId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Question not found: " + answerReq.getQuestionId()));
-
-            List<Long> selectedOptionIds = answerReq.getSelectedOptionIds() != null 
-                    ? answerReq.getSelectedOptionIds() 
-                    : new ArrayList<>();
-
-            // Get all correct option IDs for this question
-            Set<Long> correctOptionIds = question.getOptions().stream()
-                    .filter(Option::isCorrect)
-                    .map(Option::getId)
-                    .collect(Collectors.toSet());
+        Timer.Sample grading = metrics.start();
+        List<Answer> answers = new ArrayList<>();
+        for (AnswerRequest answerReq : answerRequests) {
+            // Graded against the cached answer key; entities are only referenced, never loaded
+            QuestionKey key = paper.answerKey().get(answerReq.getQuestionId());
+            if (key == null || draw != null && draw.positionOf(key.index()) < 0) {
+                throw new ResourceNotFoundException("Question not found: " + answerReq.getQuestionId());
+            }
+            Question question = questionRepository.getReferenceById(answerReq.getQuestionId());
 
-            // Check if answer is correct (all selected must be correct, and all correct must be selected)
-            boolean isCorrect = !correctOptionIds.isEmpty() 
-                    && selectedOptionIds.size() == correctOptionIds.size()
-                    && correctOptionIds.containsAll(selectedOptionIds);
+            List<Long> selectedOptionIds = selectedOptionIds(draw, key, answerReq);
 
-            if (isCorrect) {
+            if (isAnswerCorrect(key.correctOptionIds(), selectedOptionIds)) {
                 score++;
             }
 
             // Create Answer record for each selected option (supports multi-correct)
             for (Long optionId : selectedOptionIds) {
-                Option selectedOption = optionRepository.findById(optionId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Option not found: " + optionId));
+                if (!key.optionIds().contains(optionId)) {
+                    throw new ResourceNotFoundException("Option not found: " + optionId);
+                }
+                Option selectedOption = optionRepository.getReferenceById(optionId);
 
-                Answer answer = Answer.builder()
+                answers.add(Answer.builder()
                         .submission(submission)
                         .question(question)
                         .selectedOption(selectedOption)
-                        .build();
-
-                answerRepository.save(answer);
+                        .build());
             }
 
             // If no option selected, create a single Answer record with null selectedOption
             if (selectedOptionIds.isEmpty()) {
-                Answer answer = Answer.builder()
+                answers.add(Answer.builder()
                         .submission(submission)
                         .question(question)
                         .selectedOption(null)
-                        .build();
-                answerRepository.save(answer);
+                        .build());
             }
         }
+        metrics.stop(grading, "assessment.submission.grading");
+
+        metrics.time("assessment.submission.persist", () -> answerRepository.saveAll(answers));
+        metrics.record("assessment.submission.answers", answers.size());
 
         submission.setScore(score);
         submission = submissionRepository.save(submission);
-
-        return mapToSubmissionResponse(submission, false);
+        metrics.record("assessment.submission.score.percent", totalMarks > 0 ? (score * 100.0) / totalMarks : 0);
+        eventPublisher.publishEvent(new CandidateUpdate(test.getId(), LiveSubmissionFeed.submitted(submission)));
+        return submission;
     }
 
+    @Transactional(readOnly = true)
     public List<SubmissionResponse> getMyResults() {
         CustomUserDetails userDetails = getCurrentUser();
         List<Submission> submissions = submissionRepository.findByUserId(userDetails.getId());
@@ -190,7 +453,7 @@ public class TestService {
                 .collect(Collectors.toList());
     }
 
-    private TestResponse mapToTestResponse(Test test, boolean showCorrectAnswers, boolean alreadySubmitted) {
+    TestResponse mapToTestResponse(Test test, boolean showCorrectAnswers, boolean alreadySubmitted) {
         List<QuestionResponse> questionResponses = test.getQuestions().stream()
                 .map(q -> {
                     long correctCount = q.getOptions().stream()
@@ -218,12 +481,18 @@ public class TestService {
                 .title(test.getTitle())
                 .description(test.getDescription())
                 .timeLimitMinutes(test.getTimeLimitMinutes())
+                .availableFrom(test.getAvailableFrom())
+                .availableUntil(test.getAvailableUntil())
+                .admissionJitterSeconds(test.getAdmissionJitterSeconds())
+                .drawSize(test.getDrawSize())
+                .adaptive(test.isAdaptive())
                 .assignedRole(test.getAssignedRole().name())
                 .assignedTeamId(test.getAssignedTeam().getId())
                 .assignedTeamName(test.getAssignedTeam().getName())
                 .createdByName(test.getCreatedBy().getName())
                 .resultsReleased(test.isResultsReleased())
-                .questions(questionResponses)
+                // Candidates never see a pool, only their draw of drawSize questions
+                .questions(test.getDrawSize() != null ? null : questionResponses)
                 .alreadySubmitted(alreadySubmitted)
                 .createdAt(test.getCreatedAt())
                 .build();
@@ -231,7 +500,9 @@ public class TestService {
 
     SubmissionResponse mapToSubmissionResponse(Submission submission, boolean showAnswerKey) {
         List<AnswerResponse> answerResponses = null;
-        if (showAnswerKey) {
+        if (showAnswerKey && submission.getTest().isResultsReleased()) {
+            answerResponses = archivedAnswerResponses(submission);
+        } else if (showAnswerKey) {
             List<Answer> answers = answerRepository.findBySubmissionId(submission.getId());
             if (!answers.isEmpty()) {
                 // Group answers by question ID
@@ -272,29 +543,10 @@ public class TestService {
                                     .collect(Collectors.toList());
 
                             // Check if answer is correct
-                            boolean isCorrect = !correctOptionIds.isEmpty()
-                                    && selectedOptionIds.size() == correctOptionIds.size()
-                                    && correctOptionIds.containsAll(selectedOptionIds);
-
-                            // For backward compatibility, set single values if only one option
-                            Long selectedOptionId = selectedOptionIds.size() == 1 ? selectedOptionIds.get(0) : null;
-                            String selectedOptionText = selectedOptionTexts.size() == 1 ? selectedOptionTexts.get(0) : null;
-                            Long correctOptionId = correctOptionIds.size() == 1 ? correctOptionIds.get(0) : null;
-                            String correctOptionText = correctOptionTexts.size() == 1 ? correctOptionTexts.get(0) : null;
-
-                            return AnswerResponse.builder()
-                                    .questionId(questionId)
-                                    .questionText(question.getQuestionText())
-                                    .selectedOptionId(selectedOptionId)
-                                    .selectedOptionText(selectedOptionText)
-                                    .selectedOptionIds(selectedOptionIds)
-                                    .selectedOptionTexts(selectedOptionTexts)
-                                    .correctOptionId(correctOptionId)
-                                    .correctOptionText(correctOptionText)
-                                    .correctOptionIds(correctOptionIds)
-                                    .correctOptionTexts(correctOptionTexts)
-                                    .isCorrect(isCorrect)
-                                    .build();
+                            boolean isCorrect = isAnswerCorrect(correctOptionIds, selectedOptionIds);
+
+                            return buildAnswerResponse(questionId, question.getQuestionText(), selectedOptionIds,
+                                    selectedOptionTexts, correctOptionIds, correctOptionTexts, isCorrect);
                         })
                         .collect(Collectors.toList());
             }
@@ -311,10 +563,385 @@ public class TestService {
                 .endTime(submission.getEndTime())
                 .score(submission.getScore())
                 .totalMarks(submission.getTotalMarks())
+                .ability(submission.getAbility())
+                .abilityStandardError(submission.getAbilityStandardError())
                 .answers(answerResponses)
                 .build();
     }
 
+    // Released tests keep their questions and answers only in the archive
+    private List<AnswerResponse> archivedAnswerResponses(Submission submission) {
+        Long testId = submission.getTest().getId();
+        List<ArchivedAnswer> answers = resultArchive.findAnswers(testId, submission.getId()).orElse(null);
+        if (answers == null || answers.isEmpty()) {
+            return null;
+        }
+        Map<Long, List<Long>> selectedByQuestion = new HashMap<>();
+        for (ArchivedAnswer answer : answers) {
+            List<Long> selected = selectedByQuestion.computeIfAbsent(answer.questionId(), id -> new ArrayList<>());
+            if (answer.selectedOptionId() != null) {
+                selected.add(answer.selectedOptionId());
+            }
+        }
+
+        List<AnswerResponse> responses = new ArrayList<>();
+        for (ArchivedQuestion question : resultArchive.findPaper(testId).orElse(List.of())) {
+            List<Long> selectedOptionIds = selectedByQuestion.get(question.id());
+            if (selectedOptionIds == null) {
+                continue;
+            }
+            List<String> selectedOptionTexts = new ArrayList<>();
+            List<Long> correctOptionIds = new ArrayList<>();
+            List<String> correctOptionTexts = new ArrayList<>();
+            for (ArchivedOption option : question.options()) {
+                if (selectedOptionIds.contains(option.id())) {
+                    selectedOptionTexts.add(option.text());
+                }
+                if (option.correct()) {
+                    correctOptionIds.add(option.id());
+                    correctOptionTexts.add(option.text());
+                }
+            }
+            responses.add(buildAnswerResponse(question.id(), question.text(), selectedOptionIds, selectedOptionTexts,
+                    correctOptionIds, correctOptionTexts, isAnswerCorrect(correctOptionIds, selectedOptionIds)));
+        }
+        return responses;
+    }
+
+    private static AnswerResponse buildAnswerResponse(Long questionId, String questionText,
+                                                      List<Long> selectedOptionIds, List<String> selectedOptionTexts,
+                                                      List<Long> correctOptionIds, List<String> correctOptionTexts,
+                                                      boolean isCorrect) {
+        // For backward compatibility, set single values if only one option
+        return AnswerResponse.builder()
+                .questionId(questionId)
+                .questionText(questionText)
+                .selectedOptionId(selectedOptionIds.size() == 1 ? selectedOptionIds.get(0) : null)
+                .selectedOptionText(selectedOptionTexts.size() == 1 ? selectedOptionTexts.get(0) : null)
+                .selectedOptionIds(selectedOptionIds)
+                .selectedOptionTexts(selectedOptionTexts)
+                .correctOptionId(correctOptionIds.size() == 1 ? correctOptionIds.get(0) : null)
+                .correctOptionText(correctOptionTexts.size() == 1 ? correctOptionTexts.get(0) : null)
+                .correctOptionIds(correctOptionIds)
+                .correctOptionTexts(correctOptionTexts)
+                .isCorrect(isCorrect)
+                .build();
+    }
+
+    private ExamPaper examPaper(Long testId) {
+        ExamPaper cached = cachedExamPaper(testId);
+        if (cached != null) {
+            return cached;
+        }
+        return cacheExamPaper(testRepository.findById(testId)
+                .orElseThrow(() -> new ResourceNotFoundException("Test not found")));
+    }
+
+    // Used for grading: the test row is locked, so its key version is the one to grade against
+    private ExamPaper examPaper(Test test) {
+        ExamPaper cached = cachedExamPaper(test.getId());
+        return cached != null && cached.answerKeyVersion() == test.getAnswerKeyVersion() ? cached : cacheExamPaper(test);
+    }
+
+    private ExamPaper cachedExamPaper(Long testId) {
+        ExamPaper cached = examPaperCache.get(testId);
+        metrics.increment("assessment.exam.paper.cache", "result", cached != null ? "hit" : "miss");
+        return cached;
+    }
+
+    private ExamPaper cacheExamPaper(Test test) {
+        ExamPaper paper = buildExamPaper(test);
+        return test.isResultsReleased() ? paper : examPaperCache.put(paper);
+    }
+
+    private ExamPaper buildExamPaper(Test test) {
+        // Pool order is by id, so every node derives the same draw from it
+        List<Question> pool = test.getQuestions().stream()
+                .sorted(Comparator.comparing(Question::getId))
+                .toList();
+        Map<Long, QuestionKey> answerKey = new HashMap<>();
+        boolean pooled = test.getDrawSize() != null;
+        boolean adaptive = test.isAdaptive();
+        List<QuestionResponse> poolResponses = new ArrayList<>(pooled ? pool.size() : 0);
+        List<AdaptiveItemPool.Item> items = new ArrayList<>(adaptive ? pool.size() : 0);
+        for (int index = 0; index < pool.size(); index++) {
+            Question question = pool.get(index);
+            List<Option> options = question.getOptions().stream()
+                    .sorted(Comparator.comparing(Option::getId))
+                    .toList();
+            answerKey.put(question.getId(), questionKey(index, options));
+            if (pooled) {
+                poolResponses.add(QuestionResponse.builder()
+                        .id(question.getId())
+                        .questionText(question.getQuestionText())
+                        // No ids for drawn papers: candidates answer by position, so answers cannot be
+                        // compared by id. Adaptive questions are asked one at a time and keep theirs.
+                        .options(options.stream()
+                                .map(o -> OptionResponse.builder()
+                                        .id(adaptive ? o.getId() : null)
+                                        .optionText(o.getOptionText())
+                                        .build())
+                                .toList())
+                        .multiCorrect(options.stream().filter(Option::isCorrect).count() > 1)
+                        .build());
+            }
+            if (adaptive) {
+                items.add(new AdaptiveItemPool.Item(question.getId(),
+                        question.getIrtDiscrimination() != null ? question.getIrtDiscrimination() : 1.0,
+                        question.getIrtDifficulty()));
+            }
+        }
+
+        TestResponse paper = mapToTestResponse(test, false, false);
+        if (pooled) {
+            paper = paper.toBuilder().questions(poolResponses).build();
+        }
+
+        LocalDateTime expiresAt = test.getAvailableUntil() != null
+                ? test.getAvailableUntil().plusMinutes(test.getTimeLimitMinutes() + SUBMIT_GRACE_MINUTES)
+                : LocalDateTime.now().plusMinutes(paperTtlMinutes);
+        return new ExamPaper(
+                test.getId(),
+                test.getAssignedTeam().getId(),
+                test.getAssignedRole(),
+                test.getAvailableFrom(),
+                test.getAvailableUntil(),
+                test.getAdmissionJitterSeconds() != null ? test.getAdmissionJitterSeconds() : 0,
+                test.getTimeLimitMinutes(),
+                test.getDrawSize(),
+                adaptive ? new AdaptiveItemPool(items) : null,
+                paper,
+                Map.copyOf(answerKey),
+                test.getAnswerKeyVersion(),
+                expiresAt);
+    }
+
+    // Options come in pool order (by id), so optionOrder matches what PaperDraw permutes
+    static QuestionKey questionKey(int index, List<Option> options) {
+        return new QuestionKey(
+                index,
+                options.stream().map(Option::getId).toList(),
+                options.stream().map(Option::getId).collect(Collectors.toUnmodifiableSet()),
+                options.stream().filter(Option::isCorrect).map(Option::getId)
+                        .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    private static PaperDraw draw(ExamPaper paper, Long userId) {
+        return paper.drawSize() != null && paper.itemPool() == null
+                ? PaperDraw.of(paper.testId(), userId, paper.answerKey().size(), paper.drawSize())
+                : null;
+    }
+
+    // The cached paper as is, or for a pooled test the candidate's draw in the order they see it
+    private static TestResponse candidatePaper(ExamPaper paper, Long userId) {
+        if (paper.itemPool() != null) {
+            // Asked one at a time through nextQuestion
+            return paper.paper().toBuilder().questions(null).build();
+        }
+        PaperDraw draw = draw(paper, userId);
+        if (draw == null) {
+            return paper.paper();
+        }
+        List<QuestionResponse> pool = paper.paper().getQuestions();
+        List<QuestionResponse> drawn = new ArrayList<>(draw.drawSize());
+        for (int position = 0; position < draw.drawSize(); position++) {
+            QuestionResponse question = pool.get(draw.questionAt(position));
+            List<OptionResponse> options = question.getOptions();
+            List<OptionResponse> shown = new ArrayList<>(options.size());
+            for (int i = 0; i < options.size(); i++) {
+                shown.add(options.get(draw.optionAt(question.getId(), options.size(), i)));
+            }
+            drawn.add(QuestionResponse.builder()
+                    .id(question.getId())
+                    .questionText(question.getQuestionText())
+                    .options(shown)
+                    .multiCorrect(question.isMultiCorrect())
+                    .build());
+        }
+        return paper.paper().toBuilder().questions(drawn).build();
+    }
+
+    /**
+     * The option ids an answer selects. A pooled test is answered by the positions the candidate
+     * saw, which map back through the draw to the question's pool order.
+     */
+    static List<Long> selectedOptionIds(PaperDraw draw, QuestionKey key, AnswerRequest answer) {
+        if (draw == null) {
+            if (answer.getSelectedPositions() != null) {
+                throw new BadRequestException("Answer this test with option ids");
+            }
+            return answer.getSelectedOptionIds() != null ? answer.getSelectedOptionIds() : new ArrayList<>();
+        }
+        if (answer.getSelectedOptionIds() != null && !answer.getSelectedOptionIds().isEmpty()) {
+            throw new BadRequestException("Answer this test with option positions");
+        }
+        List<Integer> positions = answer.getSelectedPositions() != null ? answer.getSelectedPositions() : List.of();
+        int optionCount = key.optionOrder().size();
+        List<Long> selected = new ArrayList<>(positions.size());
+        for (Integer position : positions) {
+            if (position == null || position < 0 || position >= optionCount) {
+                throw new BadRequestException("Invalid option for question " + answer.getQuestionId());
+            }
+            Long optionId = key.optionOrder().get(draw.optionAt(answer.getQuestionId(), optionCount, position));
+            if (selected.contains(optionId)) {
+                throw new BadRequestException("Option selected twice in question " + answer.getQuestionId());
+            }
+            selected.add(optionId);
+        }
+        return selected;
+    }
+
+    // The most informative question not asked yet at the current estimate; null once the pool is used up
+    private Long selectQuestion(ExamPaper paper, List<AnswerRequest> answers, AbilityEstimator.Estimate estimate) {
+        Set<Long> asked = answers.stream().map(AnswerRequest::getQuestionId).collect(Collectors.toSet());
+        long id = metrics.time("assessment.adaptive.select",
+                () -> paper.itemPool().select(estimate.ability(), asked));
+        return id >= 0 ? id : null;
+    }
+
+    private static AdaptiveStepResponse adaptiveStep(ExamPaper paper, TestSession session, AdaptiveState state,
+                                                     LocalDateTime now) {
+        QuestionKey key = paper.answerKey().get(state.pendingQuestionId());
+        return AdaptiveStepResponse.builder()
+                .question(paper.paper().getQuestions().get(key.index()))
+                .answered(state.answers().size())
+                .maxQuestions(paper.drawSize())
+                .remainingSeconds(Math.max(0, Duration.between(now, session.getDeadline()).toSeconds()))
+                .build();
+    }
+
+    private static void checkAdaptive(ExamPaper paper) {
+        if (paper.itemPool() == null) {
+            throw new BadRequestException("This test is not adaptive");
+        }
+    }
+
+    private TestSession startSession(CustomUserDetails userDetails, ExamPaper paper, LocalDateTime now) {
+        Long userId = userDetails.getId();
+        TestSession session = testSessionRepository.findByUserIdAndTestId(userId, paper.testId()).orElse(null);
+        if (session == null) {
+            // The window only gates starting; a session started in time can be resumed after it closes
+            checkExamWindow(paper, userId, now);
+            int created = testSessionRepository.insertIfAbsent(
+                    userId, paper.testId(), now, now.plusMinutes(paper.timeLimitMinutes()));
+            // Locking read: sees the row even if a concurrent fetch committed it after our snapshot
+            session = testSessionRepository.lockByUserIdAndTestId(userId, paper.testId())
+                    .orElseThrow(() -> new IllegalStateException("Session for test " + paper.testId() + " not created"));
+            if (created == 1) {
+                eventPublisher.publishEvent(new CandidateUpdate(paper.testId(),
+                        LiveSubmissionFeed.started(session, userDetails.getName(), userDetails.getEmail())));
+            }
+        }
+        checkSessionOpen(session, now);
+        // Also re-registers sessions started on another node, or before this one restarted
+        eventPublisher.publishEvent(new SessionStarted(session.getId(), session.getDeadline()));
+        return session;
+    }
+
+    private static void checkAssigned(ExamPaper paper, CustomUserDetails userDetails) {
+        if (!paper.teamId().equals(userDetails.getTeamId()) ||
+                !paper.role().name().equals(userDetails.getRole())) {
+            throw new BadRequestException("You are not assigned to this test");
+        }
+    }
+
+    private static void checkSessionOpen(TestSession session, LocalDateTime now) {
+        if (session.getStatus() == TestSessionStatus.EXPIRED) {
+            throw new BadRequestException("Your time for this test has run out");
+        }
+        if (session.getStatus() != TestSessionStatus.ACTIVE) {
+            throw new BadRequestException("You have already submitted this test");
+        }
+        if (now.isAfter(submitBy(session.getDeadline()))) {
+            throw new BadRequestException("Time is up. Your saved answers are being submitted automatically");
+        }
+    }
+
+    static LocalDateTime submitBy(LocalDateTime deadline) {
+        return deadline.plusMinutes(SUBMIT_GRACE_MINUTES);
+    }
+
+    private TestSessionResponse mapToSessionResponse(TestSession session, LocalDateTime now) {
+        return TestSessionResponse.builder()
+                .startedAt(session.getStartedAt())
+                .deadline(session.getDeadline())
+                .remainingSeconds(Math.max(0, Duration.between(now, session.getDeadline()).toSeconds()))
+                .lastSavedAt(session.getLastSavedAt())
+                .savedAnswers(readAnswers(session.getSavedAnswers()))
+                .build();
+    }
+
+    private List<AnswerRequest> readAnswers(String json) {
+        if (json == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, ANSWER_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable saved answers: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private String writeAnswers(List<AnswerRequest> answers) {
+        try {
+            return objectMapper.writeValueAsString(answers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize answers: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private AdaptiveState readAdaptiveState(String json) {
+        if (json == null) {
+            return new AdaptiveState(null, List.of(), AbilityEstimator.prior());
+        }
+        try {
+            return objectMapper.readValue(json, AdaptiveState.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable adaptive state: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private String writeAdaptiveState(AdaptiveState state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize adaptive state: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private void checkExamWindow(ExamPaper paper, Long userId, LocalDateTime now) {
+        if (paper.availableFrom() != null && now.isBefore(paper.availableFrom())) {
+            throw new BadRequestException("This test opens at " + paper.availableFrom());
+        }
+        if (paper.availableUntil() != null && now.isAfter(paper.availableUntil())) {
+            throw new BadRequestException("This test closed at " + paper.availableUntil());
+        }
+        if (paper.admissionJitterSeconds() > 0) {
+            LocalDateTime admitAt = paper.availableFrom().plus(
+                    admissionDelayMillis(userId, paper.testId(), paper.admissionJitterSeconds()), ChronoUnit.MILLIS);
+            if (now.isBefore(admitAt)) {
+                long waitMillis = Duration.between(now, admitAt).toMillis();
+                throw new AdmissionDeferredException(admitAt, Math.max(1, (waitMillis + 999) / 1000));
+            }
+        }
+    }
+
+    // Stable per candidate and test, and spread evenly over the jitter window
+    static long admissionDelayMillis(long userId, long testId, int jitterSeconds) {
+        long hash = userId * 0x9E3779B97F4A7C15L ^ testId;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return Math.floorMod(hash, jitterSeconds * 1000L);
+    }
+
+    // All selected must be correct, and all correct must be selected
+    static boolean isAnswerCorrect(Collection<Long> correctOptionIds, List<Long> selectedOptionIds) {
+        return !correctOptionIds.isEmpty()
+                && selectedOptionIds.size() == correctOptionIds.size()
+                && correctOptionIds.containsAll(selectedOptionIds);
+    }
+
     private CustomUserDetails getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         return (CustomUserDetails) auth.getPrincipal();
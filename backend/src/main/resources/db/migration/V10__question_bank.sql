@@ -0,0 +1,38 @@
+-- Reusable question bank with tags. A test that uses a bank question still gets its own copy
+-- (grading, answer-key corrections and archives work on the copy); questions.bank_question_id
+-- records where the copy came from. Bank questions are soft-deleted so those links stay valid,
+-- and updated_at lets every node pick up changes for its search index.
+
+CREATE TABLE bank_questions (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    question_text  TEXT         NOT NULL,
+    difficulty     VARCHAR(10),
+    team_type      VARCHAR(20),
+    created_by     BIGINT       NOT NULL,
+    created_at     DATETIME(6)  NOT NULL,
+    updated_at     DATETIME(6)  NOT NULL,
+    deleted        BIT          NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bank_questions_created_by FOREIGN KEY (created_by) REFERENCES users (id),
+    INDEX idx_bank_questions_updated_at (updated_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE bank_options (
+    id                BIGINT  NOT NULL AUTO_INCREMENT,
+    bank_question_id  BIGINT  NOT NULL,
+    option_text       TEXT    NOT NULL,
+    is_correct        BIT     NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bank_options_question FOREIGN KEY (bank_question_id) REFERENCES bank_questions (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE bank_question_tags (
+    bank_question_id  BIGINT       NOT NULL,
+    tag               VARCHAR(50)  NOT NULL,
+    PRIMARY KEY (bank_question_id, tag),
+    CONSTRAINT fk_bank_question_tags_question FOREIGN KEY (bank_question_id) REFERENCES bank_questions (id)
+) ENGINE = InnoDB;
+
+ALTER TABLE questions
+    ADD COLUMN bank_question_id BIGINT,
+    ADD CONSTRAINT fk_questions_bank_question FOREIGN KEY (bank_question_id) REFERENCES bank_questions (id);
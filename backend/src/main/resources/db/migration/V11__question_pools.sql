@@ -0,0 +1,5 @@
+-- Question pools: each candidate gets draw_size questions of the test, drawn and shuffled from
+-- (test id, user id). NULL keeps the old behaviour, the whole test in the same order for everyone.
+
+ALTER TABLE tests
+    ADD COLUMN draw_size INT;
@@ -0,0 +1,17 @@
+-- Adaptive tests: questions carry two-parameter logistic item parameters, each answer picks the
+-- next question, and the session keeps the running ability estimate. The submission records the
+-- final estimate next to the raw score.
+
+ALTER TABLE tests
+    ADD COLUMN adaptive BIT NOT NULL DEFAULT 0;
+
+ALTER TABLE questions
+    ADD COLUMN irt_discrimination DOUBLE,
+    ADD COLUMN irt_difficulty DOUBLE;
+
+ALTER TABLE test_sessions
+    ADD COLUMN adaptive_state TEXT;
+
+ALTER TABLE submissions
+    ADD COLUMN ability DOUBLE,
+    ADD COLUMN ability_standard_error DOUBLE;
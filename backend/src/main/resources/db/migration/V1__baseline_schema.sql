@@ -0,0 +1,87 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update) for MySQL 8.
+-- Databases that already have these tables are baselined at this version and skip it.
+
+CREATE TABLE teams (
+    id   BIGINT       NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    type ENUM ('DEV','DATA','DEVOPS') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_teams_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    name              VARCHAR(255) NOT NULL,
+    email             VARCHAR(255) NOT NULL,
+    password          VARCHAR(255) NOT NULL,
+    team_id           BIGINT,
+    role              ENUM ('ADMIN','TRAINEE','INTERN','PPO','TL','TR') NOT NULL,
+    team_lead_name    VARCHAR(255),
+    description       TEXT,
+    using2fa          BIT          NOT NULL,
+    two_factor_secret VARCHAR(255),
+    created_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT fk_users_team FOREIGN KEY (team_id) REFERENCES teams (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE tests (
+    id                    BIGINT       NOT NULL AUTO_INCREMENT,
+    title                 VARCHAR(255) NOT NULL,
+    description           TEXT,
+    time_limit_minutes    INTEGER      NOT NULL,
+    assigned_role         ENUM ('ADMIN','TRAINEE','INTERN','PPO','TL','TR') NOT NULL,
+    assigned_team_id      BIGINT       NOT NULL,
+    created_by            BIGINT       NOT NULL,
+    results_released      BIT          NOT NULL,
+    total_submissions     INTEGER,
+    average_score_percent FLOAT(53),
+    pass_rate_percent     FLOAT(53),
+    created_at            DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_tests_team FOREIGN KEY (assigned_team_id) REFERENCES teams (id),
+    CONSTRAINT fk_tests_created_by FOREIGN KEY (created_by) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE questions (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    test_id       BIGINT NOT NULL,
+    question_text TEXT   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_questions_test FOREIGN KEY (test_id) REFERENCES tests (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE options (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    question_id BIGINT NOT NULL,
+    option_text TEXT   NOT NULL,
+    is_correct  BIT    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_options_question FOREIGN KEY (question_id) REFERENCES questions (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE submissions (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT      NOT NULL,
+    test_id     BIGINT      NOT NULL,
+    start_time  DATETIME(6) NOT NULL,
+    end_time    DATETIME(6),
+    score       INTEGER,
+    total_marks INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_submissions_user_test UNIQUE (user_id, test_id),
+    CONSTRAINT fk_submissions_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_submissions_test FOREIGN KEY (test_id) REFERENCES tests (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE answers (
+    id                 BIGINT NOT NULL AUTO_INCREMENT,
+    submission_id      BIGINT NOT NULL,
+    question_id        BIGINT NOT NULL,
+    selected_option_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_answers_submission FOREIGN KEY (submission_id) REFERENCES submissions (id),
+    CONSTRAINT fk_answers_question FOREIGN KEY (question_id) REFERENCES questions (id),
+    CONSTRAINT fk_answers_option FOREIGN KEY (selected_option_id) REFERENCES options (id)
+) ENGINE = InnoDB;
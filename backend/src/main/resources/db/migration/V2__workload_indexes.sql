@@ -0,0 +1,23 @@
+-- Indexes for the repository access paths. An explicit index on a foreign key column replaces
+-- the implicit one InnoDB created for the constraint.
+
+-- TestRepository.findByAssignedTeamIdAndAssignedRole / findByAssignedTeamId
+CREATE INDEX idx_tests_team_role ON tests (assigned_team_id, assigned_role);
+
+-- TestRepository.findFirstByTitleIgnoreCase compares upper(title) = upper(?)
+CREATE INDEX idx_tests_title_upper ON tests ((UPPER(title)));
+
+-- SubmissionRepository.findByTestId; findByUserId and the (user, test) lookups use uk_submissions_user_test
+CREATE INDEX idx_submissions_test_user ON submissions (test_id, user_id);
+
+-- AnswerRepository.findBySubmissionId / deleteBySubmissionId, covering the grading columns
+CREATE INDEX idx_answers_submission ON answers (submission_id, question_id, selected_option_id);
+
+-- QuestionRepository.findByTestId / deleteByTestId
+CREATE INDEX idx_questions_test ON questions (test_id);
+
+-- Question.options collection loads and findByIdWithOptions
+CREATE INDEX idx_options_question ON options (question_id, is_correct);
+
+-- UserRepository.findByTeamId / findByTeamIdAndRole
+CREATE INDEX idx_users_team_role ON users (team_id, role);
@@ -0,0 +1,13 @@
+-- Cluster-wide leases for jobs that must run on exactly one node at a time (JobLeaseService).
+-- Rows are kept after release so fencing tokens keep increasing; old ones are purged daily.
+
+CREATE TABLE job_leases (
+    name          VARCHAR(191) NOT NULL,
+    owner         VARCHAR(191) NOT NULL,
+    fencing_token BIGINT       NOT NULL,
+    acquired_at   DATETIME(6)  NOT NULL,
+    heartbeat_at  DATETIME(6)  NOT NULL,
+    expires_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (name),
+    INDEX idx_job_leases_expires (expires_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,9 @@
+-- Scheduled exam windows: when a test can be started, and the optional admission jitter that
+-- spreads candidates over the first seconds after opening.
+
+ALTER TABLE tests
+    ADD COLUMN available_from           DATETIME(6) NULL,
+    ADD COLUMN available_until          DATETIME(6) NULL,
+    ADD COLUMN admission_jitter_seconds INT         NULL;
+
+CREATE INDEX idx_tests_available_from ON tests (available_from);
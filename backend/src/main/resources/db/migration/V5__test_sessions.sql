@@ -0,0 +1,19 @@
+-- Server-side exam sessions: when a candidate started a test, when their time runs out and the
+-- answers saved so far, which are auto-submitted at the deadline.
+
+CREATE TABLE test_sessions (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id        BIGINT      NOT NULL,
+    test_id        BIGINT      NOT NULL,
+    started_at     DATETIME(6) NOT NULL,
+    deadline       DATETIME(6) NOT NULL,
+    status         VARCHAR(20) NOT NULL,
+    saved_answers  TEXT,
+    last_saved_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_test_sessions_user_test UNIQUE (user_id, test_id),
+    CONSTRAINT fk_test_sessions_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_test_sessions_test FOREIGN KEY (test_id) REFERENCES tests (id),
+    INDEX idx_test_sessions_status_deadline (status, deadline),
+    INDEX idx_test_sessions_test (test_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,13 @@
+-- Integrity signals sent by the test page (tab switches, focus loss, copy/paste, fullscreen exits).
+-- Append-only and written in multi-row batches, so no foreign keys to check on every insert.
+
+CREATE TABLE proctoring_events (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    test_id      BIGINT       NOT NULL,
+    user_id      BIGINT       NOT NULL,
+    type         VARCHAR(20)  NOT NULL,
+    occurred_at  DATETIME(6)  NOT NULL,
+    detail       VARCHAR(255),
+    PRIMARY KEY (id),
+    INDEX idx_proctoring_events_test_user (test_id, user_id, occurred_at)
+) ENGINE = InnoDB;
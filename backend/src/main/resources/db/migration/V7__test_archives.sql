@@ -0,0 +1,11 @@
+-- Released tests: paper, answer key and answers as one compressed segment per test (see
+-- ResultArchive). Written by the release transaction that deletes the hot rows.
+
+CREATE TABLE test_archives (
+    test_id           BIGINT      NOT NULL,
+    submission_count  INT         NOT NULL,
+    segment           LONGBLOB    NOT NULL,
+    created_at        DATETIME(6) NOT NULL,
+    PRIMARY KEY (test_id),
+    CONSTRAINT fk_test_archives_test FOREIGN KEY (test_id) REFERENCES tests (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,24 @@
+-- Answer-key corrections: tests carry a key version so every node notices a changed key, and each
+-- re-grade run records its progress where any node can report it.
+
+ALTER TABLE tests
+    ADD COLUMN answer_key_version INT NOT NULL DEFAULT 0;
+
+CREATE TABLE regrade_jobs (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    test_id          BIGINT       NOT NULL,
+    status           VARCHAR(20)  NOT NULL,
+    total            INT          NOT NULL DEFAULT 0,
+    processed        INT          NOT NULL DEFAULT 0,
+    score_up         INT          NOT NULL DEFAULT 0,
+    score_down       INT          NOT NULL DEFAULT 0,
+    unchanged        INT          NOT NULL DEFAULT 0,
+    error            VARCHAR(255),
+    started_at       DATETIME(6)  NOT NULL,
+    updated_at       DATETIME(6)  NOT NULL,
+    finished_at      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_regrade_jobs_test FOREIGN KEY (test_id) REFERENCES tests (id),
+    INDEX idx_regrade_jobs_test_status (test_id, status),
+    INDEX idx_regrade_jobs_status_updated (status, updated_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,3 @@
+-- Date-range exports page through submissions in (end_time, id) order; InnoDB appends the primary
+-- key to the index, so each keyset page is one range read.
+CREATE INDEX idx_submissions_end_time ON submissions (end_time);
@@ -0,0 +1,125 @@
+package com.assessment.platform.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs a known number of statements through Hibernate (H2 in memory) inside one filtered request
+ * and checks what the filter, the inspector and the advice make of them.
+ */
+class SqlBudgetTest {
+
+    private static final String ENDPOINT = "GET /api/tests/{id}";
+
+    private static SessionFactory sessionFactory;
+
+    private final SqlBudgetProperties properties = new SqlBudgetProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlBudgetFilter filter = new SqlBudgetFilter(properties, new DomainMetrics(registry));
+    private final SqlBudgetAdvice advice = new SqlBudgetAdvice(properties);
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeAll
+    static void startHibernate() {
+        sessionFactory = new Configuration()
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:sql-budget;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setStatementInspector(new SqlStatementInspector(3))
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    static void stopHibernate() {
+        sessionFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties.setHeaders(true);
+        properties.setEndpoints(Map.of(ENDPOINT, 4));
+        request = new MockHttpServletRequest("GET", "/api/tests/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tests/{id}");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void countsEveryStatementOfTheRequest() throws Exception {
+        SqlRequestStats[] seen = new SqlRequestStats[1];
+        filter.doFilter(request, response, chain(3, () -> seen[0] = SqlRequestStats.current()));
+
+        assertThat(seen[0].statements()).isEqualTo(4);
+        assertThat(seen[0].repeatedStatements()).hasSize(1);
+        assertThat(response.getHeader(SqlBudgetAdvice.STATEMENTS_HEADER)).isEqualTo("4");
+        assertThat(response.getHeader(SqlBudgetAdvice.REPEATED_HEADER)).isEqualTo("1");
+        assertThat(response.getHeader(SqlBudgetAdvice.BUDGET_HEADER)).isEqualTo("4");
+        assertThat(registry.summary("assessment.sql.statements", "method", "GET", "uri", "/api/tests/{id}")
+                .totalAmount()).isEqualTo(4);
+        assertThat(registry.find("assessment.sql.budget.exceeded").counter()).isNull();
+        assertThat(SqlRequestStats.current()).isNull();
+    }
+
+    @Test
+    void overBudgetIsRecordedButAllowedWhenNotStrict() throws Exception {
+        filter.doFilter(request, response, chain(4, () -> {
+        }));
+
+        assertThat(response.getHeader(SqlBudgetAdvice.STATEMENTS_HEADER)).isEqualTo("5");
+        assertThat(registry.counter("assessment.sql.budget.exceeded", "method", "GET", "uri", "/api/tests/{id}")
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void overBudgetFailsTheRequestWhenStrict() {
+        properties.setStrict(true);
+
+        assertThatThrownBy(() -> filter.doFilter(request, response, chain(4, () -> {
+        })))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(ENDPOINT + " ran 5 SQL statements, budget is 4");
+        assertThat(registry.counter("assessment.sql.budget.exceeded", "method", "GET", "uri", "/api/tests/{id}")
+                .count()).isEqualTo(1);
+    }
+
+    /**
+     * A handler that runs one distinct query plus the same query {@code repeats} times, then writes
+     * its body through the advice.
+     */
+    private FilterChain chain(int repeats, Runnable inRequest) {
+        return (req, res) -> {
+            try (Session session = sessionFactory.openSession()) {
+                session.createNativeQuery("SELECT 1", Integer.class).getSingleResult();
+                for (int i = 0; i < repeats; i++) {
+                    session.createNativeQuery("SELECT 2", Integer.class).getSingleResult();
+                }
+            }
+            inRequest.run();
+            ServletServerHttpResponse body = new ServletServerHttpResponse(response);
+            advice.beforeBodyWrite("body", null, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                    new ServletServerHttpRequest(request), body);
+            body.flush(); // what the message converter does once the body is written
+        };
+    }
+}
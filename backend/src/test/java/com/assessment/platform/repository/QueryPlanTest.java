@@ -0,0 +1,153 @@
+package com.assessment.platform.repository;
+
+import com.assessment.platform.entity.Role;
+import com.assessment.platform.service.QuestionBankService;
+import com.assessment.platform.service.SubmissionExporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the real repository methods (and the two JDBC hot paths) against a MySQL database that
+ * Flyway has migrated on startup, and fails if MySQL executed any of their statements without an
+ * index. What MySQL actually did is read back from performance_schema for the test's own
+ * connection, so nothing here restates the SQL Hibernate generates.
+ *
+ * Needs a database loaded with the synthetic profile; on near-empty tables the optimizer
+ * prefers scans anyway. Skipped unless a database is given:
+ *
+ *   mvn test -Dtest=QueryPlanTest -Dqueryplan.url=jdbc:mysql://localhost:3306/assessment_platform \
+ *       -Dqueryplan.username=root -Dqueryplan.password=secret
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@EnabledIfSystemProperty(named = "queryplan.url", matches = ".+")
+class QueryPlanTest {
+
+    // Keeps the last 10 statements per thread by default, plenty for one repository call
+    private static final String LAST_EVENT =
+            "SELECT COALESCE(MAX(EVENT_ID), 0) FROM performance_schema.events_statements_history WHERE THREAD_ID = ?";
+    private static final String SCANS =
+            "SELECT SQL_TEXT FROM performance_schema.events_statements_history "
+                    + "WHERE THREAD_ID = ? AND EVENT_ID > ? AND NO_INDEX_USED = 1 "
+                    + "AND SQL_TEXT NOT LIKE '%performance_schema%' ORDER BY EVENT_ID";
+
+    @Autowired
+    private AnswerRepository answerRepository;
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TestRepository testRepository;
+    @Autowired
+    private TestSessionRepository testSessionRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SubmissionExporter submissionExporter;
+    @Autowired
+    private QuestionBankService questionBankService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("queryplan.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("queryplan.username", "root"));
+        registry.add("spring.datasource.password", () -> System.getProperty("queryplan.password", ""));
+    }
+
+    @Test
+    void repositoryQueriesUseAnIndex() {
+        assumeTrue(lookup("SELECT COUNT(*) FROM submissions", Long.class) >= 10_000,
+                "needs the synthetic data set");
+
+        Long submissionId = lookup("SELECT MAX(submission_id) FROM answers", Long.class);
+        Long testId = lookup("SELECT MAX(test_id) FROM questions", Long.class);
+        Long questionId = lookup("SELECT MAX(id) FROM questions", Long.class);
+        Long userId = lookup("SELECT MAX(user_id) FROM submissions", Long.class);
+        Long teamId = lookup("SELECT MIN(id) FROM teams", Long.class);
+        String teamName = lookup("SELECT MIN(name) FROM teams", String.class);
+        String title = lookup("SELECT LOWER(MAX(title)) FROM tests", String.class);
+        String email = lookup("SELECT MAX(email) FROM users", String.class);
+        LocalDateTime firstEnd = lookup("SELECT MIN(end_time) FROM submissions", LocalDateTime.class);
+
+        List<String> scans = new ArrayList<>();
+        check(scans, "AnswerRepository.findBySubmissionId", () -> answerRepository.findBySubmissionId(submissionId));
+        check(scans, "QuestionRepository.findByTestId", () -> questionRepository.findByTestId(testId));
+        check(scans, "QuestionRepository.findByIdWithOptions", () -> questionRepository.findByIdWithOptions(questionId));
+        check(scans, "Question.options (lazy collection)",
+                () -> questionRepository.findById(questionId).orElseThrow().getOptions().size());
+        check(scans, "SubmissionRepository.existsByUserIdAndTestId",
+                () -> submissionRepository.existsByUserIdAndTestId(userId, testId));
+        check(scans, "SubmissionRepository.findByUserIdAndTestId",
+                () -> submissionRepository.findByUserIdAndTestId(userId, testId));
+        check(scans, "SubmissionRepository.findByTestId", () -> submissionRepository.findByTestId(testId));
+        check(scans, "SubmissionRepository.findByUserId", () -> submissionRepository.findByUserId(userId));
+        check(scans, "SubmissionRepository.findByTestIdEndedAfterWithUser",
+                () -> submissionRepository.findByTestIdEndedAfterWithUser(testId, firstEnd));
+        check(scans, "TeamRepository.findByName", () -> teamRepository.findByName(teamName));
+        check(scans, "TestRepository.findByAssignedTeamIdAndAssignedRole",
+                () -> testRepository.findByAssignedTeamIdAndAssignedRole(teamId, Role.TRAINEE));
+        check(scans, "TestRepository.findByAssignedTeamId", () -> testRepository.findByAssignedTeamId(teamId));
+        check(scans, "TestRepository.findFirstByTitleIgnoreCase", () -> testRepository.findFirstByTitleIgnoreCase(title));
+        check(scans, "TestSessionRepository.findByUserIdAndTestId",
+                () -> testSessionRepository.findByUserIdAndTestId(userId, testId));
+        check(scans, "UserRepository.findByEmail", () -> userRepository.findByEmail(email));
+        check(scans, "UserRepository.findByTeamId", () -> userRepository.findByTeamId(teamId));
+        check(scans, "UserRepository.findByTeamIdAndRole", () -> userRepository.findByTeamIdAndRole(teamId, Role.TRAINEE));
+        check(scans, "SubmissionExporter date-range page", () -> export(firstEnd, firstEnd.plusMinutes(1)));
+        check(scans, "QuestionBankService.pollChanges", questionBankService::pollChanges);
+
+        assertThat(scans).as("statements MySQL ran without an index").isEmpty();
+    }
+
+    /**
+     * Runs call on one connection inside a rolled-back transaction and adds every statement it ran
+     * without an index to scans.
+     */
+    private void check(List<String> scans, String name, Runnable call) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Long thread = jdbcTemplate.queryForObject("SELECT PS_CURRENT_THREAD_ID()", Long.class);
+            Long mark = jdbcTemplate.queryForObject(LAST_EVENT, Long.class, thread);
+            call.run();
+            jdbcTemplate.query(SCANS, rs -> {
+                scans.add(name + ": " + rs.getString(1));
+            }, thread, mark);
+            status.setRollbackOnly();
+        });
+    }
+
+    private void export(LocalDateTime from, LocalDateTime to) {
+        try {
+            submissionExporter.export(new SubmissionExporter.ExportQuery(null, from, to, null),
+                    OutputStream.nullOutputStream(), false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T lookup(String sql, Class<T> type) {
+        return jdbcTemplate.queryForObject(sql, type);
+    }
+}
@@ -0,0 +1,87 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.entity.RegradeJob;
+import com.assessment.platform.entity.RegradeJobStatus;
+import com.assessment.platform.entity.Role;
+import com.assessment.platform.entity.Team;
+import com.assessment.platform.entity.TeamType;
+import com.assessment.platform.entity.User;
+import com.assessment.platform.repository.RegradeJobRepository;
+import com.assessment.platform.repository.TeamRepository;
+import com.assessment.platform.repository.TestRepository;
+import com.assessment.platform.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Releases tests against H2 (MySQL mode). The schema comes from the entities, so the foreign keys
+ * the migrations add on id columns without a mapped association are added here by hand.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:release;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+                + "NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ReleaseResultsTest {
+
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestRepository testRepository;
+    @Autowired
+    private RegradeJobRepository regradeJobRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void releasesTestWithoutSubmissionsAfterAnswerKeyCorrection() {
+        // As in V8__regrade_jobs.sql
+        jdbcTemplate.execute("ALTER TABLE regrade_jobs ADD CONSTRAINT fk_regrade_jobs_test "
+                + "FOREIGN KEY (test_id) REFERENCES tests (id)");
+
+        Team team = teamRepository.save(Team.builder().name("Release").type(TeamType.DEV).build());
+        User admin = userRepository.save(User.builder()
+                .name("Admin")
+                .email("admin@release.local")
+                .password("unused")
+                .role(Role.ADMIN)
+                .team(team)
+                .build());
+        com.assessment.platform.entity.Test test = testRepository.save(com.assessment.platform.entity.Test.builder()
+                .title("Nobody took this")
+                .timeLimitMinutes(30)
+                .assignedRole(Role.TRAINEE)
+                .assignedTeam(team)
+                .createdBy(admin)
+                .build());
+        // What an answer-key correction leaves behind once its (empty) re-grade completes
+        LocalDateTime now = LocalDateTime.now();
+        regradeJobRepository.save(RegradeJob.builder()
+                .testId(test.getId())
+                .status(RegradeJobStatus.COMPLETED)
+                .startedAt(now)
+                .updatedAt(now)
+                .finishedAt(now)
+                .build());
+
+        adminService.releaseResults(test.getId());
+
+        assertThat(testRepository.existsById(test.getId())).isFalse();
+        assertThat(regradeJobRepository.findFirstByTestIdOrderByIdDesc(test.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,81 @@
+package com.assessment.platform.benchmark;
+
+import com.assessment.platform.service.AbilityEstimator;
+import com.assessment.platform.service.AdaptiveItemPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One step of an adaptive test: adding an answer to the ability estimate, then picking the most
+ * informative question not yet asked. Runs on every answer, so it should stay in microseconds
+ * however large the calibrated pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdaptiveSelectionBenchmark {
+
+    @Param({"500", "100000"})
+    public int poolSize;
+
+    // Questions already asked, excluded from selection
+    @Param({"30"})
+    public int asked;
+
+    private AdaptiveItemPool pool;
+    private Set<Long> administered;
+    private double[] logPosterior;
+    private double[] abilities;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        List<AdaptiveItemPool.Item> items = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            // Log-normal discriminations around 1, normal difficulties: a typical calibrated bank
+            double discrimination = Math.exp(0.3 * gaussian(random));
+            items.add(new AdaptiveItemPool.Item(i, discrimination, gaussian(random)));
+        }
+        pool = new AdaptiveItemPool(items);
+
+        administered = new HashSet<>();
+        logPosterior = AbilityEstimator.prior();
+        for (int i = 0; i < asked; i++) {
+            long id = pool.select(AbilityEstimator.estimate(logPosterior).ability(), administered);
+            administered.add(id);
+            double[] parameters = pool.parameters(id);
+            AbilityEstimator.update(logPosterior, parameters[0], parameters[1], random.nextBoolean());
+        }
+
+        abilities = new double[1024];
+        for (int i = 0; i < abilities.length; i++) {
+            abilities[i] = gaussian(random);
+        }
+    }
+
+    @Benchmark
+    public long select() {
+        return pool.select(abilities[next++ & 1023], administered);
+    }
+
+    @Benchmark
+    public AbilityEstimator.Estimate updateEstimate() {
+        double[] posterior = logPosterior.clone();
+        AbilityEstimator.update(posterior, 1.2, abilities[next++ & 1023], true);
+        return AbilityEstimator.estimate(posterior);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
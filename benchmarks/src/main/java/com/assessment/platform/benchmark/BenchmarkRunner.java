@@ -0,0 +1,113 @@
+package com.assessment.platform.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entry point of benchmarks.jar.
+ *
+ * Accepts the usual JMH command line. Unless -rff is given, results are written as JSON to
+ * results/jmh-&lt;timestamp&gt;.json so every run can be kept and compared later:
+ *
+ *   java -jar benchmarks.jar compare results/before.json results/after.json
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "compare".equals(args[0])) {
+            if (args.length != 3) {
+                System.err.println("Usage: compare <baseline.json> <candidate.json>");
+                System.exit(2);
+            }
+            compare(Path.of(args[1]), Path.of(args[2]));
+            return;
+        }
+
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams()
+                || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cmd);
+        if (!cmd.getResult().hasValue()) {
+            Path file = Path.of("results", "jmh-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".json");
+            Files.createDirectories(file.getParent());
+            options.resultFormat(ResultFormatType.JSON).result(file.toString());
+            System.out.println("Results will be written to " + file);
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * Prints the score change of every benchmark present in both files. A change is marked
+     * significant when it is larger than the two error margins combined.
+     */
+    static void compare(Path baseline, Path candidate) throws IOException {
+        Map<String, JsonNode> before = index(baseline.toFile());
+        Map<String, JsonNode> after = index(candidate.toFile());
+
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Candidate", "Change", "Unit");
+        for (Map.Entry<String, JsonNode> entry : before.entrySet()) {
+            JsonNode next = after.get(entry.getKey());
+            if (next == null) {
+                continue;
+            }
+            JsonNode oldMetric = entry.getValue().get("primaryMetric");
+            JsonNode newMetric = next.get("primaryMetric");
+            double oldScore = oldMetric.get("score").asDouble();
+            double newScore = newMetric.get("score").asDouble();
+            double margin = errorOf(oldMetric) + errorOf(newMetric);
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) * 100 / oldScore;
+
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n",
+                    entry.getKey(), oldScore, newScore, change,
+                    newMetric.get("scoreUnit").asText(),
+                    Math.abs(newScore - oldScore) > margin ? "  *" : "");
+        }
+    }
+
+    private static Map<String, JsonNode> index(File file) throws IOException {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asText()
+                    .replace("com.assessment.platform.", ""));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+            }
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+
+    private static double errorOf(JsonNode metric) {
+        JsonNode error = metric.get("scoreError");
+        return error == null || !error.isNumber() ? 0 : error.asDouble();
+    }
+}
@@ -0,0 +1,44 @@
+package com.assessment.platform.benchmark;
+
+import com.assessment.platform.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login and the validate + claim reads JwtAuthenticationFilter performs on every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] secret = new byte[64];
+        new SplittableRandom(42L).nextBytes(secret);
+        jwtUtil = new JwtUtil(Base64.getEncoder().encodeToString(secret), 86_400_000L);
+        token = jwtUtil.generateToken("candidate@assessment.com", "TRAINEE", 42L, 3L);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("candidate@assessment.com", "TRAINEE", 42L, 3L);
+    }
+
+    @Benchmark
+    public String validateAndRead() {
+        if (!jwtUtil.isTokenValid(token)) {
+            throw new IllegalStateException("Token rejected");
+        }
+        return jwtUtil.extractEmail(token);
+    }
+}
@@ -0,0 +1,65 @@
+package com.assessment.platform.benchmark;
+
+import com.assessment.platform.service.MinHashLshIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Near-duplicate lookup cost against a synthetic corpus of 100k questions.
+ * The target is well under one millisecond per checked question.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MinHashLshBenchmark {
+
+    @Param({"100000"})
+    public int corpusSize;
+
+    private MinHashLshIndex index;
+    private List<SyntheticCorpus.Item> probes;
+    private int next;
+    private long nextKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<SyntheticCorpus.Item> corpus = SyntheticCorpus.generate(corpusSize, 42L);
+        index = new MinHashLshIndex();
+        for (int i = 0; i < corpus.size(); i++) {
+            index.add(i, i / 50, corpus.get(i).document());
+        }
+        nextKey = corpus.size();
+
+        // Half of the probes are near duplicates of indexed questions, half are unseen
+        SplittableRandom random = new SplittableRandom(7L);
+        probes = new ArrayList<>(1024);
+        for (int i = 0; i < 512; i++) {
+            probes.add(SyntheticCorpus.nearDuplicate(corpus.get(random.nextInt(corpus.size())), random));
+            probes.add(SyntheticCorpus.item(random, corpusSize + i));
+        }
+    }
+
+    @Benchmark
+    public List<MinHashLshIndex.Match> checkQuestion() {
+        SyntheticCorpus.Item probe = probes.get(next++ & 1023);
+        return index.query(MinHashLshIndex.signature(probe.document()), 0.8, Long.MIN_VALUE, 3);
+    }
+
+    @Benchmark
+    public int[] signatureOnly() {
+        return MinHashLshIndex.signature(probes.get(next++ & 1023).document());
+    }
+
+    @Benchmark
+    public void addQuestion() {
+        SyntheticCorpus.Item probe = probes.get(next++ & 1023);
+        index.add(nextKey++, -1L, probe.document());
+    }
+}
@@ -0,0 +1,49 @@
+package com.assessment.platform.benchmark;
+
+import com.assessment.platform.service.PaperDraw;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-candidate paper of a pooled test: drawing the questions and ordering their options, and
+ * mapping one answered position back while grading. Both run on every fetch and submit, with
+ * nothing stored per candidate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaperDrawBenchmark {
+
+    private static final int OPTIONS = 4;
+
+    @Param({"50", "10000"})
+    public int poolSize;
+
+    @Param({"40"})
+    public int drawSize;
+
+    private long userId;
+
+    @Benchmark
+    public void drawPaper(Blackhole blackhole) {
+        PaperDraw draw = PaperDraw.of(1L, userId++, poolSize, Math.min(drawSize, poolSize));
+        for (int position = 0; position < draw.drawSize(); position++) {
+            int question = draw.questionAt(position);
+            for (int option = 0; option < OPTIONS; option++) {
+                blackhole.consume(draw.optionAt(question, OPTIONS, option));
+            }
+        }
+    }
+
+    @Benchmark
+    public int mapAnswer() {
+        PaperDraw draw = PaperDraw.of(1L, userId++, poolSize, Math.min(drawSize, poolSize));
+        int question = (int) (userId % poolSize);
+        return draw.positionOf(question) + draw.optionAt(question, OPTIONS, 2);
+    }
+}
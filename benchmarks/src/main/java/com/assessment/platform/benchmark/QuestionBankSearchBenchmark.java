@@ -0,0 +1,70 @@
+package com.assessment.platform.benchmark;
+
+import com.assessment.platform.service.QuestionBankIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Question bank search against a synthetic bank of 100k tagged questions. The target is single-digit
+ * milliseconds even for the worst case, a word every question contains.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuestionBankSearchBenchmark {
+
+    private static final String[] STACKS = {"java", "spring-boot", "mysql", "react", "python", "docker", "kubernetes"};
+    private static final String[] DIFFICULTIES = {"difficulty:easy", "difficulty:medium", "difficulty:hard"};
+
+    @Param({"100000"})
+    public int bankSize;
+
+    private QuestionBankIndex index;
+    private List<SyntheticCorpus.Item> additions;
+    private int next;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<SyntheticCorpus.Item> corpus = SyntheticCorpus.generate(bankSize, 42L);
+        SplittableRandom random = new SplittableRandom(7L);
+        index = new QuestionBankIndex();
+        for (int i = 0; i < corpus.size(); i++) {
+            index.add(i, corpus.get(i).document(), List.of(
+                    SyntheticCorpus.pick(random, STACKS), SyntheticCorpus.pick(random, DIFFICULTIES)));
+        }
+        nextId = corpus.size();
+        additions = SyntheticCorpus.generate(1024, 9L);
+    }
+
+    @Benchmark
+    public QuestionBankIndex.Result commonWord() {
+        return index.search("what happens", List.of(), 20);
+    }
+
+    @Benchmark
+    public QuestionBankIndex.Result wordsAndTags() {
+        return index.search("thread pool latency", List.of("java", "difficulty:hard"), 20);
+    }
+
+    @Benchmark
+    public QuestionBankIndex.Result prefix() {
+        return index.search("garbage co", List.of("java"), 20);
+    }
+
+    @Benchmark
+    public QuestionBankIndex.Result tagsOnly() {
+        return index.search(null, List.of("spring-boot", "difficulty:medium"), 20);
+    }
+
+    @Benchmark
+    public void addQuestion() {
+        index.add(nextId++, additions.get(next++ & 1023).document(), List.of("java", "difficulty:easy"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.assessment.platform.benchmark;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Builds services outside Spring. Constructor arguments are looked up by type among the registered
+ * beans and left null otherwise, so benchmarks keep working when a service gains a dependency that
+ * the measured code path does not touch.
+ */
+public final class ServiceFactory {
+
+    private final Map<Class<?>, Object> beans = new HashMap<>();
+
+    public <T> ServiceFactory register(Class<T> type, T bean) {
+        beans.put(type, bean);
+        return this;
+    }
+
+    /**
+     * Registers an in-memory implementation of a repository interface. Only the methods named in
+     * {@code answers} are implemented; anything else fails loudly so a benchmark cannot silently
+     * measure a different path.
+     */
+    public <R> ServiceFactory stub(Class<R> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (self, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return repositoryType.getSimpleName() + " stub";
+                        case "hashCode":
+                            return System.identityHashCode(self);
+                        case "equals":
+                            return self == args[0];
+                        default:
+                            Function<Object[], Object> answer = answers.get(method.getName());
+                            if (answer == null) {
+                                throw new UnsupportedOperationException(
+                                        repositoryType.getSimpleName() + "." + method.getName() + " is not stubbed");
+                            }
+                            return answer.apply(args);
+                    }
+                });
+        beans.put(repositoryType, repositoryType.cast(proxy));
+        return this;
+    }
+
+    public <T> T create(Class<T> type) {
+        Constructor<?>[] constructors = type.getConstructors();
+        if (constructors.length != 1) {
+            throw new IllegalStateException(type.getSimpleName() + " must have exactly one public constructor");
+        }
+        Constructor<?> constructor = constructors[0];
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            args[i] = beans.get(parameterTypes[i]);
+        }
+        try {
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create " + type.getSimpleName(), e);
+        }
+    }
+}
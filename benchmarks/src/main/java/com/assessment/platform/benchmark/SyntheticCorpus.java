@@ -0,0 +1,81 @@
+package com.assessment.platform.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of MCQ-like text used by the benchmarks.
+ */
+public final class SyntheticCorpus {
+
+    private static final String[] SUBJECTS = {
+            "HashMap", "ArrayList", "Spring bean", "JPA entity", "REST controller", "thread pool",
+            "garbage collector", "SQL index", "Docker image", "Kubernetes pod", "React hook",
+            "Python generator", "pandas DataFrame", "TCP socket", "JWT token", "BCrypt hash",
+            "virtual thread", "stream pipeline", "lambda expression", "record class"
+    };
+    private static final String[] VERBS = {
+            "is created", "is garbage collected", "is serialized", "is cached", "is injected",
+            "is scheduled", "is compiled", "is joined", "is indexed", "is rolled back",
+            "is evicted", "is resized", "is deployed", "is validated", "is mapped"
+    };
+    private static final String[] CONTEXTS = {
+            "during application startup", "inside a transaction", "under high concurrency",
+            "when memory is low", "in a unit test", "after a network partition",
+            "on every request", "in a multi-module build", "behind a load balancer",
+            "when the cache is cold", "with default settings", "in production"
+    };
+    private static final String[] WORDS = {
+            "heap", "stack", "lock", "queue", "latency", "throughput", "commit", "snapshot",
+            "replica", "shard", "token", "session", "buffer", "cursor", "bean", "proxy",
+            "module", "schema", "row", "column", "segment", "partition", "window", "batch"
+    };
+
+    private SyntheticCorpus() {
+    }
+
+    public record Item(String question, List<String> options) {
+        public String document() {
+            StringBuilder sb = new StringBuilder(question);
+            options.stream().sorted().forEach(option -> sb.append(' ').append(option));
+            return sb.toString();
+        }
+    }
+
+    public static List<Item> generate(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(item(random, i));
+        }
+        return items;
+    }
+
+    public static Item item(SplittableRandom random, int serial) {
+        String question = "What happens when a " + pick(random, SUBJECTS) + " " + pick(random, VERBS)
+                + " " + pick(random, CONTEXTS) + " and the " + pick(random, WORDS) + " " + pick(random, WORDS)
+                + " is " + pick(random, WORDS) + "? (#" + serial + ")";
+        List<String> options = new ArrayList<>(4);
+        for (int o = 0; o < 4; o++) {
+            options.add("The " + pick(random, WORDS) + " " + pick(random, WORDS) + " is " + pick(random, VERBS));
+        }
+        return new Item(question, options);
+    }
+
+    /**
+     * Returns a lightly edited copy: a word swapped for a synonym-like token and changed punctuation.
+     */
+    public static Item nearDuplicate(Item item, SplittableRandom random) {
+        String question = item.question().replace("What happens when", "What occurs when")
+                .replace("?", " ?!") + " " + pick(random, WORDS);
+        List<String> options = new ArrayList<>(item.options());
+        Collections.reverse(options);
+        return new Item(question, options);
+    }
+
+    public static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,146 @@
+package com.assessment.platform.benchmark;
+
+import com.assessment.platform.entity.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Detached entity graphs shaped like the production data: a test with questions and options,
+ * candidates, and their submissions with answers. Ids are assigned sequentially, so graphs built
+ * from the same seed are identical between runs.
+ */
+public final class SyntheticGraph {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 9, 0);
+
+    private SyntheticGraph() {
+    }
+
+    public static Test test(int questionCount, int optionsPerQuestion, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Team team = Team.builder().id(1L).name("Falconz").type(TeamType.DEV).build();
+        User admin = User.builder()
+                .id(1L)
+                .name("Admin")
+                .email("admin@assessment.com")
+                .role(Role.ADMIN)
+                .build();
+
+        Test test = Test.builder()
+                .id(1L)
+                .title("Backend fundamentals, week " + (1 + random.nextInt(12)))
+                .description("Synthetic assessment used by the benchmarks")
+                .timeLimitMinutes(60)
+                .assignedRole(Role.TRAINEE)
+                .assignedTeam(team)
+                .createdBy(admin)
+                .createdAt(CREATED_AT)
+                .build();
+
+        long optionId = 1;
+        for (int q = 0; q < questionCount; q++) {
+            Question question = Question.builder()
+                    .id((long) q + 1)
+                    .test(test)
+                    .questionText(SyntheticCorpus.item(random, q).question())
+                    .build();
+
+            // Roughly one question in five has two correct options
+            int correct = random.nextInt(optionsPerQuestion);
+            int secondCorrect = random.nextInt(5) == 0 ? (correct + 1) % optionsPerQuestion : -1;
+            for (int o = 0; o < optionsPerQuestion; o++) {
+                Option option = Option.builder()
+                        .id(optionId++)
+                        .question(question)
+                        .optionText("Option " + (char) ('A' + o) + " for question " + (q + 1))
+                        .isCorrect(o == correct || o == secondCorrect)
+                        .build();
+                question.getOptions().add(option);
+            }
+            test.getQuestions().add(question);
+        }
+        return test;
+    }
+
+    /**
+     * Builds {@code count} graded submissions for {@code test}. About 70% of the answers are correct.
+     */
+    public static List<Submission> submissions(Test test, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Team team = test.getAssignedTeam();
+        List<Submission> submissions = new ArrayList<>(count);
+        long answerId = 1;
+
+        for (int i = 0; i < count; i++) {
+            User user = User.builder()
+                    .id((long) i + 100)
+                    .name(i % 17 == 0 ? "Doe, Jane \"JD\" " + i : "Candidate " + i)
+                    .email("candidate" + i + "@assessment.com")
+                    .team(team)
+                    .role(Role.TRAINEE)
+                    .build();
+
+            Submission submission = Submission.builder()
+                    .id((long) i + 1)
+                    .user(user)
+                    .test(test)
+                    .startTime(CREATED_AT.plusDays(1))
+                    .endTime(CREATED_AT.plusDays(1).plusMinutes(20 + random.nextInt(40)))
+                    .totalMarks(test.getQuestions().size())
+                    .build();
+
+            int score = 0;
+            for (Question question : test.getQuestions()) {
+                List<Option> chosen = selection(question, random);
+                if (chosen.stream().allMatch(Option::isCorrect)
+                        && chosen.size() == question.getOptions().stream().filter(Option::isCorrect).count()) {
+                    score++;
+                }
+                for (Option option : chosen) {
+                    submission.getAnswers().add(Answer.builder()
+                            .id(answerId++)
+                            .submission(submission)
+                            .question(question)
+                            .selectedOption(option)
+                            .build());
+                }
+            }
+            submission.setScore(score);
+            submissions.add(submission);
+        }
+        return submissions;
+    }
+
+    /**
+     * Selected option ids per question, in question order, the way a candidate would submit them.
+     */
+    public static List<List<Long>> selectedOptionIds(Test test, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<List<Long>> selections = new ArrayList<>(test.getQuestions().size());
+        for (Question question : test.getQuestions()) {
+            selections.add(selection(question, random).stream().map(Option::getId).toList());
+        }
+        return selections;
+    }
+
+    public static Map<Long, Question> questionsById(Test test) {
+        Map<Long, Question> byId = new HashMap<>();
+        for (Question question : test.getQuestions()) {
+            byId.put(question.getId(), question);
+        }
+        return byId;
+    }
+
+    private static List<Option> selection(Question question, SplittableRandom random) {
+        List<Option> correct = question.getOptions().stream().filter(Option::isCorrect).toList();
+        if (random.nextInt(10) < 7) {
+            return correct;
+        }
+        return List.of(question.getOptions().get(random.nextInt(question.getOptions().size())));
+    }
+}
@@ -0,0 +1,113 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.metrics.DomainMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link CollusionDetector} run over a whole cohort, with the settings of application.yml;
+ * the answers are already loaded, as after the two queries of {@code analyze}. The target is a few
+ * seconds for 5,000 submissions on a 50-question test.
+ *
+ * Candidates answer by a 2PL model, and a wrong answer is the question's favourite distractor with
+ * probability {@code favouriteShare}, so at 0.9 most of a cohort shares its mistakes with most of
+ * the cohort. One submission in 100 copies 90% of another's answers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollusionBenchmark {
+
+    private static final int OPTIONS = 4;
+
+    @Param({"5000"})
+    public int submissions;
+
+    @Param({"50"})
+    public int questions;
+
+    @Param({"0.5", "0.9"})
+    public double favouriteShare;
+
+    private CollusionDetector detector;
+    private Map<Long, Boolean> correctByOption;
+    private SortedMap<Long, List<Long>> selectedBySubmission;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        detector = new CollusionDetector(null, null, new DomainMetrics(new SimpleMeterRegistry()), 4,
+                30, 6, 1000, 3, 3, 0.6);
+
+        SplittableRandom random = new SplittableRandom(42L);
+        // Option 0 of every question is correct; one of the other three is the favourite mistake
+        correctByOption = new HashMap<>();
+        double[] difficulty = new double[questions];
+        int[] favourite = new int[questions];
+        for (int q = 0; q < questions; q++) {
+            for (int o = 0; o < OPTIONS; o++) {
+                correctByOption.put(optionId(q, o), o == 0);
+            }
+            difficulty[q] = gaussian(random);
+            favourite[q] = 1 + random.nextInt(OPTIONS - 1);
+        }
+
+        selectedBySubmission = new TreeMap<>();
+        List<List<Long>> answered = new ArrayList<>(submissions);
+        for (int s = 0; s < submissions; s++) {
+            List<Long> selected;
+            if (s > 0 && s % 100 == 0) {
+                List<Long> source = answered.get(random.nextInt(s));
+                selected = new ArrayList<>(questions);
+                for (int q = 0; q < questions; q++) {
+                    selected.add(random.nextDouble() < 0.9 ? source.get(q) : optionId(q, random.nextInt(OPTIONS)));
+                }
+            } else {
+                double ability = gaussian(random);
+                selected = new ArrayList<>(questions);
+                for (int q = 0; q < questions; q++) {
+                    int option;
+                    if (random.nextDouble() < 1 / (1 + Math.exp(difficulty[q] - ability))) {
+                        option = 0;
+                    } else if (random.nextDouble() < favouriteShare) {
+                        option = favourite[q];
+                    } else {
+                        option = 1 + random.nextInt(OPTIONS - 1);
+                    }
+                    selected.add(optionId(q, option));
+                }
+            }
+            answered.add(selected);
+            selectedBySubmission.put((long) s + 1, selected);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        detector.shutdown();
+    }
+
+    @Benchmark
+    public CollusionDetector.Report analyzeCohort() {
+        return detector.analyze(correctByOption, selectedBySubmission, 50);
+    }
+
+    private static long optionId(int question, int option) {
+        return (long) question * OPTIONS + option + 1;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,62 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.benchmark.ServiceFactory;
+import com.assessment.platform.benchmark.SyntheticGraph;
+import com.assessment.platform.entity.Submission;
+import com.assessment.platform.entity.Test;
+import com.assessment.platform.metrics.DomainMetrics;
+import com.assessment.platform.repository.SubmissionRepository;
+import com.assessment.platform.repository.TestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores CSV export from {@link AdminService}: the escaping helper on its own and the full
+ * report for a cohort served from in-memory repositories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvExportBenchmark {
+
+    private static final String[] CELLS = {
+            "Candidate 42", "candidate42@assessment.com", "TRAINEE", "Falconz",
+            "Doe, Jane", "She said \"hi\"", "multi\nline", ""
+    };
+
+    @Param({"1000"})
+    public int submissions;
+
+    private AdminService adminService;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Test test = SyntheticGraph.test(50, 4, 42L);
+        List<Submission> cohort = SyntheticGraph.submissions(test, submissions, 7L);
+
+        adminService = new ServiceFactory()
+                .register(DomainMetrics.class, new DomainMetrics(new SimpleMeterRegistry()))
+                .stub(TestRepository.class, Map.of("findById", args -> Optional.of(test)))
+                .stub(SubmissionRepository.class, Map.of("findByTestId", args -> cohort))
+                .create(AdminService.class);
+    }
+
+    @Benchmark
+    public String escapeCell() {
+        return AdminService.escapeCSV(CELLS[next++ & 7]);
+    }
+
+    @Benchmark
+    public byte[] scoresReport() {
+        return adminService.generateScoresCSV(1L);
+    }
+}
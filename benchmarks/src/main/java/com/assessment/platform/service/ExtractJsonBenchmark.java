@@ -0,0 +1,52 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.benchmark.ServiceFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cleanup of raw model output before it is parsed: bare JSON, markdown-fenced JSON and JSON
+ * wrapped in chatter (the fallback scan).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtractJsonBenchmark {
+
+    @Param({"bare", "fenced", "chatter"})
+    public String shape;
+
+    private AiQuestionService aiQuestionService;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        aiQuestionService = new ServiceFactory().create(AiQuestionService.class);
+
+        StringBuilder json = new StringBuilder("{\"questions\":[");
+        for (int i = 0; i < 15; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"question\":\"What does a JPA entity manager do in scenario ").append(i)
+                    .append("?\",\"options\":[\"Caches entities\",\"Opens sockets\",\"Compiles code\",\"Signs JWTs\"],")
+                    .append("\"correctIndex\":0}");
+        }
+        json.append("]}");
+
+        text = switch (shape) {
+            case "fenced" -> "```json\n" + json + "\n```";
+            case "chatter" -> "Sure! Here are the questions you asked for:\n\n" + json + "\n\nLet me know if you need more.";
+            default -> json.toString();
+        };
+    }
+
+    @Benchmark
+    public String extractJson() {
+        return aiQuestionService.extractJson(text);
+    }
+}
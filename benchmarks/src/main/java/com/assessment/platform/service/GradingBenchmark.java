@@ -0,0 +1,92 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.benchmark.SyntheticGraph;
+import com.assessment.platform.dto.request.AnswerRequest;
+import com.assessment.platform.entity.Option;
+import com.assessment.platform.entity.Question;
+import com.assessment.platform.entity.Test;
+import com.assessment.platform.service.ExamPaperCache.QuestionKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-answer grading done by {@link TestService#submitTest} against the cached answer key:
+ * look up the question's key, map the selection to option ids (through the candidate's draw for
+ * a pooled test), check the options belong to the question and compare with the correct set.
+ * Building the Answer rows and the repository calls are left out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradingBenchmark {
+
+    @Param({"20", "100"})
+    public int questions;
+
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    private Map<Long, QuestionKey> answerKey;
+    private PaperDraw draw;
+    private List<AnswerRequest> answers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Test test = SyntheticGraph.test(questions, 4, 42L);
+        List<Question> pool = test.getQuestions().stream()
+                .sorted(Comparator.comparing(Question::getId))
+                .toList();
+        answerKey = new HashMap<>();
+        for (int index = 0; index < pool.size(); index++) {
+            List<Option> options = pool.get(index).getOptions().stream()
+                    .sorted(Comparator.comparing(Option::getId))
+                    .toList();
+            answerKey.put(pool.get(index).getId(), TestService.questionKey(index, options));
+        }
+
+        // A pooled paper draws the whole pool, so every question is answerable
+        draw = pooled ? PaperDraw.of(test.getId(), 7L, pool.size(), pool.size()) : null;
+        List<List<Long>> selections = SyntheticGraph.selectedOptionIds(test, 7L);
+        answers = new ArrayList<>(pool.size());
+        for (int i = 0; i < pool.size(); i++) {
+            AnswerRequest answer = new AnswerRequest();
+            answer.setQuestionId(pool.get(i).getId());
+            if (pooled) {
+                answer.setSelectedPositions(List.of(i % 4));
+            } else {
+                answer.setSelectedOptionIds(selections.get(i));
+            }
+            answers.add(answer);
+        }
+    }
+
+    @Benchmark
+    public int gradeSubmission() {
+        int score = 0;
+        for (AnswerRequest answer : answers) {
+            QuestionKey key = answerKey.get(answer.getQuestionId());
+            if (key == null || draw != null && draw.positionOf(key.index()) < 0) {
+                throw new IllegalStateException("Question not found: " + answer.getQuestionId());
+            }
+            List<Long> selected = TestService.selectedOptionIds(draw, key, answer);
+            for (Long optionId : selected) {
+                if (!key.optionIds().contains(optionId)) {
+                    throw new IllegalStateException("Option not found: " + optionId);
+                }
+            }
+            if (TestService.isAnswerCorrect(key.correctOptionIds(), selected)) {
+                score++;
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,70 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.benchmark.ServiceFactory;
+import com.assessment.platform.benchmark.SyntheticGraph;
+import com.assessment.platform.dto.response.SubmissionResponse;
+import com.assessment.platform.dto.response.TestResponse;
+import com.assessment.platform.entity.Question;
+import com.assessment.platform.entity.Submission;
+import com.assessment.platform.entity.Test;
+import com.assessment.platform.repository.AnswerRepository;
+import com.assessment.platform.repository.QuestionRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity → DTO mapping in {@link TestService} on detached graphs. The answer-key variant reads
+ * answers and questions from in-memory repositories, so only the mapping itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"20", "100"})
+    public int questions;
+
+    private TestService testService;
+    private Test test;
+    private Submission submission;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        test = SyntheticGraph.test(questions, 4, 42L);
+        submission = SyntheticGraph.submissions(test, 1, 7L).get(0);
+        Map<Long, Question> questionsById = SyntheticGraph.questionsById(test);
+
+        testService = new ServiceFactory()
+                .stub(AnswerRepository.class, Map.of(
+                        "findBySubmissionId", args -> submission.getAnswers()))
+                .stub(QuestionRepository.class, Map.of(
+                        "findByIdWithOptions", args -> Optional.ofNullable(questionsById.get((Long) args[0]))))
+                .create(TestService.class);
+    }
+
+    @Benchmark
+    public TestResponse testForCandidate() {
+        return testService.mapToTestResponse(test, false, false);
+    }
+
+    @Benchmark
+    public TestResponse testWithAnswers() {
+        return testService.mapToTestResponse(test, true, false);
+    }
+
+    @Benchmark
+    public SubmissionResponse submissionSummary() {
+        return testService.mapToSubmissionResponse(submission, false);
+    }
+
+    @Benchmark
+    public SubmissionResponse submissionWithAnswerKey() {
+        return testService.mapToSubmissionResponse(submission, true);
+    }
+}
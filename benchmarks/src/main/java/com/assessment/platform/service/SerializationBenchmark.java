@@ -0,0 +1,56 @@
+package com.assessment.platform.service;
+
+import com.assessment.platform.benchmark.ServiceFactory;
+import com.assessment.platform.benchmark.SyntheticGraph;
+import com.assessment.platform.dto.response.ApiResponse;
+import com.assessment.platform.dto.response.TestResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the payload returned by GET /api/tests/{id}, using an ObjectMapper
+ * configured the way Spring Boot configures the one behind the REST controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int questions;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+    private ApiResponse<TestResponse> payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = objectMapper.writerFor(new TypeReference<ApiResponse<TestResponse>>() {});
+
+        TestService testService = new ServiceFactory().create(TestService.class);
+        payload = ApiResponse.success(testService.mapToTestResponse(SyntheticGraph.test(questions, 4, 42L), false, false));
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] typedWriter() throws JsonProcessingException {
+        return writer.writeValueAsBytes(payload);
+    }
+}
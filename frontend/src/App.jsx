@@ -14,6 +14,7 @@ import CreateTestPage from './pages/admin/CreateTestPage';
 import ViewTestsPage from './pages/admin/ViewTestsPage';
 import SubmissionsPage from './pages/admin/SubmissionsPage';
 import UsersPage from './pages/admin/UsersPage';
+import QuestionBankPage from './pages/admin/QuestionBankPage';
 
 import UserDashboard from './pages/user/UserDashboard';
 import AvailableTestsPage from './pages/user/AvailableTestsPage';
@@ -66,6 +67,7 @@ export default function App() {
             <Route index element={<AdminDashboard />} />
             <Route path="create-test" element={<CreateTestPage />} />
             <Route path="tests" element={<ViewTestsPage />} />
+            <Route path="question-bank" element={<QuestionBankPage />} />
             <Route path="submissions" element={<SubmissionsPage />} />
             <Route path="users" element={<UsersPage />} />
           </Route>
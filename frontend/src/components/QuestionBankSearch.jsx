@@ -0,0 +1,112 @@
+import { useState, useEffect } from 'react';
+import { adminService } from '../services/adminService';
+import Badge from './ui/Badge';
+import Input from './ui/Input';
+import Select from './ui/Select';
+
+// Searches as you type; renderAction draws the button shown next to each result
+export default function QuestionBankSearch({ renderAction, refreshKey = 0 }) {
+  const [query, setQuery] = useState('');
+  const [difficulty, setDifficulty] = useState('');
+  const [teamType, setTeamType] = useState('');
+  const [tags, setTags] = useState([]);
+  const [tagCounts, setTagCounts] = useState({});
+  const [result, setResult] = useState({ total: 0, questions: [] });
+
+  useEffect(() => {
+    adminService.getQuestionBankTags()
+      .then((res) => setTagCounts(res.data.data || {}))
+      .catch((err) => console.error(err));
+  }, [refreshKey]);
+
+  useEffect(() => {
+    const timer = setTimeout(async () => {
+      try {
+        const res = await adminService.searchQuestionBank({
+          q: query || undefined,
+          tags: tags.length ? tags.join(',') : undefined,
+          difficulty: difficulty || undefined,
+          teamType: teamType || undefined,
+          limit: 20,
+        });
+        setResult(res.data.data);
+      } catch (err) {
+        console.error(err);
+      }
+    }, 150);
+    return () => clearTimeout(timer);
+  }, [query, tags, difficulty, teamType, refreshKey]);
+
+  const toggleTag = (tag) =>
+    setTags((prev) => (prev.includes(tag) ? prev.filter((t) => t !== tag) : [...prev, tag]));
+
+  // Difficulty and team type have their own selects
+  const plainTags = Object.entries(tagCounts).filter(([tag]) => !tag.includes(':'));
+
+  return (
+    <div className="space-y-4">
+      <div className="grid grid-cols-1 md:grid-cols-3 gap-3">
+        <Input placeholder="Search questions..." value={query} onChange={(e) => setQuery(e.target.value)} />
+        <Select value={difficulty} onChange={(e) => setDifficulty(e.target.value)}>
+          <option value="">Any difficulty</option>
+          <option value="EASY">Easy</option>
+          <option value="MEDIUM">Medium</option>
+          <option value="HARD">Hard</option>
+        </Select>
+        <Select value={teamType} onChange={(e) => setTeamType(e.target.value)}>
+          <option value="">Any team type</option>
+          <option value="DEV">Dev</option>
+          <option value="DATA">Data</option>
+          <option value="DEVOPS">DevOps</option>
+        </Select>
+      </div>
+
+      {plainTags.length > 0 && (
+        <div className="flex flex-wrap gap-2">
+          {plainTags.map(([tag, count]) => (
+            <button key={tag} type="button" onClick={() => toggleTag(tag)}>
+              <Badge variant={tags.includes(tag) ? 'primary' : 'default'}>
+                {tag} ({count})
+              </Badge>
+            </button>
+          ))}
+        </div>
+      )}
+
+      <p className="text-sm text-text-light">{result.total} matching questions</p>
+      <div className="space-y-3">
+        {result.questions.map((q) => (
+          <div key={q.id} className="bg-gray-50 rounded-lg p-4">
+            <div className="flex items-start justify-between gap-3">
+              <p className="font-medium text-sm">{q.questionText}</p>
+              {renderAction && renderAction(q)}
+            </div>
+            <div className="grid grid-cols-2 gap-2 mt-2">
+              {q.options.map((opt) => (
+                <div
+                  key={opt.id}
+                  className={`text-sm px-3 py-1.5 rounded ${
+                    opt.isCorrect ? 'bg-emerald-100 text-emerald-700 font-medium' : 'bg-white text-text-light'
+                  }`}
+                >
+                  {opt.optionText}
+                  {opt.isCorrect && ' ✓'}
+                </div>
+              ))}
+            </div>
+            <div className="flex flex-wrap gap-2 mt-2">
+              {q.difficulty && <Badge variant="warning">{q.difficulty.toLowerCase()}</Badge>}
+              {q.teamType && <Badge variant="info">{q.teamType}</Badge>}
+              {q.tags.map((tag) => (
+                <Badge key={tag}>{tag}</Badge>
+              ))}
+            </div>
+          </div>
+        ))}
+      </div>
+      {result.total > result.questions.length && (
+        <p className="text-xs text-text-light">Showing the newest {result.questions.length}; refine the search to see others.</p>
+      )}
+    </div>
+  );
+}
@@ -11,6 +11,7 @@ import {
   User,
   LogOut,
   GraduationCap,
+  Library,
 } from 'lucide-react';
 import { cn } from '../utils/cn';
 
@@ -18,6 +19,7 @@ const adminLinks = [
   { to: '/admin', icon: LayoutDashboard, label: 'Dashboard', end: true },
   { to: '/admin/create-test', icon: FilePlus, label: 'Create Test' },
   { to: '/admin/tests', icon: FileText, label: 'View Tests' },
+  { to: '/admin/question-bank', icon: Library, label: 'Question Bank' },
   { to: '/admin/submissions', icon: ClipboardList, label: 'Submissions' },
   { to: '/admin/users', icon: Users, label: 'Users' },
 ];
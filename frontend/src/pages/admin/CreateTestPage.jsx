@@ -4,6 +4,8 @@ import { adminService } from '../../services/adminService';
 import Button from '../../components/ui/Button';
 import Input from '../../components/ui/Input';
 import Select from '../../components/ui/Select';
+import Badge from '../../components/ui/Badge';
+import QuestionBankSearch from '../../components/QuestionBankSearch';
 import toast from 'react-hot-toast';
 import { Plus, Trash2, GripVertical, Copy, CheckCircle2, AlertCircle } from 'lucide-react';
 
@@ -11,6 +13,7 @@ export default function CreateTestPage() {
   const [loading, setLoading] = useState(false);
   const [aiOpen, setAiOpen] = useState(false);
   const [aiLoading, setAiLoading] = useState(false);
+  const [bankOpen, setBankOpen] = useState(false);
   const [teams, setTeams] = useState([]);
   const navigate = useNavigate();
   const [aiForm, setAiForm] = useState({
@@ -26,6 +29,11 @@ export default function CreateTestPage() {
     timeLimitMinutes: 30,
     assignedRole: '',
     assignedTeamId: '',
+    availableFrom: '',
+    availableUntil: '',
+    admissionJitterSeconds: '',
+    drawSize: '',
+    adaptive: false,
     questions: [
       {
         questionText: '',
@@ -96,6 +104,12 @@ export default function CreateTestPage() {
     setForm({ ...form, questions });
   };
 
+  const updateItemParameter = (index, field, value) => {
+    const questions = [...form.questions];
+    questions[index][field] = value;
+    setForm({ ...form, questions });
+  };
+
   const toggleCorrect = (qIndex, oIndex) => {
     const questions = [...form.questions];
     questions[qIndex].options[oIndex].isCorrect = !questions[qIndex].options[oIndex].isCorrect;
@@ -105,11 +119,28 @@ export default function CreateTestPage() {
   const duplicateQuestion = (index) => {
     const questions = [...form.questions];
     const newQuestion = JSON.parse(JSON.stringify(questions[index]));
+    // A duplicated bank question becomes an ordinary, editable one
+    delete newQuestion.bankQuestionId;
     questions.splice(index + 1, 0, newQuestion);
     setForm({ ...form, questions });
     toast.success('Question duplicated');
   };
 
+  // Bank questions are read-only here; the server copies them into the test by id
+  const addFromBank = (bankQuestion) => {
+    const question = {
+      bankQuestionId: bankQuestion.id,
+      questionText: bankQuestion.questionText,
+      options: bankQuestion.options.map((o) => ({ optionText: o.optionText, isCorrect: o.isCorrect })),
+    };
+    setForm((prev) => {
+      const blankDraft = prev.questions.length === 1 && !prev.questions[0].bankQuestionId
+        && !prev.questions[0].questionText && prev.questions[0].options.every((o) => !o.optionText);
+      return { ...prev, questions: blankDraft ? [question] : [...prev.questions, question] };
+    });
+    toast.success('Question added from the bank');
+  };
+
   const openAiModal = () => {
     setAiForm((prev) => ({
       ...prev,
@@ -130,51 +161,68 @@ export default function CreateTestPage() {
     }
 
     setAiLoading(true);
+    let received = 0;
+    let streamError = null;
     try {
-      const res = await adminService.generateAiQuestions({
-        role: aiForm.role,
-        techStack: aiForm.techStack.trim(),
-        progress: aiForm.progress.trim(),
-        questionCount: count,
-      });
-
-      const items = res.data.data?.questions || [];
-      if (items.length === 0) {
-        toast.error('AI returned no questions');
+      await adminService.streamAiQuestions(
+        {
+          role: aiForm.role,
+          techStack: aiForm.techStack.trim(),
+          progress: aiForm.progress.trim(),
+          questionCount: count,
+        },
+        ({ event, data }) => {
+          if (event === 'error') {
+            streamError = data?.message || 'AI generation failed';
+            return;
+          }
+          if (event !== 'question') return;
+
+          const question = toFormQuestion(data);
+          const first = received === 0;
+          received++;
+          // First streamed question replaces the draft, the rest are appended as they arrive
+          setForm((prev) => ({
+            ...prev,
+            assignedRole: prev.assignedRole || aiForm.role,
+            questions: first ? [question] : [...prev.questions, question],
+          }));
+          if (first) {
+            setAiOpen(false);
+          }
+        }
+      );
+
+      if (received === 0) {
+        toast.error(streamError || 'AI returned no questions');
         return;
       }
-
-      const questions = items.slice(0, 15).map((item) => {
-        const rawOptions = (item.options || []).slice(0, 4);
-        const safeIndex = Math.min(
-          Math.max(item.correctIndex ?? 0, 0),
-          Math.max(rawOptions.length - 1, 0)
-        );
-        const options = rawOptions.map((opt, idx) => ({
-          optionText: opt,
-          isCorrect: idx === safeIndex,
-        }));
-
-        return {
-          questionText: item.question,
-          options,
-        };
-      });
-
-      setForm({
-        ...form,
-        assignedRole: form.assignedRole || aiForm.role,
-        questions,
-      });
-      setAiOpen(false);
+      if (streamError) {
+        toast.error(streamError);
+      }
       toast.success('AI questions added. Please review before saving.');
     } catch (err) {
-      toast.error(err.response?.data?.message || 'AI generation failed');
+      toast.error(err.message || 'AI generation failed');
     } finally {
       setAiLoading(false);
     }
   };
 
+  const toFormQuestion = (item) => {
+    const rawOptions = (item.options || []).slice(0, 4);
+    const safeIndex = Math.min(
+      Math.max(item.correctIndex ?? 0, 0),
+      Math.max(rawOptions.length - 1, 0)
+    );
+    return {
+      questionText: item.question,
+      options: rawOptions.map((opt, idx) => ({
+        optionText: opt,
+        isCorrect: idx === safeIndex,
+      })),
+    };
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault();
 
@@ -183,8 +231,18 @@ export default function CreateTestPage() {
       return;
     }
 
+    if (form.adaptive && form.drawSize === '') {
+      toast.error('An adaptive test needs a maximum number of questions per candidate');
+      return;
+    }
+
     for (let i = 0; i < form.questions.length; i++) {
       const q = form.questions[i];
+      if (form.adaptive && (q.irtDifficulty ?? '') === '') {
+        toast.error(`Question ${i + 1} needs a difficulty for an adaptive test`);
+        return;
+      }
+      if (q.bankQuestionId) continue;
       if (!q.questionText) {
         toast.error(`Question ${i + 1} text is required`);
         return;
@@ -201,12 +259,26 @@ export default function CreateTestPage() {
       }
     }
 
+    // Item parameters only go out for adaptive tests, as numbers
+    const toRequest = ({ irtDifficulty, irtDiscrimination, ...q }) => ({
+      ...(q.bankQuestionId ? { bankQuestionId: q.bankQuestionId } : q),
+      ...(form.adaptive ? {
+        irtDifficulty: parseFloat(irtDifficulty),
+        irtDiscrimination: (irtDiscrimination ?? '') === '' ? null : parseFloat(irtDiscrimination),
+      } : {}),
+    });
+
     setLoading(true);
     try {
       await adminService.createTest({
         ...form,
+        questions: form.questions.map(toRequest),
         assignedTeamId: parseInt(form.assignedTeamId),
         timeLimitMinutes: parseInt(form.timeLimitMinutes),
+        availableFrom: form.availableFrom || null,
+        availableUntil: form.availableUntil || null,
+        admissionJitterSeconds: form.admissionJitterSeconds === '' ? null : parseInt(form.admissionJitterSeconds),
+        drawSize: form.drawSize === '' ? null : parseInt(form.drawSize),
       });
       toast.success('Test created successfully!');
       navigate('/admin/tests');
@@ -229,6 +301,9 @@ export default function CreateTestPage() {
         <Button type="button" variant="secondary" onClick={openAiModal}>
           Generate with AI
         </Button>
+        <Button type="button" variant="secondary" onClick={() => setBankOpen(true)}>
+          Add from Question Bank
+        </Button>
         <span className="text-xs text-gray-500">Max 15 AI questions per request</span>
       </div>
 
@@ -293,6 +368,71 @@ export default function CreateTestPage() {
                 <option value="TR">Team Representative</option>
               </select>
             </div>
+
+            <div>
+              <label className="block text-sm font-medium text-gray-700 mb-2">Opens At</label>
+              <input
+                type="datetime-local"
+                value={form.availableFrom}
+                onChange={(e) => setForm({ ...form, availableFrom: e.target.value })}
+                className="w-full px-4 py-2.5 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-blue-600 focus:border-transparent"
+              />
+            </div>
+
+            <div>
+              <label className="block text-sm font-medium text-gray-700 mb-2">Closes At</label>
+              <input
+                type="datetime-local"
+                value={form.availableUntil}
+                onChange={(e) => setForm({ ...form, availableUntil: e.target.value })}
+                className="w-full px-4 py-2.5 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-blue-600 focus:border-transparent"
+              />
+            </div>
+
+            <div>
+              <label className="block text-sm font-medium text-gray-700 mb-2">Admission Spread (seconds)</label>
+              <input
+                type="number"
+                min="0"
+                max="600"
+                placeholder="0"
+                disabled={!form.availableFrom}
+                value={form.admissionJitterSeconds}
+                onChange={(e) => setForm({ ...form, admissionJitterSeconds: e.target.value })}
+                className="w-full px-4 py-2.5 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-blue-600 focus:border-transparent disabled:bg-gray-100"
+              />
+              <p className="text-xs text-gray-500 mt-1">Candidates are let in over this many seconds after the test opens</p>
+            </div>
+
+            <div>
+              <label className="block text-sm font-medium text-gray-700 mb-2">Questions per Candidate</label>
+              <input
+                type="number"
+                min="1"
+                max={form.questions.length}
+                placeholder="All"
+                value={form.drawSize}
+                onChange={(e) => setForm({ ...form, drawSize: e.target.value })}
+                className="w-full px-4 py-2.5 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-blue-600 focus:border-transparent"
+              />
+              <p className="text-xs text-gray-500 mt-1">Each candidate gets this many questions drawn from the pool, with questions and options shuffled</p>
+            </div>
+
+            <div>
+              <label className="flex items-center gap-2 text-sm font-medium text-gray-700 mb-2">
+                <input
+                  type="checkbox"
+                  checked={form.adaptive}
+                  onChange={(e) => setForm({ ...form, adaptive: e.target.checked })}
+                  className="w-4 h-4 rounded border-gray-300 accent-blue-600"
+                />
+                Adaptive
+              </label>
+              <p className="text-xs text-gray-500">
+                Each answer picks the next question by difficulty. Questions per Candidate becomes the most a
+                candidate is asked; the test ends sooner once their ability is measured precisely enough.
+              </p>
+            </div>
           </div>
 
           <div className="mt-4">
@@ -324,6 +464,7 @@ export default function CreateTestPage() {
             {form.questions.map((question, qIndex) => {
               const hasCorrectAnswer = question.options.some(o => o.isCorrect);
               const allOptionsFilled = question.options.every(o => o.optionText);
+              const fromBank = Boolean(question.bankQuestionId);
 
               return (
                 <div key={qIndex} className="p-6">
@@ -334,6 +475,7 @@ export default function CreateTestPage() {
                         <span className="text-sm font-bold text-gray-600">{qIndex + 1}</span>
                       </div>
                       <span className="text-sm font-medium text-gray-600">Question {qIndex + 1}</span>
+                      {fromBank && <Badge variant="info">From bank</Badge>}
                     </div>
                     <div className="flex items-center gap-2">
                       {hasCorrectAnswer && allOptionsFilled && (
@@ -370,6 +512,7 @@ export default function CreateTestPage() {
                       placeholder="Enter question text..."
                       value={question.questionText}
                       onChange={(e) => updateQuestion(qIndex, e.target.value)}
+                      readOnly={fromBank}
                       className="w-full px-4 py-2.5 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-blue-600 focus:border-transparent resize-none"
                       rows="2"
                     />
@@ -384,6 +527,7 @@ export default function CreateTestPage() {
                             type="checkbox"
                             checked={option.isCorrect}
                             onChange={() => toggleCorrect(qIndex, oIndex)}
+                            disabled={fromBank}
                             className="w-4 h-4 rounded border-gray-300 text-blue-600 focus:ring-blue-500 cursor-pointer accent-blue-600"
                             title="Mark as correct"
                           />
@@ -397,6 +541,7 @@ export default function CreateTestPage() {
                             placeholder={`Enter option ${String.fromCharCode(65 + oIndex)}`}
                             value={option.optionText}
                             onChange={(e) => updateOption(qIndex, oIndex, e.target.value)}
+                            readOnly={fromBank}
                             className="w-full px-2 py-2 border border-gray-200 rounded focus:outline-none focus:ring-2 focus:ring-blue-600 focus:border-transparent text-sm"
                           />
                         </div>
@@ -404,6 +549,36 @@ export default function CreateTestPage() {
                     ))}
                   </div>
 
+                  {form.adaptive && (
+                    <div className="grid grid-cols-2 gap-3 mt-3">
+                      <div>
+                        <label className="block text-xs font-semibold text-gray-500 uppercase mb-1">Difficulty *</label>
+                        <input
+                          type="number"
+                          step="0.1"
+                          min="-4"
+                          max="4"
+                          placeholder="e.g. 0 (average), 1.5 (hard)"
+                          value={question.irtDifficulty ?? ''}
+                          onChange={(e) => updateItemParameter(qIndex, 'irtDifficulty', e.target.value)}
+                          className="w-full px-2 py-2 border border-gray-200 rounded focus:outline-none focus:ring-2 focus:ring-blue-600 focus:border-transparent text-sm"
+                        />
+                      </div>
+                      <div>
+                        <label className="block text-xs font-semibold text-gray-500 uppercase mb-1">Discrimination</label>
+                        <input
+                          type="number"
+                          step="0.1"
+                          min="0.1"
+                          placeholder="1"
+                          value={question.irtDiscrimination ?? ''}
+                          onChange={(e) => updateItemParameter(qIndex, 'irtDiscrimination', e.target.value)}
+                          className="w-full px-2 py-2 border border-gray-200 rounded focus:outline-none focus:ring-2 focus:ring-blue-600 focus:border-transparent text-sm"
+                        />
+                      </div>
+                    </div>
+                  )}
+
                   {!hasCorrectAnswer && (
                     <div className="mt-3 p-2 bg-amber-50 border border-amber-200 rounded-lg">
                       <p className="text-xs text-amber-800">⚠️ Mark at least one answer as correct</p>
@@ -446,6 +621,33 @@ export default function CreateTestPage() {
         </div>
       </form>
 
+      {bankOpen && (
+        <div className="fixed inset-0 z-50 flex items-center justify-center bg-black/40 p-4">
+          <div className="w-full max-w-3xl max-h-[85vh] overflow-y-auto rounded-xl bg-white p-6 shadow-lg">
+            <div className="flex items-center justify-between mb-4">
+              <h3 className="text-lg font-semibold text-gray-900">Question Bank</h3>
+              <button
+                type="button"
+                onClick={() => setBankOpen(false)}
+                className="text-gray-400 hover:text-gray-600"
+              >
+                ✕
+              </button>
+            </div>
+            <QuestionBankSearch
+              renderAction={(q) => {
+                const added = form.questions.some((existing) => existing.bankQuestionId === q.id);
+                return (
+                  <Button type="button" size="sm" variant="secondary" disabled={added} onClick={() => addFromBank(q)}>
+                    {added ? 'Added' : 'Add'}
+                  </Button>
+                );
+              }}
+            />
+          </div>
+        </div>
+      )}
+
       {aiOpen && (
         <div className="fixed inset-0 z-50 flex items-center justify-center bg-black/40 p-4">
           <div className="w-full max-w-lg rounded-xl bg-white p-6 shadow-lg">
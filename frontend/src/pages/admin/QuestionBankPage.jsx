@@ -0,0 +1,153 @@
+import { useState } from 'react';
+import { adminService } from '../../services/adminService';
+import Card, { CardTitle } from '../../components/ui/Card';
+import Button from '../../components/ui/Button';
+import Input from '../../components/ui/Input';
+import Select from '../../components/ui/Select';
+import QuestionBankSearch from '../../components/QuestionBankSearch';
+import toast from 'react-hot-toast';
+import { Plus, Trash2 } from 'lucide-react';
+
+const emptyQuestion = () => ({
+  questionText: '',
+  options: [
+    { optionText: '', isCorrect: false },
+    { optionText: '', isCorrect: false },
+    { optionText: '', isCorrect: false },
+    { optionText: '', isCorrect: false },
+  ],
+  difficulty: '',
+  teamType: '',
+  tags: '',
+});
+
+export default function QuestionBankPage() {
+  const [draft, setDraft] = useState(emptyQuestion());
+  const [saving, setSaving] = useState(false);
+  const [refreshKey, setRefreshKey] = useState(0);
+
+  const updateOption = (index, changes) => {
+    setDraft((prev) => ({
+      ...prev,
+      options: prev.options.map((opt, i) => (i === index ? { ...opt, ...changes } : opt)),
+    }));
+  };
+
+  const handleSave = async (e) => {
+    e.preventDefault();
+    if (!draft.questionText.trim()) {
+      toast.error('Question text is required');
+      return;
+    }
+    if (!draft.options.every((o) => o.optionText.trim())) {
+      toast.error('All options must be filled');
+      return;
+    }
+    if (!draft.options.some((o) => o.isCorrect)) {
+      toast.error('Mark at least one correct option');
+      return;
+    }
+    setSaving(true);
+    try {
+      await adminService.createBankQuestion({
+        questionText: draft.questionText,
+        options: draft.options,
+        difficulty: draft.difficulty || null,
+        teamType: draft.teamType || null,
+        tags: draft.tags.split(',').map((t) => t.trim()).filter(Boolean),
+      });
+      toast.success('Question added to the bank');
+      setDraft(emptyQuestion());
+      setRefreshKey((k) => k + 1);
+    } catch (err) {
+      toast.error(err.response?.data?.message || 'Failed to save question');
+    } finally {
+      setSaving(false);
+    }
+  };
+
+  const handleDelete = async (id) => {
+    try {
+      await adminService.deleteBankQuestion(id);
+      toast.success('Bank question deleted');
+      setRefreshKey((k) => k + 1);
+    } catch (err) {
+      toast.error(err.response?.data?.message || 'Failed to delete question');
+    }
+  };
+
+  return (
+    <div>
+      <div className="mb-8">
+        <h1 className="text-2xl font-bold text-text">Question Bank</h1>
+        <p className="text-text-light mt-1">Reusable questions, searchable by text and tags</p>
+      </div>
+
+      <Card className="mb-6">
+        <CardTitle>Add Question</CardTitle>
+        <form onSubmit={handleSave} className="space-y-4 mt-4">
+          <Input
+            label="Question"
+            value={draft.questionText}
+            onChange={(e) => setDraft({ ...draft, questionText: e.target.value })}
+            placeholder="Enter the question"
+          />
+          <div className="grid grid-cols-1 md:grid-cols-2 gap-3">
+            {draft.options.map((option, index) => (
+              <div key={index} className="flex items-center gap-2">
+                <input
+                  type="checkbox"
+                  checked={option.isCorrect}
+                  onChange={() => updateOption(index, { isCorrect: !option.isCorrect })}
+                  className="w-4 h-4 text-primary rounded"
+                />
+                <Input
+                  value={option.optionText}
+                  onChange={(e) => updateOption(index, { optionText: e.target.value })}
+                  placeholder={`Option ${index + 1}`}
+                />
+              </div>
+            ))}
+          </div>
+          <div className="grid grid-cols-1 md:grid-cols-3 gap-3">
+            <Select value={draft.difficulty} onChange={(e) => setDraft({ ...draft, difficulty: e.target.value })}>
+              <option value="">No difficulty</option>
+              <option value="EASY">Easy</option>
+              <option value="MEDIUM">Medium</option>
+              <option value="HARD">Hard</option>
+            </Select>
+            <Select value={draft.teamType} onChange={(e) => setDraft({ ...draft, teamType: e.target.value })}>
+              <option value="">No team type</option>
+              <option value="DEV">Dev</option>
+              <option value="DATA">Data</option>
+              <option value="DEVOPS">DevOps</option>
+            </Select>
+            <Input
+              value={draft.tags}
+              onChange={(e) => setDraft({ ...draft, tags: e.target.value })}
+              placeholder="Tags, comma separated"
+            />
+          </div>
+          <Button type="submit" loading={saving}>
+            <Plus className="w-4 h-4 mr-2" />
+            Add to Bank
+          </Button>
+        </form>
+      </Card>
+
+      <Card>
+        <CardTitle>Search</CardTitle>
+        <div className="mt-4">
+          <QuestionBankSearch
+            refreshKey={refreshKey}
+            renderAction={(q) => (
+              <Button variant="ghost" size="sm" onClick={() => handleDelete(q.id)}>
+                <Trash2 className="w-4 h-4 text-red-500" />
+              </Button>
+            )}
+          />
+        </div>
+      </Card>
+    </div>
+  );
+}
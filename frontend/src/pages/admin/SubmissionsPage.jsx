@@ -6,7 +6,7 @@ import Badge from '../../components/ui/Badge';
 import Spinner from '../../components/ui/Spinner';
 import Select from '../../components/ui/Select';
 import toast from 'react-hot-toast';
-import { ClipboardList, Send, Download } from 'lucide-react';
+import { ClipboardList, Send, Download, Users } from 'lucide-react';
 import { roleLabel } from '../../utils/roleLabel';
 
 export default function SubmissionsPage() {
@@ -17,11 +17,101 @@ export default function SubmissionsPage() {
   const [loadingSubs, setLoadingSubs] = useState(false);
   const [releasing, setReleasing] = useState(false);
   const [downloadingCSV, setDownloadingCSV] = useState(false);
+  const [exporting, setExporting] = useState(false);
+  const [collusion, setCollusion] = useState(null);
+  const [checkingCollusion, setCheckingCollusion] = useState(false);
+  // userId -> row, kept current by the live stream while results are unreleased
+  const [live, setLive] = useState({});
+  const [onlineCount, setOnlineCount] = useState(null);
+  // userId -> proctoring summary (event counts by type)
+  const [integrity, setIntegrity] = useState({});
 
   useEffect(() => {
     fetchTests();
   }, []);
 
+  const selectedTest = tests.find((t) => t.id === parseInt(selectedTestId));
+  const isLive = Boolean(selectedTest && !selectedTest.resultsReleased);
+
+  // One long-lived connection instead of polling; reconnects resume from the last event seen
+  useEffect(() => {
+    if (!isLive) return;
+    const controller = new AbortController();
+    let lastEventId = null;
+    let retryTimer = null;
+
+    const connect = async () => {
+      try {
+        await adminService.streamSubmissions(selectedTestId, {
+          lastEventId,
+          signal: controller.signal,
+          onEvent: ({ event, id, data }) => {
+            if (id) lastEventId = id;
+            if (event === 'snapshot') {
+              setLive(Object.fromEntries(data.map((row) => [row.userId, row])));
+              setLoadingSubs(false);
+            } else if (event === 'in_progress' || event === 'submitted') {
+              setLive((prev) => ({ ...prev, [data.userId]: data }));
+            } else if (event === 'released') {
+              controller.abort();
+              fetchTests();
+              fetchSubmissions(selectedTestId);
+            }
+          },
+        });
+      } catch (err) {
+        if (controller.signal.aborted) return;
+        console.error(err);
+      }
+      if (!controller.signal.aborted) retryTimer = setTimeout(connect, 3000);
+    };
+
+    setLive({});
+    setLoadingSubs(true);
+    connect();
+    return () => {
+      controller.abort();
+      clearTimeout(retryTimer);
+    };
+  }, [selectedTestId, isLive]);
+
+  // Presence is a per-node count refreshed by a server-side sweep, so polling is enough
+  useEffect(() => {
+    if (!isLive) return;
+    const fetchPresence = async () => {
+      try {
+        const res = await adminService.getPresence();
+        const entry = res.data.data.tests.find((t) => t.testId === parseInt(selectedTestId));
+        setOnlineCount(entry ? entry.activeCandidates : 0);
+      } catch (err) {
+        console.error(err);
+      }
+    };
+
+    setOnlineCount(null);
+    fetchPresence();
+    const timer = setInterval(fetchPresence, 15000);
+    return () => clearInterval(timer);
+  }, [selectedTestId, isLive]);
+
+  useEffect(() => {
+    if (!selectedTestId) return;
+    const fetchIntegrity = async () => {
+      try {
+        const res = await adminService.getProctoringSummary(selectedTestId);
+        setIntegrity(Object.fromEntries((res.data.data || []).map((s) => [s.userId, s])));
+      } catch (err) {
+        console.error(err);
+      }
+    };
+
+    setIntegrity({});
+    fetchIntegrity();
+    if (!isLive) return;
+    const timer = setInterval(fetchIntegrity, 30000);
+    return () => clearInterval(timer);
+  }, [selectedTestId, isLive]);
+
   const fetchTests = async () => {
     try {
       const res = await adminService.getAllTests();
@@ -48,8 +138,10 @@ export default function SubmissionsPage() {
   const handleTestChange = (e) => {
     const id = e.target.value;
     setSelectedTestId(id);
-    if (id) fetchSubmissions(id);
-    else setSubmissions([]);
+    setSubmissions([]);
+    setCollusion(null);
+    const test = tests.find((t) => t.id === parseInt(id));
+    if (test?.resultsReleased) fetchSubmissions(id);
   };
 
   const handleRelease = async () => {
@@ -58,7 +150,7 @@ export default function SubmissionsPage() {
     try {
       await adminService.releaseResults(selectedTestId);
       toast.success('Results released and emails sent!');
-      fetchTests();
+      await fetchTests();
       fetchSubmissions(selectedTestId);
     } catch (err) {
       toast.error(err.response?.data?.message || 'Failed to release results');
@@ -67,6 +159,19 @@ export default function SubmissionsPage() {
     }
   };
 
+  const handleCheckCollusion = async () => {
+    if (!selectedTestId) return;
+    setCheckingCollusion(true);
+    try {
+      const res = await adminService.getCollusionReport(selectedTestId);
+      setCollusion(res.data.data);
+    } catch (err) {
+      toast.error(err.response?.data?.message || 'Failed to compare answers');
+    } finally {
+      setCheckingCollusion(false);
+    }
+  };
+
   const handleDownloadCSV = async () => {
     if (!selectedTestId) return;
     setDownloadingCSV(true);
@@ -95,7 +200,30 @@ export default function SubmissionsPage() {
     }
   };
 
-  const selectedTest = tests.find((t) => t.id === parseInt(selectedTestId));
+  const handleExportAnswers = async () => {
+    if (!selectedTestId) return;
+    setExporting(true);
+    try {
+      const response = await adminService.exportSubmissions({ testId: selectedTestId, gzip: true });
+      const link = document.createElement('a');
+      const url = URL.createObjectURL(new Blob([response.data], { type: 'application/gzip' }));
+      link.setAttribute('href', url);
+      link.setAttribute('download', `submissions-test-${selectedTestId}.ndjson.gz`);
+      link.style.visibility = 'hidden';
+      document.body.appendChild(link);
+      link.click();
+      document.body.removeChild(link);
+      URL.revokeObjectURL(url);
+    } catch (err) {
+      toast.error('Failed to export answers');
+    } finally {
+      setExporting(false);
+    }
+  };
+
+  const rows = isLive ? Object.values(live) : submissions;
+  const submittedCount = rows.filter((row) => row.score != null).length;
+  const inProgressCount = rows.length - submittedCount;
 
   if (loading) return <Spinner className="min-h-[60vh]" size="lg" />;
 
@@ -118,18 +246,30 @@ export default function SubmissionsPage() {
               ))}
             </Select>
           </div>
-          {selectedTest && !selectedTest.resultsReleased && submissions.length > 0 && (
+          {selectedTest && !selectedTest.resultsReleased && submittedCount > 0 && (
             <Button onClick={handleRelease} loading={releasing} variant="success">
               <Send className="w-4 h-4 mr-2" />
               Release Results
             </Button>
           )}
+          {selectedTest && submittedCount > 1 && (
+            <Button onClick={handleCheckCollusion} loading={checkingCollusion} variant="secondary">
+              <Users className="w-4 h-4 mr-2" />
+              Compare Answers
+            </Button>
+          )}
           {selectedTest && (
             <Button onClick={handleDownloadCSV} loading={downloadingCSV}>
               <Download className="w-4 h-4 mr-2" />
               Download CSV
             </Button>
           )}
+          {selectedTest && (
+            <Button onClick={handleExportAnswers} loading={exporting} variant="secondary">
+              <Download className="w-4 h-4 mr-2" />
+              Export Answers
+            </Button>
+          )}
         </div>
       </Card>
 
@@ -137,16 +277,25 @@ export default function SubmissionsPage() {
         <Card>
           <div className="flex items-center justify-between mb-4">
             <CardTitle>
-              Submissions ({submissions.length})
+              Submissions ({submittedCount})
+              {isLive && inProgressCount > 0 && (
+                <span className="ml-2 text-sm font-normal text-text-light">{inProgressCount} in progress</span>
+              )}
+              {isLive && onlineCount != null && (
+                <span className="ml-2 text-sm font-normal text-text-light">{onlineCount} online now</span>
+              )}
             </CardTitle>
             {selectedTest?.resultsReleased && (
               <Badge variant="success">Results Released</Badge>
             )}
+            {isLive && (
+              <Badge variant="warning">Live</Badge>
+            )}
           </div>
 
           {loadingSubs ? (
             <Spinner className="py-8" />
-          ) : submissions.length === 0 ? (
+          ) : rows.length === 0 ? (
             <div className="text-center py-12">
               <ClipboardList className="w-12 h-12 text-text-light mx-auto mb-3" />
               <p className="text-text-light">No submissions yet</p>
@@ -159,23 +308,41 @@ export default function SubmissionsPage() {
                     <th className="text-left py-3 px-2 font-medium text-text-light">User</th>
                     <th className="text-left py-3 px-2 font-medium text-text-light">Email</th>
                     <th className="text-left py-3 px-2 font-medium text-text-light">Score</th>
+                    <th className="text-left py-3 px-2 font-medium text-text-light">Integrity</th>
                     <th className="text-left py-3 px-2 font-medium text-text-light">Duration</th>
                     <th className="text-left py-3 px-2 font-medium text-text-light">Submitted</th>
                   </tr>
                 </thead>
                 <tbody>
-                  {submissions.map((sub) => {
+                  {rows.map((sub) => {
                     const duration = sub.startTime && sub.endTime
                       ? Math.round((new Date(sub.endTime) - new Date(sub.startTime)) / 60000)
                       : '-';
                     return (
-                      <tr key={sub.id} className="border-b border-border/50 hover:bg-gray-50">
+                      <tr key={sub.id ?? sub.userId} className="border-b border-border/50 hover:bg-gray-50">
                         <td className="py-3 px-2 font-medium">{sub.userName}</td>
                         <td className="py-3 px-2 text-text-light">{sub.userEmail}</td>
                         <td className="py-3 px-2">
-                          <Badge variant={sub.score >= sub.totalMarks * 0.7 ? 'success' : sub.score >= sub.totalMarks * 0.4 ? 'warning' : 'danger'}>
-                            {sub.score}/{sub.totalMarks}
-                          </Badge>
+                          {sub.score == null ? (
+                            <Badge>In progress</Badge>
+                          ) : (
+                            <Badge variant={sub.score >= sub.totalMarks * 0.7 ? 'success' : sub.score >= sub.totalMarks * 0.4 ? 'warning' : 'danger'}>
+                              {sub.score}/{sub.totalMarks}
+                            </Badge>
+                          )}
+                        </td>
+                        <td className="py-3 px-2">
+                          {integrity[sub.userId] ? (
+                            <span
+                              title={Object.entries(integrity[sub.userId].eventCounts)
+                                .map(([type, count]) => `${type}: ${count}`)
+                                .join(', ')}
+                            >
+                              <Badge variant="warning">{integrity[sub.userId].totalEvents} flags</Badge>
+                            </span>
+                          ) : (
+                            <span className="text-text-light">-</span>
+                          )}
                         </td>
                         <td className="py-3 px-2 text-text-light">{duration} min</td>
                         <td className="py-3 px-2 text-text-light">
@@ -190,6 +357,53 @@ export default function SubmissionsPage() {
           )}
         </Card>
       )}
+
+      {collusion && (
+        <Card className="mt-6">
+          <CardTitle>Similar Answers</CardTitle>
+          <p className="text-sm text-text-light mt-1 mb-4">
+            {collusion.pairs.length} suspicious pairs among {collusion.submissionsAnalysed} submissions
+            ({collusion.candidatePairs} pairs compared in detail). Shared wrong answers weigh the most.
+          </p>
+          {collusion.pairs.length > 0 && (
+            <div className="overflow-x-auto">
+              <table className="w-full text-sm">
+                <thead>
+                  <tr className="border-b border-border">
+                    <th className="text-left py-3 px-2 font-medium text-text-light">Candidate</th>
+                    <th className="text-left py-3 px-2 font-medium text-text-light">Candidate</th>
+                    <th className="text-left py-3 px-2 font-medium text-text-light">Same wrong</th>
+                    <th className="text-left py-3 px-2 font-medium text-text-light">Same correct</th>
+                    <th className="text-left py-3 px-2 font-medium text-text-light">Similarity</th>
+                  </tr>
+                </thead>
+                <tbody>
+                  {collusion.pairs.map((pair) => (
+                    <tr
+                      key={`${pair.first.submissionId}-${pair.second.submissionId}`}
+                      className="border-b border-border/50 hover:bg-gray-50"
+                    >
+                      <td className="py-3 px-2">
+                        <span className="font-medium">{pair.first.userName}</span>
+                        <span className="text-text-light ml-2">{pair.first.score}</span>
+                      </td>
+                      <td className="py-3 px-2">
+                        <span className="font-medium">{pair.second.userName}</span>
+                        <span className="text-text-light ml-2">{pair.second.score}</span>
+                      </td>
+                      <td className="py-3 px-2">
+                        <Badge variant="danger">{pair.sharedWrong}</Badge>
+                      </td>
+                      <td className="py-3 px-2 text-text-light">{pair.sharedCorrect}</td>
+                      <td className="py-3 px-2">{Math.round(pair.similarity * 100)}%</td>
+                    </tr>
+                  ))}
+                </tbody>
+              </table>
+            </div>
+          )}
+        </Card>
+      )}
     </div>
   );
 }
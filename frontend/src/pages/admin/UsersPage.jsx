@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { adminService } from '../../services/adminService';
 import Card, { CardTitle } from '../../components/ui/Card';
 import Badge from '../../components/ui/Badge';
@@ -6,7 +6,7 @@ import Button from '../../components/ui/Button';
 import Select from '../../components/ui/Select';
 import Spinner from '../../components/ui/Spinner';
 import toast from 'react-hot-toast';
-import { Users as UsersIcon } from 'lucide-react';
+import { Users as UsersIcon, Upload } from 'lucide-react';
 import { roleLabel } from '../../utils/roleLabel';
 
 export default function UsersPage() {
@@ -15,6 +15,9 @@ export default function UsersPage() {
   const [editingId, setEditingId] = useState(null);
   const [newRole, setNewRole] = useState('');
   const [updating, setUpdating] = useState(false);
+  const [importing, setImporting] = useState(false);
+  const [importReport, setImportReport] = useState(null);
+  const fileInputRef = useRef(null);
 
   useEffect(() => {
     fetchUsers();
@@ -47,6 +50,23 @@ export default function UsersPage() {
     }
   };
 
+  const handleImport = async (e) => {
+    const file = e.target.files?.[0];
+    e.target.value = '';
+    if (!file) return;
+    setImporting(true);
+    try {
+      const res = await adminService.importUsers(file);
+      setImportReport(res.data.data);
+      toast.success(res.data.message);
+      fetchUsers();
+    } catch (err) {
+      toast.error(err.response?.data?.message || 'Failed to import users');
+    } finally {
+      setImporting(false);
+    }
+  };
+
   const roleVariant = (role) => {
     const map = { ADMIN: 'danger', TRAINEE: 'primary', INTERN: 'info', PPO: 'success', TL: 'warning', TR: 'info' };
     return map[role] || 'default';
@@ -56,11 +76,62 @@ export default function UsersPage() {
 
   return (
     <div>
-      <div className="mb-8">
-        <h1 className="text-2xl font-bold text-text">Users Management</h1>
-        <p className="text-text-light mt-1">{users.length} registered users</p>
+      <div className="mb-8 flex items-end justify-between">
+        <div>
+          <h1 className="text-2xl font-bold text-text">Users Management</h1>
+          <p className="text-text-light mt-1">{users.length} registered users</p>
+        </div>
+        <div>
+          <input
+            ref={fileInputRef}
+            type="file"
+            accept=".csv,.json"
+            className="hidden"
+            onChange={handleImport}
+          />
+          <Button onClick={() => fileInputRef.current?.click()} loading={importing} variant="secondary">
+            <Upload className="w-4 h-4 mr-2" />
+            Import Users
+          </Button>
+        </div>
       </div>
 
+      {importReport && (
+        <Card className="mb-6">
+          <CardTitle>Import Report</CardTitle>
+          <p className="text-sm text-text-light mt-1 mb-4">
+            {importReport.created} of {importReport.totalRows} rows imported, {importReport.rejected} rejected.
+            CSV columns: name, email, password, role, team, teamLeadName, description.
+          </p>
+          {importReport.rejected > 0 && (
+            <div className="overflow-x-auto">
+              <table className="w-full text-sm">
+                <thead>
+                  <tr className="border-b border-border">
+                    <th className="text-left py-3 px-2 font-medium text-text-light">Row</th>
+                    <th className="text-left py-3 px-2 font-medium text-text-light">Email</th>
+                    <th className="text-left py-3 px-2 font-medium text-text-light">Status</th>
+                    <th className="text-left py-3 px-2 font-medium text-text-light">Reason</th>
+                  </tr>
+                </thead>
+                <tbody>
+                  {importReport.rows.filter((row) => row.status !== 'CREATED').map((row) => (
+                    <tr key={row.row} className="border-b border-border/50">
+                      <td className="py-3 px-2">{row.row}</td>
+                      <td className="py-3 px-2 text-text-light">{row.email || '-'}</td>
+                      <td className="py-3 px-2">
+                        <Badge variant={row.status === 'DUPLICATE' ? 'warning' : 'danger'}>{row.status}</Badge>
+                      </td>
+                      <td className="py-3 px-2 text-text-light">{row.message}</td>
+                    </tr>
+                  ))}
+                </tbody>
+              </table>
+            </div>
+          )}
+        </Card>
+      )}
+
       <Card>
         <div className="overflow-x-auto">
           <table className="w-full text-sm">
@@ -1,20 +1,126 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { adminService } from '../../services/adminService';
 import Card, { CardTitle } from '../../components/ui/Card';
 import Badge from '../../components/ui/Badge';
+import Button from '../../components/ui/Button';
 import Spinner from '../../components/ui/Spinner';
-import { FileText, Clock, Users, ChevronDown, ChevronUp } from 'lucide-react';
+import toast from 'react-hot-toast';
+import { FileText, Clock, Users, ChevronDown, ChevronUp, Upload, Download } from 'lucide-react';
 import { roleLabel } from '../../utils/roleLabel';
 
 export default function ViewTestsPage() {
   const [tests, setTests] = useState([]);
   const [loading, setLoading] = useState(true);
   const [expanded, setExpanded] = useState(null);
+  // questionId -> option ids being marked correct, for unreleased tests
+  const [keyEdits, setKeyEdits] = useState({});
+  const [savingKey, setSavingKey] = useState(null);
+  // testId -> latest re-grade job
+  const [regradeJobs, setRegradeJobs] = useState({});
+  const pollRef = useRef({});
+  const fileInputRef = useRef(null);
+  const [importing, setImporting] = useState(false);
+  const [importErrors, setImportErrors] = useState(null);
 
   useEffect(() => {
     fetchTests();
+    const polls = pollRef.current;
+    return () => Object.values(polls).forEach(clearInterval);
   }, []);
 
+  const toggleCorrect = (question, optionId) => {
+    setKeyEdits((prev) => {
+      const current = prev[question.id]
+        ?? question.options.filter((o) => o.isCorrect).map((o) => o.id);
+      const next = current.includes(optionId)
+        ? current.filter((id) => id !== optionId)
+        : [...current, optionId];
+      return { ...prev, [question.id]: next };
+    });
+  };
+
+  const isKeyEdited = (question) => {
+    const edit = keyEdits[question.id];
+    if (!edit) return false;
+    const original = question.options.filter((o) => o.isCorrect).map((o) => o.id);
+    return edit.length !== original.length || edit.some((id) => !original.includes(id));
+  };
+
+  const watchRegrade = (testId, job) => {
+    setRegradeJobs((prev) => ({ ...prev, [testId]: job }));
+    clearInterval(pollRef.current[testId]);
+    pollRef.current[testId] = setInterval(async () => {
+      try {
+        const res = await adminService.getRegradeJob(job.id);
+        const latest = res.data.data;
+        setRegradeJobs((prev) => ({ ...prev, [testId]: latest }));
+        if (latest.status !== 'RUNNING') clearInterval(pollRef.current[testId]);
+      } catch (err) {
+        console.error(err);
+        clearInterval(pollRef.current[testId]);
+      }
+    }, 2000);
+  };
+
+  const saveAnswerKey = async (test, question) => {
+    const correctOptionIds = keyEdits[question.id];
+    if (!correctOptionIds?.length) {
+      toast.error('Mark at least one correct option');
+      return;
+    }
+    setSavingKey(question.id);
+    try {
+      const res = await adminService.updateAnswerKey(test.id, question.id, { correctOptionIds });
+      toast.success('Answer key updated, re-grading submissions');
+      watchRegrade(test.id, res.data.data);
+      await fetchTests();
+      setKeyEdits((prev) => {
+        const { [question.id]: _saved, ...rest } = prev;
+        return rest;
+      });
+    } catch (err) {
+      toast.error(err.response?.data?.message || 'Failed to update answer key');
+    } finally {
+      setSavingKey(null);
+    }
+  };
+
+  const handleImport = async (e) => {
+    const file = e.target.files?.[0];
+    e.target.value = '';
+    if (!file) return;
+    setImporting(true);
+    setImportErrors(null);
+    try {
+      const res = await adminService.importTestPackage(file);
+      toast.success(res.data.message);
+      fetchTests();
+    } catch (err) {
+      setImportErrors(err.response?.data?.data?.errors || null);
+      toast.error(err.response?.data?.message || 'Failed to import test');
+    } finally {
+      setImporting(false);
+    }
+  };
+
+  const handleExport = async (e, test) => {
+    e.stopPropagation();
+    try {
+      const response = await adminService.exportTestPackage(test.id);
+      const link = document.createElement('a');
+      const url = URL.createObjectURL(new Blob([response.data], { type: 'application/x-ndjson' }));
+      link.setAttribute('href', url);
+      link.setAttribute('download', `test-${test.id}.jsonl`);
+      link.style.visibility = 'hidden';
+      document.body.appendChild(link);
+      link.click();
+      document.body.removeChild(link);
+      URL.revokeObjectURL(url);
+    } catch (err) {
+      toast.error('Failed to export test');
+    }
+  };
+
   const fetchTests = async () => {
     try {
       const res = await adminService.getAllTests();
@@ -30,11 +136,41 @@ export default function ViewTestsPage() {
 
   return (
     <div>
-      <div className="mb-8">
-        <h1 className="text-2xl font-bold text-text">All Tests</h1>
-        <p className="text-text-light mt-1">{tests.length} tests created</p>
+      <div className="mb-8 flex items-end justify-between">
+        <div>
+          <h1 className="text-2xl font-bold text-text">All Tests</h1>
+          <p className="text-text-light mt-1">{tests.length} tests created</p>
+        </div>
+        <div>
+          <input
+            ref={fileInputRef}
+            type="file"
+            accept=".jsonl,.ndjson"
+            className="hidden"
+            onChange={handleImport}
+          />
+          <Button onClick={() => fileInputRef.current?.click()} loading={importing} variant="secondary">
+            <Upload className="w-4 h-4 mr-2" />
+            Import Test
+          </Button>
+        </div>
       </div>
 
+      {importErrors?.length > 0 && (
+        <Card className="mb-6">
+          <CardTitle>Import Errors</CardTitle>
+          <p className="text-sm text-text-light mt-1 mb-4">Nothing was imported. Fix these lines and try again.</p>
+          <ul className="text-sm space-y-1">
+            {importErrors.map((error) => (
+              <li key={`${error.line}-${error.message}`}>
+                <span className="font-medium">Line {error.line}:</span>{' '}
+                <span className="text-text-light">{error.message}</span>
+              </li>
+            ))}
+          </ul>
+        </Card>
+      )}
+
       {tests.length === 0 ? (
         <Card className="text-center py-12">
           <FileText className="w-12 h-12 text-text-light mx-auto mb-3" />
@@ -60,6 +196,13 @@ export default function ViewTestsPage() {
                 <div className="flex items-center gap-3">
                   <Badge variant="primary">{roleLabel(test.assignedRole)}</Badge>
                   <Badge variant="info">{test.assignedTeamName}</Badge>
+                  {test.drawSize && (
+                    <Badge>
+                      {test.adaptive
+                        ? `Adaptive, up to ${test.drawSize} of ${test.questions?.length}`
+                        : `${test.drawSize} of ${test.questions?.length} drawn`}
+                    </Badge>
+                  )}
                   <Badge variant={test.resultsReleased ? 'success' : 'warning'}>
                     {test.resultsReleased ? 'Released' : 'Pending'}
                   </Badge>
@@ -67,6 +210,13 @@ export default function ViewTestsPage() {
                     <Clock className="w-4 h-4" />
                     {test.timeLimitMinutes}m
                   </div>
+                  <button
+                    onClick={(e) => handleExport(e, test)}
+                    className="p-1 text-text-light hover:text-primary"
+                    title="Export as test package"
+                  >
+                    <Download className="w-4 h-4" />
+                  </button>
                   {expanded === test.id ? (
                     <ChevronUp className="w-5 h-5 text-text-light" />
                   ) : (
@@ -77,28 +227,60 @@ export default function ViewTestsPage() {
 
               {expanded === test.id && test.questions && (
                 <div className="mt-4 pt-4 border-t border-border space-y-3">
-                  {test.questions.map((q, i) => (
-                    <div key={q.id} className="bg-gray-50 rounded-lg p-4">
-                      <p className="font-medium text-sm mb-2">
-                        {i + 1}. {q.questionText}
-                      </p>
-                      <div className="grid grid-cols-2 gap-2">
-                        {q.options.map((opt) => (
-                          <div
-                            key={opt.id}
-                            className={`text-sm px-3 py-1.5 rounded ${
-                              opt.isCorrect
-                                ? 'bg-emerald-100 text-emerald-700 font-medium'
-                                : 'bg-white text-text-light'
-                            }`}
-                          >
-                            {opt.optionText}
-                            {opt.isCorrect && ' ✓'}
+                  {regradeJobs[test.id] && (
+                    <p className="text-sm text-text-light">
+                      Re-grade {regradeJobs[test.id].status.toLowerCase()}:{' '}
+                      {regradeJobs[test.id].processed}/{regradeJobs[test.id].total} submissions,{' '}
+                      {regradeJobs[test.id].scoreUp} up, {regradeJobs[test.id].scoreDown} down,{' '}
+                      {regradeJobs[test.id].unchanged} unchanged
+                      {regradeJobs[test.id].error && ` (${regradeJobs[test.id].error})`}
+                    </p>
+                  )}
+                  {!test.resultsReleased && (
+                    <p className="text-xs text-text-light">
+                      Click options to correct the answer key; saving re-grades every submission.
+                    </p>
+                  )}
+                  {test.questions.map((q, i) => {
+                    const correctIds = keyEdits[q.id] ?? q.options.filter((o) => o.isCorrect).map((o) => o.id);
+                    return (
+                      <div key={q.id} className="bg-gray-50 rounded-lg p-4">
+                        <p className="font-medium text-sm mb-2">
+                          {i + 1}. {q.questionText}
+                        </p>
+                        <div className="grid grid-cols-2 gap-2">
+                          {q.options.map((opt) => {
+                            const correct = correctIds.includes(opt.id);
+                            return (
+                              <div
+                                key={opt.id}
+                                onClick={() => !test.resultsReleased && toggleCorrect(q, opt.id)}
+                                className={`text-sm px-3 py-1.5 rounded ${
+                                  correct
+                                    ? 'bg-emerald-100 text-emerald-700 font-medium'
+                                    : 'bg-white text-text-light'
+                                } ${test.resultsReleased ? '' : 'cursor-pointer'}`}
+                              >
+                                {opt.optionText}
+                                {correct && ' ✓'}
+                              </div>
+                            );
+                          })}
+                        </div>
+                        {isKeyEdited(q) && (
+                          <div className="mt-3 flex justify-end">
+                            <Button
+                              size="sm"
+                              onClick={() => saveAnswerKey(test, q)}
+                              loading={savingKey === q.id}
+                            >
+                              Save key & re-grade
+                            </Button>
                           </div>
-                        ))}
+                        )}
                       </div>
-                    </div>
-                  ))}
+                    );
+                  })}
                 </div>
               )}
             </Card>
@@ -44,7 +44,10 @@ export default function AvailableTestsPage() {
         <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
           {tests.map((test) => {
             const isClosed = test.resultsReleased && !test.alreadySubmitted;
-            
+            const now = new Date();
+            const notOpenYet = test.availableFrom && now < new Date(test.availableFrom);
+            const windowOver = test.availableUntil && now > new Date(test.availableUntil);
+
             return (
               <Card key={test.id} className={`hover:shadow-md transition-shadow flex flex-col ${isClosed ? 'opacity-75' : ''}`}>
                 <div className="flex-1">
@@ -69,8 +72,17 @@ export default function AvailableTestsPage() {
                       <Clock className="w-4 h-4" />
                       {test.timeLimitMinutes} min
                     </span>
-                    <span>{test.questions?.length || 0} questions</span>
+                    <span>
+                      {test.adaptive ? 'Up to ' : ''}{test.drawSize ?? test.questions?.length ?? 0} questions
+                    </span>
                   </div>
+                  {(test.availableFrom || test.availableUntil) && (
+                    <p className="text-xs text-text-light mb-4">
+                      {test.availableFrom && `Opens ${new Date(test.availableFrom).toLocaleString()}`}
+                      {test.availableFrom && test.availableUntil && ' · '}
+                      {test.availableUntil && `Closes ${new Date(test.availableUntil).toLocaleString()}`}
+                    </p>
+                  )}
                 </div>
 
                 {test.alreadySubmitted ? (
@@ -81,6 +93,14 @@ export default function AvailableTestsPage() {
                   <Button variant="secondary" disabled className="w-full">
                     Test Closed - Results Released
                   </Button>
+                ) : notOpenYet ? (
+                  <Button variant="secondary" disabled className="w-full">
+                    Not Open Yet
+                  </Button>
+                ) : windowOver ? (
+                  <Button variant="secondary" disabled className="w-full">
+                    Test Window Closed
+                  </Button>
                 ) : (
                   <Link to={`/dashboard/tests/${test.id}/take`} className="block">
                     <Button className="w-full">Start Test</Button>
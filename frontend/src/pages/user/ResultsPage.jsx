@@ -125,6 +125,14 @@ export default function ResultsPage() {
                   <span className="text-gray-600 font-medium">Score</span>
                   <span className="text-xl font-bold text-gray-900">{result.score}/{result.totalMarks}</span>
                 </div>
+                {result.ability != null && (
+                  <div className="flex items-center justify-between p-3 bg-white rounded-lg border border-gray-200">
+                    <span className="text-gray-600 font-medium">Ability estimate</span>
+                    <span className="text-gray-900 font-semibold">
+                      {result.ability.toFixed(2)} ± {result.abilityStandardError.toFixed(2)}
+                    </span>
+                  </div>
+                )}
                 <div className="flex items-center justify-between p-3 bg-white rounded-lg border border-gray-200">
                   <span className="text-gray-600 font-medium">Status</span>
                   <Badge className={`${config.bg} ${config.text}`}>{config.label}</Badge>
@@ -18,9 +18,31 @@ export default function TakeTestPage() {
   const [submitting, setSubmitting] = useState(false);
   const [submitted, setSubmitted] = useState(false);
   const [fullscreenWarnings, setFullscreenWarnings] = useState(0);
-  const startTimeRef = useRef(new Date().toISOString());
+  const [admitAt, setAdmitAt] = useState(null);
+  // Adaptive tests: the question being asked and how far along the candidate is
+  const [step, setStep] = useState(null);
   const timerRef = useRef(null);
+  const admissionRef = useRef(null);
+  const autosaveRef = useRef(null);
   const testContainerRef = useRef(null);
+  // Integrity events waiting to be sent in the next batch
+  const proctoringRef = useRef([]);
+
+  const recordEvent = (type, detail) => {
+    proctoringRef.current.push({ type, at: Date.now(), ...(detail ? { detail } : {}) });
+  };
+
+  const flushEvents = useCallback(async () => {
+    const events = proctoringRef.current.splice(0, 200);
+    if (events.length === 0) return;
+    try {
+      await testService.sendProctoringEvents(id, { events });
+    } catch (err) {
+      // Kept for the next flush, including when the server asks us to back off
+      proctoringRef.current.unshift(...events);
+      console.error(err);
+    }
+  }, [id]);
 
   // Enter fullscreen on test load
   useEffect(() => {
@@ -33,6 +55,7 @@ export default function TakeTestPage() {
   useEffect(() => {
     const handleFullscreenChange = () => {
       if (!document.fullscreenElement && test && !submitted) {
+        recordEvent('FULLSCREEN_EXIT');
         setFullscreenWarnings((prev) => {
           const newCount = prev + 1;
           
@@ -57,6 +80,8 @@ export default function TakeTestPage() {
   useEffect(() => {
     const preventActions = (e) => {
       e.preventDefault();
+      if (e.type === 'copy' || e.type === 'cut') recordEvent('COPY', e.type);
+      if (e.type === 'paste') recordEvent('PASTE');
       toast.error('This action is disabled during the test');
     };
 
@@ -89,6 +114,24 @@ export default function TakeTestPage() {
     };
   }, [test, submitted]);
 
+  // Tab switches and focus loss are only recorded; the batch goes out every 10s and on submit
+  useEffect(() => {
+    if (!test || submitted) return;
+    const handleVisibility = () => {
+      if (document.visibilityState === 'hidden') recordEvent('TAB_SWITCH');
+    };
+    const handleBlur = () => recordEvent('FOCUS_LOST');
+
+    document.addEventListener('visibilitychange', handleVisibility);
+    window.addEventListener('blur', handleBlur);
+    const flushTimer = setInterval(flushEvents, 10000);
+    return () => {
+      document.removeEventListener('visibilitychange', handleVisibility);
+      window.removeEventListener('blur', handleBlur);
+      clearInterval(flushTimer);
+    };
+  }, [test, submitted, flushEvents]);
+
   const enterFullscreen = async () => {
     try {
       if (testContainerRef.current && !document.fullscreenElement) {
@@ -114,6 +157,8 @@ export default function TakeTestPage() {
     fetchTest();
     return () => {
       if (timerRef.current) clearInterval(timerRef.current);
+      if (admissionRef.current) clearTimeout(admissionRef.current);
+      if (autosaveRef.current) clearTimeout(autosaveRef.current);
       exitFullscreen();
     };
   }, [id]);
@@ -122,10 +167,32 @@ export default function TakeTestPage() {
     try {
       const res = await testService.getTestById(id);
       const testData = res.data.data;
+      setAdmitAt(null);
+      // The server's session is authoritative: resuming keeps the original deadline and saved answers
+      const session = testData.session;
+      const restored = {};
+      (session?.savedAnswers || []).forEach(({ questionId, selectedOptionIds, selectedPositions }) => {
+        const q = testData.questions.find((question) => question.id === questionId);
+        const selected = selectedPositions ?? selectedOptionIds;
+        if (!q || !selected?.length) return;
+        restored[questionId] = q.multiCorrect ? selected : selected[0];
+      });
+      if (testData.adaptive) {
+        const next = await testService.getNextQuestion(id);
+        setStep(next.data.data);
+      }
+      setAnswers(restored);
       setTest(testData);
-      setTimeLeft(testData.timeLimitMinutes * 60);
-      startTimeRef.current = new Date().toISOString();
+      setTimeLeft(session ? session.remainingSeconds : testData.timeLimitMinutes * 60);
     } catch (err) {
+      // Staggered admission: wait for our slot instead of leaving the page
+      if (err.response?.status === 429) {
+        const retryAfter = parseInt(err.response.headers?.['retry-after'])
+          || err.response.data?.data?.retryAfterSeconds || 5;
+        setAdmitAt(err.response.data?.data?.admitAt || new Date(Date.now() + retryAfter * 1000).toISOString());
+        admissionRef.current = setTimeout(fetchTest, retryAfter * 1000);
+        return;
+      }
       const errorMsg = err.response?.data?.message || err.message || 'Failed to load test';
       toast.error(errorMsg);
       setTimeout(() => navigate('/dashboard/tests'), 2000);
@@ -134,24 +201,51 @@ export default function TakeTestPage() {
     }
   };
 
+  const selectedFor = (questionId) => {
+    const answer = answers[questionId];
+    return Array.isArray(answer) ? answer : (answer != null ? [answer] : []);
+  };
+
+  // Adaptive tests send nothing here: the server already holds every answer given
+  const buildAnswersPayload = useCallback(() => (test.adaptive ? [] : test.questions.map((q) => {
+    const selected = selectedFor(q.id);
+
+    // Pooled tests (drawSize set) hide option ids; their options are answered by position
+    return test.drawSize
+      ? { questionId: q.id, selectedPositions: selected }
+      : { questionId: q.id, selectedOptionIds: selected };
+  })), [test, answers]);
+
+  // Autosave shortly after the last change; if the tab is closed the server submits these at the deadline
+  useEffect(() => {
+    if (!test || submitted || test.adaptive) return;
+    if (autosaveRef.current) clearTimeout(autosaveRef.current);
+    autosaveRef.current = setTimeout(() => {
+      testService.saveProgress(id, { answers: buildAnswersPayload() }).catch((err) => console.error(err));
+    }, 2000);
+    return () => {
+      if (autosaveRef.current) clearTimeout(autosaveRef.current);
+    };
+  }, [answers, test, submitted, id, buildAnswersPayload]);
+
+  // Tells the server the candidate is still here; missed heartbeats drop them from the presence count
+  useEffect(() => {
+    if (!test || submitted) return;
+    const beat = () => testService.heartbeat(id).catch((err) => console.error(err));
+    beat();
+    const heartbeat = setInterval(beat, 15000);
+    return () => clearInterval(heartbeat);
+  }, [test, submitted, id]);
+
   const handleSubmit = useCallback(async () => {
     if (submitted || submitting) return;
     setSubmitting(true);
-
-    const answersPayload = test.questions.map((q) => {
-      const answer = answers[q.id];
-      const selectedOptionIds = Array.isArray(answer) ? answer : (answer ? [answer] : []);
-      
-      return {
-        questionId: q.id,
-        selectedOptionIds: selectedOptionIds,
-      };
-    });
+    if (autosaveRef.current) clearTimeout(autosaveRef.current);
+    await flushEvents();
 
     try {
       await testService.submitTest(id, {
-        startTime: startTimeRef.current,
-        answers: answersPayload,
+        answers: buildAnswersPayload(),
       });
       setSubmitted(true);
       await exitFullscreen();
@@ -164,7 +258,7 @@ export default function TakeTestPage() {
     } finally {
       setSubmitting(false);
     }
-  }, [test, answers, id, submitted, submitting, navigate]);
+  }, [buildAnswersPayload, flushEvents, id, submitted, submitting, navigate]);
 
   useEffect(() => {
     if (!test || submitted) return;
@@ -185,12 +279,43 @@ export default function TakeTestPage() {
     };
   }, [test, submitted, handleSubmit]);
 
+  // Adaptive tests: the server records the answer, then picks the next question or ends the test
+  const handleAnswer = async () => {
+    const questionId = step.question.id;
+    const selected = selectedFor(questionId);
+    if (selected.length === 0) {
+      toast.error('Select an answer to continue');
+      return;
+    }
+    setSubmitting(true);
+    try {
+      const res = await testService.answerQuestion(id, { questionId, selectedOptionIds: selected });
+      const next = res.data.data;
+      if (next.finished) {
+        await flushEvents();
+        setSubmitted(true);
+        if (timerRef.current) clearInterval(timerRef.current);
+        await exitFullscreen();
+        toast.success('Test submitted successfully!');
+        setTimeout(() => navigate('/dashboard/tests'), 1500);
+      } else {
+        setStep(next);
+        setTimeLeft(next.remainingSeconds);
+      }
+    } catch (err) {
+      const errorMsg = err.response?.data?.message || err.message || 'Failed to save answer';
+      toast.error(errorMsg);
+    } finally {
+      setSubmitting(false);
+    }
+  };
+
   const selectOption = (questionId, optionId, isMultiCorrect) => {
     setAnswers((prev) => {
       const currentAnswer = prev[questionId];
       
       if (isMultiCorrect) {
-        const currentArray = Array.isArray(currentAnswer) ? currentAnswer : (currentAnswer ? [currentAnswer] : []);
+        const currentArray = Array.isArray(currentAnswer) ? currentAnswer : (currentAnswer != null ? [currentAnswer] : []);
         const isSelected = currentArray.includes(optionId);
         
         if (isSelected) {
@@ -222,11 +347,118 @@ export default function TakeTestPage() {
     return `${m.toString().padStart(2, '0')}:${s.toString().padStart(2, '0')}`;
   };
 
+  if (admitAt && !test) {
+    return (
+      <div className="min-h-[60vh] flex flex-col items-center justify-center gap-4">
+        <Spinner size="lg" />
+        <p className="text-text-light">
+          The test is letting candidates in gradually. You will be admitted at {new Date(admitAt).toLocaleTimeString()}.
+        </p>
+      </div>
+    );
+  }
+
   if (loading) return <Spinner className="min-h-[60vh]" size="lg" />;
   if (!test) return null;
 
-  const question = test.questions[currentQ];
   const isLowTime = timeLeft < 60;
+
+  const renderOptions = (question, isMultiCorrect) => (
+    <div className="space-y-3">
+      {question.options.map((option, idx) => {
+        const answer = answers[question.id];
+        const optionKey = option.id ?? idx;
+        const isSelected = isMultiCorrect
+          ? (Array.isArray(answer) && answer.includes(optionKey))
+          : (answer === optionKey);
+
+        return (
+          <label
+            key={optionKey}
+            className={`flex items-start gap-4 p-4 rounded-lg border-2 transition-all cursor-pointer ${
+              isSelected
+                ? 'border-blue-600 bg-blue-50'
+                : 'border-gray-200 bg-white hover:border-blue-200 hover:bg-gray-50'
+            }`}
+          >
+            <input
+              type={isMultiCorrect ? 'checkbox' : 'radio'}
+              name={isMultiCorrect ? `question-${question.id}-${optionKey}` : `question-${question.id}`}
+              checked={isSelected}
+              onChange={() => selectOption(question.id, optionKey, isMultiCorrect)}
+              className="w-5 h-5 mt-0.5 cursor-pointer accent-blue-600"
+            />
+            <div className="flex-1">
+              <div className="flex items-center gap-2">
+                <span className="font-semibold text-blue-600">
+                  {String.fromCharCode(65 + idx)}.
+                </span>
+                <span className="text-gray-900">{option.optionText}</span>
+              </div>
+            </div>
+          </label>
+        );
+      })}
+    </div>
+  );
+
+  const renderMultiCorrectHint = () => (
+    <div className="mb-6 p-3 bg-blue-50 border-l-4 border-blue-600 rounded">
+      <p className="text-sm text-blue-900 font-medium">
+        💡 This question has multiple correct answers. Select all that apply.
+      </p>
+    </div>
+  );
+
+  // One question at a time, no going back: each answer decides the next question
+  if (test.adaptive) {
+    const question = step.question;
+    return (
+      <div ref={testContainerRef} className="h-screen flex flex-col bg-gray-50 select-none" style={{ userSelect: 'none' }}>
+        <div className={`sticky top-0 z-40 ${isLowTime ? 'bg-red-600' : 'bg-blue-600'} text-white p-4 shadow-md`}>
+          <div className="max-w-7xl mx-auto flex items-center justify-between">
+            <div>
+              <h1 className="text-xl font-bold">{test.title}</h1>
+              <p className="text-blue-100 text-sm">
+                Question {step.answered + 1} of at most {step.maxQuestions} • questions adapt to your answers
+              </p>
+            </div>
+            <div className={`flex items-center gap-3 px-4 py-2 rounded-lg ${isLowTime ? 'bg-red-500' : 'bg-blue-700'}`}>
+              <Clock className="w-5 h-5" />
+              <span className="text-2xl font-mono font-bold">{formatTime(timeLeft)}</span>
+            </div>
+          </div>
+        </div>
+
+        <div className="flex-1 overflow-y-auto">
+          <div className="max-w-3xl mx-auto p-6 lg:p-8">
+            {question && (
+              <div className="bg-white rounded-xl p-6 lg:p-8 shadow-sm border border-gray-200 mb-6">
+                <h2 className="text-2xl font-bold text-gray-900 mb-6">{question.questionText}</h2>
+                {question.multiCorrect && renderMultiCorrectHint()}
+                {renderOptions(question, question.multiCorrect || false)}
+              </div>
+            )}
+
+            <div className="flex items-center justify-between gap-4">
+              <p className="text-sm text-gray-600">Answers cannot be changed once submitted.</p>
+              <Button
+                onClick={handleAnswer}
+                loading={submitting}
+                disabled={submitted || selectedFor(question?.id).length === 0}
+                className="bg-blue-600 hover:bg-blue-700"
+              >
+                <CheckCircle2 className="w-4 h-4 mr-2" />
+                Submit Answer
+              </Button>
+            </div>
+          </div>
+        </div>
+      </div>
+    );
+  }
+
+  const question = test.questions[currentQ];
   const isMultiCorrect = question.multiCorrect || false;
   const answeredCount = Object.keys(answers).filter(qId => {
     const answer = answers[qId];
@@ -333,50 +565,9 @@ export default function TakeTestPage() {
                 </button>
               </div>
 
-              {isMultiCorrect && (
-                <div className="mb-6 p-3 bg-blue-50 border-l-4 border-blue-600 rounded">
-                  <p className="text-sm text-blue-900 font-medium">
-                    💡 This question has multiple correct answers. Select all that apply.
-                  </p>
-                </div>
-              )}
+              {isMultiCorrect && renderMultiCorrectHint()}
 
-              {/* Options */}
-              <div className="space-y-3">
-                {question.options.map((option, idx) => {
-                  const answer = answers[question.id];
-                  const isSelected = isMultiCorrect
-                    ? (Array.isArray(answer) && answer.includes(option.id))
-                    : (answer === option.id);
-                  
-                  return (
-                    <label
-                      key={option.id}
-                      className={`flex items-start gap-4 p-4 rounded-lg border-2 transition-all cursor-pointer ${
-                        isSelected
-                          ? 'border-blue-600 bg-blue-50'
-                          : 'border-gray-200 bg-white hover:border-blue-200 hover:bg-gray-50'
-                      }`}
-                    >
-                      <input
-                        type={isMultiCorrect ? 'checkbox' : 'radio'}
-                        name={isMultiCorrect ? `question-${question.id}-${option.id}` : `question-${question.id}`}
-                        checked={isSelected}
-                        onChange={() => selectOption(question.id, option.id, isMultiCorrect)}
-                        className="w-5 h-5 mt-0.5 cursor-pointer accent-blue-600"
-                      />
-                      <div className="flex-1">
-                        <div className="flex items-center gap-2">
-                          <span className="font-semibold text-blue-600">
-                            {String.fromCharCode(65 + idx)}.
-                          </span>
-                          <span className="text-gray-900">{option.optionText}</span>
-                        </div>
-                      </div>
-                    </label>
-                  );
-                })}
-              </div>
+              {renderOptions(question, isMultiCorrect)}
             </div>
 
             {/* Navigation */}
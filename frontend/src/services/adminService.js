@@ -1,13 +1,39 @@
 import api from './api';
+import { streamSse } from './sse';
 
 export const adminService = {
   createTest: (data) => api.post('/admin/tests', data),
   getAllTests: () => api.get('/admin/tests'),
+  importTestPackage: (file) =>
+    api.post('/admin/tests/import', file, { headers: { 'Content-Type': 'application/x-ndjson' } }),
+  exportTestPackage: (testId) => api.get(`/admin/tests/${testId}/package`, { responseType: 'blob' }),
+  searchQuestionBank: (params) => api.get('/admin/question-bank', { params }),
+  getQuestionBankTags: () => api.get('/admin/question-bank/tags'),
+  createBankQuestion: (data) => api.post('/admin/question-bank', data),
+  updateBankQuestion: (id, data) => api.put(`/admin/question-bank/${id}`, data),
+  deleteBankQuestion: (id) => api.delete(`/admin/question-bank/${id}`),
   getSubmissions: (testId) => api.get(`/admin/tests/${testId}/submissions`),
+  streamSubmissions: (testId, { onEvent, signal, lastEventId }) =>
+    streamSse(`/admin/tests/${testId}/submissions/stream`, { onEvent, signal, lastEventId }),
+  getProctoringSummary: (testId) => api.get(`/admin/tests/${testId}/proctoring`),
+  getPresence: () => api.get('/admin/presence'),
+  updateAnswerKey: (testId, questionId, data) =>
+    api.put(`/admin/tests/${testId}/questions/${questionId}/answer-key`, data),
+  getRegradeJob: (jobId) => api.get(`/admin/regrade-jobs/${jobId}`),
+  getCollusionReport: (testId, limit = 50) =>
+    api.get(`/admin/tests/${testId}/collusion`, { params: { limit } }),
+  importUsers: (file) =>
+    api.post('/admin/users/import', file, {
+      headers: { 'Content-Type': file.name.toLowerCase().endsWith('.csv') ? 'text/csv' : 'application/json' },
+    }),
   releaseResults: (testId) => api.post(`/admin/tests/${testId}/release`),
   changeUserRole: (userId, data) => api.put(`/admin/users/${userId}/role`, data),
   getAllUsers: () => api.get('/admin/users'),
   getAllTeams: () => api.get('/admin/teams'),
   generateAiQuestions: (data) => api.post('/admin/ai-questions', data),
+  streamAiQuestions: (data, onEvent, signal) =>
+    streamSse('/admin/ai-questions/stream', { method: 'POST', body: data, onEvent, signal }),
   downloadScoresCSV: (testId) => api.get(`/admin/tests/${testId}/scores-csv`, { responseType: 'blob' }),
+  exportSubmissions: (params) =>
+    api.get('/admin/exports/submissions', { params, responseType: 'blob' }),
 };
@@ -0,0 +1,67 @@
+// EventSource cannot send the Authorization header or a POST body,
+// so server-sent events are read from a fetch() stream instead.
+export async function streamSse(path, { method = 'GET', body, onEvent, signal, lastEventId } = {}) {
+  const headers = { Accept: 'text/event-stream' };
+  if (lastEventId) {
+    headers['Last-Event-ID'] = lastEventId;
+  }
+  const token = localStorage.getItem('token');
+  if (token) {
+    headers.Authorization = `Bearer ${token}`;
+  }
+  if (body !== undefined) {
+    headers['Content-Type'] = 'application/json';
+  }
+
+  const response = await fetch(`/api${path}`, {
+    method,
+    headers,
+    body: body !== undefined ? JSON.stringify(body) : undefined,
+    signal,
+  });
+
+  if (!response.ok) {
+    let message = `Request failed with status ${response.status}`;
+    try {
+      const data = await response.json();
+      message = data.message || message;
+    } catch {
+      // Non-JSON error body
+    }
+    throw new Error(message);
+  }
+
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) break;
+    buffer += decoder.decode(value, { stream: true });
+
+    let boundary;
+    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+      const raw = buffer.slice(0, boundary);
+      buffer = buffer.slice(boundary + 2);
+
+      let event = 'message';
+      let id = null;
+      const data = [];
+      raw.split('\n').forEach((line) => {
+        if (line.startsWith('event:')) event = line.slice(6).trim();
+        else if (line.startsWith('id:')) id = line.slice(3).trim();
+        else if (line.startsWith('data:')) data.push(line.slice(5));
+      });
+      if (data.length === 0) continue;
+
+      let payload = data.join('\n');
+      try {
+        payload = JSON.parse(payload);
+      } catch {
+        // Plain-text payload
+      }
+      onEvent?.({ event, id, data: payload });
+    }
+  }
+}
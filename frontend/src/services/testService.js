@@ -3,6 +3,11 @@ import api from './api';
 export const testService = {
   getAssignedTests: () => api.get('/tests'),
   getTestById: (id) => api.get(`/tests/${id}`),
+  heartbeat: (id) => api.post(`/tests/${id}/heartbeat`),
+  sendProctoringEvents: (id, data) => api.post(`/tests/${id}/proctoring-events`, data),
+  saveProgress: (id, data) => api.put(`/tests/${id}/progress`, data),
   submitTest: (id, data) => api.post(`/tests/${id}/submit`, data),
+  getNextQuestion: (id) => api.get(`/tests/${id}/next-question`),
+  answerQuestion: (id, data) => api.post(`/tests/${id}/answer`, data),
   getResults: () => api.get('/results'),
 };
@@ -0,0 +1,345 @@
+package com.assessment.platform.loadtest;
+
+import com.assessment.platform.metrics.SqlBudgetAdvice;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the HTTP API the way the frontend does: one admin preparing and releasing a test,
+ * and a cohort of candidates registering, taking the test and reading their results.
+ */
+final class CohortDriver {
+
+    private static final String ADMIN_EMAIL = "admin@assessment.com";
+    private static final String ADMIN_PASSWORD = "admin123";
+    private static final String CANDIDATE_PASSWORD = "loadtest123";
+    private static final Duration OTP_TIMEOUT = Duration.ofSeconds(60);
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final SmtpStub smtp;
+    private final LoadTestOptions options;
+    private final HttpClient http;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Integer, String> candidateTokens = new ConcurrentHashMap<>();
+
+    private String adminToken;
+    private long teamId;
+    private long testId;
+    private LocalDateTime opensAt;
+
+    CohortDriver(URI baseUri, ObjectMapper objectMapper, SmtpStub smtp, LoadTestOptions options) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.smtp = smtp;
+        this.options = options;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    void prepareTest() {
+        adminToken = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+
+        JsonNode teams = call("admin.teams", "GET", "/api/admin/teams", null, adminToken);
+        teamId = teams.get(0).get("id").asLong();
+
+        JsonNode generated = call("admin.ai-questions", "POST", "/api/admin/ai-questions", Map.of(
+                "role", "TRAINEE",
+                "techStack", "Java, Spring Boot, MySQL",
+                "progress", "Week 4 of onboarding",
+                "questionCount", options.questions()), adminToken);
+
+        List<Map<String, Object>> questions = new ArrayList<>();
+        for (JsonNode item : generated.get("questions")) {
+            List<Map<String, Object>> optionList = new ArrayList<>();
+            for (int i = 0; i < item.get("options").size(); i++) {
+                optionList.add(Map.of(
+                        "optionText", item.get("options").get(i).asText(),
+                        "isCorrect", i == item.get("correctIndex").asInt()));
+            }
+            questions.add(Map.of("questionText", item.get("question").asText(), "options", optionList));
+        }
+
+        Map<String, Object> test = new LinkedHashMap<>();
+        test.put("title", "Load test " + runId);
+        test.put("description", "Created by the load test harness");
+        test.put("timeLimitMinutes", 60);
+        test.put("assignedRole", "TRAINEE");
+        test.put("assignedTeamId", teamId);
+        if (options.openInSeconds() > 0) {
+            // Candidates register in the meantime and then all ask for the paper at the opening
+            opensAt = LocalDateTime.now().plusSeconds(options.openInSeconds());
+            test.put("availableFrom", opensAt.toString());
+            if (options.admissionJitterSeconds() > 0) {
+                test.put("admissionJitterSeconds", options.admissionJitterSeconds());
+            }
+        }
+        test.put("questions", questions);
+        testId = call("admin.create-test", "POST", "/api/admin/tests", test, adminToken).get("id").asLong();
+    }
+
+    /**
+     * Imports a generated test package of --package-questions questions and exports it again. The
+     * imported test is separate from the cohort's; it only measures the streaming import.
+     */
+    void importPackage() {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try {
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put("format", "assesshub.test-package");
+            header.put("version", 1);
+            header.put("title", "Package import " + runId);
+            header.put("timeLimitMinutes", 60);
+            header.put("assignedRole", "TRAINEE");
+            body.write(objectMapper.writeValueAsBytes(header));
+            body.write('\n');
+            for (int q = 0; q < options.packageQuestions(); q++) {
+                List<Map<String, Object>> optionList = new ArrayList<>();
+                for (int o = 0; o < 4; o++) {
+                    optionList.add(Map.of("text", "Option " + o + " of question " + q, "correct", o == q % 4));
+                }
+                body.write(objectMapper.writeValueAsBytes(Map.of(
+                        "question", "Generated question " + q + " of run " + runId, "options", optionList)));
+                body.write('\n');
+            }
+        } catch (IOException e) {
+            throw new StepFailedException("Could not build the test package: " + e.getMessage());
+        }
+
+        byte[] response = send("admin.import-package", "POST", "/api/admin/tests/import?teamId=" + teamId,
+                "application/x-ndjson", body.toByteArray(), adminToken);
+        long packageTestId;
+        try {
+            packageTestId = objectMapper.readTree(response).path("data").get("testId").asLong();
+        } catch (IOException e) {
+            throw new StepFailedException("admin.import-package returned invalid JSON: " + e.getMessage());
+        }
+        send("admin.export-package", "GET", "/api/admin/tests/" + packageTestId + "/package", null, null, adminToken);
+    }
+
+    void runCohort() throws InterruptedException {
+        inParallel(this::takeTest);
+    }
+
+    void releaseResults() {
+        call("admin.release", "POST", "/api/admin/tests/" + testId + "/release", null, adminToken);
+    }
+
+    void readReleasedResults() throws InterruptedException {
+        inParallel(candidate -> {
+            String token = candidateTokens.get(candidate);
+            if (token != null) {
+                call("results.released", "GET", "/api/results", null, token);
+            }
+        });
+    }
+
+    private void takeTest(int candidate) {
+        String email = "candidate-" + runId + "-" + candidate + "@loadtest.local";
+        call("auth.register", "POST", "/api/auth/register", Map.of(
+                "name", "Candidate " + candidate,
+                "email", email,
+                "password", CANDIDATE_PASSWORD,
+                "teamId", teamId,
+                "role", "TRAINEE"), null);
+        String token = verifyOtp(email);
+        candidateTokens.put(candidate, token);
+
+        call("tests.list", "GET", "/api/tests", null, token);
+        JsonNode test = fetchTest(token);
+
+        SplittableRandom random = new SplittableRandom(candidate);
+        List<Map<String, Object>> answers = new ArrayList<>();
+        for (JsonNode question : test.get("questions")) {
+            JsonNode optionNodes = question.get("options");
+            long optionId = optionNodes.get(random.nextInt(optionNodes.size())).get("id").asLong();
+            answers.add(Map.of("questionId", question.get("id").asLong(), "selectedOptionIds", List.of(optionId)));
+        }
+        call("tests.submit", "POST", "/api/tests/" + testId + "/submit", Map.of(
+                "startTime", LocalDateTime.now().minusMinutes(20).toString(),
+                "answers", answers), token);
+
+        call("results.pending", "GET", "/api/results", null, token);
+    }
+
+    private JsonNode fetchTest(String token) {
+        if (opensAt != null) {
+            sleepMillis(Duration.between(LocalDateTime.now(), opensAt).toMillis());
+        }
+        while (true) {
+            try {
+                return call("tests.fetch", "GET", "/api/tests/" + testId, null, token);
+            } catch (AdmissionDeferredException e) {
+                sleepMillis(e.retryAfterSeconds * 1000);
+            }
+        }
+    }
+
+    private static void sleepMillis(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StepFailedException("Interrupted waiting for admission");
+        }
+    }
+
+    private String login(String email, String password) {
+        call("auth.login", "POST", "/api/auth/login", Map.of("email", email, "password", password), null);
+        return verifyOtp(email);
+    }
+
+    private String verifyOtp(String email) {
+        long started = System.nanoTime();
+        String otp;
+        try {
+            otp = smtp.awaitOtp(email, OTP_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StepFailedException("Interrupted waiting for OTP");
+        }
+        OperationStats.of("email.otp-delivery").record(started, System.nanoTime(),
+                otp == null ? "No OTP within " + OTP_TIMEOUT.toSeconds() + "s" : null);
+        if (otp == null) {
+            throw new StepFailedException("No OTP delivered to " + email);
+        }
+
+        JsonNode auth = call("auth.verify-otp", "POST", "/api/auth/verify-otp", Map.of("email", email, "otp", otp), null);
+        return auth.get("token").asText();
+    }
+
+    /**
+     * Sends one JSON request and returns the "data" node of the ApiResponse envelope.
+     */
+    private JsonNode call(String operation, String method, String path, Object body, String token) {
+        byte[] json;
+        try {
+            json = body != null ? objectMapper.writeValueAsBytes(body) : null;
+        } catch (IOException e) {
+            throw new StepFailedException("Could not serialize request for " + operation + ": " + e.getMessage());
+        }
+        byte[] response = send(operation, method, path, "application/json", json, token);
+        try {
+            JsonNode envelope = objectMapper.readTree(response);
+            return envelope.path("data");
+        } catch (IOException e) {
+            throw new StepFailedException(operation + " returned invalid JSON: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends one request, records its latency under {@code operation} and returns the response body.
+     * Non-2xx answers are recorded as errors and abort the caller's flow.
+     */
+    private byte[] send(String operation, String method, String path, String contentType, byte[] body, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", contentType)
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            OperationStats.of(operation).record(started, System.nanoTime(), e.toString());
+            throw new StepFailedException(operation + " failed: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StepFailedException(operation + " interrupted");
+        }
+        long finished = System.nanoTime();
+        long statements = response.headers().firstValueAsLong(SqlBudgetAdvice.STATEMENTS_HEADER).orElse(-1);
+        Timeline.record(finished, response.statusCode(), statements);
+
+        // Staggered admission is expected, not an error: counted separately and retried by the caller
+        if (response.statusCode() == 429) {
+            OperationStats.of(operation + ".deferred").record(started, finished, null);
+            throw new AdmissionDeferredException(
+                    response.headers().firstValueAsLong("Retry-After").orElse(1));
+        }
+        if (statements >= 0) {
+            OperationStats.of(operation).recordSql(statements);
+        }
+
+        if (response.statusCode() / 100 != 2) {
+            String error = "HTTP " + response.statusCode() + " " + new String(response.body()).strip();
+            OperationStats.of(operation).record(started, finished, error);
+            throw new StepFailedException(operation + ": " + error);
+        }
+        OperationStats.of(operation).record(started, finished, null);
+        return response.body();
+    }
+
+    private void inParallel(CandidateTask task) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(options.concurrency(),
+                Thread.ofPlatform().name("candidate-", 0).factory());
+        for (int i = 0; i < options.candidates(); i++) {
+            int candidate = i;
+            pool.execute(() -> {
+                try {
+                    task.run(candidate);
+                } catch (StepFailedException e) {
+                    // Already recorded against the failing operation; this candidate stops here
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(2, TimeUnit.HOURS)) {
+            pool.shutdownNow();
+            throw new IllegalStateException("Cohort did not finish within 2 hours");
+        }
+    }
+
+    @FunctionalInterface
+    private interface CandidateTask {
+        void run(int candidate);
+    }
+
+    static final class StepFailedException extends RuntimeException {
+        StepFailedException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    static final class AdmissionDeferredException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        AdmissionDeferredException(long retryAfterSeconds) {
+            super("Admission deferred", null, false, false);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.assessment.platform.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in for the Gemini API: answers generateContent and streamGenerateContent with a fixed
+ * question set after a configurable delay, so AI calls cost roughly what they do in production
+ * without leaving the machine.
+ */
+final class GeminiStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ObjectMapper objectMapper;
+    private final long latencyMs;
+    private final String questionsJson;
+
+    private GeminiStub(HttpServer server, ObjectMapper objectMapper, long latencyMs, int questions) throws IOException {
+        this.server = server;
+        this.objectMapper = objectMapper;
+        this.latencyMs = latencyMs;
+        this.questionsJson = objectMapper.writeValueAsString(Map.of("questions", questions(questions)));
+    }
+
+    static GeminiStub start(ObjectMapper objectMapper, long latencyMs, int questions) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128);
+        GeminiStub stub = new GeminiStub(server, objectMapper, latencyMs, questions);
+        server.createContext("/", stub::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return stub;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            Thread.sleep(latencyMs);
+
+            boolean stream = exchange.getRequestURI().getPath().endsWith(":streamGenerateContent");
+            byte[] body;
+            if (stream) {
+                // Two chunks, split mid-document, the way the real API streams partial text
+                int split = questionsJson.length() / 2;
+                body = ("data: " + chunk(questionsJson.substring(0, split)) + "\r\n\r\n"
+                        + "data: " + chunk(questionsJson.substring(split)) + "\r\n\r\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            } else {
+                body = chunk(questionsJson).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String chunk(String text) throws IOException {
+        return objectMapper.writeValueAsString(Map.of(
+                "candidates", List.of(Map.of(
+                        "content", Map.of("parts", List.of(Map.of("text", text)))))));
+    }
+
+    private static List<Map<String, Object>> questions(int count) {
+        String[] topics = {"transactions", "indexes", "dependency injection", "garbage collection", "HTTP caching"};
+        List<Map<String, Object>> questions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String topic = topics[i % topics.length];
+            questions.add(Map.of(
+                    "question", "Load test question " + (i + 1) + ": which statement about " + topic + " is true?",
+                    "options", List.of(
+                            "Statement A about " + topic,
+                            "Statement B about " + topic,
+                            "Statement C about " + topic,
+                            "Statement D about " + topic),
+                    "correctIndex", i % 4));
+        }
+        return questions;
+    }
+}
@@ -0,0 +1,105 @@
+package com.assessment.platform.loadtest;
+
+import com.assessment.platform.AssessmentPlatformApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the backend in-process against H2 (MySQL mode), with local SMTP and Gemini stubs,
+ * then runs one exam cohort end to end:
+ *
+ *   1. admin logs in (OTP), generates questions with AI and creates a test
+ *   2. candidates register, verify their OTP, list and fetch the test, submit and check results
+ *   3. admin releases results; every candidate reads the released results
+ *
+ * With --open-in-seconds the test opens that long after it is created: candidates register first,
+ * wait for the opening and then fetch the paper together, retrying after Retry-After while
+ * --admission-jitter-seconds spreads them out. The per-second timeline shows the resulting load.
+ *
+ * With --package-questions=N the admin also imports a generated N-question test package and
+ * exports it again; the report shows the import throughput in questions per second.
+ *
+ * With --threads=both the whole run is repeated on platform and on virtual threads, each
+ * against a fresh database.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        for (String threadMode : options.threadModes()) {
+            OperationStats.reset();
+            Timeline.reset();
+            try (SmtpStub smtp = SmtpStub.start();
+                 GeminiStub gemini = GeminiStub.start(objectMapper, options.aiLatencyMs(), options.questions());
+                 ConfigurableApplicationContext context = startApplication(options, threadMode, smtp, gemini)) {
+
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                CohortDriver driver = new CohortDriver(URI.create("http://localhost:" + port), objectMapper, smtp, options);
+
+                long started = System.nanoTime();
+                driver.prepareTest();
+                if (options.packageQuestions() > 0) {
+                    driver.importPackage();
+                }
+                driver.runCohort();
+                driver.releaseResults();
+                driver.readReleasedResults();
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                LoadTestReport.write(threadMode, options, seconds, smtp.messagesReceived(),
+                        OperationStats.all(), Timeline.points());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, String threadMode,
+                                                                   SmtpStub smtp, GeminiStub gemini) {
+        // Passed as command line arguments so they take precedence over application.yml
+        List<String> properties = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + "virtual".equals(threadMode),
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + threadMode
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER,VALUE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.hikari.maximum-pool-size=" + options.dbPoolSize(),
+                // The migrations use MySQL-only DDL (functional index); H2 gets the schema from the entities
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                // Tables without an entity come from their migrations, run after Hibernate's DDL
+                "--spring.jpa.defer-datasource-initialization=true",
+                "--spring.sql.init.mode=always",
+                "--spring.sql.init.schema-locations=classpath:db/migration/V6__proctoring_events.sql,"
+                        + "classpath:db/migration/V7__test_archives.sql",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                // SQL per request is read back from the X-SQL-Statements header
+                "--app.sql-budget.headers=true",
+                "--app.sql-budget.strict=" + options.strictSqlBudget(),
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=" + smtp.port(),
+                "--spring.mail.username=noreply@loadtest.local",
+                "--spring.mail.password=unused",
+                "--spring.mail.properties.mail.smtp.auth=false",
+                "--spring.mail.properties.mail.smtp.starttls.enable=false",
+                "--app.ai.gemini.api-key=load-test",
+                "--app.ai.gemini.base-url=" + gemini.baseUrl(),
+                "--app.test-package.max-questions=" + Math.max(options.packageQuestions(), 10000),
+                "--logging.level.com.assessment.platform=INFO",
+                "--spring.main.banner-mode=off"));
+
+        return new SpringApplicationBuilder(AssessmentPlatformApplication.class)
+                .run(properties.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,75 @@
+package com.assessment.platform.loadtest;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command line options, given as --name=value.
+ */
+record LoadTestOptions(
+        int candidates,
+        int concurrency,
+        List<String> threadModes,
+        int questions,
+        long aiLatencyMs,
+        int dbPoolSize,
+        boolean strictSqlBudget,
+        int openInSeconds,
+        int admissionJitterSeconds,
+        int packageQuestions,
+        Path resultsDir) {
+
+    static LoadTestOptions parse(String[] args) {
+        int candidates = 1000;
+        int concurrency = 100;
+        List<String> threadModes = List.of("platform");
+        int questions = 15;
+        long aiLatencyMs = 200;
+        int dbPoolSize = 20;
+        boolean strictSqlBudget = false;
+        int openInSeconds = 0;
+        int admissionJitterSeconds = 0;
+        int packageQuestions = 0;
+        Path resultsDir = Path.of("results");
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "candidates" -> candidates = Integer.parseInt(value);
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "threads" -> threadModes = switch (value) {
+                    case "platform", "virtual" -> List.of(value);
+                    case "both" -> List.of("platform", "virtual");
+                    default -> throw new IllegalArgumentException("--threads must be platform, virtual or both");
+                };
+                case "questions" -> questions = Integer.parseInt(value);
+                case "ai-latency-ms" -> aiLatencyMs = Long.parseLong(value);
+                case "db-pool-size" -> dbPoolSize = Integer.parseInt(value);
+                case "strict-sql-budget" -> strictSqlBudget = Boolean.parseBoolean(value);
+                case "open-in-seconds" -> openInSeconds = Integer.parseInt(value);
+                case "admission-jitter-seconds" -> admissionJitterSeconds = Integer.parseInt(value);
+                case "package-questions" -> packageQuestions = Integer.parseInt(value);
+                case "results" -> resultsDir = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+
+        if (candidates < 1 || concurrency < 1 || questions < 1 || questions > 15) {
+            throw new IllegalArgumentException("candidates and concurrency must be positive, questions 1-15");
+        }
+        if (openInSeconds < 0 || admissionJitterSeconds < 0 || admissionJitterSeconds > 600
+                || (admissionJitterSeconds > 0 && openInSeconds == 0)) {
+            throw new IllegalArgumentException("admission-jitter-seconds must be 0-600 and needs open-in-seconds");
+        }
+        if (packageQuestions < 0) {
+            throw new IllegalArgumentException("package-questions cannot be negative");
+        }
+        return new LoadTestOptions(candidates, concurrency, threadModes, questions, aiLatencyMs, dbPoolSize,
+                strictSqlBudget, openInSeconds, admissionJitterSeconds, packageQuestions, resultsDir);
+    }
+}
@@ -0,0 +1,95 @@
+package com.assessment.platform.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the per-operation table and writes the same numbers as JSON for later comparison.
+ */
+final class LoadTestReport {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private LoadTestReport() {
+    }
+
+    static Path write(String threadMode, LoadTestOptions options, double wallClockSeconds,
+                      int emailsDelivered, Map<String, OperationStats> stats,
+                      List<Timeline.Point> timeline) throws IOException {
+        List<OperationStats.Summary> summaries = new ArrayList<>();
+        long requests = 0;
+        for (OperationStats operation : stats.values()) {
+            OperationStats.Summary summary = operation.summarize();
+            summaries.add(summary);
+            if (!summary.operation().startsWith("email.")) {
+                requests += summary.count();
+            }
+        }
+
+        System.out.printf("%n=== %s threads: %d candidates, concurrency %d, %.1f s, %.1f req/s overall ===%n",
+                threadMode, options.candidates(), options.concurrency(), wallClockSeconds, requests / wallClockSeconds);
+        System.out.printf("%-22s %8s %7s %9s %9s %9s %9s %9s %8s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "SQL/req");
+        for (OperationStats.Summary s : summaries) {
+            System.out.printf("%-22s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %8s%n",
+                    s.operation(), s.count(), s.errors(), s.throughputPerSecond(),
+                    s.p50Ms(), s.p99Ms(), s.p999Ms(), s.maxMs(),
+                    s.operation().startsWith("email.") ? "-" : String.format("%.1f", s.sqlStatementsPerRequest()));
+            for (String error : s.errorSamples()) {
+                System.out.println("    ! " + error);
+            }
+        }
+
+        Double packageQuestionsPerSecond = null;
+        for (OperationStats.Summary summary : summaries) {
+            if (summary.operation().equals("admin.import-package") && summary.errors() == 0) {
+                packageQuestionsPerSecond = options.packageQuestions() / (summary.maxMs() / 1000);
+                System.out.printf("%nTest package: %d questions imported in %.0f ms, %.0f questions/s%n",
+                        options.packageQuestions(), summary.maxMs(), packageQuestionsPerSecond);
+            }
+        }
+
+        if (options.openInSeconds() > 0) {
+            System.out.printf("%n%-8s %9s %9s %9s%n", "second", "requests", "deferred", "SQL");
+            for (Timeline.Point p : timeline) {
+                System.out.printf("%-8d %9d %9d %9d%n", p.second(), p.requests(), p.deferred(), p.sqlStatements());
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threadMode", threadMode);
+        report.put("candidates", options.candidates());
+        report.put("concurrency", options.concurrency());
+        report.put("questions", options.questions());
+        report.put("aiLatencyMs", options.aiLatencyMs());
+        report.put("dbPoolSize", options.dbPoolSize());
+        report.put("strictSqlBudget", options.strictSqlBudget());
+        report.put("openInSeconds", options.openInSeconds());
+        report.put("admissionJitterSeconds", options.admissionJitterSeconds());
+        report.put("packageQuestions", options.packageQuestions());
+        report.put("packageImportQuestionsPerSecond", packageQuestionsPerSecond);
+        report.put("wallClockSeconds", wallClockSeconds);
+        report.put("requests", requests);
+        report.put("throughputPerSecond", requests / wallClockSeconds);
+        report.put("emailsDelivered", emailsDelivered);
+        report.put("operations", summaries);
+        report.put("timeline", timeline);
+
+        Files.createDirectories(options.resultsDir());
+        Path file = options.resultsDir().resolve(
+                "loadtest-" + threadMode + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("Report written to " + file);
+        return file;
+    }
+}
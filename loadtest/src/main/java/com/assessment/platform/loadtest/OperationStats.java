@@ -0,0 +1,110 @@
+package com.assessment.platform.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side latencies and server-side SQL statement counts for one named operation.
+ * Latencies are kept raw (one long per request) and sorted when the report is built,
+ * so percentiles are exact.
+ */
+final class OperationStats {
+
+    private static final Map<String, OperationStats> BY_NAME = new ConcurrentHashMap<>();
+    private static final int MAX_ERROR_SAMPLES = 5;
+
+    private final String name;
+    private final LongAdder sqlStatements = new LongAdder();
+    private final LongAdder sqlRequests = new LongAdder();
+    private final List<String> errorSamples = new ArrayList<>();
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+    private long firstStart = Long.MAX_VALUE;
+    private long lastEnd = Long.MIN_VALUE;
+
+    private OperationStats(String name) {
+        this.name = name;
+    }
+
+    static OperationStats of(String name) {
+        return BY_NAME.computeIfAbsent(name, OperationStats::new);
+    }
+
+    static void reset() {
+        BY_NAME.clear();
+    }
+
+    static Map<String, OperationStats> all() {
+        return new TreeMap<>(BY_NAME);
+    }
+
+    synchronized void record(long startNanos, long endNanos, String error) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = endNanos - startNanos;
+        firstStart = Math.min(firstStart, startNanos);
+        lastEnd = Math.max(lastEnd, endNanos);
+        if (error != null) {
+            errors++;
+            if (errorSamples.size() < MAX_ERROR_SAMPLES) {
+                errorSamples.add(error);
+            }
+        }
+    }
+
+    void recordSql(long statements) {
+        sqlStatements.add(statements);
+        sqlRequests.increment();
+    }
+
+    synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double seconds = count == 0 ? 0 : (lastEnd - firstStart) / 1e9;
+        long requests = sqlRequests.sum();
+        return new Summary(
+                name,
+                count,
+                errors,
+                seconds > 0 ? count / seconds : 0,
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)),
+                millis(count == 0 ? 0 : sorted[count - 1]),
+                requests == 0 ? 0 : (double) sqlStatements.sum() / requests,
+                List.copyOf(errorSamples));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    record Summary(
+            String operation,
+            int count,
+            int errors,
+            double throughputPerSecond,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs,
+            double sqlStatementsPerRequest,
+            List<String> errorSamples) {
+    }
+}
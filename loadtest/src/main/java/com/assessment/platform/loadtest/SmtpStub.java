@@ -0,0 +1,149 @@
+package com.assessment.platform.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal SMTP server on localhost. It accepts every message, never advertises AUTH or STARTTLS,
+ * and keeps the OTP codes it sees so simulated candidates can read "their inbox".
+ */
+final class SmtpStub implements AutoCloseable {
+
+    private static final Pattern OTP = Pattern.compile("Your OTP code is: (\\d{6})");
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, BlockingQueue<String>> otpByRecipient = new ConcurrentHashMap<>();
+    private final AtomicInteger messages = new AtomicInteger();
+
+    private SmtpStub(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    static SmtpStub start() throws IOException {
+        SmtpStub stub = new SmtpStub(new ServerSocket(0, 512, InetAddress.getLoopbackAddress()));
+        Thread.ofVirtual().name("smtp-stub-accept").start(stub::acceptLoop);
+        return stub;
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    int messagesReceived() {
+        return messages.get();
+    }
+
+    /**
+     * Waits for the next OTP mailed to {@code email}, or returns null on timeout.
+     */
+    String awaitOtp(String email, Duration timeout) throws InterruptedException {
+        return inbox(email).poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    private BlockingQueue<String> inbox(String email) {
+        return otpByRecipient.computeIfAbsent(email.toLowerCase(Locale.ROOT), key -> new LinkedBlockingQueue<>());
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("SMTP stub accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 localhost load-test SMTP stub");
+
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL" -> {
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        recipients.add(address(line));
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder body = new StringBuilder();
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            body.append(line).append('\n');
+                        }
+                        deliver(recipients, body);
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // Client hung up mid-session; nothing to clean up
+        }
+    }
+
+    private void deliver(List<String> recipients, CharSequence body) {
+        messages.incrementAndGet();
+        Matcher matcher = OTP.matcher(body);
+        if (matcher.find()) {
+            for (String recipient : recipients) {
+                inbox(recipient).add(matcher.group(1));
+            }
+        }
+    }
+
+    private static String address(String rcptLine) {
+        int start = rcptLine.indexOf('<');
+        int end = rcptLine.indexOf('>', start + 1);
+        String address = start >= 0 && end > start ? rcptLine.substring(start + 1, end) : rcptLine.substring(rcptLine.indexOf(':') + 1);
+        return address.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
@@ -0,0 +1,52 @@
+package com.assessment.platform.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Requests and server-side SQL statements per second of the run, to show how load is spread
+ * around an exam window opening rather than only in aggregate.
+ */
+final class Timeline {
+
+    private static final Map<Long, Second> BY_SECOND = new ConcurrentSkipListMap<>();
+    private static volatile long origin = System.nanoTime();
+
+    private Timeline() {
+    }
+
+    static void reset() {
+        BY_SECOND.clear();
+        origin = System.nanoTime();
+    }
+
+    static void record(long endNanos, int status, long sqlStatements) {
+        Second second = BY_SECOND.computeIfAbsent((endNanos - origin) / 1_000_000_000L, s -> new Second());
+        second.requests.increment();
+        if (status == 429) {
+            second.deferred.increment();
+        }
+        if (sqlStatements >= 0) {
+            second.sqlStatements.add(sqlStatements);
+        }
+    }
+
+    static List<Point> points() {
+        List<Point> points = new ArrayList<>();
+        BY_SECOND.forEach((second, counts) -> points.add(new Point(
+                second, counts.requests.sum(), counts.deferred.sum(), counts.sqlStatements.sum())));
+        return points;
+    }
+
+    private static final class Second {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder deferred = new LongAdder();
+        private final LongAdder sqlStatements = new LongAdder();
+    }
+
+    record Point(long second, long requests, long deferred, long sqlStatements) {
+    }
+}